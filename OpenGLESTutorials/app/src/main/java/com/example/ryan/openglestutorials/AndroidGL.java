@@ -0,0 +1,275 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import android.opengl.GLES20;
+import android.opengl.GLES30;
+import android.os.Build;
+
+import java.nio.Buffer;
+
+/**
+ * Pass-through implementation of {@link GL} that forwards every call to android.opengl.GLES20.
+ * The program binary calls go to GLES30, which needs API 18. Below that no binary formats are
+ * reported.
+ * Must only be used on the GL thread.
+ */
+public class AndroidGL implements GL
+{
+    @Override
+    public int glCreateShader(int type)
+    {
+        return GLES20.glCreateShader(type);
+    }
+
+    @Override
+    public void glShaderSource(int shader, String source)
+    {
+        GLES20.glShaderSource(shader, source);
+    }
+
+    @Override
+    public void glCompileShader(int shader)
+    {
+        GLES20.glCompileShader(shader);
+    }
+
+    @Override
+    public void glGetShaderiv(int shader, int pname, int[] params, int offset)
+    {
+        GLES20.glGetShaderiv(shader, pname, params, offset);
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader)
+    {
+        return GLES20.glGetShaderInfoLog(shader);
+    }
+
+    @Override
+    public void glDeleteShader(int shader)
+    {
+        GLES20.glDeleteShader(shader);
+    }
+
+    @Override
+    public int glCreateProgram()
+    {
+        return GLES20.glCreateProgram();
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader)
+    {
+        GLES20.glAttachShader(program, shader);
+    }
+
+    @Override
+    public void glBindAttribLocation(int program, int index, String name)
+    {
+        GLES20.glBindAttribLocation(program, index, name);
+    }
+
+    @Override
+    public void glLinkProgram(int program)
+    {
+        GLES20.glLinkProgram(program);
+    }
+
+    @Override
+    public void glGetProgramiv(int program, int pname, int[] params, int offset)
+    {
+        GLES20.glGetProgramiv(program, pname, params, offset);
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program)
+    {
+        return GLES20.glGetProgramInfoLog(program);
+    }
+
+    @Override
+    public void glDeleteProgram(int program)
+    {
+        GLES20.glDeleteProgram(program);
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, String name)
+    {
+        return GLES20.glGetUniformLocation(program, name);
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, String name)
+    {
+        return GLES20.glGetAttribLocation(program, name);
+    }
+
+    @Override
+    public void glUseProgram(int program)
+    {
+        GLES20.glUseProgram(program);
+    }
+
+    @Override
+    public void glUniform3f(int location, float x, float y, float z)
+    {
+        GLES20.glUniform3f(location, x, y, z);
+    }
+
+    @Override
+    public void glUniform3fv(int location, int count, float[] value, int offset)
+    {
+        GLES20.glUniform3fv(location, count, value, offset);
+    }
+
+    @Override
+    public void glUniformMatrix4fv(int location, int count, boolean transpose, float[] value, int offset)
+    {
+        GLES20.glUniformMatrix4fv(location, count, transpose, value, offset);
+    }
+
+    @Override
+    public void glGenBuffers(int n, int[] buffers, int offset)
+    {
+        GLES20.glGenBuffers(n, buffers, offset);
+    }
+
+    @Override
+    public void glDeleteBuffers(int n, int[] buffers, int offset)
+    {
+        GLES20.glDeleteBuffers(n, buffers, offset);
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer)
+    {
+        GLES20.glBindBuffer(target, buffer);
+    }
+
+    @Override
+    public void glBufferData(int target, int size, Buffer data, int usage)
+    {
+        GLES20.glBufferData(target, size, data, usage);
+    }
+
+    @Override
+    public void glBufferSubData(int target, int offset, int size, Buffer data)
+    {
+        GLES20.glBufferSubData(target, offset, size, data);
+    }
+
+    @Override
+    public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, int offset)
+    {
+        GLES20.glVertexAttribPointer(index, size, type, normalized, stride, offset);
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index)
+    {
+        GLES20.glEnableVertexAttribArray(index);
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index)
+    {
+        GLES20.glDisableVertexAttribArray(index);
+    }
+
+    @Override
+    public void glVertexAttrib3f(int index, float x, float y, float z)
+    {
+        GLES20.glVertexAttrib3f(index, x, y, z);
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count)
+    {
+        GLES20.glDrawArrays(mode, first, count);
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, int offset)
+    {
+        GLES20.glDrawElements(mode, count, type, offset);
+    }
+
+    @Override
+    public void glClearColor(float red, float green, float blue, float alpha)
+    {
+        GLES20.glClearColor(red, green, blue, alpha);
+    }
+
+    @Override
+    public void glClear(int mask)
+    {
+        GLES20.glClear(mask);
+    }
+
+    @Override
+    public void glEnable(int capability)
+    {
+        GLES20.glEnable(capability);
+    }
+
+    @Override
+    public void glDisable(int capability)
+    {
+        GLES20.glDisable(capability);
+    }
+
+    @Override
+    public void glViewport(int x, int y, int width, int height)
+    {
+        GLES20.glViewport(x, y, width, height);
+    }
+
+    @Override
+    public String glGetString(int name)
+    {
+        return GLES20.glGetString(name);
+    }
+
+    @Override
+    public void glGetIntegerv(int pname, int[] params, int offset)
+    {
+        // An ES 2.0 context without the extension rejects the query and leaves the value alone.
+        params[offset] = 0;
+        if (pname == GL_NUM_PROGRAM_BINARY_FORMATS && Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2)
+        {
+            // The binary entry points cannot be reached from Java here.
+            return;
+        }
+        GLES20.glGetIntegerv(pname, params, offset);
+    }
+
+    @Override
+    public int glGetError()
+    {
+        return GLES20.glGetError();
+    }
+
+    // The ES 3.0 bindings, which ES 2.0 drivers with GL_OES_get_program_binary also serve.
+    // ProgramBinaryCache checks for the extension before calling them.
+    @Override
+    public void glGetProgramBinary(int program, int bufSize, int[] length, int lengthOffset, int[] binaryFormat,
+                                   int binaryFormatOffset, Buffer binary)
+    {
+        GLES30.glGetProgramBinary(program, bufSize, length, lengthOffset, binaryFormat, binaryFormatOffset, binary);
+    }
+
+    @Override
+    public void glProgramBinary(int program, int binaryFormat, Buffer binary, int length)
+    {
+        GLES30.glProgramBinary(program, binaryFormat, binary, length);
+    }
+}
\ No newline at end of file
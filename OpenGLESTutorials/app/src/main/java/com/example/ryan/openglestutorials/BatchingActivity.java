@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.content.pm.ConfigurationInfo;
+import android.opengl.GLSurfaceView;
+import android.support.v7.app.ActionBarActivity;
+import android.os.Bundle;
+import android.util.Log;
+import android.view.Menu;
+import android.view.MenuItem;
+
+public class BatchingActivity extends ActionBarActivity {
+
+    private GLSurfaceView mGLSurfaceView;
+    private BatchingRenderer mRenderer;
+
+    // render scale picked by the renderer's quality governor, written on the GL thread
+    private volatile float mRenderScale = 1.0f;
+
+    // resizes the surface to the render scale; must run on the UI thread. the renderer gets the
+    // new size in onSurfaceChanged and the compositor scales the surface up to fill the view
+    private final Runnable mApplyRenderScale = new Runnable() {
+        @Override
+        public void run() {
+            final float scale = mRenderScale;
+            if (scale >= 1.0f) {
+                mGLSurfaceView.getHolder().setSizeFromLayout();
+            } else {
+                final int width = Math.round(mGLSurfaceView.getWidth() * scale);
+                final int height = Math.round(mGLSurfaceView.getHeight() * scale);
+                if (width > 0 && height > 0) {
+                    mGLSurfaceView.getHolder().setFixedSize(width, height);
+                }
+            }
+        }
+    };
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        // check if device supports OpenGL ES2
+        final ActivityManager am = (ActivityManager) getSystemService(Context.ACTIVITY_SERVICE);
+        final ConfigurationInfo configInfo = am.getDeviceConfigurationInfo();
+        // first 16 bits = major build number, last 16 bits = minor build number
+        final boolean supportEs2 = configInfo.reqGlEsVersion >= 0x20000;
+        if(supportEs2){
+            // keep linked programs on disk so later starts skip compiling the shaders
+            ProgramCache.getShared().ensureBinaryCache(getCacheDir());
+            // create renderer
+            mRenderer = new BatchingRenderer();
+            // follow the governor's render scale
+            mRenderer.getQualityGovernor().setOnQualityChangeListener(
+                    new QualityGovernor.OnQualityChangeListener() {
+                        @Override
+                        public void onQualityChanged(QualityGovernor governor) {
+                            final float scale = governor.getRenderScale();
+                            if (scale != mRenderScale) {
+                                mRenderScale = scale;
+                                mGLSurfaceView.post(mApplyRenderScale);
+                            }
+                        }
+                    });
+            // create surface view
+            mGLSurfaceView = new GLSurfaceView(this);
+            // set version
+            mGLSurfaceView.setEGLContextClientVersion(2);
+            // add renderer to surface view
+            mGLSurfaceView.setRenderer(mRenderer);
+            // set surface view in content view
+            setContentView(mGLSurfaceView);
+        }else{
+            Log.e("OpenGL ES2", "Your device doesn't support ES2. ("
+                    + configInfo.reqGlEsVersion + ")");
+            return;
+        }
+    }
+
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        // Inflate the menu; this adds items to the action bar if it is present.
+        getMenuInflater().inflate(R.menu.main, menu);
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        // Handle action bar item clicks here. The action bar will
+        // automatically handle clicks on the Home/Up button, so long
+        // as you specify a parent activity in AndroidManifest.xml.
+        int id = item.getItemId();
+        if (id == R.id.action_settings) {
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
+    @Override
+    protected void onResume(){
+        // activity must call GL surface view's onResume()
+        super.onResume();
+        mGLSurfaceView.onResume();
+    }
+
+    @Override
+    protected void onPause(){
+        // activity must call GL surface view's on Pause()
+        super.onPause();
+        mGLSurfaceView.onPause();
+    }
+
+    @Override
+    protected void onDestroy(){
+        super.onDestroy();
+        // the renderer's transform threads would otherwise outlive every recreated activity
+        if (mRenderer != null) {
+            mRenderer.release();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,382 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import android.opengl.GLSurfaceView.Renderer;
+import android.opengl.Matrix;
+import android.os.SystemClock;
+import android.util.Log;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import javax.microedition.khronos.egl.EGLConfig;
+import javax.microedition.khronos.opengles.GL10;
+
+/**
+ * Draws a large grid of rotating cubes through an {@link InstanceBatch}. Every cube is
+ * transformed into world space on the CPU, so the whole grid takes one program, one set of
+ * uniforms and one draw call per 65536 vertices, instead of a drawCube() per cube.
+ */
+public class BatchingRenderer implements Renderer
+{
+    /** Number of cubes along each side of the grid. */
+    private static final int GRID_SIZE = 16;
+
+    /** Distance between neighbouring cubes. */
+    private static final float SPACING = 3.0f;
+
+    /** The frame budget the quality governor aims for, 60 frames per second. */
+    private static final long TARGET_FRAME_NANOS = 1000000000L / 60;
+
+    /**
+     * The batch is already in world space, so light it there. The grid is much larger than the
+     * single cube scene, so the light falls off more slowly.
+     */
+    private static final ShaderVariant LIT_SHADER = Shaders.COLOR.getVariant("LIGHTING", "WORLD_SPACE",
+            "ATTENUATION=0.002");
+
+    /**
+     * The cheaper variant the governor switches to. Without lighting WORLD_SPACE selects no code,
+     * so this shares its program with the other unlit scenes.
+     */
+    private static final ShaderVariant UNLIT_SHADER = Shaders.COLOR.getVariant("WORLD_SPACE");
+
+    /** Both are built when the surface is created, so switching never compiles mid-frame. */
+    private static final ShaderVariant[] SHADER_VARIANTS = {LIT_SHADER, UNLIT_SHADER};
+
+    /** Store the view matrix. This can be thought of as our camera. */
+    private final float[] mViewMatrix = new float[16];
+
+    /** Store the projection matrix. This is used to project the scene onto a 2D viewport. */
+    private final float[] mProjectionMatrix = new float[16];
+
+    /** The combined view/projection matrix. Model matrices are already applied on the CPU. */
+    private final float[] mVPMatrix = new float[16];
+
+    /** The cubes, transformed and streamed into one vertex buffer every frame. */
+    private final InstanceBatch mBatch;
+
+    /** Runs the transform chunks. */
+    private final ExecutorService mExecutor;
+
+    /** Centre of every cube in the grid. */
+    private final float[] mCubePositions;
+
+    /** Hierarchy over the space each cube can sweep while spinning, which never changes. */
+    private final Bvh mCubeBvh = new Bvh();
+
+    /** Only cubes inside the frustum are transformed and drawn. */
+    private final FrustumCuller mCuller = new FrustumCuller();
+    private final int[] mVisibleCubes;
+
+    /** Where the camera is, looking at the grid from in front of it and slightly above. */
+    private final float mEyeY;
+    private final float mEyeZ;
+
+    /** Distance of every cube from the camera, and the nearest and farthest of them. */
+    private final float[] mCubeDistances;
+    private final float mNearestCube;
+    private final float mFarthestCube;
+
+    /** Lowers the quality levers when frames take too long, and raises them again when they recover. */
+    private final QualityGovernor mGovernor = new QualityGovernor(TARGET_FRAME_NANOS);
+
+    /** When the previous frame started, or 0 before the first one. */
+    private long mLastFrameStartNanos;
+
+    /** This is a handle to our batched cube shading program. */
+    private ShaderProgram mProgram;
+
+    /** The cheaper program the governor switches to, which skips the lighting. */
+    private ShaderProgram mUnlitProgram;
+
+    /** This will be used to pass in the view/projection matrix to the unlit program. */
+    private int mUnlitVPMatrixHandle;
+
+    /** This will be used to pass in the view/projection matrix. */
+    private int mVPMatrixHandle;
+
+    /** This will be used to pass in the light position. */
+    private int mLightPosHandle;
+
+    /**
+     * Every GL call goes through this, so the renderer can run against a recording or no-op GL.
+     * Calls that would not change the context state are dropped before they reach it.
+     */
+    private final StateCacheGL mGL;
+
+    /** Times every frame and its cull, matrix and submit phases. */
+    private final FrameProfiler mProfiler = new FrameProfiler();
+    private final int mCullPhase = mProfiler.addPhase("cull");
+    private final int mMatrixPhase = mProfiler.addPhase("matrix");
+    private final int mSubmitPhase = mProfiler.addPhase("submit");
+
+    /**
+     * Initialize the model data, drawing through android.opengl.GLES20.
+     */
+    public BatchingRenderer()
+    {
+        this(new AndroidGL());
+    }
+
+    /**
+     * Initialize the model data.
+     *
+     * @param gl The GL to issue every call through, after redundant state changes are filtered.
+     */
+    public BatchingRenderer(final GL gl)
+    {
+        mGL = new StateCacheGL(gl);
+
+        final int threads = Runtime.getRuntime().availableProcessors();
+        mExecutor = Executors.newFixedThreadPool(threads, new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(final Runnable runnable)
+            {
+                // Do not keep the process alive for the sake of the transform workers.
+                final Thread thread = new Thread(runnable, "BatchTransform");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        final int cubeCount = GRID_SIZE * GRID_SIZE * GRID_SIZE;
+        mBatch = new InstanceBatch(CubeData.POSITIONS, CubeData.COLORS, CubeData.NORMALS, CubeData.VERTEX_COUNT,
+                cubeCount, mExecutor, threads * 4);
+
+        // Whatever its rotation, a cube stays inside the sphere through its corners.
+        final Bounds cubeBounds = new Bounds();
+        cubeBounds.setFromPositions(CubeData.POSITIONS, CubeData.VERTEX_COUNT);
+        final float reach = cubeBounds.getRadius();
+
+        mCubePositions = new float[cubeCount * 3];
+        final float[] boxes = new float[cubeCount * 6];
+        final float origin = -(GRID_SIZE - 1) * SPACING * 0.5f;
+        int cube = 0;
+        for (int x = 0; x < GRID_SIZE; x++)
+        {
+            for (int y = 0; y < GRID_SIZE; y++)
+            {
+                for (int z = 0; z < GRID_SIZE; z++)
+                {
+                    mCubePositions[cube * 3] = origin + x * SPACING;
+                    mCubePositions[cube * 3 + 1] = origin + y * SPACING;
+                    mCubePositions[cube * 3 + 2] = origin + z * SPACING;
+                    for (int k = 0; k < 3; k++)
+                    {
+                        boxes[cube * 6 + k] = mCubePositions[cube * 3 + k] - reach;
+                        boxes[cube * 6 + 3 + k] = mCubePositions[cube * 3 + k] + reach;
+                    }
+                    cube++;
+                }
+            }
+        }
+        mCubeBvh.build(boxes, cubeCount);
+        mVisibleCubes = new int[cubeCount];
+
+        final float extent = GRID_SIZE * SPACING * 0.5f;
+        mEyeY = extent * 0.5f;
+        mEyeZ = extent * 2.5f;
+        mCubeDistances = new float[cubeCount];
+        float nearest = Float.MAX_VALUE;
+        float farthest = 0.0f;
+        for (int i = 0; i < cubeCount; i++)
+        {
+            final float dx = mCubePositions[i * 3];
+            final float dy = mCubePositions[i * 3 + 1] - mEyeY;
+            final float dz = mCubePositions[i * 3 + 2] - mEyeZ;
+            mCubeDistances[i] = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+            nearest = Math.min(nearest, mCubeDistances[i]);
+            farthest = Math.max(farthest, mCubeDistances[i]);
+        }
+        mNearestCube = nearest;
+        mFarthestCube = farthest;
+
+        // Log the timings about every 10 seconds at 60 frames per second.
+        mProfiler.setReportInterval(600);
+    }
+
+    /**
+     * @return The profiler timing this renderer's frames.
+     */
+    public FrameProfiler getProfiler()
+    {
+        return mProfiler;
+    }
+
+    /**
+     * @return The governor picking this renderer's quality level. Its render scale is applied by
+     *         whoever owns the surface, from an OnQualityChangeListener; see BatchingActivity.
+     */
+    public QualityGovernor getQualityGovernor()
+    {
+        return mGovernor;
+    }
+
+    /**
+     * Stops the transform workers. Call when the renderer is done for good, e.g. from the
+     * activity's onDestroy, after GLSurfaceView.onPause() so no frame is being built.
+     */
+    public void release()
+    {
+        mExecutor.shutdown();
+    }
+
+    @Override
+    public void onSurfaceCreated(GL10 glUnused, EGLConfig config)
+    {
+        // A new context starts from the default state, whatever was set in the last one.
+        mGL.invalidate();
+
+        // Set the background clear color to black.
+        mGL.glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+
+        // Use culling to remove back faces.
+        mGL.glEnable(GL.GL_CULL_FACE);
+
+        // Enable depth testing
+        mGL.glEnable(GL.GL_DEPTH_TEST);
+
+        // Look at the grid from in front of it and slightly above.
+        Matrix.setLookAtM(mViewMatrix, 0, 0.0f, mEyeY, mEyeZ, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f);
+
+        // Programs from a previous context are gone, so drop them from the shared cache.
+        final ProgramCache programCache = ProgramCache.getShared();
+        programCache.invalidate();
+
+        programCache.warmUp(mGL, SHADER_VARIANTS);
+
+        // The template binds the attributes to the locations the batch layout uses.
+        mProgram = programCache.getProgram(mGL, LIT_SHADER);
+        mVPMatrixHandle = mProgram.getUniformLocation("u_MVPMatrix");
+        mLightPosHandle = mProgram.getUniformLocation("u_LightPos");
+
+        // Same attribute bindings, so the batch draws with either program. The normals go unused.
+        mUnlitProgram = programCache.getProgram(mGL, UNLIT_SHADER);
+        mUnlitVPMatrixHandle = mUnlitProgram.getUniformLocation("u_MVPMatrix");
+
+        mBatch.upload(mGL);
+
+        // Compiling and uploading make the first frames slow, which says nothing about the device.
+        mGovernor.reset();
+        mLastFrameStartNanos = 0;
+    }
+
+    @Override
+    public void onSurfaceChanged(GL10 glUnused, int width, int height)
+    {
+        // When the governor lowers the render scale, the surface is resized and arrives here at
+        // the smaller size, and the compositor scales it up to fill the view. The aspect ratio
+        // stays the same.
+
+        // Set the OpenGL viewport to the same size as the surface.
+        mGL.glViewport(0, 0, width, height);
+
+        final float ratio = (float) width / height;
+        final float far = GRID_SIZE * SPACING * 4.0f;
+        Matrix.frustumM(mProjectionMatrix, 0, -ratio, ratio, -1.0f, 1.0f, 1.0f, far);
+        Matrix.multiplyMM(mVPMatrix, 0, mProjectionMatrix, 0, mViewMatrix, 0);
+        mCuller.setCamera(mViewMatrix, mProjectionMatrix);
+
+        // The resize itself makes the next frames irregular.
+        mGovernor.reset();
+        mLastFrameStartNanos = 0;
+    }
+
+    @Override
+    public void onDrawFrame(GL10 glUnused)
+    {
+        final long frameStartNanos = System.nanoTime();
+        mProfiler.beginFrame();
+        mGL.beginFrame();
+        mGL.glClear(GL.GL_COLOR_BUFFER_BIT | GL.GL_DEPTH_BUFFER_BIT);
+
+        // Do a complete rotation every 10 seconds.
+        long time = SystemClock.uptimeMillis() % 10000L;
+        float angleInDegrees = (360.0f / 10000.0f) * ((int) time);
+
+        // Write one model matrix per visible cube, each spinning about a different axis.
+        mProfiler.begin(mCullPhase);
+        mCuller.beginFrame();
+        int visibleCount = mCuller.cull(mCubeBvh, mVisibleCubes);
+
+        // Below full detail, leave out the cubes farther away than the governor allows.
+        final float detail = mGovernor.getDetail();
+        if (detail < 1.0f)
+        {
+            final float drawDistance = mNearestCube + (mFarthestCube - mNearestCube) * detail;
+            int kept = 0;
+            for (int i = 0; i < visibleCount; i++)
+            {
+                final int cube = mVisibleCubes[i];
+                if (mCubeDistances[cube] <= drawDistance)
+                {
+                    mVisibleCubes[kept++] = cube;
+                }
+            }
+            visibleCount = kept;
+        }
+        mProfiler.end(mCullPhase);
+
+        mProfiler.begin(mMatrixPhase);
+        final float[] matrices = mBatch.getModelMatrices();
+        for (int instance = 0; instance < visibleCount; instance++)
+        {
+            final int cube = mVisibleCubes[instance];
+            final int x = cube / (GRID_SIZE * GRID_SIZE);
+            final int y = (cube / GRID_SIZE) % GRID_SIZE;
+            final int z = cube % GRID_SIZE;
+            MatrixMath.setTranslateRotate(matrices, instance * 16, mCubePositions[cube * 3],
+                    mCubePositions[cube * 3 + 1], mCubePositions[cube * 3 + 2], angleInDegrees,
+                    x + 1.0f, y + 1.0f, z + 1.0f);
+        }
+
+        mBatch.transform(visibleCount);
+        mProfiler.end(mMatrixPhase);
+
+        mProfiler.begin(mSubmitPhase);
+        if (mGovernor.getLighting() == QualityGovernor.LIGHTING_PER_VERTEX)
+        {
+            mGL.glUseProgram(mProgram.getHandle());
+            mGL.glUniformMatrix4fv(mVPMatrixHandle, 1, false, mVPMatrix, 0);
+
+            // Circle the light around the grid.
+            final double radians = Math.toRadians(angleInDegrees);
+            final float radius = GRID_SIZE * SPACING * 0.75f;
+            mGL.glUniform3f(mLightPosHandle, (float) Math.cos(radians) * radius, 0.0f,
+                    (float) Math.sin(radians) * radius);
+        }
+        else
+        {
+            mGL.glUseProgram(mUnlitProgram.getHandle());
+            mGL.glUniformMatrix4fv(mUnlitVPMatrixHandle, 1, false, mVPMatrix, 0);
+        }
+
+        mBatch.draw(mGL);
+        mProfiler.end(mSubmitPhase);
+
+        mProfiler.endFrame();
+
+        // Let the governor judge the frame; a change takes effect from the next one.
+        final long frameEndNanos = System.nanoTime();
+        if (mLastFrameStartNanos != 0)
+        {
+            mGovernor.onFrame(frameStartNanos - mLastFrameStartNanos, frameEndNanos - frameStartNanos);
+        }
+        mLastFrameStartNanos = frameStartNanos;
+
+        final String report = mProfiler.pollReport();
+        if (report != null)
+        {
+            Log.i("BatchingRenderer", report + mGL.report() + "quality level " + mGovernor.getLevel() + "\n");
+        }
+    }
+}
\ No newline at end of file
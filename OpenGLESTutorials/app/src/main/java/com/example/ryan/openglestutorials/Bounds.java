@@ -0,0 +1,251 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An axis-aligned bounding box together with a bounding sphere around the same points. The
+ * sphere is the cheaper test and rejects most objects; the box is tighter for the ones the
+ * sphere cannot decide.
+ */
+public class Bounds
+{
+    private float mMinX, mMinY, mMinZ;
+    private float mMaxX, mMaxY, mMaxZ;
+    private float mCenterX, mCenterY, mCenterZ;
+    private float mRadius;
+
+    /**
+     * Creates empty bounds at the origin.
+     */
+    public Bounds()
+    {
+    }
+
+    /**
+     * Fits the bounds around a set of points.
+     *
+     * @param positions x, y, z triplets.
+     * @param count The number of points.
+     */
+    public void setFromPositions(final float[] positions, final int count)
+    {
+        if (count == 0)
+        {
+            set(0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f);
+            return;
+        }
+
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, minZ = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+        for (int i = 0; i < count * 3; i += 3)
+        {
+            minX = Math.min(minX, positions[i]);
+            minY = Math.min(minY, positions[i + 1]);
+            minZ = Math.min(minZ, positions[i + 2]);
+            maxX = Math.max(maxX, positions[i]);
+            maxY = Math.max(maxY, positions[i + 1]);
+            maxZ = Math.max(maxZ, positions[i + 2]);
+        }
+        setBox(minX, minY, minZ, maxX, maxY, maxZ);
+
+        // Centre the sphere on the box but only make it as large as the farthest point needs.
+        float radiusSquared = 0.0f;
+        for (int i = 0; i < count * 3; i += 3)
+        {
+            final float dx = positions[i] - mCenterX;
+            final float dy = positions[i + 1] - mCenterY;
+            final float dz = positions[i + 2] - mCenterZ;
+            radiusSquared = Math.max(radiusSquared, dx * dx + dy * dy + dz * dz);
+        }
+        mRadius = (float) Math.sqrt(radiusSquared);
+    }
+
+    /**
+     * Fits the bounds around the positions of packed vertices.
+     *
+     * @param vertices The packed vertex data.
+     * @param layout The layout it was packed with.
+     * @param attribute The index of the position attribute in the layout.
+     * @param count The number of vertices.
+     */
+    public void setFromVertices(final ByteBuffer vertices, final VertexLayout layout, final int attribute,
+                                final int count)
+    {
+        final float[] positions = new float[count * 3];
+        final float[] vertex = new float[4];
+        final int components = Math.min(layout.getComponents(attribute), 3);
+        for (int v = 0; v < count; v++)
+        {
+            MeshBuilder.decode(vertices, layout, v, attribute, vertex);
+            System.arraycopy(vertex, 0, positions, v * 3, components);
+        }
+        setFromPositions(positions, count);
+    }
+
+    /**
+     * Sets the box and a sphere enclosing it.
+     */
+    public void set(final float minX, final float minY, final float minZ, final float maxX, final float maxY,
+                    final float maxZ)
+    {
+        setBox(minX, minY, minZ, maxX, maxY, maxZ);
+        final float dx = maxX - mCenterX;
+        final float dy = maxY - mCenterY;
+        final float dz = maxZ - mCenterZ;
+        mRadius = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Sets the box and the radius of a sphere around its centre, e.g. bounds stored with a mesh.
+     */
+    public void set(final float minX, final float minY, final float minZ, final float maxX, final float maxY,
+                    final float maxZ, final float radius)
+    {
+        setBox(minX, minY, minZ, maxX, maxY, maxZ);
+        mRadius = radius;
+    }
+
+    /**
+     * Copies other bounds.
+     */
+    public void set(final Bounds other)
+    {
+        mMinX = other.mMinX;
+        mMinY = other.mMinY;
+        mMinZ = other.mMinZ;
+        mMaxX = other.mMaxX;
+        mMaxY = other.mMaxY;
+        mMaxZ = other.mMaxZ;
+        mCenterX = other.mCenterX;
+        mCenterY = other.mCenterY;
+        mCenterZ = other.mCenterZ;
+        mRadius = other.mRadius;
+    }
+
+    /**
+     * Writes these bounds transformed by a matrix into out. The box is the axis-aligned box around
+     * the transformed box, and the sphere radius grows with the largest scale of the matrix.
+     *
+     * @param m A column-major affine matrix, e.g. a world matrix.
+     * @param offset Index of its first element.
+     * @param out Receives the transformed bounds. May be this object.
+     */
+    public void transform(final float[] m, final int offset, final Bounds out)
+    {
+        final float minX = mMinX, minY = mMinY, minZ = mMinZ;
+        final float maxX = mMaxX, maxY = mMaxY, maxZ = mMaxZ;
+        final float cx = mCenterX, cy = mCenterY, cz = mCenterZ;
+
+        // Arvo's method: each output extent is the translation plus, for every input axis, the
+        // smaller or larger of the two scaled extents.
+        float outMinX = m[offset + 12], outMaxX = outMinX;
+        float outMinY = m[offset + 13], outMaxY = outMinY;
+        float outMinZ = m[offset + 14], outMaxZ = outMinZ;
+        for (int j = 0; j < 3; j++)
+        {
+            final float low = j == 0 ? minX : (j == 1 ? minY : minZ);
+            final float high = j == 0 ? maxX : (j == 1 ? maxY : maxZ);
+            final int column = offset + j * 4;
+
+            float e = m[column] * low, f = m[column] * high;
+            outMinX += Math.min(e, f);
+            outMaxX += Math.max(e, f);
+            e = m[column + 1] * low;
+            f = m[column + 1] * high;
+            outMinY += Math.min(e, f);
+            outMaxY += Math.max(e, f);
+            e = m[column + 2] * low;
+            f = m[column + 2] * high;
+            outMinZ += Math.min(e, f);
+            outMaxZ += Math.max(e, f);
+        }
+        out.mMinX = outMinX;
+        out.mMinY = outMinY;
+        out.mMinZ = outMinZ;
+        out.mMaxX = outMaxX;
+        out.mMaxY = outMaxY;
+        out.mMaxZ = outMaxZ;
+
+        out.mCenterX = m[offset] * cx + m[offset + 4] * cy + m[offset + 8] * cz + m[offset + 12];
+        out.mCenterY = m[offset + 1] * cx + m[offset + 5] * cy + m[offset + 9] * cz + m[offset + 13];
+        out.mCenterZ = m[offset + 2] * cx + m[offset + 6] * cy + m[offset + 10] * cz + m[offset + 14];
+
+        final float scaleX = m[offset] * m[offset] + m[offset + 1] * m[offset + 1] + m[offset + 2] * m[offset + 2];
+        final float scaleY = m[offset + 4] * m[offset + 4] + m[offset + 5] * m[offset + 5] + m[offset + 6] * m[offset + 6];
+        final float scaleZ = m[offset + 8] * m[offset + 8] + m[offset + 9] * m[offset + 9] + m[offset + 10] * m[offset + 10];
+        out.mRadius = mRadius * (float) Math.sqrt(Math.max(scaleX, Math.max(scaleY, scaleZ)));
+    }
+
+    public float getMinX()
+    {
+        return mMinX;
+    }
+
+    public float getMinY()
+    {
+        return mMinY;
+    }
+
+    public float getMinZ()
+    {
+        return mMinZ;
+    }
+
+    public float getMaxX()
+    {
+        return mMaxX;
+    }
+
+    public float getMaxY()
+    {
+        return mMaxY;
+    }
+
+    public float getMaxZ()
+    {
+        return mMaxZ;
+    }
+
+    public float getCenterX()
+    {
+        return mCenterX;
+    }
+
+    public float getCenterY()
+    {
+        return mCenterY;
+    }
+
+    public float getCenterZ()
+    {
+        return mCenterZ;
+    }
+
+    public float getRadius()
+    {
+        return mRadius;
+    }
+
+    private void setBox(final float minX, final float minY, final float minZ, final float maxX, final float maxY,
+                        final float maxZ)
+    {
+        mMinX = minX;
+        mMinY = minY;
+        mMinZ = minZ;
+        mMaxX = maxX;
+        mMaxY = maxY;
+        mMaxZ = maxZ;
+        mCenterX = (minX + maxX) * 0.5f;
+        mCenterY = (minY + maxY) * 0.5f;
+        mCenterZ = (minZ + maxZ) * 0.5f;
+    }
+}
\ No newline at end of file
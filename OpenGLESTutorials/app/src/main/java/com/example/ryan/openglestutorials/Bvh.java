@@ -0,0 +1,522 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * A bounding volume hierarchy over the axis-aligned boxes of many objects, so frustum culling and
+ * ray queries can accept or reject whole groups of objects with a single box test.
+ *
+ * The tree is built top-down with a binned surface area heuristic. When objects move, {@link #refit()}
+ * recomputes the node boxes bottom-up in linear time without changing the tree; rebuild once the
+ * tree quality has degraded, e.g. after objects have moved far from where they started.
+ *
+ * Everything is stored in flat arrays. Node i has its box at 6 * i; interior nodes have two
+ * children stored next to each other, leaves reference a range of the object index array.
+ */
+public class Bvh
+{
+    /** Largest number of objects in a leaf. */
+    private static final int MAX_LEAF_OBJECTS = 4;
+
+    /** Number of bins the centroids are sorted into per split. */
+    private static final int BIN_COUNT = 16;
+
+    /** Relative cost of visiting a node compared to testing an object. */
+    private static final float TRAVERSAL_COST = 1.0f;
+
+    /** Object boxes: minX, minY, minZ, maxX, maxY, maxZ per object. */
+    private float[] mObjectBoxes = new float[0];
+    private int mObjectCount;
+
+    /** Object indices, permuted so each leaf covers a contiguous range. */
+    private int[] mObjectIndices = new int[0];
+
+    /** Node boxes, 6 floats per node. */
+    private float[] mNodeBoxes = new float[0];
+
+    /** For interior nodes the index of the first child, for leaves the first entry in mObjectIndices. */
+    private int[] mNodeStart = new int[0];
+
+    /** Objects in a leaf, or 0 for interior nodes. */
+    private int[] mNodeObjectCount = new int[0];
+
+    private int mNodeCount;
+
+    /** Scratch for the build and traversals. */
+    private float[] mCentroids = new float[0];
+    private int[] mStack = new int[64];
+    private final int[] mBinCounts = new int[BIN_COUNT];
+    private final float[] mBinBoxes = new float[BIN_COUNT * 6];
+    private final float[] mRightAreas = new float[BIN_COUNT];
+    private final float[] mScratchBox = new float[6];
+    private final int[] mPlaneMask = new int[1];
+
+    /** Statistics of the last cull. */
+    private int mNodesVisited;
+    private int mObjectsTested;
+
+    /**
+     * Builds the tree from scratch.
+     *
+     * @param boxes minX, minY, minZ, maxX, maxY, maxZ of each object.
+     * @param count The number of objects.
+     */
+    public void build(final float[] boxes, final int count)
+    {
+        mObjectCount = count;
+        if (mObjectBoxes.length < count * 6)
+        {
+            mObjectBoxes = new float[count * 6];
+            mObjectIndices = new int[count];
+            mCentroids = new float[count * 3];
+        }
+
+        // A binary tree with at least one object per leaf has fewer than 2n nodes. An empty tree
+        // still has its root.
+        final int maxNodes = Math.max(1, 2 * count - 1);
+        if (mNodeStart.length < maxNodes)
+        {
+            mNodeBoxes = new float[maxNodes * 6];
+            mNodeStart = new int[maxNodes];
+            mNodeObjectCount = new int[maxNodes];
+        }
+        System.arraycopy(boxes, 0, mObjectBoxes, 0, count * 6);
+
+        for (int i = 0; i < count; i++)
+        {
+            mObjectIndices[i] = i;
+            mCentroids[i * 3] = (boxes[i * 6] + boxes[i * 6 + 3]) * 0.5f;
+            mCentroids[i * 3 + 1] = (boxes[i * 6 + 1] + boxes[i * 6 + 4]) * 0.5f;
+            mCentroids[i * 3 + 2] = (boxes[i * 6 + 2] + boxes[i * 6 + 5]) * 0.5f;
+        }
+
+        mNodeCount = 1;
+        mNodeStart[0] = 0;
+        mNodeObjectCount[0] = count;
+        if (count == 0)
+        {
+            setEmpty(mNodeBoxes, 0);
+            return;
+        }
+
+        // Split nodes until every leaf is small or not worth splitting. Children always get
+        // higher indices than their parent, which refit() relies on.
+        int stackSize = 0;
+        mStack[stackSize++] = 0;
+        while (stackSize > 0)
+        {
+            final int node = mStack[--stackSize];
+            computeNodeBox(node);
+
+            final int first = split(node);
+            if (first >= 0)
+            {
+                stackSize = push(stackSize, first);
+                stackSize = push(stackSize, first + 1);
+            }
+        }
+    }
+
+    /**
+     * Replaces the box of one object. Call {@link #refit()} once all moved objects are updated.
+     *
+     * @param object The object index passed to {@link #build}.
+     */
+    public void setObjectBox(final int object, final float minX, final float minY, final float minZ,
+                             final float maxX, final float maxY, final float maxZ)
+    {
+        final int i = object * 6;
+        mObjectBoxes[i] = minX;
+        mObjectBoxes[i + 1] = minY;
+        mObjectBoxes[i + 2] = minZ;
+        mObjectBoxes[i + 3] = maxX;
+        mObjectBoxes[i + 4] = maxY;
+        mObjectBoxes[i + 5] = maxZ;
+    }
+
+    /**
+     * Recomputes every node box from the current object boxes, keeping the tree structure.
+     */
+    public void refit()
+    {
+        if (mObjectCount == 0)
+        {
+            return;
+        }
+
+        // Children come after their parents, so walking backwards visits children first.
+        for (int node = mNodeCount - 1; node >= 0; node--)
+        {
+            if (mNodeObjectCount[node] > 0)
+            {
+                computeNodeBox(node);
+            }
+            else
+            {
+                final int left = mNodeStart[node] * 6;
+                final int right = left + 6;
+                final int out = node * 6;
+                for (int k = 0; k < 3; k++)
+                {
+                    mNodeBoxes[out + k] = Math.min(mNodeBoxes[left + k], mNodeBoxes[right + k]);
+                    mNodeBoxes[out + 3 + k] = Math.max(mNodeBoxes[left + 3 + k], mNodeBoxes[right + 3 + k]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the objects that may be inside a frustum. Subtrees entirely inside are accepted
+     * without testing their objects, subtrees entirely outside are skipped, and planes a node is
+     * already inside of are not tested again for its descendants.
+     *
+     * @param frustum The frustum, in the same space as the object boxes.
+     * @param visible Receives the indices of the visible objects; needs room for every object.
+     * @return The number of visible objects.
+     */
+    public int cull(final Frustum frustum, final int[] visible)
+    {
+        mNodesVisited = 0;
+        mObjectsTested = 0;
+        if (mObjectCount == 0)
+        {
+            return 0;
+        }
+
+        // Each stack entry is a node and the planes still to test for it.
+        int visibleCount = 0;
+        int stackSize = 0;
+        stackSize = push(stackSize, 0);
+        stackSize = push(stackSize, Frustum.ALL_PLANES);
+        while (stackSize > 0)
+        {
+            final int planes = mStack[--stackSize];
+            final int node = mStack[--stackSize];
+            mNodesVisited++;
+
+            final int b = node * 6;
+            final int result = frustum.classifyBox(mNodeBoxes[b], mNodeBoxes[b + 1], mNodeBoxes[b + 2],
+                    mNodeBoxes[b + 3], mNodeBoxes[b + 4], mNodeBoxes[b + 5], planes, mPlaneMask);
+            if (result == Frustum.OUTSIDE)
+            {
+                continue;
+            }
+
+            if (result == Frustum.INSIDE)
+            {
+                visibleCount = collect(node, visible, visibleCount);
+                continue;
+            }
+
+            final int remaining = mPlaneMask[0];
+            final int count = mNodeObjectCount[node];
+            if (count > 0)
+            {
+                final int start = mNodeStart[node];
+                for (int i = start; i < start + count; i++)
+                {
+                    final int object = mObjectIndices[i];
+                    final int o = object * 6;
+                    mObjectsTested++;
+                    if (frustum.classifyBox(mObjectBoxes[o], mObjectBoxes[o + 1], mObjectBoxes[o + 2],
+                            mObjectBoxes[o + 3], mObjectBoxes[o + 4], mObjectBoxes[o + 5], remaining, null)
+                            != Frustum.OUTSIDE)
+                    {
+                        visible[visibleCount++] = object;
+                    }
+                }
+            }
+            else
+            {
+                final int child = mNodeStart[node];
+                stackSize = push(stackSize, child);
+                stackSize = push(stackSize, remaining);
+                stackSize = push(stackSize, child + 1);
+                stackSize = push(stackSize, remaining);
+            }
+        }
+        return visibleCount;
+    }
+
+    public int getObjectCount()
+    {
+        return mObjectCount;
+    }
+
+    public int getNodeCount()
+    {
+        return mNodeCount;
+    }
+
+    /**
+     * @return Nodes whose box was tested by the last cull.
+     */
+    public int getNodesVisited()
+    {
+        return mNodesVisited;
+    }
+
+    /**
+     * @return Objects whose own box was tested by the last cull.
+     */
+    public int getObjectsTested()
+    {
+        return mObjectsTested;
+    }
+
+    /**
+     * @return The first child of an interior node or the first object slot of a leaf.
+     */
+    int getNodeStart(final int node)
+    {
+        return mNodeStart[node];
+    }
+
+    /**
+     * @return The number of objects in a leaf, or 0 for an interior node.
+     */
+    int getNodeObjectCount(final int node)
+    {
+        return mNodeObjectCount[node];
+    }
+
+    /**
+     * @return The object stored at a slot referenced by a leaf.
+     */
+    int getObjectIndex(final int slot)
+    {
+        return mObjectIndices[slot];
+    }
+
+    /**
+     * @return The array of object boxes, 6 floats per object.
+     */
+    float[] getObjectBoxes()
+    {
+        return mObjectBoxes;
+    }
+
+    /**
+     * @return The array of node boxes, 6 floats per node.
+     */
+    float[] getNodeBoxes()
+    {
+        return mNodeBoxes;
+    }
+
+    /**
+     * Splits a node if the surface area heuristic says it pays off.
+     *
+     * @return The index of the first of the two new children, or -1 if the node stays a leaf.
+     */
+    private int split(final int node)
+    {
+        final int start = mNodeStart[node];
+        final int count = mNodeObjectCount[node];
+        if (count <= MAX_LEAF_OBJECTS)
+        {
+            return -1;
+        }
+
+        // Bin along the axis where the centroids are most spread out.
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, minZ = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+        for (int i = start; i < start + count; i++)
+        {
+            final int c = mObjectIndices[i] * 3;
+            minX = Math.min(minX, mCentroids[c]);
+            minY = Math.min(minY, mCentroids[c + 1]);
+            minZ = Math.min(minZ, mCentroids[c + 2]);
+            maxX = Math.max(maxX, mCentroids[c]);
+            maxY = Math.max(maxY, mCentroids[c + 1]);
+            maxZ = Math.max(maxZ, mCentroids[c + 2]);
+        }
+        final float extentX = maxX - minX, extentY = maxY - minY, extentZ = maxZ - minZ;
+        final int axis = extentX >= extentY && extentX >= extentZ ? 0 : (extentY >= extentZ ? 1 : 2);
+        final float axisMin = axis == 0 ? minX : (axis == 1 ? minY : minZ);
+        final float axisExtent = axis == 0 ? extentX : (axis == 1 ? extentY : extentZ);
+        if (axisExtent <= 0.0f)
+        {
+            // Every centroid is in the same place, nothing separates them.
+            return -1;
+        }
+        final float binScale = BIN_COUNT / axisExtent;
+
+        for (int bin = 0; bin < BIN_COUNT; bin++)
+        {
+            mBinCounts[bin] = 0;
+            setEmpty(mBinBoxes, bin * 6);
+        }
+        for (int i = start; i < start + count; i++)
+        {
+            final int object = mObjectIndices[i];
+            final int bin = binOf(mCentroids[object * 3 + axis], axisMin, binScale);
+            mBinCounts[bin]++;
+            grow(mBinBoxes, bin * 6, mObjectBoxes, object * 6);
+        }
+
+        // Sweep from the right to get the area of everything right of each boundary, then from
+        // the left to evaluate cost = area(left) * count(left) + area(right) * count(right).
+        final float[] box = mScratchBox;
+        setEmpty(box, 0);
+        for (int bin = BIN_COUNT - 1; bin > 0; bin--)
+        {
+            grow(box, 0, mBinBoxes, bin * 6);
+            mRightAreas[bin] = area(box, 0);
+        }
+
+        setEmpty(box, 0);
+        int leftCount = 0;
+        int bestBoundary = -1;
+        float bestCost = Float.MAX_VALUE;
+        for (int boundary = 1; boundary < BIN_COUNT; boundary++)
+        {
+            grow(box, 0, mBinBoxes, (boundary - 1) * 6);
+            leftCount += mBinCounts[boundary - 1];
+            final int rightCount = count - leftCount;
+            if (leftCount == 0 || rightCount == 0)
+            {
+                continue;
+            }
+            final float cost = area(box, 0) * leftCount + mRightAreas[boundary] * rightCount;
+            if (cost < bestCost)
+            {
+                bestCost = cost;
+                bestBoundary = boundary;
+            }
+        }
+
+        // Compare with not splitting, both relative to the node's own area.
+        final float nodeArea = area(mNodeBoxes, node * 6);
+        if (bestBoundary < 0 || (nodeArea > 0.0f && TRAVERSAL_COST + bestCost / nodeArea >= count))
+        {
+            return -1;
+        }
+
+        // Partition the object range in place around the chosen boundary.
+        int left = start;
+        int right = start + count - 1;
+        while (left <= right)
+        {
+            final int object = mObjectIndices[left];
+            if (binOf(mCentroids[object * 3 + axis], axisMin, binScale) < bestBoundary)
+            {
+                left++;
+            }
+            else
+            {
+                mObjectIndices[left] = mObjectIndices[right];
+                mObjectIndices[right] = object;
+                right--;
+            }
+        }
+        final int leftObjects = left - start;
+
+        final int child = mNodeCount;
+        mNodeCount += 2;
+        mNodeStart[child] = start;
+        mNodeObjectCount[child] = leftObjects;
+        mNodeStart[child + 1] = start + leftObjects;
+        mNodeObjectCount[child + 1] = count - leftObjects;
+
+        mNodeStart[node] = child;
+        mNodeObjectCount[node] = 0;
+        return child;
+    }
+
+    /**
+     * Appends every object below a node.
+     */
+    private int collect(final int root, final int[] visible, int visibleCount)
+    {
+        // Objects below a node are contiguous, so find the range from its leftmost and rightmost leaves.
+        int first = root;
+        while (mNodeObjectCount[first] == 0)
+        {
+            first = mNodeStart[first];
+        }
+        int last = root;
+        while (mNodeObjectCount[last] == 0)
+        {
+            last = mNodeStart[last] + 1;
+        }
+
+        final int end = mNodeStart[last] + mNodeObjectCount[last];
+        for (int i = mNodeStart[first]; i < end; i++)
+        {
+            visible[visibleCount++] = mObjectIndices[i];
+        }
+        return visibleCount;
+    }
+
+    private void computeNodeBox(final int node)
+    {
+        final int out = node * 6;
+        setEmpty(mNodeBoxes, out);
+        final int start = mNodeStart[node];
+        final int count = mNodeObjectCount[node];
+        for (int i = start; i < start + count; i++)
+        {
+            grow(mNodeBoxes, out, mObjectBoxes, mObjectIndices[i] * 6);
+        }
+    }
+
+    private int push(final int stackSize, final int value)
+    {
+        if (stackSize == mStack.length)
+        {
+            final int[] stack = new int[mStack.length * 2];
+            System.arraycopy(mStack, 0, stack, 0, stackSize);
+            mStack = stack;
+        }
+        mStack[stackSize] = value;
+        return stackSize + 1;
+    }
+
+    private static int binOf(final float centroid, final float axisMin, final float binScale)
+    {
+        final int bin = (int) ((centroid - axisMin) * binScale);
+        return bin < 0 ? 0 : (bin >= BIN_COUNT ? BIN_COUNT - 1 : bin);
+    }
+
+    private static void setEmpty(final float[] box, final int offset)
+    {
+        box[offset] = Float.MAX_VALUE;
+        box[offset + 1] = Float.MAX_VALUE;
+        box[offset + 2] = Float.MAX_VALUE;
+        box[offset + 3] = -Float.MAX_VALUE;
+        box[offset + 4] = -Float.MAX_VALUE;
+        box[offset + 5] = -Float.MAX_VALUE;
+    }
+
+    private static void grow(final float[] box, final int offset, final float[] other, final int otherOffset)
+    {
+        for (int k = 0; k < 3; k++)
+        {
+            box[offset + k] = Math.min(box[offset + k], other[otherOffset + k]);
+            box[offset + 3 + k] = Math.max(box[offset + 3 + k], other[otherOffset + 3 + k]);
+        }
+    }
+
+    /**
+     * @return Half the surface area of a box, which is all the heuristic needs. 0 for empty boxes.
+     */
+    private static float area(final float[] box, final int offset)
+    {
+        final float x = box[offset + 3] - box[offset];
+        final float y = box[offset + 4] - box[offset + 1];
+        final float z = box[offset + 5] - box[offset + 2];
+        if (x < 0.0f || y < 0.0f || z < 0.0f)
+        {
+            return 0.0f;
+        }
+        return x * y + y * z + z * x;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * A monotonic time source. Code that schedules work by time takes one of these instead of calling
+ * System.nanoTime() itself, so tests and benchmarks can drive it with a clock they advance by hand.
+ */
+public interface Clock
+{
+    /** Reads System.nanoTime(). */
+    Clock SYSTEM = new Clock()
+    {
+        @Override
+        public long nanoTime()
+        {
+            return System.nanoTime();
+        }
+    };
+
+    /**
+     * @return The current time in nanoseconds, relative to an arbitrary fixed origin.
+     */
+    long nanoTime();
+}
\ No newline at end of file
@@ -0,0 +1,226 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * A recorded frame of GL commands that can be built on any thread and replayed later on the GL
+ * thread. Commands are packed into growable int and float arrays, with meshes kept in a
+ * parallel reference array, so recording a frame allocates nothing once the buffer has grown to
+ * the largest frame. Uniform values are copied at record time, so the recorder may reuse its
+ * matrices as soon as a command has been recorded.
+ */
+public class CommandBuffer
+{
+    private static final int OP_CLEAR = 0;
+    private static final int OP_USE_PROGRAM = 1;
+    private static final int OP_UNIFORM_3F = 2;
+    private static final int OP_UNIFORM_MATRIX_4FV = 3;
+    private static final int OP_VERTEX_ATTRIB_3F = 4;
+    private static final int OP_DISABLE_VERTEX_ATTRIB_ARRAY = 5;
+    private static final int OP_DRAW_ARRAYS = 6;
+    private static final int OP_DRAW_MESH = 7;
+
+    /** Opcodes followed by their int arguments. */
+    private int[] mInts = new int[256];
+    private int mIntCount;
+
+    /** Float arguments, consumed in the same order as the opcodes. */
+    private float[] mFloats = new float[1024];
+    private int mFloatCount;
+
+    /** Meshes of OP_DRAW_MESH commands, referred to by index. */
+    private Mesh[] mMeshes = new Mesh[16];
+    private int mMeshCount;
+
+    /** System.nanoTime when recording started, to measure how old a frame is when replayed. */
+    private long mRecordStartNanos;
+
+    /**
+     * Empties the buffer and stamps the start of a new frame.
+     */
+    public void begin()
+    {
+        mIntCount = 0;
+        mFloatCount = 0;
+        for (int i = 0; i < mMeshCount; i++)
+        {
+            mMeshes[i] = null;
+        }
+        mMeshCount = 0;
+        mRecordStartNanos = System.nanoTime();
+    }
+
+    public long getRecordStartNanos()
+    {
+        return mRecordStartNanos;
+    }
+
+    /**
+     * @return The number of ints recorded, a rough measure of the frame's size.
+     */
+    public int size()
+    {
+        return mIntCount;
+    }
+
+    public void clear(final int mask)
+    {
+        ensureInts(2);
+        mInts[mIntCount++] = OP_CLEAR;
+        mInts[mIntCount++] = mask;
+    }
+
+    public void useProgram(final int program)
+    {
+        ensureInts(2);
+        mInts[mIntCount++] = OP_USE_PROGRAM;
+        mInts[mIntCount++] = program;
+    }
+
+    public void uniform3f(final int location, final float x, final float y, final float z)
+    {
+        ensureInts(2);
+        ensureFloats(3);
+        mInts[mIntCount++] = OP_UNIFORM_3F;
+        mInts[mIntCount++] = location;
+        mFloats[mFloatCount++] = x;
+        mFloats[mFloatCount++] = y;
+        mFloats[mFloatCount++] = z;
+    }
+
+    /**
+     * Records one 4x4 matrix uniform, copying its current value.
+     */
+    public void uniformMatrix4fv(final int location, final float[] value, final int offset)
+    {
+        ensureInts(2);
+        ensureFloats(16);
+        mInts[mIntCount++] = OP_UNIFORM_MATRIX_4FV;
+        mInts[mIntCount++] = location;
+        System.arraycopy(value, offset, mFloats, mFloatCount, 16);
+        mFloatCount += 16;
+    }
+
+    public void vertexAttrib3f(final int index, final float x, final float y, final float z)
+    {
+        ensureInts(2);
+        ensureFloats(3);
+        mInts[mIntCount++] = OP_VERTEX_ATTRIB_3F;
+        mInts[mIntCount++] = index;
+        mFloats[mFloatCount++] = x;
+        mFloats[mFloatCount++] = y;
+        mFloats[mFloatCount++] = z;
+    }
+
+    public void disableVertexAttribArray(final int index)
+    {
+        ensureInts(2);
+        mInts[mIntCount++] = OP_DISABLE_VERTEX_ATTRIB_ARRAY;
+        mInts[mIntCount++] = index;
+    }
+
+    public void drawArrays(final int mode, final int first, final int count)
+    {
+        ensureInts(4);
+        mInts[mIntCount++] = OP_DRAW_ARRAYS;
+        mInts[mIntCount++] = mode;
+        mInts[mIntCount++] = first;
+        mInts[mIntCount++] = count;
+    }
+
+    /**
+     * Records {@link Mesh#draw(GL, int)}. The mesh must still be uploaded when the buffer is replayed.
+     */
+    public void drawMesh(final Mesh mesh, final int mode)
+    {
+        ensureInts(3);
+        if (mMeshCount == mMeshes.length)
+        {
+            final Mesh[] meshes = new Mesh[mMeshes.length * 2];
+            System.arraycopy(mMeshes, 0, meshes, 0, mMeshCount);
+            mMeshes = meshes;
+        }
+        mMeshes[mMeshCount] = mesh;
+        mInts[mIntCount++] = OP_DRAW_MESH;
+        mInts[mIntCount++] = mMeshCount++;
+        mInts[mIntCount++] = mode;
+    }
+
+    /**
+     * Issues every recorded command, in order.
+     *
+     * @param gl The GL of the current context.
+     */
+    public void replay(final GL gl)
+    {
+        final int[] ints = mInts;
+        final float[] floats = mFloats;
+        final int intCount = mIntCount;
+        int i = 0;
+        int f = 0;
+        while (i < intCount)
+        {
+            switch (ints[i++])
+            {
+                case OP_CLEAR:
+                    gl.glClear(ints[i++]);
+                    break;
+                case OP_USE_PROGRAM:
+                    gl.glUseProgram(ints[i++]);
+                    break;
+                case OP_UNIFORM_3F:
+                    gl.glUniform3f(ints[i++], floats[f], floats[f + 1], floats[f + 2]);
+                    f += 3;
+                    break;
+                case OP_UNIFORM_MATRIX_4FV:
+                    gl.glUniformMatrix4fv(ints[i++], 1, false, floats, f);
+                    f += 16;
+                    break;
+                case OP_VERTEX_ATTRIB_3F:
+                    gl.glVertexAttrib3f(ints[i++], floats[f], floats[f + 1], floats[f + 2]);
+                    f += 3;
+                    break;
+                case OP_DISABLE_VERTEX_ATTRIB_ARRAY:
+                    gl.glDisableVertexAttribArray(ints[i++]);
+                    break;
+                case OP_DRAW_ARRAYS:
+                    gl.glDrawArrays(ints[i], ints[i + 1], ints[i + 2]);
+                    i += 3;
+                    break;
+                case OP_DRAW_MESH:
+                    mMeshes[ints[i]].draw(gl, ints[i + 1]);
+                    i += 2;
+                    break;
+                default:
+                    throw new IllegalStateException("Corrupt command buffer at " + (i - 1));
+            }
+        }
+    }
+
+    private void ensureInts(final int count)
+    {
+        if (mIntCount + count > mInts.length)
+        {
+            final int[] ints = new int[Math.max(mInts.length * 2, mIntCount + count)];
+            System.arraycopy(mInts, 0, ints, 0, mIntCount);
+            mInts = ints;
+        }
+    }
+
+    private void ensureFloats(final int count)
+    {
+        if (mFloatCount + count > mFloats.length)
+        {
+            final float[] floats = new float[Math.max(mFloats.length * 2, mFloatCount + count)];
+            System.arraycopy(mFloats, 0, floats, 0, mFloatCount);
+            mFloats = floats;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a renderer's frame building on a worker thread, one frame ahead of the GL thread. While
+ * the GL thread replays the {@link CommandBuffer} of frame N, the worker records frame N + 1
+ * (simulation, transforms, culling, sorting and uniform values) into another one. Finished
+ * frames are handed over through a {@link TripleBuffer}, so neither thread blocks the other.
+ *
+ * If the worker has not finished the next frame when the GL thread asks for it, the GL thread
+ * replays the previous frame again instead of waiting, and the frame is counted as stale.
+ */
+public class FramePipeline
+{
+    /**
+     * Records one frame. Called on the worker thread, never concurrently with itself.
+     */
+    public interface FrameBuilder
+    {
+        /**
+         * @param commands An empty buffer, already begun, to record the frame into.
+         */
+        void buildFrame(CommandBuffer commands);
+    }
+
+    private final FrameBuilder mBuilder;
+
+    private final TripleBuffer<CommandBuffer> mBuffers =
+            new TripleBuffer<CommandBuffer>(new CommandBuffer(), new CommandBuffer(), new CommandBuffer());
+
+    /** Set by the GL thread when it has taken a frame and wants the next one built. */
+    private final AtomicBoolean mFrameRequested = new AtomicBoolean();
+
+    private volatile boolean mRunning;
+    private Thread mWorker;
+
+    /** The first exception thrown by the builder, rethrown on the GL thread. */
+    private volatile RuntimeException mFailure;
+
+    /** Whether the GL thread has taken at least one frame since start(). GL thread only. */
+    private boolean mHasFrame;
+
+    /** Frames the GL thread had to replay again because the next one was not ready. */
+    private int mStaleFrameCount;
+
+    /**
+     * @param builder Records each frame on the worker thread.
+     */
+    public FramePipeline(final FrameBuilder builder)
+    {
+        mBuilder = builder;
+    }
+
+    /**
+     * Starts the worker thread, which immediately builds the first frame. The builder's state
+     * must not be touched by other threads until {@link #stop()} returns.
+     */
+    public void start()
+    {
+        if (mWorker != null)
+        {
+            return;
+        }
+
+        mBuffers.reset();
+        mHasFrame = false;
+        mFailure = null;
+        mFrameRequested.set(true);
+        mRunning = true;
+        mWorker = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                runWorker();
+            }
+        }, "FrameBuilder");
+        mWorker.setDaemon(true);
+        mWorker.start();
+    }
+
+    /**
+     * Stops the worker thread and waits for it to finish the frame it is building. Afterwards
+     * the builder's state may be used by the calling thread again.
+     */
+    public void stop()
+    {
+        final Thread worker = mWorker;
+        if (worker == null)
+        {
+            return;
+        }
+
+        mRunning = false;
+        LockSupport.unpark(worker);
+        boolean interrupted = false;
+        while (worker.isAlive())
+        {
+            try
+            {
+                worker.join();
+            }
+            catch (InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+        mWorker = null;
+    }
+
+    public boolean isRunning()
+    {
+        return mWorker != null;
+    }
+
+    /**
+     * Takes the newest finished frame and asks the worker for the next one. Waits only for the
+     * very first frame after start(); later, if no new frame is ready, the last one is returned again.
+     *
+     * @return The frame to replay. It stays valid until the next call.
+     */
+    public CommandBuffer acquire()
+    {
+        while (!mBuffers.acquire())
+        {
+            checkFailure();
+            if (mHasFrame)
+            {
+                mStaleFrameCount++;
+                return mBuffers.getReadBuffer();
+            }
+            LockSupport.parkNanos(100000L);
+        }
+
+        mHasFrame = true;
+        mFrameRequested.set(true);
+        LockSupport.unpark(mWorker);
+        return mBuffers.getReadBuffer();
+    }
+
+    /**
+     * @return The number of frames replayed a second time because the worker fell behind.
+     */
+    public int getStaleFrameCount()
+    {
+        return mStaleFrameCount;
+    }
+
+    private void checkFailure()
+    {
+        final RuntimeException failure = mFailure;
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    private void runWorker()
+    {
+        try
+        {
+            while (mRunning)
+            {
+                if (!mFrameRequested.getAndSet(false))
+                {
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                final CommandBuffer commands = mBuffers.getWriteBuffer();
+                commands.begin();
+                mBuilder.buildFrame(commands);
+                mBuffers.publish();
+            }
+        }
+        catch (RuntimeException e)
+        {
+            mFailure = e;
+        }
+        catch (Error e)
+        {
+            mFailure = new RuntimeException("Frame builder failed.", e);
+        }
+    }
+}
\ No newline at end of file
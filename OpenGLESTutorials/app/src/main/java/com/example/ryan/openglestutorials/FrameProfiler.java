@@ -0,0 +1,347 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * Times whole frames and named phases inside them with System.nanoTime and records the durations
+ * into fixed-bucket histograms, so percentiles can be reported without storing samples. Nothing
+ * is allocated while recording and each begin/end pair costs two nanoTime calls and an array
+ * increment, cheap enough to leave on in release builds.
+ *
+ * Phases are registered once up front and referred to by id afterwards:
+ * <pre>
+ * final int cull = profiler.addPhase("cull");
+ * ...
+ * profiler.beginFrame();
+ * profiler.begin(cull);
+ * ...
+ * profiler.end(cull);
+ * profiler.endFrame();
+ * </pre>
+ *
+ * Recording and reporting must happen on the same thread, normally the GL thread.
+ */
+public class FrameProfiler
+{
+    /** Most phases a profiler can track. */
+    private static final int MAX_PHASES = 16;
+
+    /** Id of the whole-frame histogram. */
+    private static final int FRAME = MAX_PHASES;
+
+    /**
+     * Log-linear buckets: durations below 2^LINEAR_BITS microseconds get one bucket per
+     * microsecond, above that every power of two is split into 2^SUB_BUCKET_BITS buckets,
+     * which bounds the relative error of a reported value to 1/16.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+
+    /** Highest power of two tracked; anything longer lands in the last bucket (~68 s). */
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKET_COUNT = (1 << LINEAR_BITS) + (MAX_EXPONENT - LINEAR_BITS) * SUB_BUCKETS;
+
+    private final String[] mPhaseNames = new String[MAX_PHASES];
+    private int mPhaseCount;
+
+    /** Bucket counts per histogram, the frame histogram last. */
+    private final int[][] mBuckets = new int[MAX_PHASES + 1][BUCKET_COUNT];
+    private final long[] mMaxNanos = new long[MAX_PHASES + 1];
+    private final long[] mTotalNanos = new long[MAX_PHASES + 1];
+    private final int[] mSampleCounts = new int[MAX_PHASES + 1];
+
+    /** Start times of the running frame and phases. */
+    private final long[] mStartNanos = new long[MAX_PHASES + 1];
+
+    private boolean mEnabled = true;
+
+    /** Frames between automatic reports, 0 for none. */
+    private int mReportInterval;
+
+    /** Set from any thread to get a report at the end of the next frame. */
+    private volatile boolean mReportRequested;
+
+    /**
+     * Registers a phase.
+     *
+     * @param name The name shown in reports.
+     * @return The id to pass to {@link #begin(int)} and {@link #end(int)}.
+     */
+    public int addPhase(final String name)
+    {
+        if (mPhaseCount == MAX_PHASES)
+        {
+            throw new IllegalStateException("Too many phases.");
+        }
+        mPhaseNames[mPhaseCount] = name;
+        return mPhaseCount++;
+    }
+
+    public int getPhaseCount()
+    {
+        return mPhaseCount;
+    }
+
+    public String getPhaseName(final int phase)
+    {
+        return mPhaseNames[phase];
+    }
+
+    /**
+     * @param enabled False makes every recording call return immediately.
+     */
+    public void setEnabled(final boolean enabled)
+    {
+        mEnabled = enabled;
+    }
+
+    public void beginFrame()
+    {
+        if (mEnabled)
+        {
+            mStartNanos[FRAME] = System.nanoTime();
+        }
+    }
+
+    public void endFrame()
+    {
+        if (mEnabled)
+        {
+            record(FRAME, System.nanoTime() - mStartNanos[FRAME]);
+        }
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @param phase An id from {@link #addPhase(String)}.
+     */
+    public void begin(final int phase)
+    {
+        if (mEnabled)
+        {
+            mStartNanos[phase] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Stops timing a phase and records its duration.
+     *
+     * @param phase An id from {@link #addPhase(String)}.
+     */
+    public void end(final int phase)
+    {
+        if (mEnabled)
+        {
+            record(phase, System.nanoTime() - mStartNanos[phase]);
+        }
+    }
+
+    /**
+     * Records a duration measured elsewhere.
+     *
+     * @param phase An id from {@link #addPhase(String)}.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(final int phase, final long nanos)
+    {
+        final long duration = Math.max(nanos, 0L);
+        mBuckets[phase][bucketOf(duration / 1000L)]++;
+        mTotalNanos[phase] += duration;
+        mSampleCounts[phase]++;
+        if (duration > mMaxNanos[phase])
+        {
+            mMaxNanos[phase] = duration;
+        }
+    }
+
+    /**
+     * Forgets every recorded sample, starting a new reporting window.
+     */
+    public void reset()
+    {
+        for (int h = 0; h <= MAX_PHASES; h++)
+        {
+            final int[] buckets = mBuckets[h];
+            for (int b = 0; b < BUCKET_COUNT; b++)
+            {
+                buckets[b] = 0;
+            }
+            mMaxNanos[h] = 0L;
+            mTotalNanos[h] = 0L;
+            mSampleCounts[h] = 0;
+        }
+    }
+
+    public int getFrameCount()
+    {
+        return mSampleCounts[FRAME];
+    }
+
+    /**
+     * @param percentile 0 to 100.
+     * @return The frame time at that percentile in microseconds, accurate to the bucket width.
+     */
+    public long getFramePercentileMicros(final double percentile)
+    {
+        return percentileMicros(FRAME, percentile);
+    }
+
+    /**
+     * @param phase An id from {@link #addPhase(String)}.
+     * @param percentile 0 to 100.
+     * @return The phase time at that percentile in microseconds, accurate to the bucket width.
+     */
+    public long getPhasePercentileMicros(final int phase, final double percentile)
+    {
+        return percentileMicros(phase, percentile);
+    }
+
+    public long getFrameMaxMicros()
+    {
+        return mMaxNanos[FRAME] / 1000L;
+    }
+
+    public long getPhaseMaxMicros(final int phase)
+    {
+        return mMaxNanos[phase] / 1000L;
+    }
+
+    /**
+     * Makes {@link #pollReport()} hand out a report every given number of frames.
+     *
+     * @param frames Frames per report, or 0 to only report on request.
+     */
+    public void setReportInterval(final int frames)
+    {
+        mReportInterval = frames;
+    }
+
+    /**
+     * Asks for a report at the next {@link #pollReport()}. Safe to call from any thread.
+     */
+    public void requestReport()
+    {
+        mReportRequested = true;
+    }
+
+    /**
+     * Call once per frame after {@link #endFrame()}. When a report is due, because it was
+     * requested or the report interval has passed, returns it and starts a new window.
+     *
+     * @return The report, or null if none is due.
+     */
+    public String pollReport()
+    {
+        final boolean due = mReportRequested
+                || (mReportInterval > 0 && mSampleCounts[FRAME] >= mReportInterval);
+        if (!due)
+        {
+            return null;
+        }
+        mReportRequested = false;
+        final String report = report();
+        reset();
+        return report;
+    }
+
+    /**
+     * Formats p50/p95/p99/max and the mean of the frame and every phase since the last reset.
+     * This allocates, so call it on demand rather than every frame.
+     *
+     * @return One line per histogram, times in microseconds.
+     */
+    public String report()
+    {
+        final StringBuilder builder = new StringBuilder(128 * (mPhaseCount + 1));
+        appendLine(builder, "frame", FRAME);
+        for (int phase = 0; phase < mPhaseCount; phase++)
+        {
+            appendLine(builder, mPhaseNames[phase], phase);
+        }
+        return builder.toString();
+    }
+
+    private void appendLine(final StringBuilder builder, final String name, final int histogram)
+    {
+        final int count = mSampleCounts[histogram];
+        builder.append(name)
+                .append(": n=").append(count)
+                .append(" p50=").append(percentileMicros(histogram, 50.0))
+                .append(" p95=").append(percentileMicros(histogram, 95.0))
+                .append(" p99=").append(percentileMicros(histogram, 99.0))
+                .append(" max=").append(mMaxNanos[histogram] / 1000L)
+                .append(" mean=").append(count == 0 ? 0L : mTotalNanos[histogram] / count / 1000L)
+                .append(" us\n");
+    }
+
+    private long percentileMicros(final int histogram, final double percentile)
+    {
+        final int count = mSampleCounts[histogram];
+        if (count == 0)
+        {
+            return 0L;
+        }
+
+        // The rank of the sample at the percentile, 1-based.
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        final int[] buckets = mBuckets[histogram];
+        long seen = 0;
+        for (int b = 0; b < BUCKET_COUNT; b++)
+        {
+            seen += buckets[b];
+            if (seen >= rank)
+            {
+                // Report the top of the bucket, but never more than the true maximum.
+                return Math.min(bucketUpperMicros(b), mMaxNanos[histogram] / 1000L);
+            }
+        }
+        return mMaxNanos[histogram] / 1000L;
+    }
+
+    /**
+     * @return The bucket of a duration in microseconds.
+     */
+    static int bucketOf(final long micros)
+    {
+        if (micros < (1L << LINEAR_BITS))
+        {
+            return (int) micros;
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent >= MAX_EXPONENT)
+        {
+            return BUCKET_COUNT - 1;
+        }
+
+        // The bits just below the leading one select the sub-bucket.
+        final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (1 << LINEAR_BITS) + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return The largest duration in microseconds that falls into a bucket.
+     */
+    static long bucketUpperMicros(final int bucket)
+    {
+        if (bucket < (1 << LINEAR_BITS))
+        {
+            return bucket;
+        }
+
+        final int index = bucket - (1 << LINEAR_BITS);
+        final int exponent = LINEAR_BITS + index / SUB_BUCKETS;
+        final int subBucket = index % SUB_BUCKETS;
+        final long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+}
\ No newline at end of file
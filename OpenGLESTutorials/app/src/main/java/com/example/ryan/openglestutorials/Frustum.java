@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * The six planes of a view frustum, extracted from a projection * view matrix with the
+ * Gribb/Hartmann method. Plane normals point into the frustum and are normalized, so the plane
+ * equation gives true signed distances.
+ */
+public class Frustum
+{
+    /** Results of the classify methods. */
+    public static final int OUTSIDE = 0;
+    public static final int INTERSECTING = 1;
+    public static final int INSIDE = 2;
+
+    /** Plane indices. */
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+    public static final int BOTTOM = 2;
+    public static final int TOP = 3;
+    public static final int NEAR = 4;
+    public static final int FAR = 5;
+
+    /** Mask with one bit set per plane. */
+    public static final int ALL_PLANES = 0x3f;
+
+    /** a, b, c, d of each plane; a point is inside when a*x + b*y + c*z + d >= 0. */
+    private final float[] mPlanes = new float[24];
+
+    /**
+     * Extracts the planes from a projection * view matrix. Objects tested against the frustum
+     * must then be in world space.
+     *
+     * @param m The column-major view-projection matrix.
+     * @param offset Index of its first element.
+     */
+    public void set(final float[] m, final int offset)
+    {
+        // Row i of the matrix is m[i], m[4 + i], m[8 + i], m[12 + i]. Each plane is the last row
+        // plus or minus one of the others.
+        for (int i = 0; i < 3; i++)
+        {
+            setPlane(i * 2, m[offset + 3] + m[offset + i], m[offset + 7] + m[offset + 4 + i],
+                    m[offset + 11] + m[offset + 8 + i], m[offset + 15] + m[offset + 12 + i]);
+            setPlane(i * 2 + 1, m[offset + 3] - m[offset + i], m[offset + 7] - m[offset + 4 + i],
+                    m[offset + 11] - m[offset + 8 + i], m[offset + 15] - m[offset + 12 + i]);
+        }
+    }
+
+    /**
+     * @param plane One of the plane indices.
+     * @param out Receives a, b, c, d.
+     */
+    public void getPlane(final int plane, final float[] out)
+    {
+        System.arraycopy(mPlanes, plane * 4, out, 0, 4);
+    }
+
+    /**
+     * Classifies a sphere against the frustum.
+     *
+     * @return OUTSIDE, INTERSECTING or INSIDE.
+     */
+    public int classifySphere(final float x, final float y, final float z, final float radius)
+    {
+        final float[] p = mPlanes;
+        int result = INSIDE;
+        for (int i = 0; i < 24; i += 4)
+        {
+            final float distance = p[i] * x + p[i + 1] * y + p[i + 2] * z + p[i + 3];
+            if (distance < -radius)
+            {
+                return OUTSIDE;
+            }
+            if (distance < radius)
+            {
+                result = INTERSECTING;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Classifies an axis-aligned box against the frustum by testing, for each plane, the corner
+     * farthest along the plane normal and the corner farthest against it.
+     *
+     * @return OUTSIDE, INTERSECTING or INSIDE.
+     */
+    public int classifyBox(final float minX, final float minY, final float minZ, final float maxX, final float maxY,
+                           final float maxZ)
+    {
+        return classifyBox(minX, minY, minZ, maxX, maxY, maxZ, ALL_PLANES, null);
+    }
+
+    /**
+     * Classifies an axis-aligned box against a subset of the planes. A box that is completely
+     * inside a plane is also inside it for every box it contains, so hierarchical traversals can
+     * pass down the planes still left to test.
+     *
+     * @param planeMask Bit i set means plane i is tested.
+     * @param outMask If not null, element 0 receives the planes the box still straddles.
+     * @return OUTSIDE, INTERSECTING or INSIDE.
+     */
+    public int classifyBox(final float minX, final float minY, final float minZ, final float maxX, final float maxY,
+                           final float maxZ, final int planeMask, final int[] outMask)
+    {
+        final float[] p = mPlanes;
+        int straddled = 0;
+        for (int plane = 0; plane < 6; plane++)
+        {
+            if ((planeMask & (1 << plane)) == 0)
+            {
+                continue;
+            }
+
+            final int i = plane * 4;
+            final float a = p[i], b = p[i + 1], c = p[i + 2], d = p[i + 3];
+
+            // The corner most in front of the plane. If even that is behind, the box is outside.
+            final float far = a * (a >= 0.0f ? maxX : minX) + b * (b >= 0.0f ? maxY : minY)
+                    + c * (c >= 0.0f ? maxZ : minZ) + d;
+            if (far < 0.0f)
+            {
+                return OUTSIDE;
+            }
+
+            // The corner most behind the plane. If that is in front, the whole box is.
+            final float near = a * (a >= 0.0f ? minX : maxX) + b * (b >= 0.0f ? minY : maxY)
+                    + c * (c >= 0.0f ? minZ : maxZ) + d;
+            if (near < 0.0f)
+            {
+                straddled |= 1 << plane;
+            }
+        }
+
+        if (outMask != null)
+        {
+            outMask[0] = straddled;
+        }
+        return straddled == 0 ? INSIDE : INTERSECTING;
+    }
+
+    /**
+     * Classifies bounds, testing the sphere first and the box only if the sphere straddles a plane.
+     *
+     * @return OUTSIDE, INTERSECTING or INSIDE.
+     */
+    public int classify(final Bounds bounds)
+    {
+        final int sphere = classifySphere(bounds.getCenterX(), bounds.getCenterY(), bounds.getCenterZ(),
+                bounds.getRadius());
+        if (sphere != INTERSECTING)
+        {
+            return sphere;
+        }
+        return classifyBox(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ(), bounds.getMaxX(), bounds.getMaxY(),
+                bounds.getMaxZ());
+    }
+
+    private void setPlane(final int plane, final float a, final float b, final float c, final float d)
+    {
+        final float length = (float) Math.sqrt(a * a + b * b + c * c);
+        final float scale = length > 0.0f ? 1.0f / length : 0.0f;
+        final int i = plane * 4;
+        mPlanes[i] = a * scale;
+        mPlanes[i + 1] = b * scale;
+        mPlanes[i + 2] = c * scale;
+        mPlanes[i + 3] = d * scale;
+    }
+}
\ No newline at end of file
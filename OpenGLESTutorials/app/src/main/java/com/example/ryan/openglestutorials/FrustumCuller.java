@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * Drops objects outside the view frustum before any GL calls are made for them, and counts how
+ * many objects were kept and dropped each frame.
+ */
+public class FrustumCuller
+{
+    private final Frustum mFrustum = new Frustum();
+    private final float[] mViewProjectionMatrix = new float[16];
+
+    private int mVisibleCount;
+    private int mCulledCount;
+
+    /**
+     * Rebuilds the frustum. Call whenever the view or projection changes.
+     *
+     * @param view The view matrix, at offset 0.
+     * @param projection The projection matrix, at offset 0.
+     */
+    public void setCamera(final float[] view, final float[] projection)
+    {
+        MatrixMath.multiply(mViewProjectionMatrix, 0, projection, 0, view, 0);
+        mFrustum.set(mViewProjectionMatrix, 0);
+    }
+
+    public Frustum getFrustum()
+    {
+        return mFrustum;
+    }
+
+    /**
+     * Resets the visible and culled counts. Call once at the start of every frame.
+     */
+    public void beginFrame()
+    {
+        mVisibleCount = 0;
+        mCulledCount = 0;
+    }
+
+    /**
+     * Tests world-space bounds and counts the result.
+     *
+     * @param worldBounds Bounds in world space.
+     * @return True if any part of the bounds may be visible.
+     */
+    public boolean isVisible(final Bounds worldBounds)
+    {
+        if (mFrustum.classify(worldBounds) == Frustum.OUTSIDE)
+        {
+            mCulledCount++;
+            return false;
+        }
+        mVisibleCount++;
+        return true;
+    }
+
+    /**
+     * Collects the nodes whose mesh may be visible. Nodes without a mesh are skipped and not
+     * counted. The scene graph must have been updated this frame.
+     *
+     * @param nodes The candidate nodes.
+     * @param count The number of candidates.
+     * @param visible Receives the visible nodes, in their original order.
+     * @return The number of visible nodes written.
+     */
+    public int cull(final SceneNode[] nodes, final int count, final SceneNode[] visible)
+    {
+        int visibleCount = 0;
+        for (int i = 0; i < count; i++)
+        {
+            final SceneNode node = nodes[i];
+            if (node.getMesh() != null && isVisible(node.getWorldBounds()))
+            {
+                visible[visibleCount++] = node;
+            }
+        }
+        return visibleCount;
+    }
+
+    /**
+     * Collects the objects of a hierarchy that may be visible, accepting or rejecting whole
+     * subtrees at once.
+     *
+     * @param bvh A hierarchy over world-space object boxes.
+     * @param visible Receives the indices of the visible objects.
+     * @return The number of visible objects written.
+     */
+    public int cull(final Bvh bvh, final int[] visible)
+    {
+        final int visibleCount = bvh.cull(mFrustum, visible);
+        mVisibleCount += visibleCount;
+        mCulledCount += bvh.getObjectCount() - visibleCount;
+        return visibleCount;
+    }
+
+    /**
+     * @return Objects found visible since the last {@link #beginFrame()}.
+     */
+    public int getVisibleCount()
+    {
+        return mVisibleCount;
+    }
+
+    /**
+     * @return Objects culled since the last {@link #beginFrame()}.
+     */
+    public int getCulledCount()
+    {
+        return mCulledCount;
+    }
+}
\ No newline at end of file
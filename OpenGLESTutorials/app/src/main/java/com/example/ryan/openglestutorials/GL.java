@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.Buffer;
+
+/**
+ * The OpenGL ES 2.0 entry points used by the renderers. Code that only talks to this interface
+ * (instead of the android.opengl.GLES20 statics) can run against a fake implementation on a
+ * plain JVM. Constants mirror the values defined by GLES20.
+ *
+ * The program binary entry points are core in ES 3.0 and GL_OES_get_program_binary in ES 2.0.
+ * Only call them on an ES 3 context or when GL_EXTENSIONS lists the extension; where they are
+ * missing, GL_NUM_PROGRAM_BINARY_FORMATS reads as 0.
+ */
+public interface GL
+{
+    int GL_FALSE = 0;
+    int GL_TRUE = 1;
+
+    int GL_NO_ERROR = 0;
+
+    int GL_DEPTH_BUFFER_BIT = 0x00000100;
+    int GL_COLOR_BUFFER_BIT = 0x00004000;
+
+    int GL_CULL_FACE = 0x0B44;
+    int GL_DEPTH_TEST = 0x0B71;
+
+    int GL_VERTEX_SHADER = 0x8B31;
+    int GL_FRAGMENT_SHADER = 0x8B30;
+    int GL_COMPILE_STATUS = 0x8B81;
+    int GL_LINK_STATUS = 0x8B82;
+
+    int GL_POINTS = 0x0000;
+    int GL_TRIANGLES = 0x0004;
+
+    int GL_BYTE = 0x1400;
+    int GL_UNSIGNED_BYTE = 0x1401;
+    int GL_SHORT = 0x1402;
+    int GL_UNSIGNED_SHORT = 0x1403;
+    int GL_FLOAT = 0x1406;
+
+    int GL_ARRAY_BUFFER = 0x8892;
+    int GL_ELEMENT_ARRAY_BUFFER = 0x8893;
+    int GL_STREAM_DRAW = 0x88E0;
+    int GL_STATIC_DRAW = 0x88E4;
+    int GL_DYNAMIC_DRAW = 0x88E8;
+
+    int GL_VENDOR = 0x1F00;
+    int GL_RENDERER = 0x1F01;
+    int GL_VERSION = 0x1F02;
+    int GL_EXTENSIONS = 0x1F03;
+
+    int GL_PROGRAM_BINARY_LENGTH = 0x8741;
+    int GL_NUM_PROGRAM_BINARY_FORMATS = 0x87FE;
+    int GL_PROGRAM_BINARY_FORMATS = 0x87FF;
+
+    /**
+     * Creates an empty shader object.
+     *
+     * @param type GL_VERTEX_SHADER or GL_FRAGMENT_SHADER.
+     * @return The shader handle, or 0 on failure.
+     */
+    int glCreateShader(int type);
+
+    void glShaderSource(int shader, String source);
+
+    void glCompileShader(int shader);
+
+    void glGetShaderiv(int shader, int pname, int[] params, int offset);
+
+    String glGetShaderInfoLog(int shader);
+
+    void glDeleteShader(int shader);
+
+    /**
+     * Creates an empty program object.
+     *
+     * @return The program handle, or 0 on failure.
+     */
+    int glCreateProgram();
+
+    void glAttachShader(int program, int shader);
+
+    void glBindAttribLocation(int program, int index, String name);
+
+    void glLinkProgram(int program);
+
+    void glGetProgramiv(int program, int pname, int[] params, int offset);
+
+    String glGetProgramInfoLog(int program);
+
+    void glDeleteProgram(int program);
+
+    int glGetUniformLocation(int program, String name);
+
+    int glGetAttribLocation(int program, String name);
+
+    void glUseProgram(int program);
+
+    void glUniform3f(int location, float x, float y, float z);
+
+    void glUniform3fv(int location, int count, float[] value, int offset);
+
+    void glUniformMatrix4fv(int location, int count, boolean transpose, float[] value, int offset);
+
+    void glGenBuffers(int n, int[] buffers, int offset);
+
+    void glDeleteBuffers(int n, int[] buffers, int offset);
+
+    void glBindBuffer(int target, int buffer);
+
+    void glBufferData(int target, int size, Buffer data, int usage);
+
+    void glBufferSubData(int target, int offset, int size, Buffer data);
+
+    /**
+     * Points an attribute at the currently bound GL_ARRAY_BUFFER.
+     *
+     * @param offset Byte offset of the first element inside the bound buffer.
+     */
+    void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, int offset);
+
+    void glEnableVertexAttribArray(int index);
+
+    void glDisableVertexAttribArray(int index);
+
+    /**
+     * Sets the constant value a disabled attribute array reads.
+     */
+    void glVertexAttrib3f(int index, float x, float y, float z);
+
+    void glDrawArrays(int mode, int first, int count);
+
+    /**
+     * Draws from the currently bound GL_ELEMENT_ARRAY_BUFFER.
+     *
+     * @param offset Byte offset of the first index inside the bound buffer.
+     */
+    void glDrawElements(int mode, int count, int type, int offset);
+
+    void glClearColor(float red, float green, float blue, float alpha);
+
+    /**
+     * @param mask GL_COLOR_BUFFER_BIT and/or GL_DEPTH_BUFFER_BIT.
+     */
+    void glClear(int mask);
+
+    void glEnable(int capability);
+
+    void glDisable(int capability);
+
+    void glViewport(int x, int y, int width, int height);
+
+    /**
+     * @param name GL_VENDOR, GL_RENDERER, GL_VERSION or GL_EXTENSIONS.
+     */
+    String glGetString(int name);
+
+    void glGetIntegerv(int pname, int[] params, int offset);
+
+    /**
+     * @return The oldest error flag, GL_NO_ERROR if none is set; the flag is cleared.
+     */
+    int glGetError();
+
+    /**
+     * Copies out a linked program in an implementation-specific format.
+     *
+     * @param bufSize Bytes available in binary; query GL_PROGRAM_BINARY_LENGTH first.
+     * @param length Receives the number of bytes written.
+     * @param binaryFormat Receives the format token to pass back to glProgramBinary.
+     */
+    void glGetProgramBinary(int program, int bufSize, int[] length, int lengthOffset, int[] binaryFormat,
+                            int binaryFormatOffset, Buffer binary);
+
+    /**
+     * Loads a program from a binary instead of linking it. Check GL_LINK_STATUS afterwards;
+     * drivers reject binaries from other versions of themselves.
+     */
+    void glProgramBinary(int program, int binaryFormat, Buffer binary, int length);
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * A fixed-size ring of touch events passed from the UI thread to the GL thread without locks
+ * and without allocating. Each event is stored as primitives in preallocated arrays: action,
+ * pointer id, position and time.
+ *
+ * The UI thread pushes the events of one MotionEvent and then publishes them together. Pushed
+ * events stay invisible to the GL thread until they are published. Consecutive moves of the same
+ * pointer are coalesced: a move pushed right after an unpublished move of the same pointer
+ * replaces it, and draining skips every move that a later move of the same pointer supersedes.
+ * Only the newest position of a drag is delivered, however many samples arrived between frames.
+ *
+ * Exactly one thread may push and publish, and exactly one other thread may drain.
+ */
+public class InputRing
+{
+    public static final int ACTION_DOWN = 0;
+    public static final int ACTION_MOVE = 1;
+    public static final int ACTION_UP = 2;
+    public static final int ACTION_CANCEL = 3;
+
+    /**
+     * Receives drained events, in the order they were pushed.
+     */
+    public interface Handler
+    {
+        /**
+         * @param action One of the ACTION_ constants.
+         * @param pointerId The id of the pointer the event belongs to.
+         * @param x The pointer position in view coordinates.
+         * @param y The pointer position in view coordinates.
+         * @param timeNanos When the event happened.
+         */
+        void onInput(int action, int pointerId, float x, float y, long timeNanos);
+    }
+
+    private final int mMask;
+    private final int[] mActions;
+    private final int[] mPointerIds;
+    private final float[] mX;
+    private final float[] mY;
+    private final long[] mTimes;
+
+    /** Events up to here are visible to the consumer. Written by the producer only. */
+    private volatile long mPublished;
+
+    /** Events before this have been drained and their slots may be reused. Written by the consumer only. */
+    private volatile long mConsumed;
+
+    /** Events pushed so far, published or not. Producer only. */
+    private long mPushed;
+
+    /** Events dropped because the ring was full. Producer only. */
+    private int mDroppedCount;
+
+    /**
+     * @param capacity The most events that can wait to be drained. Rounded up to a power of two.
+     */
+    public InputRing(final int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+
+        int size = 1;
+        while (size < capacity)
+        {
+            size <<= 1;
+        }
+        mMask = size - 1;
+        mActions = new int[size];
+        mPointerIds = new int[size];
+        mX = new float[size];
+        mY = new float[size];
+        mTimes = new long[size];
+    }
+
+    /**
+     * Producer side: appends an event, invisible to the consumer until {@link #publish()}.
+     *
+     * @param action One of the ACTION_ constants.
+     * @param pointerId The id of the pointer the event belongs to.
+     * @param x The pointer position in view coordinates.
+     * @param y The pointer position in view coordinates.
+     * @param timeNanos When the event happened.
+     * @return False if the ring was full and the event was dropped.
+     */
+    public boolean push(final int action, final int pointerId, final float x, final float y, final long timeNanos)
+    {
+        // Only an unpublished slot may be rewritten; the consumer could be reading a published one.
+        if (action == ACTION_MOVE && mPushed > mPublished)
+        {
+            final int last = (int) (mPushed - 1) & mMask;
+            if (mActions[last] == ACTION_MOVE && mPointerIds[last] == pointerId)
+            {
+                mX[last] = x;
+                mY[last] = y;
+                mTimes[last] = timeNanos;
+                return true;
+            }
+        }
+
+        if (mPushed - mConsumed > mMask)
+        {
+            mDroppedCount++;
+            return false;
+        }
+
+        final int slot = (int) mPushed & mMask;
+        mActions[slot] = action;
+        mPointerIds[slot] = pointerId;
+        mX[slot] = x;
+        mY[slot] = y;
+        mTimes[slot] = timeNanos;
+        mPushed++;
+        return true;
+    }
+
+    /**
+     * Producer side: makes every pushed event visible to the consumer.
+     */
+    public void publish()
+    {
+        mPublished = mPushed;
+    }
+
+    /**
+     * Producer side.
+     *
+     * @return The number of events dropped because the consumer fell behind.
+     */
+    public int getDroppedCount()
+    {
+        return mDroppedCount;
+    }
+
+    /**
+     * Consumer side: hands every published event to the handler and frees their slots.
+     *
+     * @param handler Receives the events, with superseded moves left out.
+     * @return The number of events handed to the handler.
+     */
+    public int drain(final Handler handler)
+    {
+        final long end = mPublished;
+        long sequence = mConsumed;
+        int count = 0;
+        while (sequence < end)
+        {
+            final int slot = (int) sequence & mMask;
+            final int action = mActions[slot];
+            final int pointerId = mPointerIds[slot];
+            sequence++;
+
+            if (action == ACTION_MOVE && sequence < end)
+            {
+                final int next = (int) sequence & mMask;
+                if (mActions[next] == ACTION_MOVE && mPointerIds[next] == pointerId)
+                {
+                    continue;
+                }
+            }
+
+            handler.onInput(action, pointerId, mX[slot], mY[slot], mTimes[slot]);
+            count++;
+        }
+
+        mConsumed = end;
+        return count;
+    }
+
+    /**
+     * @return The number of published events waiting to be drained. Approximate while the
+     *         other thread is active.
+     */
+    public int size()
+    {
+        return (int) (mPublished - mConsumed);
+    }
+
+    /**
+     * @return The most events that can wait to be drained.
+     */
+    public int getCapacity()
+    {
+        return mMask + 1;
+    }
+}
\ No newline at end of file
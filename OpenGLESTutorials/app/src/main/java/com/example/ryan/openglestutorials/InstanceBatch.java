@@ -0,0 +1,416 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Draws many copies of one mesh with a handful of draw calls by transforming every instance's
+ * vertices into world space on the CPU and streaming them into one dynamic vertex buffer. ES 2.0
+ * has no instancing, so this is how thousands of objects share a single program and buffer.
+ *
+ * The transform is split into chunks of instances that run in parallel on an executor. Because
+ * ES 2.0 only guarantees 16-bit indices, instances are grouped into pages of at most 65536
+ * vertices; each page is one glDrawElements call that reuses the same static index buffer.
+ *
+ * Output vertices are packed as float positions, unsigned byte colours and byte normals, all in
+ * world space, so the shader only needs the view-projection matrix and a world-space light.
+ */
+public class InstanceBatch
+{
+    /** Attribute locations of the output layout; bind a_Position, a_Color, a_Normal in this order. */
+    public static final int POSITION_LOCATION = 0;
+    public static final int COLOR_LOCATION = 1;
+    public static final int NORMAL_LOCATION = 2;
+
+    /** Most vertices a 16-bit index can address. */
+    private static final int MAX_PAGE_VERTICES = 65536;
+
+    /** Byte offsets inside an output vertex. */
+    private static final int POSITION_OFFSET = 0;
+    private static final int COLOR_OFFSET = 12;
+    private static final int NORMAL_OFFSET = 16;
+
+    /** The packed output layout: float position, unsigned byte colour, byte normal. 20 bytes. */
+    private final VertexLayout mLayout = new VertexLayout()
+            .add(POSITION_LOCATION, 3, VertexLayout.TYPE_FLOAT)
+            .add(COLOR_LOCATION, 4, VertexLayout.TYPE_UNORM8)
+            .add(NORMAL_LOCATION, 3, VertexLayout.TYPE_SNORM8);
+
+    /** Unique source vertices in object space. */
+    private final float[] mSourcePositions;
+    private final float[] mSourceNormals;
+    private final int mSourceVertexCount;
+
+    /** Indices of one instance into the source vertices. */
+    private final int[] mSourceIndices;
+
+    private final int mMaxInstances;
+    private final int mInstancesPerPage;
+
+    /** Column-major model matrix per instance, 16 floats each. */
+    private final float[] mModelMatrices;
+
+    /** The world-space vertices of every instance, ready for upload. */
+    private final ByteBuffer mVertices;
+
+    /** Indices for one full page of instances. Every page uses the same pattern. */
+    private final ByteBuffer mPageIndices;
+
+    /** GL handles of the vertex and index buffers. */
+    private final int[] mBufferHandles = new int[2];
+    private boolean mUploaded;
+
+    /** Parallel transform. */
+    private final ExecutorService mExecutor;
+    private final TransformChunk[] mChunks;
+    private final AtomicInteger mPendingChunks = new AtomicInteger();
+    private final Object mDoneLock = new Object();
+
+    /** Number of instances in the current frame. */
+    private int mInstanceCount;
+
+    /** Draw calls issued by the last {@link #draw(GL)}. */
+    private int mDrawCallCount;
+
+    /**
+     * @param positions Source positions, vertexCount * 3 floats in object space.
+     * @param colors Source colours, vertexCount * 4 floats.
+     * @param normals Source normals, vertexCount * 3 floats in object space.
+     * @param vertexCount Number of expanded source vertices; duplicates are welded away.
+     * @param maxInstances The most instances a frame can hold.
+     * @param executor Runs the transform chunks, or null to transform on the calling thread.
+     * @param chunkCount Number of chunks the instances are split into per frame.
+     */
+    public InstanceBatch(final float[] positions, final float[] colors, final float[] normals, final int vertexCount,
+                         final int maxInstances, final ExecutorService executor, final int chunkCount)
+    {
+        // Weld the source with float precision so the unique vertices can be read back exactly.
+        final VertexLayout sourceLayout = new VertexLayout()
+                .add(0, 3, VertexLayout.TYPE_FLOAT)
+                .add(1, 4, VertexLayout.TYPE_FLOAT)
+                .add(2, 3, VertexLayout.TYPE_FLOAT);
+        final MeshWelder welder = new MeshWelder();
+        welder.weld(new MeshBuilder(sourceLayout, vertexCount)
+                .setAttribute(0, positions)
+                .setAttribute(1, colors)
+                .setAttribute(2, normals)
+                .build(), sourceLayout, vertexCount);
+        welder.optimize();
+
+        mSourceVertexCount = welder.getVertexCount();
+        mSourcePositions = new float[mSourceVertexCount * 3];
+        mSourceNormals = new float[mSourceVertexCount * 3];
+        final float[] sourceColors = new float[mSourceVertexCount * 4];
+        final float[] scratch = new float[4];
+        for (int v = 0; v < mSourceVertexCount; v++)
+        {
+            MeshBuilder.decode(welder.getVertices(), sourceLayout, v, 0, scratch);
+            System.arraycopy(scratch, 0, mSourcePositions, v * 3, 3);
+            MeshBuilder.decode(welder.getVertices(), sourceLayout, v, 1, scratch);
+            System.arraycopy(scratch, 0, sourceColors, v * 4, 4);
+            MeshBuilder.decode(welder.getVertices(), sourceLayout, v, 2, scratch);
+            System.arraycopy(scratch, 0, mSourceNormals, v * 3, 3);
+        }
+
+        mSourceIndices = new int[welder.getIndexCount()];
+        for (int i = 0; i < mSourceIndices.length; i++)
+        {
+            mSourceIndices[i] = welder.getIndexType() == GL.GL_UNSIGNED_BYTE
+                    ? welder.getIndices().get(i) & 0xff
+                    : welder.getIndices().getShort(i * 2) & 0xffff;
+        }
+
+        mMaxInstances = maxInstances;
+        mInstancesPerPage = MAX_PAGE_VERTICES / mSourceVertexCount;
+        mModelMatrices = new float[maxInstances * 16];
+
+        final int stride = mLayout.getStride();
+        mVertices = ByteBuffer.allocateDirect(maxInstances * mSourceVertexCount * stride)
+                .order(ByteOrder.nativeOrder());
+
+        // Colours never change, so write them once for every instance slot.
+        for (int instance = 0; instance < maxInstances; instance++)
+        {
+            for (int v = 0; v < mSourceVertexCount; v++)
+            {
+                final int offset = (instance * mSourceVertexCount + v) * stride + COLOR_OFFSET;
+                for (int c = 0; c < 4; c++)
+                {
+                    VertexLayout.encode(mVertices, offset + c, VertexLayout.TYPE_UNORM8, sourceColors[v * 4 + c]);
+                }
+            }
+        }
+
+        final int pageInstances = Math.min(mInstancesPerPage, maxInstances);
+        mPageIndices = ByteBuffer.allocateDirect(pageInstances * mSourceIndices.length * 2)
+                .order(ByteOrder.nativeOrder());
+        for (int instance = 0; instance < pageInstances; instance++)
+        {
+            final int base = instance * mSourceVertexCount;
+            for (int i = 0; i < mSourceIndices.length; i++)
+            {
+                mPageIndices.putShort((instance * mSourceIndices.length + i) * 2, (short) (base + mSourceIndices[i]));
+            }
+        }
+
+        mExecutor = executor;
+        mChunks = new TransformChunk[executor == null ? 1 : Math.max(1, chunkCount)];
+        for (int i = 0; i < mChunks.length; i++)
+        {
+            mChunks[i] = new TransformChunk();
+        }
+    }
+
+    /**
+     * @return The layout of the output vertices.
+     */
+    public VertexLayout getLayout()
+    {
+        return mLayout;
+    }
+
+    public int getMaxInstances()
+    {
+        return mMaxInstances;
+    }
+
+    /**
+     * @return The backing array of model matrices, 16 floats per instance. Write the matrices of
+     *         the first instanceCount instances here before calling {@link #transform(int)}.
+     */
+    public float[] getModelMatrices()
+    {
+        return mModelMatrices;
+    }
+
+    /**
+     * Transforms the first instanceCount instances into world space, splitting the work across
+     * the executor. Returns once every chunk has finished.
+     *
+     * @param instanceCount The number of instances to draw this frame.
+     */
+    public void transform(final int instanceCount)
+    {
+        if (instanceCount > mMaxInstances)
+        {
+            throw new IllegalArgumentException("Batch holds at most " + mMaxInstances + " instances.");
+        }
+        mInstanceCount = instanceCount;
+
+        if (mExecutor == null || mChunks.length == 1)
+        {
+            transformRange(0, instanceCount);
+            return;
+        }
+
+        final int chunkSize = (instanceCount + mChunks.length - 1) / mChunks.length;
+        mPendingChunks.set(mChunks.length);
+
+        // Hand all but the first chunk to the executor and do the first one here.
+        for (int i = mChunks.length - 1; i >= 0; i--)
+        {
+            final TransformChunk chunk = mChunks[i];
+            chunk.mFirst = Math.min(i * chunkSize, instanceCount);
+            chunk.mLast = Math.min(chunk.mFirst + chunkSize, instanceCount);
+            if (i > 0)
+            {
+                mExecutor.execute(chunk);
+            }
+        }
+        mChunks[0].run();
+
+        synchronized (mDoneLock)
+        {
+            while (mPendingChunks.get() > 0)
+            {
+                try
+                {
+                    mDoneLock.wait();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Transforms instances [first, last) into the vertex buffer.
+     */
+    void transformRange(final int first, final int last)
+    {
+        final float[] positions = mSourcePositions;
+        final float[] normals = mSourceNormals;
+        final float[] matrices = mModelMatrices;
+        final ByteBuffer out = mVertices;
+        final int stride = mLayout.getStride();
+        final int vertexCount = mSourceVertexCount;
+
+        for (int instance = first; instance < last; instance++)
+        {
+            final int m = instance * 16;
+            final float m0 = matrices[m], m1 = matrices[m + 1], m2 = matrices[m + 2];
+            final float m4 = matrices[m + 4], m5 = matrices[m + 5], m6 = matrices[m + 6];
+            final float m8 = matrices[m + 8], m9 = matrices[m + 9], m10 = matrices[m + 10];
+            final float m12 = matrices[m + 12], m13 = matrices[m + 13], m14 = matrices[m + 14];
+
+            int offset = instance * vertexCount * stride;
+            for (int v = 0; v < vertexCount; v++)
+            {
+                final int p = v * 3;
+                final float x = positions[p], y = positions[p + 1], z = positions[p + 2];
+                out.putFloat(offset + POSITION_OFFSET, m0 * x + m4 * y + m8 * z + m12);
+                out.putFloat(offset + POSITION_OFFSET + 4, m1 * x + m5 * y + m9 * z + m13);
+                out.putFloat(offset + POSITION_OFFSET + 8, m2 * x + m6 * y + m10 * z + m14);
+
+                // Rotate the normal with the upper 3x3 and renormalize in case of scaling. Packed
+                // the way VertexLayout encodes TYPE_SNORM8, so the GPU reads (2c + 1) / 255 back.
+                final float nx = normals[p], ny = normals[p + 1], nz = normals[p + 2];
+                float wx = m0 * nx + m4 * ny + m8 * nz;
+                float wy = m1 * nx + m5 * ny + m9 * nz;
+                float wz = m2 * nx + m6 * ny + m10 * nz;
+                final float lengthSquared = wx * wx + wy * wy + wz * wz;
+                if (lengthSquared > 0.0f)
+                {
+                    final float scale = 127.5f / (float) Math.sqrt(lengthSquared);
+                    wx *= scale;
+                    wy *= scale;
+                    wz *= scale;
+                }
+                out.put(offset + NORMAL_OFFSET, (byte) Math.floor(wx));
+                out.put(offset + NORMAL_OFFSET + 1, (byte) Math.floor(wy));
+                out.put(offset + NORMAL_OFFSET + 2, (byte) Math.floor(wz));
+
+                offset += stride;
+            }
+        }
+    }
+
+    /**
+     * Creates the GL buffers. Call from onSurfaceCreated.
+     *
+     * @param gl The GL of the current context.
+     */
+    public void upload(final GL gl)
+    {
+        gl.glGenBuffers(2, mBufferHandles, 0);
+
+        mVertices.position(0);
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, mBufferHandles[0]);
+        gl.glBufferData(GL.GL_ARRAY_BUFFER, mVertices.capacity(), mVertices, GL.GL_STREAM_DRAW);
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+
+        mPageIndices.position(0);
+        gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, mBufferHandles[1]);
+        gl.glBufferData(GL.GL_ELEMENT_ARRAY_BUFFER, mPageIndices.capacity(), mPageIndices, GL.GL_STATIC_DRAW);
+        gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, 0);
+
+        mUploaded = true;
+    }
+
+    /**
+     * Streams this frame's vertices to the GPU and draws every instance, one call per page.
+     *
+     * @param gl The GL of the current context.
+     */
+    public void draw(final GL gl)
+    {
+        if (!mUploaded)
+        {
+            throw new IllegalStateException("Batch has not been uploaded.");
+        }
+
+        mDrawCallCount = 0;
+        if (mInstanceCount == 0)
+        {
+            return;
+        }
+
+        final int stride = mLayout.getStride();
+        final int pageBytes = mInstancesPerPage * mSourceVertexCount * stride;
+
+        mVertices.position(0);
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, mBufferHandles[0]);
+        gl.glBufferSubData(GL.GL_ARRAY_BUFFER, 0, mInstanceCount * mSourceVertexCount * stride, mVertices);
+        gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, mBufferHandles[1]);
+
+        for (int first = 0; first < mInstanceCount; first += mInstancesPerPage)
+        {
+            final int instances = Math.min(mInstancesPerPage, mInstanceCount - first);
+            mLayout.bind(gl, (first / mInstancesPerPage) * pageBytes);
+            gl.glDrawElements(GL.GL_TRIANGLES, instances * mSourceIndices.length, GL.GL_UNSIGNED_SHORT, 0);
+            mDrawCallCount++;
+        }
+    }
+
+    /**
+     * Deletes the GL buffers. The context they were created in must be current.
+     *
+     * @param gl The GL of the current context.
+     */
+    public void release(final GL gl)
+    {
+        if (mUploaded)
+        {
+            gl.glDeleteBuffers(2, mBufferHandles, 0);
+            mUploaded = false;
+        }
+    }
+
+    /**
+     * @return Draw calls issued by the last {@link #draw(GL)}.
+     */
+    public int getDrawCallCount()
+    {
+        return mDrawCallCount;
+    }
+
+    /**
+     * @return Unique vertices per instance after welding.
+     */
+    public int getVerticesPerInstance()
+    {
+        return mSourceVertexCount;
+    }
+
+    /**
+     * A reusable unit of transform work, so a frame does not allocate tasks.
+     */
+    private final class TransformChunk implements Runnable
+    {
+        int mFirst;
+        int mLast;
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                transformRange(mFirst, mLast);
+            }
+            finally
+            {
+                if (mPendingChunks.decrementAndGet() == 0)
+                {
+                    synchronized (mDoneLock)
+                    {
+                        mDoneLock.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * A growable array of primitive ints, so importers can collect millions of values without
+ * boxing each one.
+ */
+public final class IntArray
+{
+    private int[] mValues;
+    private int mSize;
+
+    public IntArray()
+    {
+        this(16);
+    }
+
+    /**
+     * @param capacity Number of values to make room for up front.
+     */
+    public IntArray(final int capacity)
+    {
+        mValues = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(final int value)
+    {
+        if (mSize == mValues.length)
+        {
+            grow(mSize + 1);
+        }
+        mValues[mSize++] = value;
+    }
+
+    public void add(final int a, final int b, final int c)
+    {
+        if (mSize + 3 > mValues.length)
+        {
+            grow(mSize + 3);
+        }
+        final int[] values = mValues;
+        values[mSize] = a;
+        values[mSize + 1] = b;
+        values[mSize + 2] = c;
+        mSize += 3;
+    }
+
+    /**
+     * Appends every value of another array.
+     */
+    public void addAll(final IntArray other)
+    {
+        if (mSize + other.mSize > mValues.length)
+        {
+            grow(mSize + other.mSize);
+        }
+        System.arraycopy(other.mValues, 0, mValues, mSize, other.mSize);
+        mSize += other.mSize;
+    }
+
+    public int get(final int index)
+    {
+        if (index >= mSize)
+        {
+            throw new IndexOutOfBoundsException(index + " >= " + mSize);
+        }
+        return mValues[index];
+    }
+
+    public void set(final int index, final int value)
+    {
+        if (index >= mSize)
+        {
+            throw new IndexOutOfBoundsException(index + " >= " + mSize);
+        }
+        mValues[index] = value;
+    }
+
+    public int size()
+    {
+        return mSize;
+    }
+
+    public void clear()
+    {
+        mSize = 0;
+    }
+
+    /**
+     * @return A copy of the values, exactly size() long.
+     */
+    public int[] toArray()
+    {
+        final int[] values = new int[mSize];
+        System.arraycopy(mValues, 0, values, 0, mSize);
+        return values;
+    }
+
+    /**
+     * @return The backing array, at least size() long. Only valid until the next add.
+     */
+    int[] array()
+    {
+        return mValues;
+    }
+
+    private void grow(final int minCapacity)
+    {
+        // Grow by half again, the usual trade between copying and wasted space.
+        int capacity = mValues.length + (mValues.length >> 1) + 1;
+        if (capacity < minCapacity)
+        {
+            capacity = minCapacity;
+        }
+        final int[] values = new int[capacity];
+        System.arraycopy(mValues, 0, values, 0, mSize);
+        mValues = values;
+    }
+}
\ No newline at end of file
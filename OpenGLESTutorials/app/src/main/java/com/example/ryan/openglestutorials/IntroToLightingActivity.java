@@ -21,7 +21,11 @@ import android.view.MenuItem;
 
 public class IntroToLightingActivity extends ActionBarActivity {
 
+    /** Boolean extra: build each frame on a worker thread while the previous one is drawn. */
+    public static final String EXTRA_PIPELINED = "com.example.ryan.openglestutorials.PIPELINED";
+
     private GLSurfaceView mGLSurfaceView;
+    private IntroToLightingRenderer mRenderer;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -33,14 +37,18 @@ public class IntroToLightingActivity extends ActionBarActivity {
         // first 16 bits = major build number, last 16 bits = minor build number
         final boolean supportEs2 = configInfo.reqGlEsVersion >= 0x20000;
         if(supportEs2){
+            // keep linked programs on disk so later starts skip compiling the shaders
+            ProgramCache.getShared().ensureBinaryCache(getCacheDir());
             // create renderer
-            IntroToLightingRenderer mainRend = new IntroToLightingRenderer();
+            mRenderer = new IntroToLightingRenderer();
+            // serial unless the launching intent asks for the frame pipeline
+            mRenderer.setPipelined(getIntent().getBooleanExtra(EXTRA_PIPELINED, false));
             // create surface view
             mGLSurfaceView = new GLSurfaceView(this);
             // set version
             mGLSurfaceView.setEGLContextClientVersion(2);
             // add renderer to surface view
-            mGLSurfaceView.setRenderer(mainRend);
+            mGLSurfaceView.setRenderer(mRenderer);
             // set surface view in content view
             setContentView(mGLSurfaceView);
         }else{
@@ -81,5 +89,9 @@ public class IntroToLightingActivity extends ActionBarActivity {
         // activity must call GL surface view's on Pause()
         super.onPause();
         mGLSurfaceView.onPause();
+        // no frame is drawn while paused, so stop building them too
+        if (mRenderer != null) {
+            mRenderer.onPause();
+        }
     }
 }
\ No newline at end of file
@@ -4,19 +4,16 @@
  * Application: OpenGL Tutorials
  * Author: Ryan Ballinger
  * Date: 1/3/2015
- * Modified: 2/12/2015
+ * Modified: 10/17/2026
  */
 
 package com.example.ryan.openglestutorials;
 
-import android.opengl.GLES20;
 import android.opengl.GLSurfaceView.Renderer;
 import android.opengl.Matrix;
 import android.os.SystemClock;
 import android.util.Log;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.FloatBuffer;
 import javax.microedition.khronos.egl.EGLConfig;
 import javax.microedition.khronos.opengles.GL10;
 
@@ -24,11 +21,19 @@ import javax.microedition.khronos.opengles.GL10;
  * Created by Ryan on 1/3/2015.
  */
 public class IntroToLightingRenderer implements Renderer {
-    /**
-     * Store the model matrix. This matrix is used to move models from object space (where each model can be thought
-     * of being located at the center of the universe) to world space.
-     */
-    private float[] mModelMatrix = new float[16];
+    /** Mesh ids for the render queue sort keys. */
+    private static final int CUBE_MESH_ID = 0;
+    private static final int LIGHT_MESH_ID = 1;
+
+    /** Render queue item of the light point; cubes use their index in mVisibleCubeNodes. */
+    private static final int LIGHT_ITEM = -1;
+
+    /** The per-vertex lit cubes and the light point. */
+    private static final ShaderVariant CUBE_SHADER = Shaders.COLOR.getVariant("LIGHTING");
+    private static final ShaderVariant POINT_SHADER = Shaders.POINT.getVariant();
+
+    /** Every variant this scene draws with, built together when the surface is created. */
+    private static final ShaderVariant[] SHADER_VARIANTS = {CUBE_SHADER, POINT_SHADER};
 
     /**
      * Store the view matrix. This can be thought of as our camera. This matrix transforms world space to eye space;
@@ -39,18 +44,31 @@ public class IntroToLightingRenderer implements Renderer {
     /** Store the projection matrix. This is used to project the scene onto a 2D viewport. */
     private float[] mProjectionMatrix = new float[16];
 
-    /** Allocate storage for the final combined matrix. This will be passed into the shader program. */
-    private float[] mMVPMatrix = new float[16];
-
     /**
-     * Stores a copy of the model matrix specifically for the light position.
+     * The scene. Each node caches its model, modelview and MVP matrices, which are only recomputed
+     * when the node or the camera moves.
      */
-    private float[] mLightModelMatrix = new float[16];
+    private final SceneGraph mScene = new SceneGraph();
+
+    /** The cube nodes, in drawing order. */
+    private final SceneNode[] mCubeNodes = new SceneNode[5];
+
+    /** The cube nodes that passed frustum culling this frame. */
+    private final SceneNode[] mVisibleCubeNodes = new SceneNode[5];
 
-    /** Store our model data in a float buffer. */
-    private final FloatBuffer mCubePositions;
-    private final FloatBuffer mCubeColors;
-    private final FloatBuffer mCubeNormals;
+    /** Drops cubes outside the view frustum before any GL calls are made for them. */
+    private final FrustumCuller mCuller = new FrustumCuller();
+
+    /** Orders each frame's draws by pass, program, mesh and depth. */
+    private final RenderQueue mRenderQueue = new RenderQueue(8);
+
+    /** The light orbits its pivot at a fixed distance. */
+    private final SceneNode mLightPivotNode;
+    private final SceneNode mLightNode;
+
+    /** Store our model data interleaved and packed, as unique vertices plus indices. */
+    private final VertexLayout mCubeLayout;
+    private final MeshWelder mCubeWelder = new MeshWelder();
 
     /** This will be used to pass in the transformation matrix. */
     private int mMVPMatrixHandle;
@@ -61,18 +79,6 @@ public class IntroToLightingRenderer implements Renderer {
     /** This will be used to pass in the light position. */
     private int mLightPosHandle;
 
-    /** This will be used to pass in model position information. */
-    private int mPositionHandle;
-
-    /** This will be used to pass in model color information. */
-    private int mColorHandle;
-
-    /** This will be used to pass in model normal information. */
-    private int mNormalHandle;
-
-    /** How many bytes per float. */
-    private final int mBytesPerFloat = 4;
-
     /** Size of the position data in elements. */
     private final int mPositionDataSize = 3;
 
@@ -92,258 +98,162 @@ public class IntroToLightingRenderer implements Renderer {
     /** Used to hold the transformed position of the light in eye space (after transformation via modelview matrix) */
     private final float[] mLightPosInEyeSpace = new float[4];
 
+    /** The cube vertex data, uploaded to GPU buffer objects when the surface is created. */
+    private Mesh mCubeMesh;
+
     /** This is a handle to our per-vertex cube shading program. */
-    private int mPerVertexProgramHandle;
+    private ShaderProgram mPerVertexProgram;
 
     /** This is a handle to our light point program. */
-    private int mPointProgramHandle;
+    private ShaderProgram mPointProgram;
+
+    /** This will be used to pass in the transformation matrix for the light point. */
+    private int mPointMVPMatrixHandle;
+
+    /** This will be used to pass in the light point position. */
+    private int mPointPositionHandle;
 
     /**
-     * Initialize the model data.
+     * Every GL call goes through this, so the renderer can run against a recording or no-op GL.
+     * Calls that would not change the context state are dropped before they reach it.
+     */
+    private final StateCacheGL mGL;
+
+    /**
+     * Times every frame on the GL thread: how old the replayed commands are and how long
+     * replaying them takes.
+     */
+    private final FrameProfiler mProfiler = new FrameProfiler();
+    private final int mLatencyPhase = mProfiler.addPhase("latency");
+    private final int mSubmitPhase = mProfiler.addPhase("submit");
+
+    /** Times building every frame, on whichever thread builds it. */
+    private final FrameProfiler mBuildProfiler = new FrameProfiler();
+    private final int mUpdatePhase = mBuildProfiler.addPhase("update");
+    private final int mMatrixPhase = mBuildProfiler.addPhase("matrix");
+    private final int mCullPhase = mBuildProfiler.addPhase("cull");
+    private final int mRecordPhase = mBuildProfiler.addPhase("record");
+
+    /** Builds frames on a worker thread while the GL thread replays the previous one. */
+    private final FramePipeline mPipeline = new FramePipeline(new FramePipeline.FrameBuilder()
+    {
+        @Override
+        public void buildFrame(final CommandBuffer commands)
+        {
+            recordFrame(commands);
+        }
+    });
+
+    /** The frame being drawn when frames are built on the GL thread. */
+    private final CommandBuffer mSerialCommands = new CommandBuffer();
+
+    /** Whether frames are built by mPipeline. */
+    private volatile boolean mPipelined;
+
+    /**
+     * Initialize the model data, drawing through android.opengl.GLES20.
      */
     public IntroToLightingRenderer()
     {
-        // Define points for a cube.
-
-        // X, Y, Z
-        final float[] cubePositionData = {
-            // In OpenGL counter-clockwise winding is default. This means that when we look at a triangle,
-            // if the points are counter-clockwise we are looking at the "front". If not we are looking at
-            // the back. OpenGL has an optimization where all back-facing triangles are culled, since they
-            // usually represent the backside of an object and aren't visible anyways.
-
-            // Front face
-            -1.0f, 1.0f, 1.0f,
-            -1.0f, -1.0f, 1.0f,
-            1.0f, 1.0f, 1.0f,
-            -1.0f, -1.0f, 1.0f,
-            1.0f, -1.0f, 1.0f,
-            1.0f, 1.0f, 1.0f,
-
-            // Right face
-            1.0f, 1.0f, 1.0f,
-            1.0f, -1.0f, 1.0f,
-            1.0f, 1.0f, -1.0f,
-            1.0f, -1.0f, 1.0f,
-            1.0f, -1.0f, -1.0f,
-            1.0f, 1.0f, -1.0f,
-
-            // Back face
-            1.0f, 1.0f, -1.0f,
-            1.0f, -1.0f, -1.0f,
-            -1.0f, 1.0f, -1.0f,
-            1.0f, -1.0f, -1.0f,
-            -1.0f, -1.0f, -1.0f,
-            -1.0f, 1.0f, -1.0f,
-
-            // Left face
-            -1.0f, 1.0f, -1.0f,
-            -1.0f, -1.0f, -1.0f,
-            -1.0f, 1.0f, 1.0f,
-            -1.0f, -1.0f, -1.0f,
-            -1.0f, -1.0f, 1.0f,
-            -1.0f, 1.0f, 1.0f,
-
-            // Top face
-            -1.0f, 1.0f, -1.0f,
-            -1.0f, 1.0f, 1.0f,
-            1.0f, 1.0f, -1.0f,
-            -1.0f, 1.0f, 1.0f,
-            1.0f, 1.0f, 1.0f,
-            1.0f, 1.0f, -1.0f,
-
-            // Bottom face
-            1.0f, -1.0f, -1.0f,
-            1.0f, -1.0f, 1.0f,
-            -1.0f, -1.0f, -1.0f,
-            1.0f, -1.0f, 1.0f,
-            -1.0f, -1.0f, 1.0f,
-            -1.0f, -1.0f, -1.0f,
-        };
-
-        // R, G, B, A
-        final float[] cubeColorData = {
-            // Front face (red)
-            1.0f, 0.0f, 0.0f, 1.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-
-            // Right face (green)
-            0.0f, 1.0f, 0.0f, 1.0f,
-            0.0f, 1.0f, 0.0f, 1.0f,
-            0.0f, 1.0f, 0.0f, 1.0f,
-            0.0f, 1.0f, 0.0f, 1.0f,
-            0.0f, 1.0f, 0.0f, 1.0f,
-            0.0f, 1.0f, 0.0f, 1.0f,
-
-            // Back face (blue)
-            0.0f, 0.0f, 1.0f, 1.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
-
-            // Left face (yellow)
-            1.0f, 1.0f, 0.0f, 1.0f,
-            1.0f, 1.0f, 0.0f, 1.0f,
-            1.0f, 1.0f, 0.0f, 1.0f,
-            1.0f, 1.0f, 0.0f, 1.0f,
-            1.0f, 1.0f, 0.0f, 1.0f,
-            1.0f, 1.0f, 0.0f, 1.0f,
-
-            // Top face (cyan)
-            0.0f, 1.0f, 1.0f, 1.0f,
-            0.0f, 1.0f, 1.0f, 1.0f,
-            0.0f, 1.0f, 1.0f, 1.0f,
-            0.0f, 1.0f, 1.0f, 1.0f,
-            0.0f, 1.0f, 1.0f, 1.0f,
-            0.0f, 1.0f, 1.0f, 1.0f,
-
-            // Bottom face (magenta)
-            1.0f, 0.0f, 1.0f, 1.0f,
-            1.0f, 0.0f, 1.0f, 1.0f,
-            1.0f, 0.0f, 1.0f, 1.0f,
-            1.0f, 0.0f, 1.0f, 1.0f,
-            1.0f, 0.0f, 1.0f, 1.0f,
-            1.0f, 0.0f, 1.0f, 1.0f
-        };
-
-        // X, Y, Z
-        // The normal is used in light calculations and is a vector which points
-        // orthogonal to the plane of the surface. For a cube model, the normals
-        // should be orthogonal to the points of each face.
-        final float[] cubeNormalData = {
-            // Front face
-            0.0f, 0.0f, 1.0f,
-            0.0f, 0.0f, 1.0f,
-            0.0f, 0.0f, 1.0f,
-            0.0f, 0.0f, 1.0f,
-            0.0f, 0.0f, 1.0f,
-            0.0f, 0.0f, 1.0f,
-
-            // Right face
-            1.0f, 0.0f, 0.0f,
-            1.0f, 0.0f, 0.0f,
-            1.0f, 0.0f, 0.0f,
-            1.0f, 0.0f, 0.0f,
-            1.0f, 0.0f, 0.0f,
-            1.0f, 0.0f, 0.0f,
-
-            // Back face
-            0.0f, 0.0f, -1.0f,
-            0.0f, 0.0f, -1.0f,
-            0.0f, 0.0f, -1.0f,
-            0.0f, 0.0f, -1.0f,
-            0.0f, 0.0f, -1.0f,
-            0.0f, 0.0f, -1.0f,
-
-            // Left face
-            -1.0f, 0.0f, 0.0f,
-            -1.0f, 0.0f, 0.0f,
-            -1.0f, 0.0f, 0.0f,
-            -1.0f, 0.0f, 0.0f,
-            -1.0f, 0.0f, 0.0f,
-            -1.0f, 0.0f, 0.0f,
-
-            // Top face
-            0.0f, 1.0f, 0.0f,
-            0.0f, 1.0f, 0.0f,
-            0.0f, 1.0f, 0.0f,
-            0.0f, 1.0f, 0.0f,
-            0.0f, 1.0f, 0.0f,
-            0.0f, 1.0f, 0.0f,
-
-            // Bottom face
-            0.0f, -1.0f, 0.0f,
-            0.0f, -1.0f, 0.0f,
-            0.0f, -1.0f, 0.0f,
-            0.0f, -1.0f, 0.0f,
-            0.0f, -1.0f, 0.0f,
-            0.0f, -1.0f, 0.0f
-        };
-
-        // Initialize the buffers.
-        mCubePositions = ByteBuffer.allocateDirect(cubePositionData.length * mBytesPerFloat)
-                .order(ByteOrder.nativeOrder()).asFloatBuffer();
-        mCubePositions.put(cubePositionData).position(0);
-
-        mCubeColors = ByteBuffer.allocateDirect(cubeColorData.length * mBytesPerFloat)
-                .order(ByteOrder.nativeOrder()).asFloatBuffer();
-        mCubeColors.put(cubeColorData).position(0);
-
-        mCubeNormals = ByteBuffer.allocateDirect(cubeNormalData.length * mBytesPerFloat)
-                .order(ByteOrder.nativeOrder()).asFloatBuffer();
-        mCubeNormals.put(cubeNormalData).position(0);
+        this(new AndroidGL());
     }
 
-    protected String getVertexShader()
+    /**
+     * Initialize the model data.
+     *
+     * @param gl The GL to issue every call through, after redundant state changes are filtered.
+     */
+    public IntroToLightingRenderer(final GL gl)
     {
-        final String vertexShader =
-            "uniform mat4 u_MVPMatrix;      \n"		// A constant representing the combined model/view/projection matrix.
-                + "uniform mat4 u_MVMatrix;       \n"		// A constant representing the combined model/view matrix.
-                + "uniform vec3 u_LightPos;       \n"	    // The position of the light in eye space.
-
-                + "attribute vec4 a_Position;     \n"		// Per-vertex position information we will pass in.
-                + "attribute vec4 a_Color;        \n"		// Per-vertex color information we will pass in.
-                + "attribute vec3 a_Normal;       \n"		// Per-vertex normal information we will pass in.
-
-                + "varying vec4 v_Color;          \n"		// This will be passed into the fragment shader.
-
-                + "void main()                    \n" 	// The entry point for our vertex shader.
-                + "{                              \n"
-                // Transform the vertex into eye space.
-                + "   vec3 modelViewVertex = vec3(u_MVMatrix * a_Position);              \n"
-                // Transform the normal's orientation into eye space.
-                + "   vec3 modelViewNormal = vec3(u_MVMatrix * vec4(a_Normal, 0.0));     \n"
-                // Will be used for attenuation.
-                + "   float distance = length(u_LightPos - modelViewVertex);             \n"
-                // Get a lighting direction vector from the light to the vertex.
-                + "   vec3 lightVector = normalize(u_LightPos - modelViewVertex);        \n"
-                // Calculate the dot product of the light vector and vertex normal. If the normal and light vector are
-                // pointing in the same direction then it will get max illumination.
-                + "   float diffuse = max(dot(modelViewNormal, lightVector), 0.1);       \n"
-                // Attenuate the light based on distance.
-                + "   diffuse = diffuse * (1.0 / (1.0 + (0.25 * distance * distance)));  \n"
-                // Multiply the color by the illumination level. It will be interpolated across the triangle.
-                + "   v_Color = a_Color * diffuse;                                       \n"
-                // gl_Position is a special variable used to store the final position.
-                // Multiply the vertex by the matrix to get the final point in normalized screen coordinates.
-                + "   gl_Position = u_MVPMatrix * a_Position;                            \n"
-                + "}                                                                     \n";
-
-        return vertexShader;
+        mGL = new StateCacheGL(gl);
+
+        // Interleave and pack the cube: float positions, unsigned byte colours and byte normals take
+        // 20 bytes per vertex instead of 40 spread over three float buffers. The locations match the
+        // order the attributes are bound in when the program is linked.
+        mCubeLayout = new VertexLayout()
+                .add(0, mPositionDataSize, VertexLayout.TYPE_FLOAT)
+                .add(1, mColorDataSize, VertexLayout.TYPE_UNORM8)
+                .add(2, mNormalDataSize, VertexLayout.TYPE_SNORM8);
+
+        final ByteBuffer cubeVertices = new MeshBuilder(mCubeLayout, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .setAttribute(1, CubeData.COLORS)
+                .setAttribute(2, CubeData.NORMALS)
+                .build();
+
+        // Only 24 of the 36 vertices are unique (4 per face), so weld them and draw with indices,
+        // with the faces reordered for the vertex cache and early-Z.
+        mCubeWelder.weld(cubeVertices, mCubeLayout, CubeData.VERTEX_COUNT);
+        mCubeWelder.optimize();
+
+        // Place the cubes. Each one spins about its own axis except the one below the centre,
+        // which never moves and so never has its matrices recomputed.
+        final SceneNode root = mScene.getRoot();
+        mCubeNodes[0] = root.addChild(new SceneNode());
+        mCubeNodes[0].setTranslation(4.0f, 0.0f, -7.0f);
+        mCubeNodes[0].setRotation(0.0f, 1.0f, 0.0f, 0.0f);
+
+        mCubeNodes[1] = root.addChild(new SceneNode());
+        mCubeNodes[1].setTranslation(-4.0f, 0.0f, -7.0f);
+        mCubeNodes[1].setRotation(0.0f, 0.0f, 1.0f, 0.0f);
+
+        mCubeNodes[2] = root.addChild(new SceneNode());
+        mCubeNodes[2].setTranslation(0.0f, 4.0f, -7.0f);
+        mCubeNodes[2].setRotation(0.0f, 0.0f, 0.0f, 1.0f);
+
+        mCubeNodes[3] = root.addChild(new SceneNode());
+        mCubeNodes[3].setTranslation(0.0f, -4.0f, -7.0f);
+
+        mCubeNodes[4] = root.addChild(new SceneNode());
+        mCubeNodes[4].setTranslation(0.0f, 0.0f, -5.0f);
+        mCubeNodes[4].setRotation(0.0f, 1.0f, 1.0f, 0.0f);
+
+        // The light rotates about a pivot pushed into the distance, then sits 2 units out from it.
+        mLightPivotNode = root.addChild(new SceneNode());
+        mLightPivotNode.setTranslation(0.0f, 0.0f, -5.0f);
+        mLightNode = mLightPivotNode.addChild(new SceneNode());
+        mLightNode.setTranslation(0.0f, 0.0f, 2.0f);
+
+        // Log the timings about every 10 seconds at 60 frames per second.
+        mProfiler.setReportInterval(600);
+        mBuildProfiler.setReportInterval(600);
     }
 
-    protected String getFragmentShader()
+    /**
+     * @return The profiler timing this renderer's frames. Call requestReport() on it to have the
+     *         current timings logged after the next frame.
+     */
+    public FrameProfiler getProfiler()
     {
-        final String fragmentShader =
-            "precision mediump float;       \n"		// Set the default precision to medium. We don't need as high of a
-                // precision in the fragment shader.
-                + "varying vec4 v_Color;          \n"		// This is the color from the vertex shader interpolated across the
-                // triangle per fragment.
-                + "void main()                    \n"		// The entry point for our fragment shader.
-                + "{                              \n"
-                + "   gl_FragColor = v_Color;     \n"		// Pass the color directly through the pipeline.
-                + "}                              \n";
-
-        return fragmentShader;
+        return mProfiler;
+    }
+
+    /**
+     * @return The profiler timing how long each frame takes to build.
+     */
+    public FrameProfiler getBuildProfiler()
+    {
+        return mBuildProfiler;
     }
 
     @Override
     public void onSurfaceCreated(GL10 glUnused, EGLConfig config)
     {
+        // Frames recorded so far refer to programs and buffers of the old context, and the scene
+        // is about to change, so stop building until the next frame restarts the pipeline.
+        mPipeline.stop();
+
+        // A new context starts from the default state, whatever was set in the last one.
+        mGL.invalidate();
+
         // Set the background clear color to black.
-        GLES20.glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+        mGL.glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
 
         // Use culling to remove back faces.
-        GLES20.glEnable(GLES20.GL_CULL_FACE);
+        mGL.glEnable(GL.GL_CULL_FACE);
 
         // Enable depth testing
-        GLES20.glEnable(GLES20.GL_DEPTH_TEST);
+        mGL.glEnable(GL.GL_DEPTH_TEST);
 
         // Position the eye in front of the origin.
         final float eyeX = 0.0f;
@@ -364,46 +274,45 @@ public class IntroToLightingRenderer implements Renderer {
         // NOTE: In OpenGL 1, a ModelView matrix is used, which is a combination of a model and
         // view matrix. In OpenGL 2, we can keep track of these matrices separately if we choose.
         Matrix.setLookAtM(mViewMatrix, 0, eyeX, eyeY, eyeZ, lookX, lookY, lookZ, upX, upY, upZ);
+        mScene.setViewMatrix(mViewMatrix);
+
+        // Programs from a previous context are gone, so drop them from the shared cache.
+        final ProgramCache programCache = ProgramCache.getShared();
+        programCache.invalidate();
+        programCache.warmUp(mGL, SHADER_VARIANTS);
+
+        mPerVertexProgram = programCache.getProgram(mGL, CUBE_SHADER);
+
+        // Set program handles for cube drawing. These are resolved once when the program is linked.
+        mMVPMatrixHandle = mPerVertexProgram.getUniformLocation("u_MVPMatrix");
+        mMVMatrixHandle = mPerVertexProgram.getUniformLocation("u_MVMatrix");
+        mLightPosHandle = mPerVertexProgram.getUniformLocation("u_LightPos");
+
+        // Upload the cube once. Draws then read straight from the buffer objects instead of
+        // having the driver copy the client-side arrays every time.
+        mCubeMesh = new Mesh(mCubeLayout, mCubeWelder.getVertices(), mCubeWelder.getVertexCount(),
+                mCubeWelder.getIndices(), mCubeWelder.getIndexCount(), mCubeWelder.getIndexType(), Mesh.USAGE_STATIC);
+        mCubeMesh.upload(mGL);
+        for (SceneNode node : mCubeNodes)
+        {
+            node.setMesh(mCubeMesh);
+        }
 
-        final String vertexShader = getVertexShader();
-        final String fragmentShader = getFragmentShader();
-
-        final int vertexShaderHandle = compileShader(GLES20.GL_VERTEX_SHADER, vertexShader);
-        final int fragmentShaderHandle = compileShader(GLES20.GL_FRAGMENT_SHADER, fragmentShader);
-
-        mPerVertexProgramHandle = createAndLinkProgram(vertexShaderHandle, fragmentShaderHandle,
-                new String[] {"a_Position",  "a_Color", "a_Normal"});
-
-        // Define a simple shader program for our point.
-        final String pointVertexShader =
-            "uniform mat4 u_MVPMatrix;      \n"
-                +	"attribute vec4 a_Position;     \n"
-                + "void main()                    \n"
-                + "{                              \n"
-                + "   gl_Position = u_MVPMatrix   \n"
-                + "               * a_Position;   \n"
-                + "   gl_PointSize = 5.0;         \n"
-                + "}                              \n";
-
-        final String pointFragmentShader =
-            "precision mediump float;       \n"
-                + "void main()                    \n"
-                + "{                              \n"
-                + "   gl_FragColor = vec4(1.0,    \n"
-                + "   1.0, 1.0, 1.0);             \n"
-                + "}                              \n";
-
-        final int pointVertexShaderHandle = compileShader(GLES20.GL_VERTEX_SHADER, pointVertexShader);
-        final int pointFragmentShaderHandle = compileShader(GLES20.GL_FRAGMENT_SHADER, pointFragmentShader);
-        mPointProgramHandle = createAndLinkProgram(pointVertexShaderHandle, pointFragmentShaderHandle,
-                new String[] {"a_Position"});
+        mPointProgram = programCache.getProgram(mGL, POINT_SHADER);
+
+        // Set program handles for light point drawing.
+        mPointMVPMatrixHandle = mPointProgram.getUniformLocation("u_MVPMatrix");
+        mPointPositionHandle = mPointProgram.getAttributeLocation("a_Position");
     }
 
     @Override
     public void onSurfaceChanged(GL10 glUnused, int width, int height)
     {
+        // The camera belongs to the frame builder, so stop it before changing the projection.
+        mPipeline.stop();
+
         // Set the OpenGL viewport to the same size as the surface.
-        GLES20.glViewport(0, 0, width, height);
+        mGL.glViewport(0, 0, width, height);
 
         // Create a new perspective projection matrix. The height will stay the same
         // while the width will vary as per aspect ratio.
@@ -416,228 +325,186 @@ public class IntroToLightingRenderer implements Renderer {
         final float far = 10.0f;
 
         Matrix.frustumM(mProjectionMatrix, 0, left, right, bottom, top, near, far);
+        mScene.setProjectionMatrix(mProjectionMatrix);
+        mCuller.setCamera(mViewMatrix, mProjectionMatrix);
     }
 
     @Override
     public void onDrawFrame(GL10 glUnused)
     {
-        GLES20.glClear(GLES20.GL_COLOR_BUFFER_BIT | GLES20.GL_DEPTH_BUFFER_BIT);
-
-        // Do a complete rotation every 10 seconds.
-        long time = SystemClock.uptimeMillis() % 10000L;
-        float angleInDegrees = (360.0f / 10000.0f) * ((int) time);
-
-        // Set our per-vertex lighting program.
-        GLES20.glUseProgram(mPerVertexProgramHandle);
+        mProfiler.beginFrame();
+        mGL.beginFrame();
 
-        // Set program handles for cube drawing.
-        mMVPMatrixHandle = GLES20.glGetUniformLocation(mPerVertexProgramHandle, "u_MVPMatrix");
-        mMVMatrixHandle = GLES20.glGetUniformLocation(mPerVertexProgramHandle, "u_MVMatrix");
-        mLightPosHandle = GLES20.glGetUniformLocation(mPerVertexProgramHandle, "u_LightPos");
-        mPositionHandle = GLES20.glGetAttribLocation(mPerVertexProgramHandle, "a_Position");
-        mColorHandle = GLES20.glGetAttribLocation(mPerVertexProgramHandle, "a_Color");
-        mNormalHandle = GLES20.glGetAttribLocation(mPerVertexProgramHandle, "a_Normal");
-
-        // Calculate position of the light. Rotate and then push into the distance.
-        Matrix.setIdentityM(mLightModelMatrix, 0);
-        Matrix.translateM(mLightModelMatrix, 0, 0.0f, 0.0f, -5.0f);
-        Matrix.rotateM(mLightModelMatrix, 0, angleInDegrees, 0.0f, 1.0f, 0.0f);
-        Matrix.translateM(mLightModelMatrix, 0, 0.0f, 0.0f, 2.0f);
+        // Either take the frame the worker finished while the last one was drawn, or build it here.
+        final CommandBuffer commands;
+        if (mPipelined)
+        {
+            mPipeline.start();
+            commands = mPipeline.acquire();
+        }
+        else
+        {
+            mPipeline.stop();
+            commands = mSerialCommands;
+            commands.begin();
+            recordFrame(commands);
+        }
+        mProfiler.record(mLatencyPhase, System.nanoTime() - commands.getRecordStartNanos());
 
-        Matrix.multiplyMV(mLightPosInWorldSpace, 0, mLightModelMatrix, 0, mLightPosInModelSpace, 0);
-        Matrix.multiplyMV(mLightPosInEyeSpace, 0, mViewMatrix, 0, mLightPosInWorldSpace, 0);
+        // The GL thread only replays the recorded commands.
+        mProfiler.begin(mSubmitPhase);
+        commands.replay(mGL);
+        mProfiler.end(mSubmitPhase);
 
-        // Draw some cubes.
-        Matrix.setIdentityM(mModelMatrix, 0);
-        Matrix.translateM(mModelMatrix, 0, 4.0f, 0.0f, -7.0f);
-        Matrix.rotateM(mModelMatrix, 0, angleInDegrees, 1.0f, 0.0f, 0.0f);
-        drawCube();
-
-        Matrix.setIdentityM(mModelMatrix, 0);
-        Matrix.translateM(mModelMatrix, 0, -4.0f, 0.0f, -7.0f);
-        Matrix.rotateM(mModelMatrix, 0, angleInDegrees, 0.0f, 1.0f, 0.0f);
-        drawCube();
-
-        Matrix.setIdentityM(mModelMatrix, 0);
-        Matrix.translateM(mModelMatrix, 0, 0.0f, 4.0f, -7.0f);
-        Matrix.rotateM(mModelMatrix, 0, angleInDegrees, 0.0f, 0.0f, 1.0f);
-        drawCube();
-
-        Matrix.setIdentityM(mModelMatrix, 0);
-        Matrix.translateM(mModelMatrix, 0, 0.0f, -4.0f, -7.0f);
-        drawCube();
-
-        Matrix.setIdentityM(mModelMatrix, 0);
-        Matrix.translateM(mModelMatrix, 0, 0.0f, 0.0f, -5.0f);
-        Matrix.rotateM(mModelMatrix, 0, angleInDegrees, 1.0f, 1.0f, 0.0f);
-        drawCube();
-
-        // Draw a point to indicate the light.
-        GLES20.glUseProgram(mPointProgramHandle);
-        drawLight();
+        mProfiler.endFrame();
+        final String report = mProfiler.pollReport();
+        if (report != null)
+        {
+            Log.i("IntroToLightingRenderer", report + mGL.report() + "stale frames: "
+                    + mPipeline.getStaleFrameCount());
+        }
     }
 
     /**
-     * Draws a cube.
+     * Selects where frames are built. Takes effect at the next frame.
+     *
+     * @param pipelined True to build each frame on a worker thread while the GL thread draws the
+     *                  previous one, false to build and draw every frame on the GL thread.
      */
-    private void drawCube()
+    public void setPipelined(final boolean pipelined)
     {
-        // Pass in the position information
-        mCubePositions.position(0);
-        GLES20.glVertexAttribPointer(mPositionHandle, mPositionDataSize, GLES20.GL_FLOAT, false,
-                0, mCubePositions);
-
-        GLES20.glEnableVertexAttribArray(mPositionHandle);
-
-        // Pass in the color information
-        mCubeColors.position(0);
-        GLES20.glVertexAttribPointer(mColorHandle, mColorDataSize, GLES20.GL_FLOAT, false,
-                0, mCubeColors);
-
-        GLES20.glEnableVertexAttribArray(mColorHandle);
-
-        // Pass in the normal information
-        mCubeNormals.position(0);
-        GLES20.glVertexAttribPointer(mNormalHandle, mNormalDataSize, GLES20.GL_FLOAT, false,
-                0, mCubeNormals);
-
-        GLES20.glEnableVertexAttribArray(mNormalHandle);
-
-        // This multiplies the view matrix by the model matrix, and stores the result in the MVP matrix
-        // (which currently contains model * view).
-        Matrix.multiplyMM(mMVPMatrix, 0, mViewMatrix, 0, mModelMatrix, 0);
-
-        // Pass in the modelview matrix.
-        GLES20.glUniformMatrix4fv(mMVMatrixHandle, 1, false, mMVPMatrix, 0);
-
-        // This multiplies the modelview matrix by the projection matrix, and stores the result in the MVP matrix
-        // (which now contains model * view * projection).
-        Matrix.multiplyMM(mMVPMatrix, 0, mProjectionMatrix, 0, mMVPMatrix, 0);
-
-        // Pass in the combined matrix.
-        GLES20.glUniformMatrix4fv(mMVPMatrixHandle, 1, false, mMVPMatrix, 0);
-
-        // Pass in the light position in eye space.
-        GLES20.glUniform3f(mLightPosHandle, mLightPosInEyeSpace[0], mLightPosInEyeSpace[1], mLightPosInEyeSpace[2]);
+        mPipelined = pipelined;
+    }
 
-        // Draw the cube.
-        GLES20.glDrawArrays(GLES20.GL_TRIANGLES, 0, 36);
+    public boolean isPipelined()
+    {
+        return mPipelined;
     }
 
     /**
-     * Draws a point representing the position of the light.
+     * Stops the worker thread building frames, if it runs. Call from the activity's onPause,
+     * after GLSurfaceView.onPause() so no frame is being drawn. The next pipelined frame after
+     * resuming starts it again.
      */
-    private void drawLight()
+    public void onPause()
     {
-        final int pointMVPMatrixHandle = GLES20.glGetUniformLocation(mPointProgramHandle, "u_MVPMatrix");
-        final int pointPositionHandle = GLES20.glGetAttribLocation(mPointProgramHandle, "a_Position");
-
-        // Pass in the position.
-        GLES20.glVertexAttrib3f(pointPositionHandle, mLightPosInModelSpace[0], mLightPosInModelSpace[1], mLightPosInModelSpace[2]);
-
-        // Since we are not using a buffer object, disable vertex arrays for this attribute.
-        GLES20.glDisableVertexAttribArray(pointPositionHandle);
-
-        // Pass in the transformation matrix.
-        Matrix.multiplyMM(mMVPMatrix, 0, mViewMatrix, 0, mLightModelMatrix, 0);
-        Matrix.multiplyMM(mMVPMatrix, 0, mProjectionMatrix, 0, mMVPMatrix, 0);
-        GLES20.glUniformMatrix4fv(pointMVPMatrixHandle, 1, false, mMVPMatrix, 0);
-
-        // Draw the point.
-        GLES20.glDrawArrays(GLES20.GL_POINTS, 0, 1);
+        mPipeline.stop();
     }
 
     /**
-     * Helper function to compile a shader.
+     * Simulates, culls and sorts one frame and records its GL commands. Runs on the frame
+     * pipeline's worker thread, or on the GL thread when not pipelined, never on both at once.
      *
-     * @param shaderType The shader type.
-     * @param shaderSource The shader source code.
-     * @return An OpenGL handle to the shader.
+     * @param commands The buffer to record into, already begun.
      */
-    private int compileShader(final int shaderType, final String shaderSource)
+    private void recordFrame(final CommandBuffer commands)
     {
-        int shaderHandle = GLES20.glCreateShader(shaderType);
+        mBuildProfiler.beginFrame();
+        commands.clear(GL.GL_COLOR_BUFFER_BIT | GL.GL_DEPTH_BUFFER_BIT);
 
-        if (shaderHandle != 0)
-        {
-            // Pass in the shader source.
-            GLES20.glShaderSource(shaderHandle, shaderSource);
-
-            // Compile the shader.
-            GLES20.glCompileShader(shaderHandle);
+        // Do a complete rotation every 10 seconds.
+        long time = SystemClock.uptimeMillis() % 10000L;
+        float angleInDegrees = (360.0f / 10000.0f) * ((int) time);
 
-            // Get the compilation status.
-            final int[] compileStatus = new int[1];
-            GLES20.glGetShaderiv(shaderHandle, GLES20.GL_COMPILE_STATUS, compileStatus, 0);
+        // Spin the moving nodes.
+        mBuildProfiler.begin(mUpdatePhase);
+        mCubeNodes[0].setAngle(angleInDegrees);
+        mCubeNodes[1].setAngle(angleInDegrees);
+        mCubeNodes[2].setAngle(angleInDegrees);
+        mCubeNodes[4].setAngle(angleInDegrees);
+        mLightPivotNode.setAngle(angleInDegrees);
+        mBuildProfiler.end(mUpdatePhase);
+
+        // Bring the matrices of whatever moved up to date, then calculate position of the light.
+        mBuildProfiler.begin(mMatrixPhase);
+        mScene.update();
+        Matrix.multiplyMV(mLightPosInWorldSpace, 0, mLightNode.getWorldMatrix(), 0, mLightPosInModelSpace, 0);
+        Matrix.multiplyMV(mLightPosInEyeSpace, 0, mViewMatrix, 0, mLightPosInWorldSpace, 0);
+        mBuildProfiler.end(mMatrixPhase);
+
+        mBuildProfiler.begin(mCullPhase);
+        mCuller.beginFrame();
+        final int visibleCount = mCuller.cull(mCubeNodes, mCubeNodes.length, mVisibleCubeNodes);
+        mBuildProfiler.end(mCullPhase);
+
+        // Queue the cubes that can be seen, nearest first, and the point indicating the light on top.
+        mBuildProfiler.begin(mRecordPhase);
+        final RenderQueue queue = mRenderQueue;
+        queue.clear();
+        final int cubeProgram = mPerVertexProgram.getHandle();
+        for (int i = 0; i < visibleCount; i++)
+        {
+            final float depth = -mVisibleCubeNodes[i].getMVMatrix()[14];
+            queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, cubeProgram, CUBE_MESH_ID, depth), i);
+        }
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OVERLAY, mPointProgram.getHandle(), LIGHT_MESH_ID,
+                -mLightPosInEyeSpace[2]), LIGHT_ITEM);
+        queue.sort();
 
-            // If the compilation failed, delete the shader.
-            if (compileStatus[0] == 0)
+        // Record in queue order. Repeated glUseProgram calls are dropped by the state cache.
+        final int drawCount = queue.size();
+        for (int i = 0; i < drawCount; i++)
+        {
+            final int item = queue.getItem(i);
+            if (item == LIGHT_ITEM)
+            {
+                commands.useProgram(mPointProgram.getHandle());
+                recordLight(commands);
+            }
+            else
             {
-                Log.e("IntroLightingActivity", "Error compiling shader: " + GLES20.glGetShaderInfoLog(shaderHandle));
-                GLES20.glDeleteShader(shaderHandle);
-                shaderHandle = 0;
+                commands.useProgram(cubeProgram);
+                recordCube(commands, mVisibleCubeNodes[item]);
             }
         }
+        mBuildProfiler.end(mRecordPhase);
 
-        if (shaderHandle == 0)
+        mBuildProfiler.endFrame();
+        final String report = mBuildProfiler.pollReport();
+        if (report != null)
         {
-            throw new RuntimeException("Error creating shader.");
+            Log.i("IntroToLightingRenderer", "build " + (mPipelined ? "(pipelined)\n" : "(serial)\n") + report);
         }
-
-        return shaderHandle;
     }
 
     /**
-     * Helper function to compile and link a program.
+     * Records drawing a cube.
      *
-     * @param vertexShaderHandle An OpenGL handle to an already-compiled vertex shader.
-     * @param fragmentShaderHandle An OpenGL handle to an already-compiled fragment shader.
-     * @param attributes Attributes that need to be bound to the program.
-     * @return An OpenGL handle to the program.
+     * @param commands The buffer to record into.
+     * @param node The node placing the cube, already updated this frame.
      */
-    private int createAndLinkProgram(final int vertexShaderHandle, final int fragmentShaderHandle, final String[] attributes)
+    private void recordCube(final CommandBuffer commands, final SceneNode node)
     {
-        int programHandle = GLES20.glCreateProgram();
-
-        if (programHandle != 0)
-        {
-            // Bind the vertex shader to the program.
-            GLES20.glAttachShader(programHandle, vertexShaderHandle);
+        // Pass in the modelview matrix.
+        commands.uniformMatrix4fv(mMVMatrixHandle, node.getMVMatrix(), 0);
 
-            // Bind the fragment shader to the program.
-            GLES20.glAttachShader(programHandle, fragmentShaderHandle);
+        // Pass in the combined matrix.
+        commands.uniformMatrix4fv(mMVPMatrixHandle, node.getMVPMatrix(), 0);
 
-            // Bind attributes
-            if (attributes != null)
-            {
-                final int size = attributes.length;
-                for (int i = 0; i < size; i++)
-                {
-                    GLES20.glBindAttribLocation(programHandle, i, attributes[i]);
-                }
-            }
+        // Pass in the light position in eye space.
+        commands.uniform3f(mLightPosHandle, mLightPosInEyeSpace[0], mLightPosInEyeSpace[1], mLightPosInEyeSpace[2]);
 
-            // Link the two shaders together into a program.
-            GLES20.glLinkProgram(programHandle);
+        // Draw the cube from its buffer objects.
+        commands.drawMesh(mCubeMesh, GL.GL_TRIANGLES);
+    }
 
-            // Get the link status.
-            final int[] linkStatus = new int[1];
-            GLES20.glGetProgramiv(programHandle, GLES20.GL_LINK_STATUS, linkStatus, 0);
+    /**
+     * Records drawing a point representing the position of the light.
+     *
+     * @param commands The buffer to record into.
+     */
+    private void recordLight(final CommandBuffer commands)
+    {
+        // Pass in the position.
+        commands.vertexAttrib3f(mPointPositionHandle, mLightPosInModelSpace[0], mLightPosInModelSpace[1], mLightPosInModelSpace[2]);
 
-            // If the link failed, delete the program.
-            if (linkStatus[0] == 0)
-            {
-                Log.e("IntroLightingActivity", "Error compiling program: " + GLES20.glGetProgramInfoLog(programHandle));
-                GLES20.glDeleteProgram(programHandle);
-                programHandle = 0;
-            }
-        }
+        // Since we are not using a buffer object, disable vertex arrays for this attribute.
+        commands.disableVertexAttribArray(mPointPositionHandle);
 
-        if (programHandle == 0)
-        {
-            throw new RuntimeException("Error creating program.");
-        }
+        // Pass in the transformation matrix.
+        commands.uniformMatrix4fv(mPointMVPMatrixHandle, mLightNode.getMVPMatrix(), 0);
 
-        return programHandle;
+        // Draw the point.
+        commands.drawArrays(GL.GL_POINTS, 0, 1);
     }
 }
\ No newline at end of file
@@ -0,0 +1,248 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A mesh with a chain of levels of detail, generated at load time by {@link MeshSimplifier}.
+ * Level 0 is the full mesh and each further level has about half the triangles of the one before,
+ * until the next would move the surface further than the error limit or stop getting smaller.
+ *
+ * All levels share one vertex buffer, and their indices are concatenated into one index buffer,
+ * so switching level is only a different range in glDrawElements. {@link LodSelector} picks the
+ * level to draw from the object's size on screen.
+ *
+ * The packed data is kept on the CPU so the mesh can be uploaded again after the EGL context is
+ * lost; call {@link #upload} from onSurfaceCreated.
+ */
+public class LodMesh
+{
+    /** Most levels, including the full mesh. */
+    public static final int DEFAULT_MAX_LEVELS = 6;
+
+    /** Each level aims for this fraction of the triangles of the one before. */
+    public static final float DEFAULT_REDUCTION = 0.5f;
+
+    /** Largest error of any level, relative to the bounds radius. */
+    public static final float DEFAULT_MAX_ERROR = 0.05f;
+
+    /** A level is only kept if it has at most this fraction of the triangles of the one before. */
+    private static final float MIN_PROGRESS = 0.9f;
+
+    private final VertexLayout mLayout;
+    private final ByteBuffer mVertices;
+    private final int mVertexCount;
+    private final int mUsage;
+
+    /** Every level's indices, finest first. */
+    private final ByteBuffer mIndices;
+    private final int mIndexType;
+    private final int mTotalIndexCount;
+
+    /** Per level: where its indices start, how many there are, and its error relative to the bounds radius. */
+    private final int[] mFirstIndices;
+    private final int[] mIndexCounts;
+    private final float[] mErrors;
+
+    private final Bounds mBounds = new Bounds();
+
+    /** The uploaded buffers, or null before upload. */
+    private Mesh mMesh;
+
+    /**
+     * Builds the chain with the default limits.
+     *
+     * @param layout How the vertices are interleaved. The first attribute must hold the positions.
+     * @param vertices The packed vertex data, vertexCount * stride bytes.
+     * @param vertexCount Number of vertices, at most 65536.
+     * @param indices The full mesh, three per triangle.
+     * @param usage One of the Mesh USAGE_ constants.
+     */
+    public LodMesh(final VertexLayout layout, final ByteBuffer vertices, final int vertexCount, final int[] indices,
+                   final int usage)
+    {
+        this(layout, vertices, vertexCount, indices, usage, DEFAULT_MAX_LEVELS, DEFAULT_REDUCTION, DEFAULT_MAX_ERROR);
+    }
+
+    /**
+     * Builds the chain.
+     *
+     * @param layout How the vertices are interleaved. The first attribute must hold the positions.
+     * @param vertices The packed vertex data, vertexCount * stride bytes.
+     * @param vertexCount Number of vertices, at most 65536.
+     * @param indices The full mesh, three per triangle.
+     * @param usage One of the Mesh USAGE_ constants.
+     * @param maxLevels Most levels, including the full mesh.
+     * @param reduction Fraction of the triangles each level aims to keep, between 0 and 1.
+     * @param maxError Largest error of any level, relative to the bounds radius.
+     */
+    public LodMesh(final VertexLayout layout, final ByteBuffer vertices, final int vertexCount, final int[] indices,
+                   final int usage, final int maxLevels, final float reduction, final float maxError)
+    {
+        if (vertexCount > 65536)
+        {
+            throw new IllegalArgumentException("Too many vertices for 16-bit indices: " + vertexCount);
+        }
+        if (reduction <= 0.0f || reduction >= 1.0f)
+        {
+            throw new IllegalArgumentException("Reduction must be between 0 and 1: " + reduction);
+        }
+
+        mLayout = layout;
+        mVertices = vertices;
+        mVertexCount = vertexCount;
+        mUsage = usage;
+        mBounds.setFromVertices(vertices, layout, 0, vertexCount);
+
+        final float[] positions = new float[vertexCount * 3];
+        final float[] scratch = new float[4];
+        for (int v = 0; v < vertexCount; v++)
+        {
+            MeshBuilder.decode(vertices, layout, v, 0, scratch);
+            System.arraycopy(scratch, 0, positions, v * 3, 3);
+        }
+
+        final int[][] levels = new int[Math.max(maxLevels, 1)][];
+        final float[] errors = new float[levels.length];
+        levels[0] = indices;
+        int levelCount = 1;
+        final MeshSimplifier simplifier = new MeshSimplifier(positions, vertexCount);
+        while (levelCount < levels.length)
+        {
+            // Each level is simplified from the one before, so the errors add up.
+            final int[] previous = levels[levelCount - 1];
+            final float errorLeft = maxError - errors[levelCount - 1];
+            if (errorLeft <= 0.0f)
+            {
+                break;
+            }
+            final int target = (int) (previous.length / 3 * reduction) * 3;
+            final int[] simplified = simplifier.simplify(previous, target, errorLeft);
+            if (simplified.length == 0 || simplified.length > previous.length * MIN_PROGRESS)
+            {
+                break;
+            }
+            levels[levelCount] = MeshOptimizer.optimizeVertexCache(simplified, vertexCount);
+            errors[levelCount] = errors[levelCount - 1] + simplifier.getLastError();
+            levelCount++;
+        }
+
+        mFirstIndices = new int[levelCount];
+        mIndexCounts = new int[levelCount];
+        mErrors = new float[levelCount];
+        int total = 0;
+        for (int level = 0; level < levelCount; level++)
+        {
+            mFirstIndices[level] = total;
+            mIndexCounts[level] = levels[level].length;
+            mErrors[level] = errors[level];
+            total += levels[level].length;
+        }
+        mTotalIndexCount = total;
+
+        mIndexType = vertexCount <= 256 ? GL.GL_UNSIGNED_BYTE : GL.GL_UNSIGNED_SHORT;
+        final int indexSize = mIndexType == GL.GL_UNSIGNED_BYTE ? 1 : 2;
+        mIndices = ByteBuffer.allocateDirect(total * indexSize).order(ByteOrder.nativeOrder());
+        for (int level = 0; level < levelCount; level++)
+        {
+            final int[] levelIndices = levels[level];
+            final int first = mFirstIndices[level];
+            for (int i = 0; i < levelIndices.length; i++)
+            {
+                if (indexSize == 1)
+                {
+                    mIndices.put(first + i, (byte) levelIndices[i]);
+                }
+                else
+                {
+                    mIndices.putShort((first + i) * 2, (short) levelIndices[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the buffer objects and copies every level into them.
+     *
+     * @param gl The GL of the current context.
+     */
+    public void upload(final GL gl)
+    {
+        mMesh = new Mesh(mLayout, mVertices, mVertexCount, mIndices, mTotalIndexCount, mIndexType, mUsage, mBounds);
+        mMesh.upload(gl);
+    }
+
+    /**
+     * Binds the mesh and draws one level.
+     *
+     * @param gl The GL of the current context.
+     * @param mode The primitive type, e.g. GL_TRIANGLES.
+     * @param level The level, 0 for full detail.
+     */
+    public void draw(final GL gl, final int mode, final int level)
+    {
+        mMesh.drawRange(gl, mode, mFirstIndices[level], mIndexCounts[level]);
+    }
+
+    /**
+     * Deletes the buffer objects. The context they were created in must be current.
+     *
+     * @param gl The GL of the current context.
+     */
+    public void release(final GL gl)
+    {
+        if (mMesh != null)
+        {
+            mMesh.release(gl);
+            mMesh = null;
+        }
+    }
+
+    public int getLevelCount()
+    {
+        return mErrors.length;
+    }
+
+    public int getIndexCount(final int level)
+    {
+        return mIndexCounts[level];
+    }
+
+    public int getTriangleCount(final int level)
+    {
+        return mIndexCounts[level] / 3;
+    }
+
+    /**
+     * @return How far the level may stray from the full mesh, as a fraction of the bounds radius.
+     */
+    public float getError(final int level)
+    {
+        return mErrors[level];
+    }
+
+    /**
+     * @return The bounding box and sphere of the vertex positions, in object space.
+     */
+    public Bounds getBounds()
+    {
+        return mBounds;
+    }
+
+    /**
+     * @return The uploaded mesh, or null before upload.
+     */
+    public Mesh getMesh()
+    {
+        return mMesh;
+    }
+}
\ No newline at end of file
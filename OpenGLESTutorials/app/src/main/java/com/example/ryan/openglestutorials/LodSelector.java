@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * Picks the level of a {@link LodMesh} to draw from how large the object appears on screen. The
+ * radius of its world bounding sphere is projected to pixels with the projection matrix, and each
+ * level's error, a fraction of that radius, then becomes an error in pixels. The coarsest level
+ * whose error stays under the pixel threshold is drawn.
+ *
+ * To keep an object that hovers around a switching distance from popping back and forth, a level
+ * only gets coarser once its error is under the threshold by the hysteresis margin, and only
+ * gets finer once the current level's error is over the threshold by the same margin.
+ *
+ * The quality detail from {@link QualityGovernor#getDetail()} scales the threshold, so lower detail
+ * switches to coarser levels sooner.
+ */
+public class LodSelector
+{
+    /** Most error a level may show, in pixels. */
+    public static final float DEFAULT_PIXEL_ERROR = 1.0f;
+
+    /** How far past the threshold the error must get before the level changes. */
+    public static final float DEFAULT_HYSTERESIS = 0.25f;
+
+    /** The eye's view matrix, to find each object's distance. */
+    private final float[] mViewMatrix = new float[16];
+
+    /** Pixels per world unit at a distance of one unit in front of the eye. */
+    private float mPixelsPerUnit;
+
+    private final float mPixelError;
+    private final float mHysteresis;
+    private float mDetail = 1.0f;
+
+    public LodSelector()
+    {
+        this(DEFAULT_PIXEL_ERROR, DEFAULT_HYSTERESIS);
+    }
+
+    /**
+     * @param pixelError Most error a level may show, in pixels.
+     * @param hysteresis Fraction of the threshold the error must pass it by before switching.
+     */
+    public LodSelector(final float pixelError, final float hysteresis)
+    {
+        mPixelError = pixelError;
+        mHysteresis = hysteresis;
+    }
+
+    /**
+     * Sets the camera. Call from onSurfaceChanged, once the projection matrix is built.
+     *
+     * @param viewMatrix The view matrix.
+     * @param projectionMatrix A perspective projection matrix.
+     * @param viewportHeight The viewport height in pixels.
+     */
+    public void setCamera(final float[] viewMatrix, final float[] projectionMatrix, final int viewportHeight)
+    {
+        System.arraycopy(viewMatrix, 0, mViewMatrix, 0, 16);
+
+        // The y scale of a perspective projection maps a unit at unit distance to clip space,
+        // which spans half the viewport height.
+        mPixelsPerUnit = projectionMatrix[5] * viewportHeight * 0.5f;
+    }
+
+    /**
+     * @param detail The quality detail, 1 for full; the error threshold is divided by it.
+     */
+    public void setDetail(final float detail)
+    {
+        mDetail = detail;
+    }
+
+    /**
+     * @return The radius of the bounding sphere on screen in pixels, or Float.MAX_VALUE if the eye
+     *         is inside it.
+     */
+    public float getProjectedRadius(final Bounds worldBounds)
+    {
+        final float[] v = mViewMatrix;
+        final float eyeZ = v[2] * worldBounds.getCenterX() + v[6] * worldBounds.getCenterY()
+                + v[10] * worldBounds.getCenterZ() + v[14];
+
+        // The eye looks down -z.
+        final float distance = -eyeZ;
+        final float radius = worldBounds.getRadius();
+        if (distance <= radius)
+        {
+            return Float.MAX_VALUE;
+        }
+        return radius * mPixelsPerUnit / distance;
+    }
+
+    /**
+     * Chooses the level to draw this frame.
+     *
+     * @param mesh The mesh.
+     * @param worldBounds The mesh bounds moved to where the object is this frame.
+     * @param currentLevel The level drawn last frame, kept per object by the caller.
+     * @return The level to draw.
+     */
+    public int select(final LodMesh mesh, final Bounds worldBounds, final int currentLevel)
+    {
+        final float projectedRadius = getProjectedRadius(worldBounds);
+        final float threshold = mPixelError / Math.max(mDetail, 0.01f);
+        final int current = Math.min(currentLevel, mesh.getLevelCount() - 1);
+
+        final int coarser = coarsestLevel(mesh, projectedRadius, threshold * (1.0f - mHysteresis));
+        if (coarser > current)
+        {
+            return coarser;
+        }
+        if (mesh.getError(current) * projectedRadius > threshold * (1.0f + mHysteresis))
+        {
+            return coarsestLevel(mesh, projectedRadius, threshold);
+        }
+        return current;
+    }
+
+    private static int coarsestLevel(final LodMesh mesh, final float projectedRadius, final float threshold)
+    {
+        int level = 0;
+        while (level + 1 < mesh.getLevelCount() && mesh.getError(level + 1) * projectedRadius <= threshold)
+        {
+            level++;
+        }
+        return level;
+    }
+}
\ No newline at end of file
@@ -4,7 +4,7 @@
  * Application: OpenGL Tutorials
  * Author: Ryan Ballinger
  * Date: 1/2/2015
- * Modified: 2/12/2015
+ * Modified: 10/17/2026
  */
 
 package com.example.ryan.openglestutorials;
@@ -57,4 +57,9 @@ public class MainActivity extends ActionBarActivity {
         Intent intent = new Intent(this, TestActivity.class);
         startActivity(intent);
     }
+
+    public void startBatchingActivity(View view){
+        Intent intent = new Intent(this, BatchingActivity.class);
+        startActivity(intent);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,386 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * Allocation-free 4x4 matrix operations on column-major float arrays, laid out the same way as
+ * android.opengl.Matrix. Unlike Matrix.rotateM, nothing here builds a temporary matrix or takes
+ * a lock, and the fused operations compose a whole transform directly into the destination.
+ *
+ * Every operation performs the same float operations in the same order as android.opengl.Matrix,
+ * so for finite inputs the results compare equal (==) to the results of the equivalent Matrix
+ * calls. Only the sign of a zero element may differ.
+ */
+public final class MatrixMath
+{
+    private MatrixMath()
+    {
+    }
+
+    /**
+     * Sets a matrix to identity.
+     *
+     * @param m The matrix.
+     * @param offset Index of the first element.
+     */
+    public static void setIdentity(final float[] m, final int offset)
+    {
+        for (int i = 0; i < 16; i++)
+        {
+            m[offset + i] = 0.0f;
+        }
+        m[offset] = 1.0f;
+        m[offset + 5] = 1.0f;
+        m[offset + 10] = 1.0f;
+        m[offset + 15] = 1.0f;
+    }
+
+    /**
+     * Computes result = lhs * rhs. Any of the matrices may be the same array and offset.
+     *
+     * @param result Receives the product.
+     * @param resultOffset Index of the first element of result.
+     * @param lhs The left-hand matrix.
+     * @param lhsOffset Index of the first element of lhs.
+     * @param rhs The right-hand matrix.
+     * @param rhsOffset Index of the first element of rhs.
+     */
+    public static void multiply(final float[] result, final int resultOffset, final float[] lhs, final int lhsOffset,
+                                final float[] rhs, final int rhsOffset)
+    {
+        final float l0 = lhs[lhsOffset], l1 = lhs[lhsOffset + 1], l2 = lhs[lhsOffset + 2], l3 = lhs[lhsOffset + 3];
+        final float l4 = lhs[lhsOffset + 4], l5 = lhs[lhsOffset + 5], l6 = lhs[lhsOffset + 6], l7 = lhs[lhsOffset + 7];
+        final float l8 = lhs[lhsOffset + 8], l9 = lhs[lhsOffset + 9], l10 = lhs[lhsOffset + 10], l11 = lhs[lhsOffset + 11];
+        final float l12 = lhs[lhsOffset + 12], l13 = lhs[lhsOffset + 13], l14 = lhs[lhsOffset + 14], l15 = lhs[lhsOffset + 15];
+
+        // Column by column: each column of rhs is read completely before the same column of the
+        // result is written, so result may alias rhs. lhs is held in locals, so it may alias too.
+        for (int i = 0; i < 16; i += 4)
+        {
+            final float r0 = rhs[rhsOffset + i], r1 = rhs[rhsOffset + i + 1];
+            final float r2 = rhs[rhsOffset + i + 2], r3 = rhs[rhsOffset + i + 3];
+            result[resultOffset + i] = l0 * r0 + l4 * r1 + l8 * r2 + l12 * r3;
+            result[resultOffset + i + 1] = l1 * r0 + l5 * r1 + l9 * r2 + l13 * r3;
+            result[resultOffset + i + 2] = l2 * r0 + l6 * r1 + l10 * r2 + l14 * r3;
+            result[resultOffset + i + 3] = l3 * r0 + l7 * r1 + l11 * r2 + l15 * r3;
+        }
+    }
+
+    /**
+     * Computes the modelview and modelview-projection matrices in one pass, the pair every
+     * lit draw needs: mv = view * model and mvp = projection * mv. Each column of mv is fed
+     * to the projection while it is still in registers.
+     *
+     * @param mv Receives view * model.
+     * @param mvOffset Index of the first element of mv.
+     * @param mvp Receives projection * view * model.
+     * @param mvpOffset Index of the first element of mvp.
+     * @param projection The projection matrix, at offset 0.
+     * @param view The view matrix, at offset 0.
+     * @param model The model matrix.
+     * @param modelOffset Index of the first element of model.
+     */
+    public static void multiplyMVP(final float[] mv, final int mvOffset, final float[] mvp, final int mvpOffset,
+                                   final float[] projection, final float[] view, final float[] model,
+                                   final int modelOffset)
+    {
+        final float v0 = view[0], v1 = view[1], v2 = view[2], v3 = view[3];
+        final float v4 = view[4], v5 = view[5], v6 = view[6], v7 = view[7];
+        final float v8 = view[8], v9 = view[9], v10 = view[10], v11 = view[11];
+        final float v12 = view[12], v13 = view[13], v14 = view[14], v15 = view[15];
+
+        final float p0 = projection[0], p1 = projection[1], p2 = projection[2], p3 = projection[3];
+        final float p4 = projection[4], p5 = projection[5], p6 = projection[6], p7 = projection[7];
+        final float p8 = projection[8], p9 = projection[9], p10 = projection[10], p11 = projection[11];
+        final float p12 = projection[12], p13 = projection[13], p14 = projection[14], p15 = projection[15];
+
+        for (int i = 0; i < 16; i += 4)
+        {
+            final float r0 = model[modelOffset + i], r1 = model[modelOffset + i + 1];
+            final float r2 = model[modelOffset + i + 2], r3 = model[modelOffset + i + 3];
+
+            final float c0 = v0 * r0 + v4 * r1 + v8 * r2 + v12 * r3;
+            final float c1 = v1 * r0 + v5 * r1 + v9 * r2 + v13 * r3;
+            final float c2 = v2 * r0 + v6 * r1 + v10 * r2 + v14 * r3;
+            final float c3 = v3 * r0 + v7 * r1 + v11 * r2 + v15 * r3;
+            mv[mvOffset + i] = c0;
+            mv[mvOffset + i + 1] = c1;
+            mv[mvOffset + i + 2] = c2;
+            mv[mvOffset + i + 3] = c3;
+
+            mvp[mvpOffset + i] = p0 * c0 + p4 * c1 + p8 * c2 + p12 * c3;
+            mvp[mvpOffset + i + 1] = p1 * c0 + p5 * c1 + p9 * c2 + p13 * c3;
+            mvp[mvpOffset + i + 2] = p2 * c0 + p6 * c1 + p10 * c2 + p14 * c3;
+            mvp[mvpOffset + i + 3] = p3 * c0 + p7 * c1 + p11 * c2 + p15 * c3;
+        }
+    }
+
+    /**
+     * Inverts a matrix by cofactor expansion.
+     *
+     * @param inverse Receives the inverse. Must not overlap m.
+     * @param inverseOffset Index of the first element of inverse.
+     * @param m The matrix to invert.
+     * @param offset Index of the first element of m.
+     * @return False if the matrix is singular, in which case inverse is left unchanged.
+     */
+    public static boolean invert(final float[] inverse, final int inverseOffset, final float[] m, final int offset)
+    {
+        final float a0 = m[offset], a1 = m[offset + 1], a2 = m[offset + 2], a3 = m[offset + 3];
+        final float a4 = m[offset + 4], a5 = m[offset + 5], a6 = m[offset + 6], a7 = m[offset + 7];
+        final float a8 = m[offset + 8], a9 = m[offset + 9], a10 = m[offset + 10], a11 = m[offset + 11];
+        final float a12 = m[offset + 12], a13 = m[offset + 13], a14 = m[offset + 14], a15 = m[offset + 15];
+
+        // 2x2 determinants of the upper and lower halves, shared by the cofactors.
+        final float b0 = a0 * a5 - a1 * a4;
+        final float b1 = a0 * a6 - a2 * a4;
+        final float b2 = a0 * a7 - a3 * a4;
+        final float b3 = a1 * a6 - a2 * a5;
+        final float b4 = a1 * a7 - a3 * a5;
+        final float b5 = a2 * a7 - a3 * a6;
+        final float b6 = a8 * a13 - a9 * a12;
+        final float b7 = a8 * a14 - a10 * a12;
+        final float b8 = a8 * a15 - a11 * a12;
+        final float b9 = a9 * a14 - a10 * a13;
+        final float b10 = a9 * a15 - a11 * a13;
+        final float b11 = a10 * a15 - a11 * a14;
+
+        final float determinant = b0 * b11 - b1 * b10 + b2 * b9 + b3 * b8 - b4 * b7 + b5 * b6;
+        if (determinant == 0.0f)
+        {
+            return false;
+        }
+        final float r = 1.0f / determinant;
+
+        inverse[inverseOffset] = (a5 * b11 - a6 * b10 + a7 * b9) * r;
+        inverse[inverseOffset + 1] = (-a1 * b11 + a2 * b10 - a3 * b9) * r;
+        inverse[inverseOffset + 2] = (a13 * b5 - a14 * b4 + a15 * b3) * r;
+        inverse[inverseOffset + 3] = (-a9 * b5 + a10 * b4 - a11 * b3) * r;
+        inverse[inverseOffset + 4] = (-a4 * b11 + a6 * b8 - a7 * b7) * r;
+        inverse[inverseOffset + 5] = (a0 * b11 - a2 * b8 + a3 * b7) * r;
+        inverse[inverseOffset + 6] = (-a12 * b5 + a14 * b2 - a15 * b1) * r;
+        inverse[inverseOffset + 7] = (a8 * b5 - a10 * b2 + a11 * b1) * r;
+        inverse[inverseOffset + 8] = (a4 * b10 - a5 * b8 + a7 * b6) * r;
+        inverse[inverseOffset + 9] = (-a0 * b10 + a1 * b8 - a3 * b6) * r;
+        inverse[inverseOffset + 10] = (a12 * b4 - a13 * b2 + a15 * b0) * r;
+        inverse[inverseOffset + 11] = (-a8 * b4 + a9 * b2 - a11 * b0) * r;
+        inverse[inverseOffset + 12] = (-a4 * b9 + a5 * b7 - a6 * b6) * r;
+        inverse[inverseOffset + 13] = (a0 * b9 - a1 * b7 + a2 * b6) * r;
+        inverse[inverseOffset + 14] = (-a12 * b3 + a13 * b1 - a14 * b0) * r;
+        inverse[inverseOffset + 15] = (a8 * b3 - a9 * b1 + a10 * b0) * r;
+        return true;
+    }
+
+    /**
+     * Translates a matrix in place, like Matrix.translateM.
+     *
+     * @param m The matrix.
+     * @param offset Index of the first element.
+     * @param x Translation along x.
+     * @param y Translation along y.
+     * @param z Translation along z.
+     */
+    public static void translate(final float[] m, final int offset, final float x, final float y, final float z)
+    {
+        for (int i = 0; i < 4; i++)
+        {
+            final int mi = offset + i;
+            m[12 + mi] += m[mi] * x + m[4 + mi] * y + m[8 + mi] * z;
+        }
+    }
+
+    /**
+     * Scales a matrix in place, like Matrix.scaleM.
+     *
+     * @param m The matrix.
+     * @param offset Index of the first element.
+     * @param x Scale along x.
+     * @param y Scale along y.
+     * @param z Scale along z.
+     */
+    public static void scale(final float[] m, final int offset, final float x, final float y, final float z)
+    {
+        for (int i = 0; i < 4; i++)
+        {
+            final int mi = offset + i;
+            m[mi] *= x;
+            m[4 + mi] *= y;
+            m[8 + mi] *= z;
+        }
+    }
+
+    /**
+     * Rotates a matrix in place about an axis, like Matrix.rotateM but without the temporary
+     * matrix and the lock around it.
+     *
+     * @param m The matrix.
+     * @param offset Index of the first element.
+     * @param angle The angle in degrees.
+     * @param x The x component of the axis.
+     * @param y The y component of the axis.
+     * @param z The z component of the axis.
+     */
+    public static void rotate(final float[] m, final int offset, final float angle, final float x, final float y,
+                              final float z)
+    {
+        final float[] r = Rotation.LOCAL.get();
+        setRotation(r, angle, x, y, z);
+
+        // m = m * r. The rotation has no translation, so the last column of m is unchanged.
+        for (int i = 0; i < 4; i++)
+        {
+            final int mi = offset + i;
+            final float m0 = m[mi], m4 = m[4 + mi], m8 = m[8 + mi];
+            m[mi] = m0 * r[0] + m4 * r[1] + m8 * r[2];
+            m[4 + mi] = m0 * r[3] + m4 * r[4] + m8 * r[5];
+            m[8 + mi] = m0 * r[6] + m4 * r[7] + m8 * r[8];
+        }
+    }
+
+    /**
+     * Sets a matrix to translate * rotate * scale in one step. This is the same matrix as
+     * setIdentityM, translateM, rotateM and scaleM in that order, without touching any element
+     * twice.
+     *
+     * @param m The matrix.
+     * @param offset Index of the first element.
+     * @param tx Translation along x.
+     * @param ty Translation along y.
+     * @param tz Translation along z.
+     * @param angle The rotation angle in degrees.
+     * @param ax The x component of the rotation axis.
+     * @param ay The y component of the rotation axis.
+     * @param az The z component of the rotation axis.
+     * @param sx Scale along x.
+     * @param sy Scale along y.
+     * @param sz Scale along z.
+     */
+    public static void setTranslateRotateScale(final float[] m, final int offset, final float tx, final float ty,
+                                               final float tz, final float angle, final float ax, final float ay,
+                                               final float az, final float sx, final float sy, final float sz)
+    {
+        final float[] r = Rotation.LOCAL.get();
+        setRotation(r, angle, ax, ay, az);
+
+        m[offset] = r[0] * sx;
+        m[offset + 1] = r[1] * sx;
+        m[offset + 2] = r[2] * sx;
+        m[offset + 3] = 0.0f;
+        m[offset + 4] = r[3] * sy;
+        m[offset + 5] = r[4] * sy;
+        m[offset + 6] = r[5] * sy;
+        m[offset + 7] = 0.0f;
+        m[offset + 8] = r[6] * sz;
+        m[offset + 9] = r[7] * sz;
+        m[offset + 10] = r[8] * sz;
+        m[offset + 11] = 0.0f;
+        m[offset + 12] = tx;
+        m[offset + 13] = ty;
+        m[offset + 14] = tz;
+        m[offset + 15] = 1.0f;
+    }
+
+    /**
+     * Sets a matrix to translate * rotate, the usual placement of an object.
+     *
+     * @see #setTranslateRotateScale
+     */
+    public static void setTranslateRotate(final float[] m, final int offset, final float tx, final float ty,
+                                          final float tz, final float angle, final float ax, final float ay,
+                                          final float az)
+    {
+        setTranslateRotateScale(m, offset, tx, ty, tz, angle, ax, ay, az, 1.0f, 1.0f, 1.0f);
+    }
+
+    /**
+     * Sets a matrix to a translation.
+     */
+    public static void setTranslate(final float[] m, final int offset, final float x, final float y, final float z)
+    {
+        setIdentity(m, offset);
+        m[offset + 12] = x;
+        m[offset + 13] = y;
+        m[offset + 14] = z;
+    }
+
+    /**
+     * Computes the upper 3x3 of a rotation matrix, column-major, with the same special cases
+     * and normalization as Matrix.setRotateM.
+     *
+     * @param r Receives 9 floats.
+     */
+    static void setRotation(final float[] r, float angle, float x, float y, float z)
+    {
+        angle *= (float) (Math.PI / 180.0f);
+        final float s = (float) Math.sin(angle);
+        final float c = (float) Math.cos(angle);
+
+        if (1.0f == x && 0.0f == y && 0.0f == z)
+        {
+            r[0] = 1; r[1] = 0; r[2] = 0;
+            r[3] = 0; r[4] = c; r[5] = s;
+            r[6] = 0; r[7] = -s; r[8] = c;
+        }
+        else if (0.0f == x && 1.0f == y && 0.0f == z)
+        {
+            r[0] = c; r[1] = 0; r[2] = -s;
+            r[3] = 0; r[4] = 1; r[5] = 0;
+            r[6] = s; r[7] = 0; r[8] = c;
+        }
+        else if (0.0f == x && 0.0f == y && 1.0f == z)
+        {
+            r[0] = c; r[1] = s; r[2] = 0;
+            r[3] = -s; r[4] = c; r[5] = 0;
+            r[6] = 0; r[7] = 0; r[8] = 1;
+        }
+        else
+        {
+            final float length = (float) Math.sqrt(x * x + y * y + z * z);
+            if (1.0f != length)
+            {
+                final float recipLength = 1.0f / length;
+                x *= recipLength;
+                y *= recipLength;
+                z *= recipLength;
+            }
+            final float nc = 1.0f - c;
+            final float xy = x * y;
+            final float yz = y * z;
+            final float zx = z * x;
+            final float xs = x * s;
+            final float ys = y * s;
+            final float zs = z * s;
+            r[0] = x * x * nc + c;
+            r[1] = xy * nc + zs;
+            r[2] = zx * nc - ys;
+            r[3] = xy * nc - zs;
+            r[4] = y * y * nc + c;
+            r[5] = yz * nc + xs;
+            r[6] = zx * nc + ys;
+            r[7] = yz * nc - xs;
+            r[8] = z * z * nc + c;
+        }
+    }
+
+    /**
+     * Per-thread scratch for the rotation part, so rotations neither allocate nor lock.
+     */
+    private static final class Rotation
+    {
+        static final ThreadLocal<float[]> LOCAL = new ThreadLocal<float[]>()
+        {
+            @Override
+            protected float[] initialValue()
+            {
+                return new float[9];
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * A fixed-depth stack of 4x4 matrices in one preallocated array, in the spirit of the OpenGL 1
+ * matrix stack. push() copies the top matrix into the next slot and pop() drops it, so nested
+ * transforms can be built and undone every frame without allocating.
+ *
+ * The top matrix lives at {@link #getArray()} starting at {@link #getOffset()} and can be passed
+ * straight to glUniformMatrix4fv.
+ */
+public class MatrixStack
+{
+    /** All matrices of the stack, 16 floats each. */
+    private final float[] mMatrices;
+
+    /** Most matrices the stack can hold. */
+    private final int mDepth;
+
+    /** Offset of the top matrix in mMatrices. */
+    private int mTop;
+
+    /**
+     * Creates a stack whose top is the identity matrix.
+     *
+     * @param depth The most matrices the stack can hold at once.
+     */
+    public MatrixStack(final int depth)
+    {
+        if (depth < 1)
+        {
+            throw new IllegalArgumentException("Depth must be at least 1: " + depth);
+        }
+        mDepth = depth;
+        mMatrices = new float[depth * 16];
+        MatrixMath.setIdentity(mMatrices, 0);
+    }
+
+    /**
+     * Duplicates the top matrix so it can be changed and later restored with {@link #pop()}.
+     */
+    public void push()
+    {
+        if (mTop + 16 == mDepth * 16)
+        {
+            throw new IllegalStateException("Matrix stack overflow, depth " + mDepth);
+        }
+        System.arraycopy(mMatrices, mTop, mMatrices, mTop + 16, 16);
+        mTop += 16;
+    }
+
+    /**
+     * Discards the top matrix, restoring the one below it.
+     */
+    public void pop()
+    {
+        if (mTop == 0)
+        {
+            throw new IllegalStateException("Matrix stack underflow.");
+        }
+        mTop -= 16;
+    }
+
+    /**
+     * @return The number of matrices on the stack.
+     */
+    public int size()
+    {
+        return mTop / 16 + 1;
+    }
+
+    /**
+     * Pops everything and sets the remaining matrix to identity.
+     */
+    public void reset()
+    {
+        mTop = 0;
+        MatrixMath.setIdentity(mMatrices, 0);
+    }
+
+    /**
+     * @return The array holding the top matrix.
+     */
+    public float[] getArray()
+    {
+        return mMatrices;
+    }
+
+    /**
+     * @return The index of the first element of the top matrix in {@link #getArray()}.
+     */
+    public int getOffset()
+    {
+        return mTop;
+    }
+
+    /**
+     * Copies the top matrix out.
+     *
+     * @param out Receives 16 floats.
+     * @param offset Index of the first element to write.
+     */
+    public void get(final float[] out, final int offset)
+    {
+        System.arraycopy(mMatrices, mTop, out, offset, 16);
+    }
+
+    /**
+     * Replaces the top matrix.
+     *
+     * @param m The matrix to load.
+     * @param offset Index of its first element.
+     */
+    public void load(final float[] m, final int offset)
+    {
+        System.arraycopy(m, offset, mMatrices, mTop, 16);
+    }
+
+    public void loadIdentity()
+    {
+        MatrixMath.setIdentity(mMatrices, mTop);
+    }
+
+    /**
+     * Sets the top matrix to translate * rotate * scale.
+     *
+     * @see MatrixMath#setTranslateRotateScale
+     */
+    public void loadTranslateRotateScale(final float tx, final float ty, final float tz, final float angle,
+                                         final float ax, final float ay, final float az, final float sx,
+                                         final float sy, final float sz)
+    {
+        MatrixMath.setTranslateRotateScale(mMatrices, mTop, tx, ty, tz, angle, ax, ay, az, sx, sy, sz);
+    }
+
+    /**
+     * Multiplies the top matrix by m on the right: top = top * m.
+     *
+     * @param m The matrix to multiply by.
+     * @param offset Index of its first element.
+     */
+    public void multiply(final float[] m, final int offset)
+    {
+        MatrixMath.multiply(mMatrices, mTop, mMatrices, mTop, m, offset);
+    }
+
+    public void translate(final float x, final float y, final float z)
+    {
+        MatrixMath.translate(mMatrices, mTop, x, y, z);
+    }
+
+    /**
+     * Rotates the top matrix.
+     *
+     * @param angle The angle in degrees.
+     * @param x The x component of the axis.
+     * @param y The y component of the axis.
+     * @param z The z component of the axis.
+     */
+    public void rotate(final float angle, final float x, final float y, final float z)
+    {
+        MatrixMath.rotate(mMatrices, mTop, angle, x, y, z);
+    }
+
+    public void scale(final float x, final float y, final float z)
+    {
+        MatrixMath.scale(mMatrices, mTop, x, y, z);
+    }
+}
\ No newline at end of file
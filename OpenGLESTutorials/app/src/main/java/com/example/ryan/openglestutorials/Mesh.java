@@ -0,0 +1,306 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vertex data that lives in GPU buffer objects. The interleaved vertices described by a
+ * {@link VertexLayout} are uploaded once into a GL_ARRAY_BUFFER, and drawing only points the
+ * attributes at offsets inside it, so the driver does not have to copy client-side arrays on
+ * every draw call. Indexed meshes keep their indices in a GL_ELEMENT_ARRAY_BUFFER and are drawn
+ * with glDrawElements.
+ *
+ * Drawing leaves the buffers bound, so a {@link StateCacheGL} can drop the rebinding and
+ * attribute setup when the next draw uses the same mesh.
+ *
+ * Buffer handles belong to the EGL context they were uploaded in; create and upload a new mesh
+ * from onSurfaceCreated.
+ */
+public class Mesh
+{
+    /** The data is uploaded once and drawn many times. */
+    public static final int USAGE_STATIC = GL.GL_STATIC_DRAW;
+
+    /** The data is updated repeatedly and drawn many times. */
+    public static final int USAGE_DYNAMIC = GL.GL_DYNAMIC_DRAW;
+
+    /** The data is updated about once per draw. */
+    public static final int USAGE_STREAM = GL.GL_STREAM_DRAW;
+
+    private final VertexLayout mLayout;
+    private final int mVertexCount;
+    private final int mUsage;
+
+    /** Number of indices, or 0 for a non-indexed mesh. */
+    private final int mIndexCount;
+
+    /** GL_UNSIGNED_BYTE or GL_UNSIGNED_SHORT for indexed meshes. */
+    private final int mIndexType;
+
+    /** The client-side vertex and index data until it has been uploaded. */
+    private ByteBuffer mPendingVertices;
+    private ByteBuffer mPendingIndices;
+
+    /** GL buffer handles of the vertex buffer and, for indexed meshes, the index buffer. */
+    private final int[] mBufferHandles = new int[2];
+
+    /** Bounds of the vertex positions in object space. */
+    private final Bounds mBounds = new Bounds();
+
+    /** GPU memory held by this mesh, in bytes. */
+    private int mByteCount;
+
+    private boolean mUploaded;
+
+    /**
+     * @param layout How the vertices are interleaved.
+     * @param vertices The packed vertex data, vertexCount * stride bytes.
+     * @param vertexCount Number of vertices.
+     * @param usage One of USAGE_STATIC, USAGE_DYNAMIC or USAGE_STREAM.
+     */
+    public Mesh(final VertexLayout layout, final ByteBuffer vertices, final int vertexCount, final int usage)
+    {
+        this(layout, vertices, vertexCount, null, 0, GL.GL_UNSIGNED_SHORT, usage);
+    }
+
+    /**
+     * Creates an indexed mesh, for example from the output of {@link MeshWelder}.
+     *
+     * @param layout How the vertices are interleaved.
+     * @param vertices The packed vertex data, vertexCount * stride bytes.
+     * @param vertexCount Number of vertices.
+     * @param indices The indices, one byte or one short each.
+     * @param indexCount Number of indices.
+     * @param indexType GL_UNSIGNED_BYTE or GL_UNSIGNED_SHORT.
+     * @param usage One of USAGE_STATIC, USAGE_DYNAMIC or USAGE_STREAM.
+     */
+    public Mesh(final VertexLayout layout, final ByteBuffer vertices, final int vertexCount, final ByteBuffer indices,
+                final int indexCount, final int indexType, final int usage)
+    {
+        this(layout, vertices, vertexCount, indices, indexCount, indexType, usage, null);
+    }
+
+    /**
+     * Creates an indexed mesh whose bounds are already known, e.g. from a {@link MeshFile}, so the
+     * vertices are not read on the CPU at all before they are uploaded.
+     *
+     * @param layout How the vertices are interleaved.
+     * @param vertices The packed vertex data, vertexCount * stride bytes.
+     * @param vertexCount Number of vertices.
+     * @param indices The indices, one byte or one short each, or null.
+     * @param indexCount Number of indices.
+     * @param indexType GL_UNSIGNED_BYTE or GL_UNSIGNED_SHORT.
+     * @param usage One of USAGE_STATIC, USAGE_DYNAMIC or USAGE_STREAM.
+     * @param bounds The bounds of the positions in object space, or null to compute them.
+     */
+    public Mesh(final VertexLayout layout, final ByteBuffer vertices, final int vertexCount, final ByteBuffer indices,
+                final int indexCount, final int indexType, final int usage, final Bounds bounds)
+    {
+        if (usage != USAGE_STATIC && usage != USAGE_DYNAMIC && usage != USAGE_STREAM)
+        {
+            throw new IllegalArgumentException("Unknown usage hint: " + usage);
+        }
+        if (vertices.capacity() < vertexCount * layout.getStride())
+        {
+            throw new IllegalArgumentException("Vertex data is smaller than " + vertexCount + " vertices.");
+        }
+
+        if (indexType != GL.GL_UNSIGNED_BYTE && indexType != GL.GL_UNSIGNED_SHORT)
+        {
+            throw new IllegalArgumentException("ES 2.0 only supports byte and short indices: " + indexType);
+        }
+
+        mLayout = layout;
+        mPendingVertices = vertices;
+        mVertexCount = vertexCount;
+        mPendingIndices = indices;
+        mIndexCount = indices == null ? 0 : indexCount;
+        mIndexType = indexType;
+        mUsage = usage;
+
+        if (bounds != null)
+        {
+            mBounds.set(bounds);
+        }
+        else
+        {
+            // The first attribute holds the positions in every layout this app builds.
+            mBounds.setFromVertices(vertices, layout, 0, vertexCount);
+        }
+    }
+
+    /**
+     * Creates the buffer object and copies the vertex data into it.
+     *
+     * @param gl The GL of the current context.
+     */
+    public void upload(final GL gl)
+    {
+        if (mUploaded)
+        {
+            throw new IllegalStateException("Mesh has already been uploaded.");
+        }
+
+        gl.glGenBuffers(isIndexed() ? 2 : 1, mBufferHandles, 0);
+
+        final int vertexBytes = mVertexCount * mLayout.getStride();
+        mPendingVertices.position(0);
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, mBufferHandles[0]);
+        gl.glBufferData(GL.GL_ARRAY_BUFFER, vertexBytes, mPendingVertices, mUsage);
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+        mByteCount = vertexBytes;
+
+        if (isIndexed())
+        {
+            // Indices never change, whatever the vertices do.
+            final int indexBytes = mIndexCount * (mIndexType == GL.GL_UNSIGNED_BYTE ? 1 : 2);
+            mPendingIndices.position(0);
+            gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, mBufferHandles[1]);
+            gl.glBufferData(GL.GL_ELEMENT_ARRAY_BUFFER, indexBytes, mPendingIndices, GL.GL_STATIC_DRAW);
+            gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, 0);
+            mByteCount += indexBytes;
+        }
+
+        // The GPU has its own copy now.
+        mPendingVertices = null;
+        mPendingIndices = null;
+        mUploaded = true;
+    }
+
+    /**
+     * Replaces a range of vertices. Intended for USAGE_DYNAMIC and USAGE_STREAM meshes.
+     *
+     * @param gl The GL of the current context.
+     * @param vertices The new packed vertex data, starting at its position 0.
+     * @param firstVertex The first vertex to replace.
+     * @param count The number of vertices to replace.
+     */
+    public void updateVertices(final GL gl, final ByteBuffer vertices, final int firstVertex, final int count)
+    {
+        final int stride = mLayout.getStride();
+        vertices.position(0);
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, mBufferHandles[0]);
+        gl.glBufferSubData(GL.GL_ARRAY_BUFFER, firstVertex * stride, count * stride, vertices);
+    }
+
+    /**
+     * Points every attribute at the vertex buffer and enables it.
+     *
+     * @param gl The GL of the current context.
+     */
+    public void bind(final GL gl)
+    {
+        // Every attribute is sourced from a buffer object, so the buffer can stay bound.
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, mBufferHandles[0]);
+        mLayout.bind(gl, 0);
+    }
+
+    /**
+     * Binds the mesh and draws all of it, through the index buffer if it has one.
+     *
+     * @param gl The GL of the current context.
+     * @param mode The primitive type, e.g. GL_TRIANGLES.
+     */
+    public void draw(final GL gl, final int mode)
+    {
+        bind(gl);
+
+        if (isIndexed())
+        {
+            gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, mBufferHandles[1]);
+            gl.glDrawElements(mode, mIndexCount, mIndexType, 0);
+        }
+        else
+        {
+            gl.glDrawArrays(mode, 0, mVertexCount);
+        }
+    }
+
+    /**
+     * Binds the mesh and draws part of its index buffer, e.g. one level of a {@link LodMesh}.
+     *
+     * @param gl The GL of the current context.
+     * @param mode The primitive type, e.g. GL_TRIANGLES.
+     * @param firstIndex The first index to draw.
+     * @param indexCount The number of indices to draw.
+     */
+    public void drawRange(final GL gl, final int mode, final int firstIndex, final int indexCount)
+    {
+        if (!isIndexed())
+        {
+            throw new IllegalStateException("Only indexed meshes can draw an index range.");
+        }
+        bind(gl);
+        gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, mBufferHandles[1]);
+        gl.glDrawElements(mode, indexCount, mIndexType, firstIndex * (mIndexType == GL.GL_UNSIGNED_BYTE ? 1 : 2));
+    }
+
+    /**
+     * Deletes the buffer object. The context it was created in must be current.
+     *
+     * @param gl The GL of the current context.
+     */
+    public void release(final GL gl)
+    {
+        if (mUploaded)
+        {
+            gl.glDeleteBuffers(isIndexed() ? 2 : 1, mBufferHandles, 0);
+            mByteCount = 0;
+            mUploaded = false;
+        }
+    }
+
+    public VertexLayout getLayout()
+    {
+        return mLayout;
+    }
+
+    public int getVertexCount()
+    {
+        return mVertexCount;
+    }
+
+    public boolean isIndexed()
+    {
+        return mIndexCount > 0;
+    }
+
+    public int getIndexCount()
+    {
+        return mIndexCount;
+    }
+
+    public int getIndexType()
+    {
+        return mIndexType;
+    }
+
+    public int getUsage()
+    {
+        return mUsage;
+    }
+
+    /**
+     * @return The bounding box and sphere of the vertex positions, in object space.
+     */
+    public Bounds getBounds()
+    {
+        return mBounds;
+    }
+
+    /**
+     * @return The number of bytes this mesh holds in GPU buffer objects.
+     */
+    public int getByteCount()
+    {
+        return mByteCount;
+    }
+}
\ No newline at end of file
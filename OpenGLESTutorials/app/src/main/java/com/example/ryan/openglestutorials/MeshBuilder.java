@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Interleaves separate per-attribute float arrays into one packed vertex buffer described by a
+ * {@link VertexLayout}. For example, a cube with float positions, RGBA colours and normals takes
+ * 40 bytes per vertex as separate float arrays, but 20 bytes with unsigned byte colours and
+ * byte normals, or 16 bytes if the positions are quantized to shorts as well.
+ */
+public class MeshBuilder
+{
+    private final VertexLayout mLayout;
+    private final int mVertexCount;
+
+    /** Source data per layout attribute. */
+    private final float[][] mData;
+
+    /**
+     * @param layout The layout to pack into.
+     * @param vertexCount The number of vertices.
+     */
+    public MeshBuilder(final VertexLayout layout, final int vertexCount)
+    {
+        mLayout = layout;
+        mVertexCount = vertexCount;
+        mData = new float[layout.getAttributeCount()][];
+    }
+
+    /**
+     * Sets the source data of one attribute.
+     *
+     * @param attribute The attribute index in the layout.
+     * @param data vertexCount * components floats.
+     * @return This builder, so calls can be chained.
+     */
+    public MeshBuilder setAttribute(final int attribute, final float[] data)
+    {
+        if (data.length < mVertexCount * mLayout.getComponents(attribute))
+        {
+            throw new IllegalArgumentException("Attribute " + attribute + " has fewer than " + mVertexCount + " vertices.");
+        }
+        mData[attribute] = data;
+        return this;
+    }
+
+    /**
+     * Packs every attribute into a single native-order direct buffer.
+     *
+     * @return The interleaved vertex data, positioned at 0.
+     */
+    public ByteBuffer build()
+    {
+        final int stride = mLayout.getStride();
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(mVertexCount * stride).order(ByteOrder.nativeOrder());
+        pack(buffer, 0);
+        return buffer;
+    }
+
+    /**
+     * Packs every attribute into an existing buffer.
+     *
+     * @param buffer The destination; must hold vertexCount * stride bytes after byteOffset.
+     * @param byteOffset Where the first vertex is written.
+     */
+    public void pack(final ByteBuffer buffer, final int byteOffset)
+    {
+        final int stride = mLayout.getStride();
+        final int attributeCount = mLayout.getAttributeCount();
+
+        for (int a = 0; a < attributeCount; a++)
+        {
+            final float[] data = mData[a];
+            if (data == null)
+            {
+                throw new IllegalStateException("No data for attribute " + a);
+            }
+
+            final int components = mLayout.getComponents(a);
+            final int type = mLayout.getType(a);
+            final int componentSize = VertexLayout.getTypeSize(type);
+            int vertexOffset = byteOffset + mLayout.getOffset(a);
+
+            for (int v = 0; v < mVertexCount; v++)
+            {
+                for (int c = 0; c < components; c++)
+                {
+                    VertexLayout.encode(buffer, vertexOffset + c * componentSize, type, data[v * components + c]);
+                }
+                vertexOffset += stride;
+            }
+        }
+    }
+
+    /**
+     * Reads one attribute of one vertex back from a packed buffer, as GL would see it.
+     *
+     * @param buffer The packed vertex data.
+     * @param layout The layout it was packed with.
+     * @param vertex The vertex index.
+     * @param attribute The attribute index in the layout.
+     * @param out Receives the decoded components.
+     */
+    public static void decode(final ByteBuffer buffer, final VertexLayout layout, final int vertex, final int attribute,
+                              final float[] out)
+    {
+        final int type = layout.getType(attribute);
+        final int componentSize = VertexLayout.getTypeSize(type);
+        final int offset = vertex * layout.getStride() + layout.getOffset(attribute);
+        final int components = layout.getComponents(attribute);
+
+        for (int c = 0; c < components; c++)
+        {
+            out[c] = VertexLayout.decode(buffer, offset + c * componentSize, type);
+        }
+    }
+
+    /**
+     * Rescales positions into the [-1, 1] cube so they can be stored as TYPE_SNORM16 with
+     * the full 16 bits of precision. The returned decode matrix maps the quantized positions
+     * back to the original space and should be multiplied onto the model matrix when drawing.
+     *
+     * @param positions x, y, z triplets.
+     * @param decodeMatrix Receives the 4x4 column-major decode matrix.
+     * @return The rescaled positions.
+     */
+    public static float[] quantizePositions(final float[] positions, final float[] decodeMatrix)
+    {
+        final float[] min = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+        final float[] max = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (int i = 0; i < positions.length; i++)
+        {
+            min[i % 3] = Math.min(min[i % 3], positions[i]);
+            max[i % 3] = Math.max(max[i % 3], positions[i]);
+        }
+
+        final float[] center = new float[3];
+        final float[] extent = new float[3];
+        for (int c = 0; c < 3; c++)
+        {
+            center[c] = (min[c] + max[c]) * 0.5f;
+            extent[c] = (max[c] - min[c]) * 0.5f;
+            if (extent[c] == 0.0f)
+            {
+                // Flat along this axis, any non-zero scale decodes correctly.
+                extent[c] = 1.0f;
+            }
+        }
+
+        final float[] quantized = new float[positions.length];
+        for (int i = 0; i < positions.length; i++)
+        {
+            quantized[i] = (positions[i] - center[i % 3]) / extent[i % 3];
+        }
+
+        for (int i = 0; i < 16; i++)
+        {
+            decodeMatrix[i] = 0.0f;
+        }
+        decodeMatrix[0] = extent[0];
+        decodeMatrix[5] = extent[1];
+        decodeMatrix[10] = extent[2];
+        decodeMatrix[12] = center[0];
+        decodeMatrix[13] = center[1];
+        decodeMatrix[14] = center[2];
+        decodeMatrix[15] = 1.0f;
+
+        return quantized;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,318 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * An imported triangle mesh before packing: separate position, colour and normal arrays and a
+ * 32-bit index list. {@link #createMesh} and {@link #write} pack it into any {@link VertexLayout}
+ * whose attribute locations follow the renderers' convention: positions at
+ * InstanceBatch.POSITION_LOCATION, colours at COLOR_LOCATION and normals at NORMAL_LOCATION.
+ *
+ * ES 2.0 indices are at most 16 bits, so a mesh with more than 65536 vertices is unrolled into a
+ * non-indexed triangle list when it is packed.
+ */
+public final class MeshData
+{
+    /** Most vertices 16-bit indices can address. */
+    private static final int MAX_INDEXED_VERTICES = 65536;
+
+    private final float[] mPositions;
+    private final float[] mColors;
+    private float[] mNormals;
+    private final int mVertexCount;
+    private final int[] mIndices;
+
+    /**
+     * @param positions x, y, z per vertex.
+     * @param colors r, g, b, a per vertex, or null for white.
+     * @param normals x, y, z per vertex, or null to compute them from the faces.
+     * @param vertexCount The number of vertices.
+     * @param indices Three per triangle, each less than vertexCount.
+     */
+    public MeshData(final float[] positions, final float[] colors, final float[] normals, final int vertexCount,
+                    final int[] indices)
+    {
+        if (positions.length < vertexCount * 3 || (colors != null && colors.length < vertexCount * 4)
+                || (normals != null && normals.length < vertexCount * 3))
+        {
+            throw new IllegalArgumentException("Attribute arrays are shorter than " + vertexCount + " vertices.");
+        }
+        if (indices.length % 3 != 0)
+        {
+            throw new IllegalArgumentException("Indices do not form whole triangles: " + indices.length);
+        }
+        mPositions = positions;
+        mColors = colors;
+        mNormals = normals;
+        mVertexCount = vertexCount;
+        mIndices = indices;
+    }
+
+    public int getVertexCount()
+    {
+        return mVertexCount;
+    }
+
+    public int getTriangleCount()
+    {
+        return mIndices.length / 3;
+    }
+
+    public float[] getPositions()
+    {
+        return mPositions;
+    }
+
+    /**
+     * @return The colours, or null if the source had none.
+     */
+    public float[] getColors()
+    {
+        return mColors;
+    }
+
+    /**
+     * @return The normals, or null if the source had none and they were not computed yet.
+     */
+    public float[] getNormals()
+    {
+        return mNormals;
+    }
+
+    public int[] getIndices()
+    {
+        return mIndices;
+    }
+
+    /**
+     * Gives every vertex the area-weighted average normal of the triangles around it, unless the
+     * mesh already has normals.
+     */
+    public void computeNormals()
+    {
+        if (mNormals != null)
+        {
+            return;
+        }
+
+        final float[] p = mPositions;
+        final float[] normals = new float[mVertexCount * 3];
+        for (int i = 0; i < mIndices.length; i += 3)
+        {
+            final int a = mIndices[i] * 3;
+            final int b = mIndices[i + 1] * 3;
+            final int c = mIndices[i + 2] * 3;
+            final float abX = p[b] - p[a], abY = p[b + 1] - p[a + 1], abZ = p[b + 2] - p[a + 2];
+            final float acX = p[c] - p[a], acY = p[c + 1] - p[a + 1], acZ = p[c + 2] - p[a + 2];
+
+            // The cross product is twice the triangle area long, which weights it for free.
+            final float nX = abY * acZ - abZ * acY;
+            final float nY = abZ * acX - abX * acZ;
+            final float nZ = abX * acY - abY * acX;
+            for (int corner = 0; corner < 3; corner++)
+            {
+                final int n = mIndices[i + corner] * 3;
+                normals[n] += nX;
+                normals[n + 1] += nY;
+                normals[n + 2] += nZ;
+            }
+        }
+
+        for (int n = 0; n < normals.length; n += 3)
+        {
+            final float length = (float) Math.sqrt(normals[n] * normals[n] + normals[n + 1] * normals[n + 1]
+                    + normals[n + 2] * normals[n + 2]);
+            if (length > 0.0f)
+            {
+                normals[n] /= length;
+                normals[n + 1] /= length;
+                normals[n + 2] /= length;
+            }
+        }
+        mNormals = normals;
+    }
+
+    /**
+     * Reorders the mesh for drawing with {@link MeshOptimizer}: triangles for the vertex cache and
+     * overdraw, then vertices in the order they are first drawn. Worth doing once after import,
+     * or before {@link #write}, so the cost is not paid at every load.
+     *
+     * @return The reordered mesh; this one is left as it was.
+     */
+    public MeshData optimize()
+    {
+        final int[] indices = mIndices.clone();
+        final int[] remap = MeshOptimizer.optimize(indices, mPositions, mVertexCount);
+        return new MeshData(MeshOptimizer.remapVertices(mPositions, 3, remap),
+                MeshOptimizer.remapVertices(mColors, 4, remap), MeshOptimizer.remapVertices(mNormals, 3, remap),
+                mVertexCount, indices);
+    }
+
+    /**
+     * Packs the mesh into a new Mesh, indexed if 16-bit indices can address every vertex.
+     *
+     * @param layout The layout to pack into.
+     * @param usage One of the Mesh USAGE_ constants.
+     * @return The mesh, not uploaded yet.
+     */
+    public Mesh createMesh(final VertexLayout layout, final int usage)
+    {
+        final ByteBuffer vertices = pack(layout);
+        if (mVertexCount <= MAX_INDEXED_VERTICES)
+        {
+            final int indexType = indexType();
+            return new Mesh(layout, vertices, mVertexCount, packIndices(indexType), mIndices.length, indexType, usage);
+        }
+        return new Mesh(layout, unroll(vertices, layout.getStride()), mIndices.length, usage);
+    }
+
+    /**
+     * Packs the mesh and generates its levels of detail. Simplifying is the slow part of loading,
+     * so do it off the GL thread; only {@link LodMesh#upload} needs the context.
+     *
+     * @param layout The layout to pack into.
+     * @param usage One of the Mesh USAGE_ constants.
+     * @return The mesh and its levels, not uploaded yet.
+     */
+    public LodMesh createLodMesh(final VertexLayout layout, final int usage)
+    {
+        if (mVertexCount > MAX_INDEXED_VERTICES)
+        {
+            throw new IllegalStateException("Levels of detail need 16-bit indices, but the mesh has "
+                    + mVertexCount + " vertices.");
+        }
+        return new LodMesh(layout, pack(layout), mVertexCount, mIndices, usage);
+    }
+
+    /**
+     * Packs the mesh into a {@link MeshFile}.
+     *
+     * @param file Where to write.
+     * @param layout The layout to pack into.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(final File file, final VertexLayout layout) throws IOException
+    {
+        final ByteBuffer vertices = pack(layout);
+        if (mVertexCount <= MAX_INDEXED_VERTICES)
+        {
+            final int indexType = indexType();
+            MeshFile.write(file, layout, vertices, mVertexCount, packIndices(indexType), mIndices.length, indexType);
+        }
+        else
+        {
+            MeshFile.write(file, layout, unroll(vertices, layout.getStride()), mIndices.length, null, 0,
+                    GL.GL_UNSIGNED_SHORT);
+        }
+    }
+
+    /**
+     * Packs the unique vertices. Missing colours are white, missing normals are computed.
+     *
+     * @param layout The layout to pack into.
+     * @return The packed vertices, vertexCount * stride bytes.
+     */
+    public ByteBuffer pack(final VertexLayout layout)
+    {
+        final MeshBuilder builder = new MeshBuilder(layout, mVertexCount);
+        for (int a = 0; a < layout.getAttributeCount(); a++)
+        {
+            final int location = layout.getLocation(a);
+            final float[] data;
+            if (location == InstanceBatch.POSITION_LOCATION)
+            {
+                data = mPositions;
+            }
+            else if (location == InstanceBatch.COLOR_LOCATION)
+            {
+                data = mColors != null ? mColors : white(mVertexCount);
+            }
+            else if (location == InstanceBatch.NORMAL_LOCATION)
+            {
+                computeNormals();
+                data = mNormals;
+            }
+            else
+            {
+                throw new IllegalArgumentException("No imported data for attribute location " + location);
+            }
+
+            final int expected = location == InstanceBatch.COLOR_LOCATION ? 4 : 3;
+            if (layout.getComponents(a) != expected)
+            {
+                throw new IllegalArgumentException("Attribute location " + location + " needs " + expected
+                        + " components, not " + layout.getComponents(a));
+            }
+            builder.setAttribute(a, data);
+        }
+        return builder.build();
+    }
+
+    private int indexType()
+    {
+        return mVertexCount <= 256 ? GL.GL_UNSIGNED_BYTE : GL.GL_UNSIGNED_SHORT;
+    }
+
+    private ByteBuffer packIndices(final int indexType)
+    {
+        final int count = mIndices.length;
+        if (indexType == GL.GL_UNSIGNED_BYTE)
+        {
+            final ByteBuffer indices = ByteBuffer.allocateDirect(count).order(ByteOrder.nativeOrder());
+            for (int i = 0; i < count; i++)
+            {
+                indices.put(i, (byte) mIndices[i]);
+            }
+            return indices;
+        }
+
+        final ByteBuffer indices = ByteBuffer.allocateDirect(count * 2).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < count; i++)
+        {
+            indices.putShort(i * 2, (short) mIndices[i]);
+        }
+        return indices;
+    }
+
+    /**
+     * Copies the packed vertex of every index in turn, byte for byte.
+     */
+    private ByteBuffer unroll(final ByteBuffer vertices, final int stride)
+    {
+        final int count = mIndices.length;
+        final ByteBuffer unrolled = ByteBuffer.allocateDirect(count * stride).order(ByteOrder.nativeOrder());
+        final ByteBuffer source = vertices.duplicate();
+        for (int i = 0; i < count; i++)
+        {
+            final int offset = mIndices[i] * stride;
+            source.limit(offset + stride);
+            source.position(offset);
+            unrolled.put(source);
+            source.limit(source.capacity());
+        }
+        unrolled.position(0);
+        return unrolled;
+    }
+
+    private static float[] white(final int vertexCount)
+    {
+        final float[] colors = new float[vertexCount * 4];
+        for (int i = 0; i < colors.length; i++)
+        {
+            colors[i] = 1.0f;
+        }
+        return colors;
+    }
+}
\ No newline at end of file
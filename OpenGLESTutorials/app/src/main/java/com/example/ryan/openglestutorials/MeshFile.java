@@ -0,0 +1,488 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * A packed mesh stored in a file that is memory-mapped instead of parsed. The vertex and index
+ * blobs are kept exactly as GL reads them, so {@link #open(File)} only checks the header and
+ * slices the mapping; {@link #createMesh(int)} hands the slices to glBufferData without copying
+ * them into Java arrays or other buffers first.
+ *
+ * Layout, all little-endian:
+ * <ul>
+ * <li>a 128-byte header: magic, version, counts, index type, up to 8 attribute descriptors
+ *     (location, components, VertexLayout type), the bounds, the blob offsets and sizes, a CRC32
+ *     of the blobs and a CRC32 of the header itself;</li>
+ * <li>the interleaved vertices, starting on a 16-byte boundary;</li>
+ * <li>the indices, if any, starting on a 16-byte boundary.</li>
+ * </ul>
+ * The data is stored in the byte order of every Android device, and is refused on a big-endian
+ * machine, where GL would read it wrongly.
+ *
+ * Files inside the APK can only be mapped if they are stored uncompressed, which is why the app
+ * build lists the .mesh extension under aaptOptions noCompress.
+ */
+public final class MeshFile
+{
+    /** File name extension of mesh files, kept uncompressed in the APK. */
+    public static final String EXTENSION = ".mesh";
+
+    /** "GLMF". */
+    private static final int MAGIC = 0x474C4D46;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 128;
+    private static final int BLOB_ALIGNMENT = 16;
+    private static final int MAX_ATTRIBUTES = 8;
+
+    /** Byte offsets of the header fields. */
+    private static final int OFFSET_VERTEX_COUNT = 8;
+    private static final int OFFSET_STRIDE = 12;
+    private static final int OFFSET_ATTRIBUTE_COUNT = 16;
+    private static final int OFFSET_INDEX_COUNT = 20;
+    private static final int OFFSET_INDEX_TYPE = 24;
+    private static final int OFFSET_ATTRIBUTES = 32;
+    private static final int OFFSET_BOUNDS = 64;
+    private static final int OFFSET_VERTEX_DATA = 92;
+    private static final int OFFSET_VERTEX_BYTES = 96;
+    private static final int OFFSET_INDEX_DATA = 100;
+    private static final int OFFSET_INDEX_BYTES = 104;
+    private static final int OFFSET_DATA_CRC = 108;
+    private static final int OFFSET_HEADER_CRC = 112;
+
+    private final VertexLayout mLayout;
+    private final int mVertexCount;
+    private final int mIndexCount;
+    private final int mIndexType;
+    private final Bounds mBounds = new Bounds();
+
+    /** Slices of the file data, positioned at 0. mIndices is null for a non-indexed mesh. */
+    private final ByteBuffer mVertices;
+    private final ByteBuffer mIndices;
+
+    /** CRC32 of the vertex and index blobs, as stored in the header. */
+    private final int mDataCrc;
+
+    private MeshFile(final ByteBuffer data) throws IOException
+    {
+        if (data.capacity() < HEADER_SIZE)
+        {
+            throw new IOException("Mesh file is shorter than its header.");
+        }
+        if (data.getInt(0) != MAGIC)
+        {
+            throw new IOException("Not a mesh file.");
+        }
+        if (data.getInt(4) != FORMAT_VERSION)
+        {
+            throw new IOException("Unsupported mesh file version " + data.getInt(4));
+        }
+        if (data.getInt(OFFSET_HEADER_CRC) != crc(data, 0, OFFSET_HEADER_CRC))
+        {
+            throw new IOException("Mesh file header is corrupt.");
+        }
+
+        // The header checks out, so its fields are what the writer put there; check they are sane.
+        final int attributeCount = data.getInt(OFFSET_ATTRIBUTE_COUNT);
+        if (attributeCount < 1 || attributeCount > MAX_ATTRIBUTES)
+        {
+            throw new IOException("Mesh file has " + attributeCount + " attributes.");
+        }
+        mLayout = new VertexLayout();
+        for (int i = 0; i < attributeCount; i++)
+        {
+            final int offset = OFFSET_ATTRIBUTES + i * 4;
+            try
+            {
+                mLayout.add(data.get(offset), data.get(offset + 1), data.get(offset + 2));
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new IOException("Mesh file has an invalid attribute: " + e.getMessage());
+            }
+        }
+        if (mLayout.getStride() != data.getInt(OFFSET_STRIDE))
+        {
+            throw new IOException("Mesh file stride does not match its attributes.");
+        }
+
+        mVertexCount = data.getInt(OFFSET_VERTEX_COUNT);
+        mIndexCount = data.getInt(OFFSET_INDEX_COUNT);
+        mIndexType = data.getInt(OFFSET_INDEX_TYPE);
+        if (mVertexCount < 0 || mIndexCount < 0)
+        {
+            throw new IOException("Mesh file has negative counts.");
+        }
+        if (mIndexType != GL.GL_UNSIGNED_BYTE && mIndexType != GL.GL_UNSIGNED_SHORT)
+        {
+            throw new IOException("Mesh file has an invalid index type: " + mIndexType);
+        }
+
+        final long vertexBytes = (long) mVertexCount * mLayout.getStride();
+        final long indexBytes = (long) mIndexCount * (mIndexType == GL.GL_UNSIGNED_BYTE ? 1 : 2);
+        if (data.getInt(OFFSET_VERTEX_BYTES) != vertexBytes || data.getInt(OFFSET_INDEX_BYTES) != indexBytes)
+        {
+            throw new IOException("Mesh file blob sizes do not match its counts.");
+        }
+        mVertices = slice(data, data.getInt(OFFSET_VERTEX_DATA), (int) vertexBytes);
+        mIndices = mIndexCount == 0 ? null : slice(data, data.getInt(OFFSET_INDEX_DATA), (int) indexBytes);
+
+        mBounds.set(data.getFloat(OFFSET_BOUNDS), data.getFloat(OFFSET_BOUNDS + 4), data.getFloat(OFFSET_BOUNDS + 8),
+                data.getFloat(OFFSET_BOUNDS + 12), data.getFloat(OFFSET_BOUNDS + 16), data.getFloat(OFFSET_BOUNDS + 20),
+                data.getFloat(OFFSET_BOUNDS + 24));
+        mDataCrc = data.getInt(OFFSET_DATA_CRC);
+    }
+
+    /**
+     * Maps a mesh file. Only the header is read; the blobs are paged in when GL copies them.
+     *
+     * @param file The mesh file.
+     * @return The mesh, ready for {@link #createMesh(int)}.
+     * @throws IOException If the file cannot be mapped or its header is invalid.
+     */
+    public static MeshFile open(final File file) throws IOException
+    {
+        final RandomAccessFile input = new RandomAccessFile(file, "r");
+        try
+        {
+            return open(input.getChannel(), 0, input.length());
+        }
+        finally
+        {
+            // The mapping stays valid after the file is closed.
+            input.close();
+        }
+    }
+
+    /**
+     * Maps a mesh stored inside a larger file, e.g. an uncompressed APK asset opened with
+     * AssetManager.openFd(), whose start offset and length describe the asset.
+     *
+     * @param channel The file.
+     * @param offset Where the mesh starts in the file.
+     * @param length The size of the mesh in bytes.
+     * @return The mesh, ready for {@link #createMesh(int)}.
+     * @throws IOException If the data cannot be mapped or its header is invalid.
+     */
+    public static MeshFile open(final FileChannel channel, final long offset, final long length) throws IOException
+    {
+        if (length > Integer.MAX_VALUE)
+        {
+            throw new IOException("Mesh file is too large to map: " + length);
+        }
+        return wrap(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+    }
+
+    /**
+     * Reads a mesh from data already in memory. The returned mesh shares the data.
+     *
+     * @param data The whole mesh file, from position 0 to its capacity.
+     * @return The mesh.
+     * @throws IOException If the header is invalid.
+     */
+    public static MeshFile wrap(final ByteBuffer data) throws IOException
+    {
+        if (ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN)
+        {
+            throw new IOException("Mesh files hold little-endian data, which GL cannot read on this machine.");
+        }
+        return new MeshFile(data.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    /**
+     * Writes a mesh file, to a temporary file first and renamed, so a crash never leaves half a
+     * file under the real name.
+     *
+     * @param file Where to write.
+     * @param layout How the vertices are interleaved. The first attribute holds the positions.
+     * @param vertices The packed vertex data, vertexCount * stride bytes in little-endian order.
+     * @param vertexCount Number of vertices.
+     * @param indices The indices in little-endian order, or null.
+     * @param indexCount Number of indices.
+     * @param indexType GL_UNSIGNED_BYTE or GL_UNSIGNED_SHORT.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(final File file, final VertexLayout layout, final ByteBuffer vertices,
+                             final int vertexCount, final ByteBuffer indices, final int indexCount,
+                             final int indexType) throws IOException
+    {
+        final ByteBuffer data = encode(layout, vertices, vertexCount, indices, indexCount, indexType);
+
+        final File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs())
+        {
+            throw new IOException("Cannot create " + directory);
+        }
+
+        final File temp = new File(file.getPath() + ".tmp");
+        final FileOutputStream out = new FileOutputStream(temp);
+        try
+        {
+            out.write(data.array(), 0, data.capacity());
+            out.getFD().sync();
+        }
+        finally
+        {
+            out.close();
+        }
+
+        if (!temp.renameTo(file))
+        {
+            temp.delete();
+            throw new IOException("Cannot rename " + temp + " to " + file);
+        }
+    }
+
+    /**
+     * Builds the file image of a mesh.
+     *
+     * @return The whole file, in a heap buffer.
+     */
+    static ByteBuffer encode(final VertexLayout layout, final ByteBuffer vertices, final int vertexCount,
+                             final ByteBuffer indices, final int indexCount, final int indexType)
+    {
+        final int attributeCount = layout.getAttributeCount();
+        if (attributeCount < 1 || attributeCount > MAX_ATTRIBUTES)
+        {
+            throw new IllegalArgumentException("Mesh files hold 1 to " + MAX_ATTRIBUTES + " attributes.");
+        }
+        if (vertices.order() != ByteOrder.LITTLE_ENDIAN || (indices != null && indices.order() != ByteOrder.LITTLE_ENDIAN))
+        {
+            throw new IllegalArgumentException("Mesh data must be packed in little-endian order.");
+        }
+        if (indexType != GL.GL_UNSIGNED_BYTE && indexType != GL.GL_UNSIGNED_SHORT)
+        {
+            throw new IllegalArgumentException("ES 2.0 only supports byte and short indices: " + indexType);
+        }
+
+        final int stride = layout.getStride();
+        final int vertexBytes = vertexCount * stride;
+        final int count = indices == null ? 0 : indexCount;
+        final int indexBytes = count * (indexType == GL.GL_UNSIGNED_BYTE ? 1 : 2);
+        final int vertexOffset = HEADER_SIZE;
+        final int indexOffset = align(vertexOffset + vertexBytes);
+        final int length = count == 0 ? vertexOffset + vertexBytes : indexOffset + indexBytes;
+
+        final ByteBuffer data = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        data.putInt(0, MAGIC);
+        data.putInt(4, FORMAT_VERSION);
+        data.putInt(OFFSET_VERTEX_COUNT, vertexCount);
+        data.putInt(OFFSET_STRIDE, stride);
+        data.putInt(OFFSET_ATTRIBUTE_COUNT, attributeCount);
+        data.putInt(OFFSET_INDEX_COUNT, count);
+        data.putInt(OFFSET_INDEX_TYPE, indexType);
+        for (int i = 0; i < attributeCount; i++)
+        {
+            final int offset = OFFSET_ATTRIBUTES + i * 4;
+            data.put(offset, (byte) layout.getLocation(i));
+            data.put(offset + 1, (byte) layout.getComponents(i));
+            data.put(offset + 2, (byte) layout.getType(i));
+        }
+
+        final Bounds bounds = new Bounds();
+        bounds.setFromVertices(vertices, layout, 0, vertexCount);
+        data.putFloat(OFFSET_BOUNDS, bounds.getMinX());
+        data.putFloat(OFFSET_BOUNDS + 4, bounds.getMinY());
+        data.putFloat(OFFSET_BOUNDS + 8, bounds.getMinZ());
+        data.putFloat(OFFSET_BOUNDS + 12, bounds.getMaxX());
+        data.putFloat(OFFSET_BOUNDS + 16, bounds.getMaxY());
+        data.putFloat(OFFSET_BOUNDS + 20, bounds.getMaxZ());
+        data.putFloat(OFFSET_BOUNDS + 24, bounds.getRadius());
+
+        data.putInt(OFFSET_VERTEX_DATA, vertexOffset);
+        data.putInt(OFFSET_VERTEX_BYTES, vertexBytes);
+        data.putInt(OFFSET_INDEX_DATA, count == 0 ? 0 : indexOffset);
+        data.putInt(OFFSET_INDEX_BYTES, indexBytes);
+
+        copy(vertices, vertexBytes, data, vertexOffset);
+        if (count > 0)
+        {
+            copy(indices, indexBytes, data, indexOffset);
+        }
+
+        data.putInt(OFFSET_DATA_CRC, dataCrc(data, vertexOffset, vertexBytes, indexOffset, indexBytes));
+        data.putInt(OFFSET_HEADER_CRC, crc(data, 0, OFFSET_HEADER_CRC));
+        return data;
+    }
+
+    /**
+     * Checks everything {@link #open(File)} does not: the CRC of the blobs, that every index
+     * refers to a vertex, and that every position lies inside the stored bounds. This reads the
+     * whole file, so run it from tools or debug builds rather than on every load.
+     *
+     * @throws IOException Describing the first problem found.
+     */
+    public void validate() throws IOException
+    {
+        final int vertexBytes = mVertices.capacity();
+        final int indexBytes = mIndices == null ? 0 : mIndices.capacity();
+        final CRC32 crc = new CRC32();
+        update(crc, mVertices, 0, vertexBytes);
+        if (mIndices != null)
+        {
+            update(crc, mIndices, 0, indexBytes);
+        }
+        if ((int) crc.getValue() != mDataCrc)
+        {
+            throw new IOException("Mesh file data is corrupt.");
+        }
+
+        for (int i = 0; i < mIndexCount; i++)
+        {
+            final int index = mIndexType == GL.GL_UNSIGNED_BYTE ? mIndices.get(i) & 0xff : mIndices.getShort(i * 2) & 0xffff;
+            if (index >= mVertexCount)
+            {
+                throw new IOException("Index " + i + " refers to vertex " + index + " of " + mVertexCount);
+            }
+        }
+
+        final float[] position = new float[4];
+        final int components = Math.min(mLayout.getComponents(0), 3);
+        for (int v = 0; v < mVertexCount; v++)
+        {
+            MeshBuilder.decode(mVertices, mLayout, v, 0, position);
+            if (position[0] < mBounds.getMinX() || position[0] > mBounds.getMaxX()
+                    || (components > 1 && (position[1] < mBounds.getMinY() || position[1] > mBounds.getMaxY()))
+                    || (components > 2 && (position[2] < mBounds.getMinZ() || position[2] > mBounds.getMaxZ())))
+            {
+                throw new IOException("Vertex " + v + " lies outside the mesh bounds.");
+            }
+        }
+    }
+
+    /**
+     * Creates a mesh over the mapped data. Uploading it copies the data from the mapping straight
+     * into the GL buffer objects.
+     *
+     * @param usage One of the Mesh USAGE_ constants.
+     * @return The mesh, not uploaded yet.
+     */
+    public Mesh createMesh(final int usage)
+    {
+        return new Mesh(mLayout, mVertices, mVertexCount, mIndices, mIndexCount, mIndexType, usage, mBounds);
+    }
+
+    public VertexLayout getLayout()
+    {
+        return mLayout;
+    }
+
+    public int getVertexCount()
+    {
+        return mVertexCount;
+    }
+
+    /**
+     * @return The interleaved vertices, sharing the file data and positioned at 0.
+     */
+    public ByteBuffer getVertices()
+    {
+        return mVertices.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public int getIndexCount()
+    {
+        return mIndexCount;
+    }
+
+    public int getIndexType()
+    {
+        return mIndexType;
+    }
+
+    /**
+     * @return The indices, sharing the file data and positioned at 0, or null for a non-indexed mesh.
+     */
+    public ByteBuffer getIndices()
+    {
+        return mIndices == null ? null : mIndices.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return The bounds of the positions in object space.
+     */
+    public Bounds getBounds()
+    {
+        return mBounds;
+    }
+
+    private static ByteBuffer slice(final ByteBuffer data, final int offset, final int length) throws IOException
+    {
+        if (offset < HEADER_SIZE || offset % BLOB_ALIGNMENT != 0 || (long) offset + length > data.capacity())
+        {
+            throw new IOException("Mesh file blob at " + offset + " is misplaced or truncated.");
+        }
+        final ByteBuffer view = data.duplicate();
+        view.limit(offset + length);
+        view.position(offset);
+        return view.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void copy(final ByteBuffer source, final int length, final ByteBuffer target, final int offset)
+    {
+        final ByteBuffer from = source.duplicate();
+        from.limit(length);
+        from.position(0);
+        final ByteBuffer to = target.duplicate();
+        to.position(offset);
+        to.put(from);
+    }
+
+    private static int dataCrc(final ByteBuffer data, final int vertexOffset, final int vertexBytes,
+                               final int indexOffset, final int indexBytes)
+    {
+        final CRC32 crc = new CRC32();
+        update(crc, data, vertexOffset, vertexBytes);
+        if (indexBytes > 0)
+        {
+            update(crc, data, indexOffset, indexBytes);
+        }
+        return (int) crc.getValue();
+    }
+
+    private static int crc(final ByteBuffer data, final int offset, final int length)
+    {
+        final CRC32 crc = new CRC32();
+        update(crc, data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Feeds a range of a buffer to a CRC through a small scratch array, since CRC32 cannot read
+     * buffers directly before Java 8.
+     */
+    private static void update(final CRC32 crc, final ByteBuffer data, final int offset, final int length)
+    {
+        final ByteBuffer view = data.duplicate();
+        view.limit(offset + length);
+        view.position(offset);
+        final byte[] chunk = new byte[Math.min(length, 4096)];
+        while (view.hasRemaining())
+        {
+            final int count = Math.min(chunk.length, view.remaining());
+            view.get(chunk, 0, count);
+            crc.update(chunk, 0, count);
+        }
+    }
+
+    private static int align(final int offset)
+    {
+        return (offset + BLOB_ALIGNMENT - 1) & ~(BLOB_ALIGNMENT - 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,501 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.Arrays;
+
+/**
+ * Reorders indexed triangle lists so the GPU does less work drawing them, at load time or
+ * offline. Run the three passes in this order:
+ * <ol>
+ * <li>{@link #optimizeVertexCache} reorders triangles so vertices are reused while they are
+ * still in the post-transform cache, using Tom Forsyth's linear-speed greedy algorithm.</li>
+ * <li>{@link #optimizeOverdraw} splits that order into clusters wherever the cache starts over
+ * anyway, and draws the clusters that face outwards first, so early-Z can reject more of what
+ * lies behind them. The threshold bounds how much cache efficiency it may give up.</li>
+ * <li>{@link #optimizeVertexFetch} renumbers the vertices in the order they are first drawn,
+ * so vertex fetches walk the vertex buffer forwards.</li>
+ * </ol>
+ * {@link VertexCacheSimulator} measures the result.
+ */
+public final class MeshOptimizer
+{
+    /** The cache modelled while ordering. Larger than real FIFOs, which makes it robust to their size. */
+    private static final int CACHE_SIZE = 32;
+
+    /** Forsyth's tuned scoring constants. */
+    private static final float CACHE_DECAY_POWER = 1.5f;
+    private static final float LAST_TRIANGLE_SCORE = 0.75f;
+    private static final float VALENCE_BOOST_SCALE = 2.0f;
+    private static final float VALENCE_BOOST_POWER = 0.5f;
+
+    /** Valences up to here have a precomputed boost; higher ones are boosted like this one. */
+    private static final int MAX_SCORED_VALENCE = 64;
+
+    /** Overdraw ordering may make the vertex cache this much worse: 5% more transforms. */
+    public static final float DEFAULT_OVERDRAW_THRESHOLD = 1.05f;
+
+    /** The FIFO size clusters are measured against, the same as the simulator's default. */
+    private static final int CLUSTER_CACHE_SIZE = VertexCacheSimulator.DEFAULT_CACHE_SIZE;
+
+    private static final float[] CACHE_SCORES = new float[CACHE_SIZE];
+    private static final float[] VALENCE_SCORES = new float[MAX_SCORED_VALENCE + 1];
+
+    static
+    {
+        for (int position = 0; position < CACHE_SIZE; position++)
+        {
+            if (position < 3)
+            {
+                // The last triangle's vertices are scored lower on purpose, so the next triangle does
+                // not simply reuse its edge and the order does not degenerate into long strips.
+                CACHE_SCORES[position] = LAST_TRIANGLE_SCORE;
+            }
+            else
+            {
+                final float scale = 1.0f - (float) (position - 3) / (CACHE_SIZE - 3);
+                CACHE_SCORES[position] = (float) Math.pow(scale, CACHE_DECAY_POWER);
+            }
+        }
+        for (int valence = 1; valence <= MAX_SCORED_VALENCE; valence++)
+        {
+            // Vertices with few triangles left get a boost, so they are finished off and leave no
+            // lone triangles behind to be drawn cold later.
+            VALENCE_SCORES[valence] = VALENCE_BOOST_SCALE * (float) Math.pow(valence, -VALENCE_BOOST_POWER);
+        }
+    }
+
+    private MeshOptimizer()
+    {
+    }
+
+    /**
+     * Reorders triangles for the post-transform vertex cache. The triangles themselves, and the
+     * winding of each, are unchanged.
+     *
+     * @param indices Three per triangle.
+     * @param vertexCount One more than the largest index.
+     * @return The reordered indices, in a new array.
+     */
+    public static int[] optimizeVertexCache(final int[] indices, final int vertexCount)
+    {
+        final int triangleCount = indices.length / 3;
+        final int[] result = new int[triangleCount * 3];
+        if (triangleCount == 0)
+        {
+            return result;
+        }
+
+        // Triangles per vertex, in compressed rows: vertex v owns adjacency[offsets[v]] onwards,
+        // and its first valences[v] entries are the triangles not drawn yet.
+        final int[] valences = new int[vertexCount];
+        for (int i = 0; i < triangleCount * 3; i++)
+        {
+            valences[indices[i]]++;
+        }
+        final int[] offsets = new int[vertexCount];
+        int offset = 0;
+        for (int v = 0; v < vertexCount; v++)
+        {
+            offsets[v] = offset;
+            offset += valences[v];
+            valences[v] = 0;
+        }
+        final int[] adjacency = new int[triangleCount * 3];
+        for (int t = 0; t < triangleCount; t++)
+        {
+            for (int corner = 0; corner < 3; corner++)
+            {
+                final int v = indices[t * 3 + corner];
+                adjacency[offsets[v] + valences[v]++] = t;
+            }
+        }
+
+        final int[] cachePositions = new int[vertexCount];
+        final float[] vertexScores = new float[vertexCount];
+        Arrays.fill(cachePositions, -1);
+        for (int v = 0; v < vertexCount; v++)
+        {
+            vertexScores[v] = vertexScore(-1, valences[v]);
+        }
+
+        final float[] triangleScores = new float[triangleCount];
+        final boolean[] emitted = new boolean[triangleCount];
+        for (int t = 0; t < triangleCount; t++)
+        {
+            triangleScores[t] = vertexScores[indices[t * 3]] + vertexScores[indices[t * 3 + 1]]
+                    + vertexScores[indices[t * 3 + 2]];
+        }
+
+        // The cache holds up to CACHE_SIZE vertices, plus room for the three of the new triangle.
+        int[] cache = new int[CACHE_SIZE + 3];
+        int[] nextCache = new int[CACHE_SIZE + 3];
+        int cacheCount = 0;
+
+        int bestTriangle = bestTriangle(triangleScores);
+        int scanCursor = 0;
+        for (int drawn = 0; drawn < triangleCount; drawn++)
+        {
+            if (bestTriangle < 0)
+            {
+                // Nothing in the cache touches a triangle that is left: a dead end. Carry on with
+                // the next undrawn triangle in input order, which keeps this pass linear.
+                while (emitted[scanCursor])
+                {
+                    scanCursor++;
+                }
+                bestTriangle = scanCursor;
+            }
+
+            final int t = bestTriangle;
+            emitted[t] = true;
+            int nextCount = 0;
+            for (int corner = 0; corner < 3; corner++)
+            {
+                final int v = indices[t * 3 + corner];
+                result[drawn * 3 + corner] = v;
+                nextCache[nextCount++] = v;
+
+                // Take the triangle out of the vertex's remaining list.
+                final int start = offsets[v];
+                final int end = start + valences[v];
+                for (int i = start; i < end; i++)
+                {
+                    if (adjacency[i] == t)
+                    {
+                        adjacency[i] = adjacency[end - 1];
+                        break;
+                    }
+                }
+                valences[v]--;
+            }
+
+            // The new triangle goes to the front, then the old cache without it.
+            for (int i = 0; i < cacheCount; i++)
+            {
+                final int v = cache[i];
+                if (v != nextCache[0] && v != nextCache[1] && v != nextCache[2])
+                {
+                    nextCache[nextCount++] = v;
+                }
+            }
+
+            // Rescore everything in the new cache and everything that just fell out of it, then the
+            // triangles around them, remembering the best one to draw next.
+            bestTriangle = -1;
+            float bestScore = -1.0f;
+            for (int i = 0; i < nextCount; i++)
+            {
+                final int v = nextCache[i];
+                final int position = i < CACHE_SIZE ? i : -1;
+                cachePositions[v] = position;
+                final float score = vertexScore(position, valences[v]);
+                final float delta = score - vertexScores[v];
+                vertexScores[v] = score;
+
+                final int start = offsets[v];
+                final int end = start + valences[v];
+                for (int a = start; a < end; a++)
+                {
+                    final int triangle = adjacency[a];
+                    triangleScores[triangle] += delta;
+                    if (position >= 0 && triangleScores[triangle] > bestScore)
+                    {
+                        bestScore = triangleScores[triangle];
+                        bestTriangle = triangle;
+                    }
+                }
+            }
+
+            final int[] swap = cache;
+            cache = nextCache;
+            nextCache = swap;
+            cacheCount = Math.min(nextCount, CACHE_SIZE);
+        }
+        return result;
+    }
+
+    /**
+     * Reorders clusters of triangles so the ones facing away from the mesh centre are drawn
+     * first, which helps early-Z reject the hidden ones. Clusters are cut where the vertex cache
+     * starts over anyway, and further where a cluster is already within threshold of the cache
+     * efficiency of its surroundings, so order inside each cluster is kept.
+     *
+     * @param indices Three per triangle, already ordered by {@link #optimizeVertexCache}.
+     * @param positions x, y, z per vertex.
+     * @param vertexCount The number of vertices.
+     * @param threshold How much worse ACMR may get, e.g. {@link #DEFAULT_OVERDRAW_THRESHOLD}.
+     *                  1.0 keeps only the clusters the cache order already has.
+     * @return The reordered indices, in a new array.
+     */
+    public static int[] optimizeOverdraw(final int[] indices, final float[] positions, final int vertexCount,
+                                         final float threshold)
+    {
+        final int triangleCount = indices.length / 3;
+        if (triangleCount == 0)
+        {
+            return new int[0];
+        }
+
+        final int[] cacheTimes = new int[vertexCount];
+        final int[] hardBoundaries = new int[triangleCount + 1];
+        int hardCount = 0;
+        int time = CLUSTER_CACHE_SIZE + 1;
+        for (int t = 0; t < triangleCount; t++)
+        {
+            final int misses = countMisses(indices, t, cacheTimes, time);
+            if (misses == 3 || t == 0)
+            {
+                hardBoundaries[hardCount++] = t;
+            }
+            time += misses;
+        }
+        hardBoundaries[hardCount] = triangleCount;
+
+        // Cluster c is triangles clusters[c] up to clusters[c + 1].
+        final int[] clusters = new int[triangleCount + 1];
+        int clusterCount = 0;
+        for (int h = 0; h < hardCount; h++)
+        {
+            final int start = hardBoundaries[h];
+            final int end = hardBoundaries[h + 1];
+
+            // Each cluster starts with a cold cache, so measure its cost that way.
+            time += CLUSTER_CACHE_SIZE + 1;
+            int clusterMisses = 0;
+            for (int t = start; t < end; t++)
+            {
+                final int misses = countMisses(indices, t, cacheTimes, time);
+                clusterMisses += misses;
+                time += misses;
+            }
+            final float clusterThreshold = threshold * clusterMisses / (end - start);
+
+            // Cut as soon as the running ACMR is within the threshold, since the next cluster will
+            // start cold. The remainder after the last cut is merged back, as it is rarely good alone.
+            clusters[clusterCount++] = start;
+            time += CLUSTER_CACHE_SIZE + 1;
+            int runningMisses = 0;
+            int runningTriangles = 0;
+            for (int t = start; t < end; t++)
+            {
+                final int misses = countMisses(indices, t, cacheTimes, time);
+                time += misses;
+                runningMisses += misses;
+                runningTriangles++;
+                if (runningMisses <= clusterThreshold * runningTriangles)
+                {
+                    clusters[clusterCount++] = t + 1;
+                    time += CLUSTER_CACHE_SIZE + 1;
+                    runningMisses = 0;
+                    runningTriangles = 0;
+                }
+            }
+            if (clusters[clusterCount - 1] != start)
+            {
+                clusterCount--;
+            }
+        }
+        clusters[clusterCount] = triangleCount;
+
+        // The mesh centre, averaged over the triangle corners.
+        float meshX = 0.0f, meshY = 0.0f, meshZ = 0.0f;
+        for (int i = 0; i < triangleCount * 3; i++)
+        {
+            final int p = indices[i] * 3;
+            meshX += positions[p];
+            meshY += positions[p + 1];
+            meshZ += positions[p + 2];
+        }
+        meshX /= triangleCount * 3;
+        meshY /= triangleCount * 3;
+        meshZ /= triangleCount * 3;
+
+        // Sort by how far each cluster's area-weighted centre lies along its average normal, largest
+        // first. The key goes in the high half of a long and the cluster in the low half, so one
+        // primitive sort orders them and keeps equal keys in input order.
+        final long[] keys = new long[clusterCount];
+        for (int c = 0; c < clusterCount; c++)
+        {
+            float centreX = 0.0f, centreY = 0.0f, centreZ = 0.0f;
+            float normalX = 0.0f, normalY = 0.0f, normalZ = 0.0f;
+            float area = 0.0f;
+            for (int t = clusters[c]; t < clusters[c + 1]; t++)
+            {
+                final int a = indices[t * 3] * 3;
+                final int b = indices[t * 3 + 1] * 3;
+                final int d = indices[t * 3 + 2] * 3;
+                final float abX = positions[b] - positions[a];
+                final float abY = positions[b + 1] - positions[a + 1];
+                final float abZ = positions[b + 2] - positions[a + 2];
+                final float adX = positions[d] - positions[a];
+                final float adY = positions[d + 1] - positions[a + 1];
+                final float adZ = positions[d + 2] - positions[a + 2];
+                final float nX = abY * adZ - abZ * adY;
+                final float nY = abZ * adX - abX * adZ;
+                final float nZ = abX * adY - abY * adX;
+                final float triangleArea = (float) Math.sqrt(nX * nX + nY * nY + nZ * nZ);
+
+                centreX += (positions[a] + positions[b] + positions[d]) / 3.0f * triangleArea;
+                centreY += (positions[a + 1] + positions[b + 1] + positions[d + 1]) / 3.0f * triangleArea;
+                centreZ += (positions[a + 2] + positions[b + 2] + positions[d + 2]) / 3.0f * triangleArea;
+                normalX += nX;
+                normalY += nY;
+                normalZ += nZ;
+                area += triangleArea;
+            }
+
+            float key = 0.0f;
+            final float normalLength = (float) Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+            if (area > 0.0f && normalLength > 0.0f)
+            {
+                key = ((centreX / area - meshX) * normalX + (centreY / area - meshY) * normalY
+                        + (centreZ / area - meshZ) * normalZ) / normalLength;
+            }
+            keys[c] = ((long) sortableBits(-key) << 32) | c;
+        }
+        Arrays.sort(keys);
+
+        final int[] result = new int[triangleCount * 3];
+        int written = 0;
+        for (long key : keys)
+        {
+            final int c = (int) key;
+            final int start = clusters[c] * 3;
+            final int length = clusters[c + 1] * 3 - start;
+            System.arraycopy(indices, start, result, written, length);
+            written += length;
+        }
+        return result;
+    }
+
+    /**
+     * Renumbers vertices in the order the indices first use them. Vertices no index uses keep
+     * their relative order after all the used ones.
+     *
+     * @param indices Three per triangle; rewritten in place to the new numbering.
+     * @param vertexCount The number of vertices.
+     * @return The new number of each old vertex, for {@link #remapVertices}.
+     */
+    public static int[] optimizeVertexFetch(final int[] indices, final int vertexCount)
+    {
+        final int[] remap = new int[vertexCount];
+        Arrays.fill(remap, -1);
+        int next = 0;
+        for (int i = 0; i < indices.length; i++)
+        {
+            final int v = indices[i];
+            if (remap[v] < 0)
+            {
+                remap[v] = next++;
+            }
+            indices[i] = remap[v];
+        }
+        for (int v = 0; v < vertexCount; v++)
+        {
+            if (remap[v] < 0)
+            {
+                remap[v] = next++;
+            }
+        }
+        return remap;
+    }
+
+    /**
+     * Moves per-vertex data to the numbering from {@link #optimizeVertexFetch}.
+     *
+     * @param data components floats per vertex, or null.
+     * @param components Floats per vertex.
+     * @param remap The new number of each old vertex.
+     * @return The reordered data in a new array, or null if data was null.
+     */
+    public static float[] remapVertices(final float[] data, final int components, final int[] remap)
+    {
+        if (data == null)
+        {
+            return null;
+        }
+        final float[] result = new float[remap.length * components];
+        for (int v = 0; v < remap.length; v++)
+        {
+            System.arraycopy(data, v * components, result, remap[v] * components, components);
+        }
+        return result;
+    }
+
+    /**
+     * Runs all three passes.
+     *
+     * @param indices Three per triangle; overwritten with the optimized order and numbering.
+     * @param positions x, y, z per vertex, for the overdraw pass.
+     * @param vertexCount The number of vertices.
+     * @return The new number of each old vertex, for {@link #remapVertices}.
+     */
+    public static int[] optimize(final int[] indices, final float[] positions, final int vertexCount)
+    {
+        final int[] cacheOrder = optimizeVertexCache(indices, vertexCount);
+        final int[] clusterOrder = optimizeOverdraw(cacheOrder, positions, vertexCount, DEFAULT_OVERDRAW_THRESHOLD);
+        System.arraycopy(clusterOrder, 0, indices, 0, clusterOrder.length);
+        return optimizeVertexFetch(indices, vertexCount);
+    }
+
+    private static float vertexScore(final int cachePosition, final int remainingValence)
+    {
+        if (remainingValence == 0)
+        {
+            // Nothing left to draw with this vertex.
+            return -1.0f;
+        }
+        final float cacheScore = cachePosition < 0 ? 0.0f : CACHE_SCORES[cachePosition];
+        return cacheScore + VALENCE_SCORES[Math.min(remainingValence, MAX_SCORED_VALENCE)];
+    }
+
+    private static int bestTriangle(final float[] triangleScores)
+    {
+        int best = 0;
+        for (int t = 1; t < triangleScores.length; t++)
+        {
+            if (triangleScores[t] > triangleScores[best])
+            {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Runs one triangle through a FIFO whose clock is time, as {@link VertexCacheSimulator} does.
+     *
+     * @return How many of its vertices missed, 0 to 3. The caller advances the clock by as much.
+     */
+    private static int countMisses(final int[] indices, final int triangle, final int[] cacheTimes, final int time)
+    {
+        int misses = 0;
+        for (int corner = 0; corner < 3; corner++)
+        {
+            final int v = indices[triangle * 3 + corner];
+            if (time + misses - cacheTimes[v] > CLUSTER_CACHE_SIZE)
+            {
+                cacheTimes[v] = time + misses;
+                misses++;
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * @return The bits of a float, flipped so signed int order matches float order.
+     */
+    private static int sortableBits(final float value)
+    {
+        final int bits = Float.floatToIntBits(value);
+        return bits >= 0 ? bits : bits ^ 0x7fffffff;
+    }
+}
\ No newline at end of file
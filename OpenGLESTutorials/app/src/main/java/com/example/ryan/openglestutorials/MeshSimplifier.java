@@ -0,0 +1,606 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.Arrays;
+
+/**
+ * Reduces the triangle count of an indexed mesh with quadric error metrics (Garland and
+ * Heckbert). Each vertex carries the sum of the squared distances to the planes of the triangles
+ * around it, and edges are collapsed cheapest first, one end onto the other.
+ *
+ * Collapses only ever move a vertex onto an existing one, so every simplified index list still
+ * refers to the original vertex buffer and all levels of detail can share it. Vertices that share
+ * a position but not their other attributes, like the corners of a cube's faces, are treated as
+ * one point: such a seam vertex only collapses along an edge that every one of its copies has, so
+ * colours and normals never bleed across the seam. Open borders only collapse along themselves
+ * and are weighted to keep their shape.
+ *
+ * Errors are relative to the radius of the mesh bounds, so they do not depend on its units.
+ */
+public final class MeshSimplifier
+{
+    /** How much more a border edge resists moving than a triangle of the same size. */
+    private static final float BORDER_WEIGHT = 10.0f;
+
+    /** Doubles per quadric: the symmetric 4x4 matrix a2 ab ac ad b2 bc bd c2 cd d2, then its weight. */
+    private static final int QUADRIC_SIZE = 11;
+
+    private final float[] mPositions;
+    private final int mVertexCount;
+
+    /** The first vertex with the same position as each vertex. */
+    private final int[] mCanonical;
+
+    /** Radius of the position bounds; errors are measured in fractions of it. */
+    private final float mScale;
+
+    private float mLastError;
+
+    /** Scratch normals for the flip test. */
+    private final float[] mBefore = new float[3];
+    private final float[] mAfter = new float[3];
+
+    /**
+     * @param positions x, y, z per vertex.
+     * @param vertexCount The number of vertices.
+     */
+    public MeshSimplifier(final float[] positions, final int vertexCount)
+    {
+        mPositions = positions;
+        mVertexCount = vertexCount;
+        mCanonical = canonicalize(positions, vertexCount);
+
+        final Bounds bounds = new Bounds();
+        bounds.setFromPositions(positions, vertexCount);
+        mScale = bounds.getRadius() > 0.0f ? bounds.getRadius() : 1.0f;
+    }
+
+    /**
+     * Collapses edges until the target is reached or every collapse left would move the surface
+     * further than the target error.
+     *
+     * @param indices Three per triangle.
+     * @param targetIndexCount Stop at or below this many indices.
+     * @param targetError Largest error allowed, relative to the bounds radius.
+     * @return The simplified indices, into the same vertices, in a new array.
+     */
+    public int[] simplify(final int[] indices, final int targetIndexCount, final float targetError)
+    {
+        final int vertexCount = mVertexCount;
+        final int[] canonical = mCanonical;
+        int[] triangles = indices.clone();
+        int triangleCount = indices.length / 3;
+        final int targetTriangles = targetIndexCount / 3;
+        mLastError = 0.0f;
+
+        final double[] quadrics = new double[vertexCount * QUADRIC_SIZE];
+        final int[] offsets = new int[vertexCount + 1];
+        int[] adjacency = new int[triangleCount * 3];
+        buildAdjacency(triangles, triangleCount, offsets, adjacency);
+        addQuadrics(triangles, triangleCount, offsets, adjacency, quadrics);
+
+        final double errorLimit = (double) targetError * targetError * mScale * mScale;
+        final int[] remap = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++)
+        {
+            remap[v] = v;
+        }
+        final boolean[] locked = new boolean[vertexCount];
+        final boolean[] border = new boolean[vertexCount];
+        final int[] wedges = new int[32];
+
+        while (triangleCount > targetTriangles)
+        {
+            // A vertex is on a border if one of its edges is not shared by exactly two triangles.
+            Arrays.fill(border, false);
+            for (int t = 0; t < triangleCount; t++)
+            {
+                for (int corner = 0; corner < 3; corner++)
+                {
+                    final int a = canonical[triangles[t * 3 + corner]];
+                    final int b = canonical[triangles[t * 3 + (corner + 1) % 3]];
+                    if (edgeTriangleCount(a, b, offsets, adjacency, triangles) != 2)
+                    {
+                        border[a] = true;
+                        border[b] = true;
+                    }
+                }
+            }
+
+            // Every edge of every triangle, each way it may collapse, sorted by cost.
+            final int[] sources = new int[triangleCount * 3];
+            final int[] targets = new int[triangleCount * 3];
+            final long[] order = new long[triangleCount * 3];
+            int candidateCount = 0;
+            for (int t = 0; t < triangleCount; t++)
+            {
+                for (int corner = 0; corner < 3; corner++)
+                {
+                    final int a = canonical[triangles[t * 3 + corner]];
+                    final int b = canonical[triangles[t * 3 + (corner + 1) % 3]];
+                    final int count = edgeTriangleCount(a, b, offsets, adjacency, triangles);
+                    if (count == 0 || count > 2)
+                    {
+                        continue;
+                    }
+
+                    // A border vertex may only slide along its border.
+                    final int ab = count == 1 || !border[a] ? 1 : 0;
+                    final int ba = count == 1 || !border[b] ? 1 : 0;
+                    if (ab + ba == 0)
+                    {
+                        continue;
+                    }
+                    final double costAB = ab == 0 ? Double.MAX_VALUE : collapseCost(quadrics, a, b);
+                    final double costBA = ba == 0 ? Double.MAX_VALUE : collapseCost(quadrics, b, a);
+                    final boolean forward = costAB <= costBA;
+                    sources[candidateCount] = forward ? a : b;
+                    targets[candidateCount] = forward ? b : a;
+                    order[candidateCount] = ((long) Float.floatToIntBits((float) Math.min(costAB, costBA)) << 32)
+                            | candidateCount;
+                    candidateCount++;
+                }
+            }
+            // Costs are never negative, so their float bits sort in the same order as the values.
+            Arrays.sort(order, 0, candidateCount);
+
+            Arrays.fill(locked, false);
+            int collapseCount = 0;
+            for (int c = 0; c < candidateCount && triangleCount > targetTriangles; c++)
+            {
+                final int candidate = (int) order[c];
+                final int u = sources[candidate];
+                final int v = targets[candidate];
+                final double cost = collapseCost(quadrics, u, v);
+                if (cost > errorLimit)
+                {
+                    break;
+                }
+                if (locked[u] || locked[v] || !keepsManifold(u, v, offsets, adjacency, triangles)
+                        || flips(u, v, offsets, adjacency, triangles))
+                {
+                    continue;
+                }
+
+                // Each copy of u goes to the copy of v it shares a triangle with.
+                final int wedgeCount = matchWedges(u, v, offsets, adjacency, triangles, wedges);
+                if (wedgeCount < 0)
+                {
+                    continue;
+                }
+                for (int w = 0; w < wedgeCount; w += 2)
+                {
+                    remap[wedges[w]] = wedges[w + 1];
+                }
+
+                for (int i = 0; i < QUADRIC_SIZE; i++)
+                {
+                    quadrics[v * QUADRIC_SIZE + i] += quadrics[u * QUADRIC_SIZE + i];
+                }
+
+                // Lock the ring around u so no other collapse this pass sees its old triangles.
+                for (int a = offsets[u]; a < offsets[u + 1]; a++)
+                {
+                    final int t = adjacency[a];
+                    boolean removed = false;
+                    for (int corner = 0; corner < 3; corner++)
+                    {
+                        final int vertex = canonical[triangles[t * 3 + corner]];
+                        locked[vertex] = true;
+                        removed |= vertex == v;
+                    }
+                    if (removed)
+                    {
+                        triangleCount--;
+                    }
+                }
+                mLastError = Math.max(mLastError, (float) (Math.sqrt(cost) / mScale));
+                collapseCount++;
+            }
+
+            if (collapseCount == 0)
+            {
+                break;
+            }
+
+            // Apply the collapses and drop the triangles that became degenerate.
+            int kept = 0;
+            final int previousCount = triangles.length / 3;
+            for (int t = 0; t < previousCount; t++)
+            {
+                final int a = remap[triangles[t * 3]];
+                final int b = remap[triangles[t * 3 + 1]];
+                final int d = remap[triangles[t * 3 + 2]];
+                if (canonical[a] != canonical[b] && canonical[b] != canonical[d] && canonical[a] != canonical[d])
+                {
+                    triangles[kept * 3] = a;
+                    triangles[kept * 3 + 1] = b;
+                    triangles[kept * 3 + 2] = d;
+                    kept++;
+                }
+            }
+            triangleCount = kept;
+            triangles = Arrays.copyOf(triangles, kept * 3);
+            buildAdjacency(triangles, triangleCount, offsets, adjacency);
+        }
+
+        return triangles;
+    }
+
+    /**
+     * @return The largest error the last {@link #simplify} call introduced, relative to the bounds radius.
+     */
+    public float getLastError()
+    {
+        return mLastError;
+    }
+
+    /**
+     * @return The radius of the position bounds, which errors are relative to.
+     */
+    public float getScale()
+    {
+        return mScale;
+    }
+
+    /**
+     * Lists the triangles around each canonical vertex: vertex v owns adjacency[offsets[v]] up to
+     * adjacency[offsets[v + 1]].
+     */
+    private void buildAdjacency(final int[] triangles, final int triangleCount, final int[] offsets,
+                                final int[] adjacency)
+    {
+        Arrays.fill(offsets, 0);
+        for (int i = 0; i < triangleCount * 3; i++)
+        {
+            offsets[mCanonical[triangles[i]] + 1]++;
+        }
+        for (int v = 0; v < mVertexCount; v++)
+        {
+            offsets[v + 1] += offsets[v];
+        }
+        final int[] fill = Arrays.copyOf(offsets, mVertexCount);
+        for (int t = 0; t < triangleCount; t++)
+        {
+            for (int corner = 0; corner < 3; corner++)
+            {
+                adjacency[fill[mCanonical[triangles[t * 3 + corner]]]++] = t;
+            }
+        }
+    }
+
+    /**
+     * Adds the area-weighted plane of every triangle to its corners, and for every border edge a
+     * plane through it at right angles to its triangle, which holds the border in place.
+     */
+    private void addQuadrics(final int[] triangles, final int triangleCount, final int[] offsets,
+                             final int[] adjacency, final double[] quadrics)
+    {
+        final float[] p = mPositions;
+        final float[] normal = new float[3];
+        for (int t = 0; t < triangleCount; t++)
+        {
+            final int a = mCanonical[triangles[t * 3]];
+            final int b = mCanonical[triangles[t * 3 + 1]];
+            final int c = mCanonical[triangles[t * 3 + 2]];
+            final float area = triangleNormal(p, a, b, c, normal);
+            if (area == 0.0f)
+            {
+                continue;
+            }
+            final double d = -(normal[0] * p[a * 3] + normal[1] * p[a * 3 + 1] + normal[2] * p[a * 3 + 2]);
+            addPlane(quadrics, a, normal[0], normal[1], normal[2], d, area);
+            addPlane(quadrics, b, normal[0], normal[1], normal[2], d, area);
+            addPlane(quadrics, c, normal[0], normal[1], normal[2], d, area);
+
+            for (int corner = 0; corner < 3; corner++)
+            {
+                final int from = mCanonical[triangles[t * 3 + corner]];
+                final int to = mCanonical[triangles[t * 3 + (corner + 1) % 3]];
+                if (edgeTriangleCount(from, to, offsets, adjacency, triangles) != 1)
+                {
+                    continue;
+                }
+                final float eX = p[to * 3] - p[from * 3];
+                final float eY = p[to * 3 + 1] - p[from * 3 + 1];
+                final float eZ = p[to * 3 + 2] - p[from * 3 + 2];
+                float nX = eY * normal[2] - eZ * normal[1];
+                float nY = eZ * normal[0] - eX * normal[2];
+                float nZ = eX * normal[1] - eY * normal[0];
+                final float length = (float) Math.sqrt(nX * nX + nY * nY + nZ * nZ);
+                if (length == 0.0f)
+                {
+                    continue;
+                }
+                nX /= length;
+                nY /= length;
+                nZ /= length;
+                final double borderD = -(nX * p[from * 3] + nY * p[from * 3 + 1] + nZ * p[from * 3 + 2]);
+                final float weight = (eX * eX + eY * eY + eZ * eZ) * BORDER_WEIGHT;
+                addPlane(quadrics, from, nX, nY, nZ, borderD, weight);
+                addPlane(quadrics, to, nX, nY, nZ, borderD, weight);
+            }
+        }
+    }
+
+    private static void addPlane(final double[] quadrics, final int vertex, final double a, final double b,
+                                 final double c, final double d, final double weight)
+    {
+        final int q = vertex * QUADRIC_SIZE;
+        quadrics[q] += weight * a * a;
+        quadrics[q + 1] += weight * a * b;
+        quadrics[q + 2] += weight * a * c;
+        quadrics[q + 3] += weight * a * d;
+        quadrics[q + 4] += weight * b * b;
+        quadrics[q + 5] += weight * b * c;
+        quadrics[q + 6] += weight * b * d;
+        quadrics[q + 7] += weight * c * c;
+        quadrics[q + 8] += weight * c * d;
+        quadrics[q + 9] += weight * d * d;
+        quadrics[q + 10] += weight;
+    }
+
+    /**
+     * @return The mean squared distance from u's planes once u sits at v's position.
+     */
+    private double collapseCost(final double[] quadrics, final int u, final int v)
+    {
+        final int q = u * QUADRIC_SIZE;
+        final double weight = quadrics[q + 10];
+        if (weight == 0.0)
+        {
+            return 0.0;
+        }
+        final double x = mPositions[v * 3];
+        final double y = mPositions[v * 3 + 1];
+        final double z = mPositions[v * 3 + 2];
+        final double error = quadrics[q] * x * x + quadrics[q + 4] * y * y + quadrics[q + 7] * z * z
+                + 2.0 * (quadrics[q + 1] * x * y + quadrics[q + 2] * x * z + quadrics[q + 5] * y * z)
+                + 2.0 * (quadrics[q + 3] * x + quadrics[q + 6] * y + quadrics[q + 8] * z)
+                + quadrics[q + 9];
+        // Rounding can take a zero error slightly negative.
+        return Math.max(error / weight, 0.0);
+    }
+
+    private int edgeTriangleCount(final int u, final int v, final int[] offsets, final int[] adjacency,
+                                  final int[] triangles)
+    {
+        int count = 0;
+        for (int a = offsets[u]; a < offsets[u + 1]; a++)
+        {
+            if (containsCanonical(triangles, adjacency[a], v))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The link condition: u and v may only share the neighbours opposite their common edge.
+     * Any other shared neighbour would leave two triangles folded back to back after the collapse.
+     */
+    private boolean keepsManifold(final int u, final int v, final int[] offsets, final int[] adjacency,
+                                  final int[] triangles)
+    {
+        final int edgeTriangles = edgeTriangleCount(u, v, offsets, adjacency, triangles);
+        int shared = 0;
+        for (int a = offsets[u]; a < offsets[u + 1]; a++)
+        {
+            final int t = adjacency[a];
+            for (int corner = 0; corner < 3; corner++)
+            {
+                final int neighbour = mCanonical[triangles[t * 3 + corner]];
+                if (neighbour == u || neighbour == v || seenBefore(neighbour, u, offsets, adjacency, triangles, a, corner))
+                {
+                    continue;
+                }
+                if (edgeTriangleCount(v, neighbour, offsets, adjacency, triangles) > 0 && ++shared > edgeTriangles)
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return True if the neighbour already appeared in u's triangles before the given corner.
+     */
+    private boolean seenBefore(final int neighbour, final int u, final int[] offsets, final int[] adjacency,
+                               final int[] triangles, final int entry, final int corner)
+    {
+        for (int a = offsets[u]; a <= entry; a++)
+        {
+            final int t = adjacency[a];
+            final int corners = a == entry ? corner : 3;
+            for (int c = 0; c < corners; c++)
+            {
+                if (mCanonical[triangles[t * 3 + c]] == neighbour)
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return True if moving u onto v would turn any remaining triangle around u over.
+     */
+    private boolean flips(final int u, final int v, final int[] offsets, final int[] adjacency, final int[] triangles)
+    {
+        final float[] p = mPositions;
+        final float[] before = mBefore;
+        final float[] after = mAfter;
+        for (int a = offsets[u]; a < offsets[u + 1]; a++)
+        {
+            final int t = adjacency[a];
+            if (containsCanonical(triangles, t, v))
+            {
+                // This one disappears.
+                continue;
+            }
+            final int i0 = mCanonical[triangles[t * 3]];
+            final int i1 = mCanonical[triangles[t * 3 + 1]];
+            final int i2 = mCanonical[triangles[t * 3 + 2]];
+            triangleNormal(p, i0, i1, i2, before);
+            triangleNormal(p, i0 == u ? v : i0, i1 == u ? v : i1, i2 == u ? v : i2, after);
+            if (before[0] * after[0] + before[1] * after[1] + before[2] * after[2] <= 0.0f)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pairs every copy of u used by a triangle with the copy of v in a triangle it shares with v.
+     *
+     * @param wedges Receives copy-of-u, copy-of-v pairs.
+     * @return The number of ints written, or -1 if some copy of u has no triangle with v.
+     */
+    private int matchWedges(final int u, final int v, final int[] offsets, final int[] adjacency,
+                            final int[] triangles, final int[] wedges)
+    {
+        int count = 0;
+        for (int a = offsets[u]; a < offsets[u + 1]; a++)
+        {
+            final int t = adjacency[a];
+            int uIndex = -1;
+            int vIndex = -1;
+            for (int corner = 0; corner < 3; corner++)
+            {
+                final int index = triangles[t * 3 + corner];
+                if (mCanonical[index] == u)
+                {
+                    uIndex = index;
+                }
+                else if (mCanonical[index] == v)
+                {
+                    vIndex = index;
+                }
+            }
+            if (vIndex < 0 || indexOfPair(wedges, count, uIndex) >= 0)
+            {
+                continue;
+            }
+            if (count + 2 > wedges.length)
+            {
+                // Too many copies of one position to be worth collapsing.
+                return -1;
+            }
+            wedges[count++] = uIndex;
+            wedges[count++] = vIndex;
+        }
+
+        for (int a = offsets[u]; a < offsets[u + 1]; a++)
+        {
+            final int t = adjacency[a];
+            for (int corner = 0; corner < 3; corner++)
+            {
+                final int index = triangles[t * 3 + corner];
+                if (mCanonical[index] == u && indexOfPair(wedges, count, index) < 0)
+                {
+                    return -1;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int indexOfPair(final int[] pairs, final int count, final int first)
+    {
+        for (int i = 0; i < count; i += 2)
+        {
+            if (pairs[i] == first)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean containsCanonical(final int[] triangles, final int t, final int vertex)
+    {
+        return mCanonical[triangles[t * 3]] == vertex || mCanonical[triangles[t * 3 + 1]] == vertex
+                || mCanonical[triangles[t * 3 + 2]] == vertex;
+    }
+
+    /**
+     * @param out Receives the unit normal.
+     * @return Twice the triangle area, or 0 if it is degenerate.
+     */
+    private static float triangleNormal(final float[] p, final int a, final int b, final int c, final float[] out)
+    {
+        final float abX = p[b * 3] - p[a * 3], abY = p[b * 3 + 1] - p[a * 3 + 1], abZ = p[b * 3 + 2] - p[a * 3 + 2];
+        final float acX = p[c * 3] - p[a * 3], acY = p[c * 3 + 1] - p[a * 3 + 1], acZ = p[c * 3 + 2] - p[a * 3 + 2];
+        final float nX = abY * acZ - abZ * acY;
+        final float nY = abZ * acX - abX * acZ;
+        final float nZ = abX * acY - abY * acX;
+        final float length = (float) Math.sqrt(nX * nX + nY * nY + nZ * nZ);
+        if (length == 0.0f)
+        {
+            out[0] = out[1] = out[2] = 0.0f;
+            return 0.0f;
+        }
+        out[0] = nX / length;
+        out[1] = nY / length;
+        out[2] = nZ / length;
+        return length;
+    }
+
+    /**
+     * Finds the first vertex with the same position as each vertex, through an open-addressing
+     * table over the position bits.
+     */
+    private static int[] canonicalize(final float[] positions, final int vertexCount)
+    {
+        int tableSize = 1;
+        while (tableSize < vertexCount * 2)
+        {
+            tableSize <<= 1;
+        }
+        final int[] table = new int[tableSize];
+        Arrays.fill(table, -1);
+        final int mask = tableSize - 1;
+
+        final int[] canonical = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++)
+        {
+            final int x = Float.floatToIntBits(positions[v * 3]);
+            final int y = Float.floatToIntBits(positions[v * 3 + 1]);
+            final int z = Float.floatToIntBits(positions[v * 3 + 2]);
+            int hash = x * 73856093 ^ y * 19349663 ^ z * 83492791;
+            hash ^= hash >>> 16;
+            int slot = hash & mask;
+            while (true)
+            {
+                final int candidate = table[slot];
+                if (candidate < 0)
+                {
+                    table[slot] = v;
+                    canonical[v] = v;
+                    break;
+                }
+                if (Float.floatToIntBits(positions[candidate * 3]) == x
+                        && Float.floatToIntBits(positions[candidate * 3 + 1]) == y
+                        && Float.floatToIntBits(positions[candidate * 3 + 2]) == z)
+                {
+                    canonical[v] = candidate;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        return canonical;
+    }
+}
\ No newline at end of file
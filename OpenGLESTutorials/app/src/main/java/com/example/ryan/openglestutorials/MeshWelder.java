@@ -0,0 +1,255 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Turns an expanded triangle list into indexed geometry. Vertices whose packed bytes are
+ * identical (same position, normal, colour, ...) are merged, using an open-addressing hash table
+ * over the packed attribute bytes, and an index buffer is emitted that refers to the unique
+ * vertices. Indices are 8-bit when there are at most 256 unique vertices and 16-bit otherwise.
+ *
+ * A welder can be reused; the results of the last {@link #weld} call stay valid until the next.
+ * {@link #optimize()} can then reorder them for drawing.
+ */
+public class MeshWelder
+{
+    /** Marks an empty hash table slot. */
+    private static final int EMPTY = -1;
+
+    /** Hash table of unique vertex indices, sized to a power of two. */
+    private int[] mTable = new int[0];
+
+    private VertexLayout mLayout;
+    private ByteBuffer mVertices;
+    private int mVertexCount;
+    private ByteBuffer mIndices;
+    private int mIndexCount;
+    private int mIndexType;
+
+    /**
+     * Welds the given vertices.
+     *
+     * @param vertices Packed vertices, vertexCount * stride bytes from position 0.
+     * @param layout The layout the vertices were packed with.
+     * @param vertexCount The number of input vertices, which is also the number of output indices.
+     */
+    public void weld(final ByteBuffer vertices, final VertexLayout layout, final int vertexCount)
+    {
+        final int stride = layout.getStride();
+        mLayout = layout;
+
+        // Keep the table at most half full so probe sequences stay short.
+        int tableSize = 1;
+        while (tableSize < vertexCount * 2)
+        {
+            tableSize <<= 1;
+        }
+        if (mTable.length < tableSize)
+        {
+            mTable = new int[tableSize];
+        }
+        final int[] table = mTable;
+        final int mask = tableSize - 1;
+        for (int i = 0; i < tableSize; i++)
+        {
+            table[i] = EMPTY;
+        }
+
+        // Unique vertices are compacted to the front of this scratch buffer as they are found.
+        final ByteBuffer unique = ByteBuffer.allocateDirect(vertexCount * stride).order(ByteOrder.nativeOrder());
+        final int[] remap = new int[vertexCount];
+        int uniqueCount = 0;
+
+        for (int v = 0; v < vertexCount; v++)
+        {
+            final int offset = v * stride;
+            int slot = hash(vertices, offset, stride) & mask;
+
+            while (true)
+            {
+                final int candidate = table[slot];
+                if (candidate == EMPTY)
+                {
+                    // First time we see this vertex.
+                    copyVertex(vertices, offset, unique, uniqueCount * stride, stride);
+                    table[slot] = uniqueCount;
+                    remap[v] = uniqueCount;
+                    uniqueCount++;
+                    break;
+                }
+                if (equalVertices(vertices, offset, unique, candidate * stride, stride))
+                {
+                    remap[v] = candidate;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        if (uniqueCount > 65536)
+        {
+            throw new IllegalArgumentException("Too many unique vertices for 16-bit indices: " + uniqueCount);
+        }
+
+        // Copy the unique vertices into a buffer of exactly the right size.
+        mVertices = ByteBuffer.allocateDirect(uniqueCount * stride).order(ByteOrder.nativeOrder());
+        unique.position(0).limit(uniqueCount * stride);
+        mVertices.put(unique).position(0);
+        mVertexCount = uniqueCount;
+
+        mIndexCount = vertexCount;
+        if (uniqueCount <= 256)
+        {
+            mIndexType = GL.GL_UNSIGNED_BYTE;
+            mIndices = ByteBuffer.allocateDirect(vertexCount).order(ByteOrder.nativeOrder());
+            for (int i = 0; i < vertexCount; i++)
+            {
+                mIndices.put(i, (byte) remap[i]);
+            }
+        }
+        else
+        {
+            mIndexType = GL.GL_UNSIGNED_SHORT;
+            mIndices = ByteBuffer.allocateDirect(vertexCount * 2).order(ByteOrder.nativeOrder());
+            for (int i = 0; i < vertexCount; i++)
+            {
+                mIndices.putShort(i * 2, (short) remap[i]);
+            }
+        }
+    }
+
+    /**
+     * Reorders the welded triangles and vertices with {@link MeshOptimizer}: triangles for the
+     * vertex cache and overdraw, then vertices in the order they are first drawn. The first
+     * attribute of the layout must hold the positions.
+     */
+    public void optimize()
+    {
+        final int stride = mLayout.getStride();
+        final int[] indices = copyIndices();
+        final float[] positions = new float[mVertexCount * 3];
+        final float[] scratch = new float[4];
+        for (int v = 0; v < mVertexCount; v++)
+        {
+            MeshBuilder.decode(mVertices, mLayout, v, 0, scratch);
+            System.arraycopy(scratch, 0, positions, v * 3, 3);
+        }
+
+        final int[] remap = MeshOptimizer.optimize(indices, positions, mVertexCount);
+
+        final ByteBuffer vertices = ByteBuffer.allocateDirect(mVertexCount * stride).order(ByteOrder.nativeOrder());
+        for (int v = 0; v < mVertexCount; v++)
+        {
+            copyVertex(mVertices, v * stride, vertices, remap[v] * stride, stride);
+        }
+        mVertices = vertices;
+        for (int i = 0; i < mIndexCount; i++)
+        {
+            if (mIndexType == GL.GL_UNSIGNED_BYTE)
+            {
+                mIndices.put(i, (byte) indices[i]);
+            }
+            else
+            {
+                mIndices.putShort(i * 2, (short) indices[i]);
+            }
+        }
+    }
+
+    /**
+     * @return The unique vertices, packed with the input layout.
+     */
+    public ByteBuffer getVertices()
+    {
+        return mVertices;
+    }
+
+    public int getVertexCount()
+    {
+        return mVertexCount;
+    }
+
+    /**
+     * @return The indices, one byte or one short each depending on {@link #getIndexType()}.
+     */
+    public ByteBuffer getIndices()
+    {
+        return mIndices;
+    }
+
+    public int getIndexCount()
+    {
+        return mIndexCount;
+    }
+
+    /**
+     * @return The indices widened to ints, in a new array.
+     */
+    public int[] copyIndices()
+    {
+        final int[] indices = new int[mIndexCount];
+        for (int i = 0; i < mIndexCount; i++)
+        {
+            indices[i] = mIndexType == GL.GL_UNSIGNED_BYTE ? mIndices.get(i) & 0xff : mIndices.getShort(i * 2) & 0xffff;
+        }
+        return indices;
+    }
+
+    /**
+     * @return GL_UNSIGNED_BYTE or GL_UNSIGNED_SHORT.
+     */
+    public int getIndexType()
+    {
+        return mIndexType;
+    }
+
+    /**
+     * 32-bit FNV-1a over the packed bytes of one vertex, with a final avalanche so that the low
+     * bits used for the table slot depend on every input byte.
+     */
+    private static int hash(final ByteBuffer buffer, final int offset, final int length)
+    {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < length; i++)
+        {
+            hash ^= buffer.get(offset + i) & 0xff;
+            hash *= 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    private static boolean equalVertices(final ByteBuffer a, final int offsetA, final ByteBuffer b, final int offsetB,
+                                         final int length)
+    {
+        for (int i = 0; i < length; i++)
+        {
+            if (a.get(offsetA + i) != b.get(offsetB + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void copyVertex(final ByteBuffer source, final int sourceOffset, final ByteBuffer dest,
+                                   final int destOffset, final int length)
+    {
+        for (int i = 0; i < length; i++)
+        {
+            dest.put(destOffset + i, source.get(sourceOffset + i));
+        }
+    }
+}
\ No newline at end of file
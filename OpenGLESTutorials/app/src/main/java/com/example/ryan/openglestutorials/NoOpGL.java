@@ -0,0 +1,323 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Implementation of {@link GL} that draws nothing, for running renderers on a plain JVM and
+ * measuring their CPU cost alone. Object creation hands out increasing non-zero handles and every
+ * compile and link succeeds, so {@link ProgramCache} and {@link Mesh} work unchanged. Uniform and
+ * attribute lookups return increasing locations per program.
+ *
+ * It reports an ES 2.0 context with GL_OES_get_program_binary and one binary format,
+ * BINARY_FORMAT, so {@link ProgramBinaryCache} can be exercised too. Saved programs are BINARY_LENGTH bytes. A binary of another format or length is
+ * rejected: the program then reports a failed link.
+ *
+ * Not thread-safe, like a real GL context.
+ */
+public class NoOpGL implements GL
+{
+    /** The binary format token handed out and accepted. */
+    public static final int BINARY_FORMAT = 0x4E4F4F50;
+
+    /** Size of every program binary. */
+    public static final int BINARY_LENGTH = 16;
+
+    public static final String VENDOR = "NoOpGL";
+    public static final String RENDERER = "NoOpGL";
+    public static final String VERSION = "OpenGL ES 2.0 NoOpGL";
+    public static final String EXTENSIONS = "GL_OES_get_program_binary";
+
+    /** Last handle given out for any object type. */
+    private int mLastHandle;
+
+    /** Last location given out by glGetUniformLocation/glGetAttribLocation. */
+    private int mLastLocation = -1;
+
+    /** The last program a binary was rejected for, which reports a failed link until relinked. */
+    private int mRejectedProgram;
+
+    @Override
+    public int glCreateShader(int type)
+    {
+        return ++mLastHandle;
+    }
+
+    @Override
+    public void glShaderSource(int shader, String source)
+    {
+    }
+
+    @Override
+    public void glCompileShader(int shader)
+    {
+    }
+
+    @Override
+    public void glGetShaderiv(int shader, int pname, int[] params, int offset)
+    {
+        params[offset] = GL_TRUE;
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader)
+    {
+        return "";
+    }
+
+    @Override
+    public void glDeleteShader(int shader)
+    {
+    }
+
+    @Override
+    public int glCreateProgram()
+    {
+        // Locations restart for every program, as they would on a real driver.
+        mLastLocation = -1;
+        return ++mLastHandle;
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader)
+    {
+    }
+
+    @Override
+    public void glBindAttribLocation(int program, int index, String name)
+    {
+    }
+
+    @Override
+    public void glLinkProgram(int program)
+    {
+        if (program == mRejectedProgram)
+        {
+            mRejectedProgram = 0;
+        }
+    }
+
+    @Override
+    public void glGetProgramiv(int program, int pname, int[] params, int offset)
+    {
+        if (pname == GL_PROGRAM_BINARY_LENGTH)
+        {
+            params[offset] = BINARY_LENGTH;
+        }
+        else if (pname == GL_LINK_STATUS)
+        {
+            params[offset] = program == mRejectedProgram ? GL_FALSE : GL_TRUE;
+        }
+        else
+        {
+            params[offset] = GL_TRUE;
+        }
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program)
+    {
+        return "";
+    }
+
+    @Override
+    public void glDeleteProgram(int program)
+    {
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, String name)
+    {
+        return ++mLastLocation;
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, String name)
+    {
+        return ++mLastLocation;
+    }
+
+    @Override
+    public void glUseProgram(int program)
+    {
+    }
+
+    @Override
+    public void glUniform3f(int location, float x, float y, float z)
+    {
+    }
+
+    @Override
+    public void glUniform3fv(int location, int count, float[] value, int offset)
+    {
+    }
+
+    @Override
+    public void glUniformMatrix4fv(int location, int count, boolean transpose, float[] value, int offset)
+    {
+    }
+
+    @Override
+    public void glGenBuffers(int n, int[] buffers, int offset)
+    {
+        for (int i = 0; i < n; i++)
+        {
+            buffers[offset + i] = ++mLastHandle;
+        }
+    }
+
+    @Override
+    public void glDeleteBuffers(int n, int[] buffers, int offset)
+    {
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer)
+    {
+    }
+
+    @Override
+    public void glBufferData(int target, int size, Buffer data, int usage)
+    {
+    }
+
+    @Override
+    public void glBufferSubData(int target, int offset, int size, Buffer data)
+    {
+    }
+
+    @Override
+    public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, int offset)
+    {
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index)
+    {
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index)
+    {
+    }
+
+    @Override
+    public void glVertexAttrib3f(int index, float x, float y, float z)
+    {
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count)
+    {
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, int offset)
+    {
+    }
+
+    @Override
+    public void glClearColor(float red, float green, float blue, float alpha)
+    {
+    }
+
+    @Override
+    public void glClear(int mask)
+    {
+    }
+
+    @Override
+    public void glEnable(int capability)
+    {
+    }
+
+    @Override
+    public void glDisable(int capability)
+    {
+    }
+
+    @Override
+    public void glViewport(int x, int y, int width, int height)
+    {
+    }
+
+    @Override
+    public String glGetString(int name)
+    {
+        switch (name)
+        {
+            case GL_VENDOR:
+                return VENDOR;
+            case GL_RENDERER:
+                return RENDERER;
+            case GL_VERSION:
+                return VERSION;
+            case GL_EXTENSIONS:
+                return EXTENSIONS;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void glGetIntegerv(int pname, int[] params, int offset)
+    {
+        if (pname == GL_NUM_PROGRAM_BINARY_FORMATS)
+        {
+            params[offset] = 1;
+        }
+        else
+        {
+            params[offset] = pname == GL_PROGRAM_BINARY_FORMATS ? BINARY_FORMAT : 0;
+        }
+    }
+
+    @Override
+    public int glGetError()
+    {
+        return GL_NO_ERROR;
+    }
+
+    @Override
+    public void glGetProgramBinary(int program, int bufSize, int[] length, int lengthOffset, int[] binaryFormat,
+                                   int binaryFormatOffset, Buffer binary)
+    {
+        // A recognisable pattern, so a binary that reaches a program intact can be told apart.
+        final ByteBuffer bytes = (ByteBuffer) binary;
+        final int count = Math.min(bufSize, BINARY_LENGTH);
+        for (int i = 0; i < count; i++)
+        {
+            bytes.put(bytes.position() + i, (byte) (i + 1));
+        }
+        length[lengthOffset] = count;
+        binaryFormat[binaryFormatOffset] = BINARY_FORMAT;
+    }
+
+    @Override
+    public void glProgramBinary(int program, int binaryFormat, Buffer binary, int length)
+    {
+        boolean accepted = binaryFormat == BINARY_FORMAT && length == BINARY_LENGTH;
+        final ByteBuffer bytes = (ByteBuffer) binary;
+        for (int i = 0; accepted && i < length; i++)
+        {
+            accepted = bytes.get(bytes.position() + i) == (byte) (i + 1);
+        }
+        if (!accepted)
+        {
+            mRejectedProgram = program;
+        }
+        else if (program == mRejectedProgram)
+        {
+            mRejectedProgram = 0;
+        }
+    }
+}
\ No newline at end of file
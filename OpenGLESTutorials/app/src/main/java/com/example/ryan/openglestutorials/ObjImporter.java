@@ -0,0 +1,603 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Imports Wavefront OBJ geometry into {@link MeshData}. Supported statements:
+ * <ul>
+ * <li>v x y z [w], and the common v x y z r g b extension for vertex colours;</li>
+ * <li>vn x y z;</li>
+ * <li>f with v, v/vt, v//vn or v/vt/vn corners, absolute or negative (relative) indices.
+ *     Polygons are split into a fan of triangles.</li>
+ * </ul>
+ * Everything else (vt, groups, materials, smoothing, comments) is skipped. Corners with the same
+ * position and normal become one vertex.
+ *
+ * The file is read through a {@link TextTokenizer}, straight from the bytes into growable
+ * primitive arrays, without a String per line or token. A mapped file is cut into chunks on line
+ * boundaries that are parsed in parallel; the chunks are then merged in order.
+ */
+public final class ObjImporter
+{
+    /** Chunks smaller than this are not worth a task of their own. */
+    private static final int MIN_CHUNK_BYTES = 1 << 20;
+
+    /** Bytes read from a channel at a time when streaming. */
+    private static final int STREAM_BUFFER_BYTES = 1 << 20;
+
+    /**
+     * Relative (negative) position indices are stored as their chunk-local index minus this, so
+     * they stay negative until the merge knows how many positions earlier chunks defined.
+     */
+    private static final int RELATIVE_BIAS = 1 << 30;
+
+    /** Normal index of a corner without a normal. */
+    private static final int NO_NORMAL = Integer.MIN_VALUE;
+
+    private static final byte[] KEYWORD_V = {'v'};
+    private static final byte[] KEYWORD_VN = {'v', 'n'};
+    private static final byte[] KEYWORD_F = {'f'};
+
+    private final ExecutorService mExecutor;
+    private final int mChunkCount;
+
+    /**
+     * @param executor Runs the chunks of large files, or null to parse on the calling thread.
+     * @param chunkCount How many chunks to cut a large file into, e.g. a few per worker thread.
+     */
+    public ObjImporter(final ExecutorService executor, final int chunkCount)
+    {
+        mExecutor = executor;
+        mChunkCount = Math.max(chunkCount, 1);
+    }
+
+    /**
+     * Maps and imports an OBJ file.
+     *
+     * @param file The OBJ file.
+     * @return The mesh.
+     * @throws IOException If the file cannot be read or is malformed.
+     */
+    public MeshData read(final File file) throws IOException
+    {
+        final RandomAccessFile input = new RandomAccessFile(file, "r");
+        try
+        {
+            final long length = input.length();
+            if (length > Integer.MAX_VALUE)
+            {
+                throw new IOException("OBJ file is too large to map: " + length);
+            }
+            return read(input.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length));
+        }
+        finally
+        {
+            input.close();
+        }
+    }
+
+    /**
+     * Imports OBJ text held in a buffer, in parallel chunks if the importer has an executor.
+     *
+     * @param data The text, from 0 to its capacity.
+     * @return The mesh.
+     * @throws IOException If the text is malformed.
+     */
+    public MeshData read(final ByteBuffer data) throws IOException
+    {
+        final int length = data.capacity();
+        final int chunkCount = mExecutor == null ? 1 : Math.max(1, Math.min(mChunkCount, length / MIN_CHUNK_BYTES));
+
+        // Cut at the first line break after each even split, so no line is shared by two chunks.
+        final int[] bounds = new int[chunkCount + 1];
+        bounds[chunkCount] = length;
+        for (int i = 1; i < chunkCount; i++)
+        {
+            int cut = Math.max((int) ((long) length * i / chunkCount), bounds[i - 1]);
+            while (cut < length && data.get(cut) != '\n')
+            {
+                cut++;
+            }
+            bounds[i] = Math.min(cut + 1, length);
+        }
+
+        final Chunk[] chunks = new Chunk[chunkCount];
+        for (int i = 0; i < chunkCount; i++)
+        {
+            chunks[i] = new Chunk(data, bounds[i], bounds[i + 1]);
+        }
+
+        if (chunkCount == 1)
+        {
+            chunks[0].parse();
+        }
+        else
+        {
+            final ArrayList<Future<Void>> futures = new ArrayList<Future<Void>>(chunkCount - 1);
+            for (int i = 1; i < chunkCount; i++)
+            {
+                futures.add(mExecutor.submit(chunks[i]));
+            }
+            chunks[0].parse();
+            for (Future<Void> future : futures)
+            {
+                await(future);
+            }
+        }
+        return merge(chunks);
+    }
+
+    /**
+     * Imports OBJ text from a stream, a buffer at a time, on the calling thread. Use this for
+     * sources that cannot be mapped, such as compressed assets.
+     *
+     * @param channel The text.
+     * @return The mesh.
+     * @throws IOException If the channel cannot be read or the text is malformed.
+     */
+    public MeshData read(final ReadableByteChannel channel) throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(STREAM_BUFFER_BYTES);
+        final Chunk chunk = new Chunk(buffer, 0, 0);
+        boolean end = false;
+        while (!end)
+        {
+            end = channel.read(buffer) < 0;
+            final int filled = buffer.position();
+
+            // Parse every complete line; the tail waits for the next read unless this was the last.
+            int parseEnd = filled;
+            if (!end)
+            {
+                while (parseEnd > 0 && buffer.get(parseEnd - 1) != '\n')
+                {
+                    parseEnd--;
+                }
+                if (parseEnd == 0 && filled == buffer.capacity())
+                {
+                    throw new IOException("OBJ line longer than " + buffer.capacity() + " bytes.");
+                }
+            }
+            chunk.parseRange(0, parseEnd);
+
+            buffer.limit(filled);
+            buffer.position(parseEnd);
+            buffer.compact();
+        }
+        return merge(new Chunk[] {chunk});
+    }
+
+    private static void await(final Future<Void> future) throws IOException
+    {
+        try
+        {
+            future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while importing.");
+        }
+        catch (ExecutionException e)
+        {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            throw new IOException("Import failed: " + cause);
+        }
+    }
+
+    /**
+     * Joins the chunks in file order, resolves relative indices and welds corners into vertices.
+     */
+    private static MeshData merge(final Chunk[] chunks) throws IOException
+    {
+        int positionCount = 0;
+        int normalCount = 0;
+        int cornerCount = 0;
+        boolean hasColors = false;
+        boolean hasNormals = false;
+        for (Chunk chunk : chunks)
+        {
+            positionCount += chunk.mPositions.size() / 3;
+            normalCount += chunk.mNormals.size() / 3;
+            cornerCount += chunk.mCornerPositions.size();
+            hasColors |= chunk.mColors.size() > 0;
+            hasNormals |= chunk.mHasNormalCorners;
+        }
+
+        final float[] positions = new float[positionCount * 3];
+        final float[] colors = hasColors ? new float[positionCount * 4] : null;
+        final float[] normals = new float[normalCount * 3];
+        final int[] cornerPositions = new int[cornerCount];
+        final int[] cornerNormals = hasNormals ? new int[cornerCount] : null;
+
+        int positionBase = 0;
+        int normalBase = 0;
+        int cornerBase = 0;
+        for (Chunk chunk : chunks)
+        {
+            final int chunkPositions = chunk.mPositions.size() / 3;
+            System.arraycopy(chunk.mPositions.array(), 0, positions, positionBase * 3, chunkPositions * 3);
+            if (colors != null)
+            {
+                if (chunk.mColors.size() == chunkPositions * 4)
+                {
+                    System.arraycopy(chunk.mColors.array(), 0, colors, positionBase * 4, chunkPositions * 4);
+                }
+                else
+                {
+                    fillWhite(colors, positionBase, chunkPositions, chunk.mColors);
+                }
+            }
+            System.arraycopy(chunk.mNormals.array(), 0, normals, normalBase * 3, chunk.mNormals.size());
+
+            final int[] sourcePositions = chunk.mCornerPositions.array();
+            final int[] sourceNormals = chunk.mCornerNormals.array();
+            final int corners = chunk.mCornerPositions.size();
+            for (int i = 0; i < corners; i++)
+            {
+                cornerPositions[cornerBase + i] = resolve(sourcePositions[i], positionBase, positionCount, "vertex");
+                if (cornerNormals != null)
+                {
+                    final int normal = sourceNormals[i];
+                    cornerNormals[cornerBase + i] = normal == NO_NORMAL ? -1
+                            : resolve(normal, normalBase, normalCount, "normal");
+                }
+            }
+
+            positionBase += chunkPositions;
+            normalBase += chunk.mNormals.size() / 3;
+            cornerBase += corners;
+        }
+
+        if (cornerNormals == null)
+        {
+            // Every corner is just a position, so the positions are the vertices.
+            return new MeshData(positions, colors, null, positionCount, cornerPositions);
+        }
+        return weld(positions, colors, normals, cornerPositions, cornerNormals);
+    }
+
+    /**
+     * Makes one vertex per distinct position and normal pair.
+     */
+    private static MeshData weld(final float[] positions, final float[] colors, final float[] normals,
+                                 final int[] cornerPositions, final int[] cornerNormals)
+    {
+        final int cornerCount = cornerPositions.length;
+
+        // Most meshes have about one normal per position, so start the table there and let it grow.
+        final int expected = positions.length / 3;
+        final PairTable table = new PairTable(expected);
+        final FloatArray vertexPositions = new FloatArray(expected * 3);
+        final FloatArray vertexColors = colors == null ? null : new FloatArray(expected * 4);
+        final FloatArray vertexNormals = new FloatArray(expected * 3);
+        final int[] indices = new int[cornerCount];
+
+        for (int i = 0; i < cornerCount; i++)
+        {
+            final int p = cornerPositions[i];
+            final int n = cornerNormals[i];
+            final int vertexCount = table.size();
+            final int vertex = table.add(((long) p << 32) | (n & 0xffffffffL));
+            if (vertex == vertexCount)
+            {
+                vertexPositions.add(positions[p * 3], positions[p * 3 + 1], positions[p * 3 + 2]);
+                if (vertexColors != null)
+                {
+                    vertexColors.add(colors[p * 4], colors[p * 4 + 1], colors[p * 4 + 2]);
+                    vertexColors.add(colors[p * 4 + 3]);
+                }
+                if (n >= 0)
+                {
+                    vertexNormals.add(normals[n * 3], normals[n * 3 + 1], normals[n * 3 + 2]);
+                }
+                else
+                {
+                    // A corner without a normal in a file that has them.
+                    vertexNormals.add(0.0f, 0.0f, 0.0f);
+                }
+            }
+            indices[i] = vertex;
+        }
+
+        return new MeshData(vertexPositions.toArray(), vertexColors == null ? null : vertexColors.toArray(),
+                vertexNormals.toArray(), table.size(), indices);
+    }
+
+    private static int resolve(final int stored, final int base, final int count, final String what)
+            throws IOException
+    {
+        final int index = stored < 0 ? base + stored + RELATIVE_BIAS : stored;
+        if (index < 0 || index >= count)
+        {
+            throw new IOException("Face refers to " + what + " " + (index + 1) + " of " + count);
+        }
+        return index;
+    }
+
+    private static void fillWhite(final float[] colors, final int base, final int count, final FloatArray partial)
+    {
+        // Only some positions of this chunk had colours; they were stored in order, the rest are white.
+        final int known = partial.size();
+        System.arraycopy(partial.array(), 0, colors, base * 4, known);
+        for (int i = base * 4 + known; i < (base + count) * 4; i++)
+        {
+            colors[i] = 1.0f;
+        }
+    }
+
+    /**
+     * Numbers distinct 64-bit keys in the order they are first added, with open addressing over
+     * primitive arrays. Kept at most half full.
+     */
+    private static final class PairTable
+    {
+        private long[] mKeys;
+        private int[] mValues;
+        private int mSize;
+
+        PairTable(final int expected)
+        {
+            int capacity = 16;
+            while (capacity < expected * 2)
+            {
+                capacity <<= 1;
+            }
+            allocate(capacity);
+        }
+
+        int size()
+        {
+            return mSize;
+        }
+
+        /**
+         * @return The number of the key, which is size() before the call if it is new.
+         */
+        int add(final long key)
+        {
+            final int mask = mValues.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (true)
+            {
+                final int value = mValues[slot];
+                if (value < 0)
+                {
+                    break;
+                }
+                if (mKeys[slot] == key)
+                {
+                    return value;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            mKeys[slot] = key;
+            mValues[slot] = mSize;
+            if (++mSize * 2 > mValues.length)
+            {
+                rehash();
+            }
+            return mSize - 1;
+        }
+
+        private void rehash()
+        {
+            final long[] keys = mKeys;
+            final int[] values = mValues;
+            allocate(values.length * 2);
+            final int mask = mValues.length - 1;
+            for (int i = 0; i < values.length; i++)
+            {
+                if (values[i] >= 0)
+                {
+                    int slot = (int) mix(keys[i]) & mask;
+                    while (mValues[slot] >= 0)
+                    {
+                        slot = (slot + 1) & mask;
+                    }
+                    mKeys[slot] = keys[i];
+                    mValues[slot] = values[i];
+                }
+            }
+        }
+
+        private void allocate(final int capacity)
+        {
+            mKeys = new long[capacity];
+            mValues = new int[capacity];
+            for (int i = 0; i < capacity; i++)
+            {
+                mValues[i] = -1;
+            }
+        }
+
+        private static long mix(long key)
+        {
+            // The 64-bit finalizer of MurmurHash3, so neighbouring index pairs spread over the table.
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            key *= 0xc4ceb9fe1a85ec53L;
+            key ^= key >>> 33;
+            return key;
+        }
+    }
+
+    /**
+     * The statements of one range of the file, with indices still relative to what it has seen.
+     */
+    private static final class Chunk implements Callable<Void>
+    {
+        private final ByteBuffer mData;
+        private final int mStart;
+        private final int mEnd;
+        private final TextTokenizer mTokenizer = new TextTokenizer();
+
+        final FloatArray mPositions = new FloatArray(1024);
+        final FloatArray mColors = new FloatArray(16);
+        final FloatArray mNormals = new FloatArray(1024);
+
+        /** Three corners per triangle: the position index and the normal index or NO_NORMAL. */
+        final IntArray mCornerPositions = new IntArray(1024);
+        final IntArray mCornerNormals = new IntArray(1024);
+        boolean mHasNormalCorners;
+
+        /** Face corners of the current polygon, reused for every face. */
+        private final IntArray mFacePositions = new IntArray(8);
+        private final IntArray mFaceNormals = new IntArray(8);
+
+        Chunk(final ByteBuffer data, final int start, final int end)
+        {
+            mData = data;
+            mStart = start;
+            mEnd = end;
+        }
+
+        @Override
+        public Void call() throws IOException
+        {
+            parse();
+            return null;
+        }
+
+        void parse() throws IOException
+        {
+            parseRange(mStart, mEnd);
+        }
+
+        void parseRange(final int start, final int end) throws IOException
+        {
+            final TextTokenizer tokenizer = mTokenizer;
+            tokenizer.reset(mData, start, end);
+            try
+            {
+                while (tokenizer.hasRemaining())
+                {
+                    if (tokenizer.acceptKeyword(KEYWORD_V))
+                    {
+                        readPosition(tokenizer);
+                    }
+                    else if (tokenizer.acceptKeyword(KEYWORD_VN))
+                    {
+                        mNormals.add(tokenizer.nextFloat(), tokenizer.nextFloat(), tokenizer.nextFloat());
+                    }
+                    else if (tokenizer.acceptKeyword(KEYWORD_F))
+                    {
+                        readFace(tokenizer);
+                    }
+                    tokenizer.nextLine();
+                }
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IOException("Malformed OBJ: " + e.getMessage());
+            }
+        }
+
+        private void readPosition(final TextTokenizer tokenizer)
+        {
+            mPositions.add(tokenizer.nextFloat(), tokenizer.nextFloat(), tokenizer.nextFloat());
+            if (tokenizer.isAtLineEnd())
+            {
+                return;
+            }
+
+            final float fourth = tokenizer.nextFloat();
+            if (tokenizer.isAtLineEnd())
+            {
+                // x y z w: positions are drawn with w = 1, so the weight is dropped.
+                return;
+            }
+
+            // x y z r g b. Positions before the first coloured one are white.
+            final int count = mPositions.size() / 3;
+            while (mColors.size() < (count - 1) * 4)
+            {
+                mColors.add(1.0f);
+            }
+            mColors.add(fourth, tokenizer.nextFloat(), tokenizer.nextFloat());
+            mColors.add(1.0f);
+        }
+
+        private void readFace(final TextTokenizer tokenizer) throws IOException
+        {
+            final IntArray facePositions = mFacePositions;
+            final IntArray faceNormals = mFaceNormals;
+            facePositions.clear();
+            faceNormals.clear();
+
+            final int positionCount = mPositions.size() / 3;
+            final int normalCount = mNormals.size() / 3;
+            while (!tokenizer.isAtLineEnd())
+            {
+                facePositions.add(index(tokenizer.nextInt(), positionCount));
+                int normal = NO_NORMAL;
+                if (tokenizer.accept('/'))
+                {
+                    if (tokenizer.peek() != '/')
+                    {
+                        // The texture coordinate is not used.
+                        tokenizer.nextInt();
+                    }
+                    if (tokenizer.accept('/'))
+                    {
+                        normal = index(tokenizer.nextInt(), normalCount);
+                        mHasNormalCorners = true;
+                    }
+                }
+                faceNormals.add(normal);
+            }
+
+            final int corners = facePositions.size();
+            if (corners < 3)
+            {
+                throw new IOException("OBJ face with " + corners + " corners.");
+            }
+            for (int i = 1; i + 1 < corners; i++)
+            {
+                mCornerPositions.add(facePositions.get(0), facePositions.get(i), facePositions.get(i + 1));
+                mCornerNormals.add(faceNormals.get(0), faceNormals.get(i), faceNormals.get(i + 1));
+            }
+        }
+
+        /**
+         * Converts a 1-based or negative OBJ index to the form stored until the merge.
+         */
+        private static int index(final int value, final int localCount) throws IOException
+        {
+            if (value > 0)
+            {
+                return value - 1;
+            }
+            if (value < 0)
+            {
+                return localCount + value - RELATIVE_BIAS;
+            }
+            throw new IOException("OBJ index 0.");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * The outcome of a {@link Picker#pick} query. One instance is reused for every query so that
+ * picking does not allocate; copy out anything that must outlive the next pick.
+ */
+public class PickResult
+{
+    boolean mHit;
+    int mObject = -1;
+    int mTriangle = -1;
+    float mDistance;
+    float mX, mY, mZ;
+
+    /**
+     * @return True if the ray hit an object.
+     */
+    public boolean isHit()
+    {
+        return mHit;
+    }
+
+    /**
+     * @return The index of the nearest object hit, or -1.
+     */
+    public int getObject()
+    {
+        return mObject;
+    }
+
+    /**
+     * @return The index of the triangle hit within the object's shape, or -1.
+     */
+    public int getTriangle()
+    {
+        return mTriangle;
+    }
+
+    /**
+     * @return The distance from the near plane to the hit, in world units.
+     */
+    public float getDistance()
+    {
+        return mDistance;
+    }
+
+    /**
+     * @return The world-space x of the hit point.
+     */
+    public float getX()
+    {
+        return mX;
+    }
+
+    public float getY()
+    {
+        return mY;
+    }
+
+    public float getZ()
+    {
+        return mZ;
+    }
+
+    void clear()
+    {
+        mHit = false;
+        mObject = -1;
+        mTriangle = -1;
+        mDistance = Float.MAX_VALUE;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * The triangles of a mesh in object space, kept on the CPU for exact ray tests. Many objects can
+ * share one shape, each placed by its own world matrix.
+ */
+public class PickShape
+{
+    private final float[] mPositions;
+    private final int[] mIndices;
+    private final int mTriangleCount;
+
+    /**
+     * @param positions x, y, z triplets.
+     * @param indices Three vertex indices per triangle.
+     * @param triangleCount The number of triangles.
+     */
+    public PickShape(final float[] positions, final int[] indices, final int triangleCount)
+    {
+        mPositions = positions;
+        mIndices = indices;
+        mTriangleCount = triangleCount;
+    }
+
+    /**
+     * Creates a shape from an unindexed triangle list, such as {@link CubeData#POSITIONS}.
+     *
+     * @param positions x, y, z triplets, three vertices per triangle.
+     * @param vertexCount The number of vertices.
+     */
+    public static PickShape fromTriangleList(final float[] positions, final int vertexCount)
+    {
+        final int[] indices = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++)
+        {
+            indices[i] = i;
+        }
+        return new PickShape(positions, indices, vertexCount / 3);
+    }
+
+    public int getTriangleCount()
+    {
+        return mTriangleCount;
+    }
+
+    /**
+     * Finds the nearest triangle hit by a ray with the Moller-Trumbore test. Both faces of every
+     * triangle count.
+     *
+     * @param ox Ray origin x.
+     * @param oy Ray origin y.
+     * @param oz Ray origin z.
+     * @param dx Ray direction x. Need not be normalized; distances are in multiples of it.
+     * @param dy Ray direction y.
+     * @param dz Ray direction z.
+     * @param maxDistance Hits farther than this are ignored.
+     * @param hit Receives the distance in element 0 and the triangle index in element 1.
+     * @return True if a triangle nearer than maxDistance was hit.
+     */
+    public boolean intersect(final float ox, final float oy, final float oz, final float dx, final float dy,
+                             final float dz, final float maxDistance, final float[] hit)
+    {
+        final float[] p = mPositions;
+        float nearest = maxDistance;
+        int nearestTriangle = -1;
+
+        for (int t = 0; t < mTriangleCount; t++)
+        {
+            final int i0 = mIndices[t * 3] * 3;
+            final int i1 = mIndices[t * 3 + 1] * 3;
+            final int i2 = mIndices[t * 3 + 2] * 3;
+
+            final float e1x = p[i1] - p[i0], e1y = p[i1 + 1] - p[i0 + 1], e1z = p[i1 + 2] - p[i0 + 2];
+            final float e2x = p[i2] - p[i0], e2y = p[i2 + 1] - p[i0 + 1], e2z = p[i2 + 2] - p[i0 + 2];
+
+            // p = d x e2; a ray parallel to the triangle has no hit.
+            final float px = dy * e2z - dz * e2y;
+            final float py = dz * e2x - dx * e2z;
+            final float pz = dx * e2y - dy * e2x;
+            final float determinant = e1x * px + e1y * py + e1z * pz;
+            if (determinant > -1e-12f && determinant < 1e-12f)
+            {
+                continue;
+            }
+            final float inverse = 1.0f / determinant;
+
+            final float sx = ox - p[i0], sy = oy - p[i0 + 1], sz = oz - p[i0 + 2];
+            final float u = (sx * px + sy * py + sz * pz) * inverse;
+            if (u < 0.0f || u > 1.0f)
+            {
+                continue;
+            }
+
+            final float qx = sy * e1z - sz * e1y;
+            final float qy = sz * e1x - sx * e1z;
+            final float qz = sx * e1y - sy * e1x;
+            final float v = (dx * qx + dy * qy + dz * qz) * inverse;
+            if (v < 0.0f || u + v > 1.0f)
+            {
+                continue;
+            }
+
+            final float distance = (e2x * qx + e2y * qy + e2z * qz) * inverse;
+            if (distance >= 0.0f && distance < nearest)
+            {
+                nearest = distance;
+                nearestTriangle = t;
+            }
+        }
+
+        if (nearestTriangle < 0)
+        {
+            return false;
+        }
+        hit[0] = nearest;
+        hit[1] = nearestTriangle;
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,319 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * Maps screen touches to the objects under them. A touch is unprojected through the cached
+ * inverse view-projection matrix into a world-space ray, the ray walks a {@link Bvh} over the
+ * object boxes nearest node first, and only objects whose box it enters are tested triangle by
+ * triangle.
+ *
+ * Picking reuses preallocated scratch space and a single {@link PickResult}, so it does not
+ * allocate. It is not thread-safe; call it on the GL thread like the rest of the renderer.
+ */
+public class Picker
+{
+    /**
+     * Receives pick results on the thread that picked.
+     */
+    public interface OnPickListener
+    {
+        /**
+         * @param result The hit. Only valid during the call.
+         */
+        void onPick(PickResult result);
+    }
+
+    /** The cached inverse of projection * view, updated with the camera. */
+    private final float[] mInverseViewProjection = new float[16];
+    private final float[] mViewProjection = new float[16];
+    private int mViewportWidth = 1;
+    private int mViewportHeight = 1;
+    private boolean mCameraValid;
+
+    /** The scene: hierarchy over world boxes, world matrix per object and shape per object. */
+    private Bvh mBvh;
+    private float[] mWorldMatrices;
+    private PickShape[] mShapes;
+
+    /** Scratch. */
+    private final float[] mPoint = new float[8];
+    private final float[] mInverseWorld = new float[16];
+    private final float[] mTriangleHit = new float[2];
+    private int[] mStack = new int[64];
+    private final PickResult mResult = new PickResult();
+
+    /** The last ray, in world space, with a unit direction. */
+    private float mOriginX, mOriginY, mOriginZ;
+    private float mDirectionX, mDirectionY, mDirectionZ;
+
+    /**
+     * Caches the inverse view-projection. Call whenever the view, projection or viewport changes.
+     *
+     * @param view The view matrix, at offset 0.
+     * @param projection The projection matrix, at offset 0.
+     * @param width The viewport width in pixels.
+     * @param height The viewport height in pixels.
+     */
+    public void setCamera(final float[] view, final float[] projection, final int width, final int height)
+    {
+        MatrixMath.multiply(mViewProjection, 0, projection, 0, view, 0);
+        mCameraValid = MatrixMath.invert(mInverseViewProjection, 0, mViewProjection, 0);
+        mViewportWidth = Math.max(width, 1);
+        mViewportHeight = Math.max(height, 1);
+    }
+
+    /**
+     * Sets what can be picked. The arrays are read at pick time, so objects may move as long as
+     * the hierarchy is refit.
+     *
+     * @param bvh A hierarchy over the world-space boxes of the objects.
+     * @param worldMatrices 16 floats per object, the matrix placing its shape in the world.
+     * @param shapes The shape of each object. Objects may share shapes.
+     */
+    public void setScene(final Bvh bvh, final float[] worldMatrices, final PickShape[] shapes)
+    {
+        mBvh = bvh;
+        mWorldMatrices = worldMatrices;
+        mShapes = shapes;
+    }
+
+    /**
+     * Finds the nearest object under a screen position.
+     *
+     * @param screenX The x coordinate in pixels, from the left of the view.
+     * @param screenY The y coordinate in pixels, from the top of the view.
+     * @return The result, valid until the next pick.
+     */
+    public PickResult pick(final float screenX, final float screenY)
+    {
+        final PickResult result = mResult;
+        result.clear();
+        if (!mCameraValid || mBvh == null || mBvh.getObjectCount() == 0)
+        {
+            return result;
+        }
+
+        // Screen to normalized device coordinates; y points down on screen but up in GL.
+        final float ndcX = screenX / mViewportWidth * 2.0f - 1.0f;
+        final float ndcY = 1.0f - screenY / mViewportHeight * 2.0f;
+        unproject(ndcX, ndcY, -1.0f, 0);
+        unproject(ndcX, ndcY, 1.0f, 4);
+
+        mOriginX = mPoint[0];
+        mOriginY = mPoint[1];
+        mOriginZ = mPoint[2];
+        float dx = mPoint[4] - mOriginX;
+        float dy = mPoint[5] - mOriginY;
+        float dz = mPoint[6] - mOriginZ;
+        final float length = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        mDirectionX = dx / length;
+        mDirectionY = dy / length;
+        mDirectionZ = dz / length;
+
+        traverse(result, length);
+        if (result.mHit)
+        {
+            result.mX = mOriginX + mDirectionX * result.mDistance;
+            result.mY = mOriginY + mDirectionY * result.mDistance;
+            result.mZ = mOriginZ + mDirectionZ * result.mDistance;
+        }
+        return result;
+    }
+
+    /**
+     * Walks the hierarchy, visiting the nearer child first and skipping anything farther than
+     * the best hit found so far.
+     */
+    private void traverse(final PickResult result, final float maxDistance)
+    {
+        final Bvh bvh = mBvh;
+        final float[] nodeBoxes = bvh.getNodeBoxes();
+        final float[] objectBoxes = bvh.getObjectBoxes();
+        final float invX = 1.0f / mDirectionX, invY = 1.0f / mDirectionY, invZ = 1.0f / mDirectionZ;
+        float best = maxDistance;
+
+        int stackSize = 0;
+        if (!Float.isNaN(slab(nodeBoxes, 0, invX, invY, invZ, best)))
+        {
+            mStack[stackSize++] = 0;
+        }
+
+        while (stackSize > 0)
+        {
+            final int node = mStack[--stackSize];
+
+            // The best hit may have improved since this node was pushed.
+            if (Float.isNaN(slab(nodeBoxes, node * 6, invX, invY, invZ, best)))
+            {
+                continue;
+            }
+
+            final int count = bvh.getNodeObjectCount(node);
+            if (count > 0)
+            {
+                final int start = bvh.getNodeStart(node);
+                for (int slot = start; slot < start + count; slot++)
+                {
+                    final int object = bvh.getObjectIndex(slot);
+                    if (Float.isNaN(slab(objectBoxes, object * 6, invX, invY, invZ, best)))
+                    {
+                        continue;
+                    }
+                    if (intersectObject(object, best))
+                    {
+                        best = mTriangleHit[0];
+                        result.mHit = true;
+                        result.mObject = object;
+                        result.mTriangle = (int) mTriangleHit[1];
+                        result.mDistance = best;
+                    }
+                }
+                continue;
+            }
+
+            final int left = bvh.getNodeStart(node);
+            final float leftDistance = slab(nodeBoxes, left * 6, invX, invY, invZ, best);
+            final float rightDistance = slab(nodeBoxes, (left + 1) * 6, invX, invY, invZ, best);
+            final boolean leftHit = !Float.isNaN(leftDistance);
+            final boolean rightHit = !Float.isNaN(rightDistance);
+
+            // Push the farther child first so the nearer one is popped next.
+            if (leftHit && rightHit)
+            {
+                final boolean leftNearer = leftDistance <= rightDistance;
+                stackSize = push(stackSize, leftNearer ? left + 1 : left);
+                stackSize = push(stackSize, leftNearer ? left : left + 1);
+            }
+            else if (leftHit)
+            {
+                stackSize = push(stackSize, left);
+            }
+            else if (rightHit)
+            {
+                stackSize = push(stackSize, left + 1);
+            }
+        }
+    }
+
+    /**
+     * Tests the ray against one object's triangles in the object's own space, which saves
+     * transforming every vertex into the world. An affine transform keeps the ray parameter, so
+     * the distance found there is the world distance.
+     */
+    private boolean intersectObject(final int object, final float maxDistance)
+    {
+        if (!MatrixMath.invert(mInverseWorld, 0, mWorldMatrices, object * 16))
+        {
+            return false;
+        }
+
+        final float[] m = mInverseWorld;
+        final float ox = m[0] * mOriginX + m[4] * mOriginY + m[8] * mOriginZ + m[12];
+        final float oy = m[1] * mOriginX + m[5] * mOriginY + m[9] * mOriginZ + m[13];
+        final float oz = m[2] * mOriginX + m[6] * mOriginY + m[10] * mOriginZ + m[14];
+        final float dx = m[0] * mDirectionX + m[4] * mDirectionY + m[8] * mDirectionZ;
+        final float dy = m[1] * mDirectionX + m[5] * mDirectionY + m[9] * mDirectionZ;
+        final float dz = m[2] * mDirectionX + m[6] * mDirectionY + m[10] * mDirectionZ;
+
+        return mShapes[object].intersect(ox, oy, oz, dx, dy, dz, maxDistance, mTriangleHit);
+    }
+
+    /**
+     * Ray-box slab test. An axis the ray runs parallel to limits nothing but where the origin
+     * must lie; it is handled apart so that an origin on a face never multiplies zero by the
+     * infinite inverse.
+     *
+     * @return The distance at which the ray enters the box, or NaN if it misses it or enters it
+     *         beyond maxDistance.
+     */
+    private float slab(final float[] boxes, final int offset, final float invX, final float invY, final float invZ,
+                       final float maxDistance)
+    {
+        float near = Float.NEGATIVE_INFINITY;
+        float far = Float.POSITIVE_INFINITY;
+        float t1, t2;
+
+        if (mDirectionX == 0.0f)
+        {
+            if (mOriginX < boxes[offset] || mOriginX > boxes[offset + 3])
+            {
+                return Float.NaN;
+            }
+        }
+        else
+        {
+            t1 = (boxes[offset] - mOriginX) * invX;
+            t2 = (boxes[offset + 3] - mOriginX) * invX;
+            near = Math.min(t1, t2);
+            far = Math.max(t1, t2);
+        }
+
+        if (mDirectionY == 0.0f)
+        {
+            if (mOriginY < boxes[offset + 1] || mOriginY > boxes[offset + 4])
+            {
+                return Float.NaN;
+            }
+        }
+        else
+        {
+            t1 = (boxes[offset + 1] - mOriginY) * invY;
+            t2 = (boxes[offset + 4] - mOriginY) * invY;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+
+        if (mDirectionZ == 0.0f)
+        {
+            if (mOriginZ < boxes[offset + 2] || mOriginZ > boxes[offset + 5])
+            {
+                return Float.NaN;
+            }
+        }
+        else
+        {
+            t1 = (boxes[offset + 2] - mOriginZ) * invZ;
+            t2 = (boxes[offset + 5] - mOriginZ) * invZ;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+
+        if (far < near || far < 0.0f || near > maxDistance)
+        {
+            return Float.NaN;
+        }
+        return Math.max(near, 0.0f);
+    }
+
+    /**
+     * Unprojects a point from normalized device coordinates into mPoint at the given offset.
+     */
+    private void unproject(final float x, final float y, final float z, final int offset)
+    {
+        final float[] m = mInverseViewProjection;
+        final float w = m[3] * x + m[7] * y + m[11] * z + m[15];
+        mPoint[offset] = (m[0] * x + m[4] * y + m[8] * z + m[12]) / w;
+        mPoint[offset + 1] = (m[1] * x + m[5] * y + m[9] * z + m[13]) / w;
+        mPoint[offset + 2] = (m[2] * x + m[6] * y + m[10] * z + m[14]) / w;
+    }
+
+    private int push(final int stackSize, final int value)
+    {
+        if (stackSize == mStack.length)
+        {
+            final int[] stack = new int[mStack.length * 2];
+            System.arraycopy(mStack, 0, stack, 0, stackSize);
+            mStack = stack;
+        }
+        mStack[stackSize] = value;
+        return stackSize + 1;
+    }
+}
\ No newline at end of file
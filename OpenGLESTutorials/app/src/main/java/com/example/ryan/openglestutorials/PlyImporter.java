@@ -0,0 +1,562 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+
+/**
+ * Imports Stanford PLY geometry into {@link MeshData}, in ascii, binary_little_endian or
+ * binary_big_endian format. From the vertex element it reads x, y, z, nx, ny, nz, red, green,
+ * blue and alpha, with integer colours scaled to [0, 1]; from the face element the
+ * vertex_indices (or vertex_index) list, split into a fan of triangles. Other properties and
+ * elements are skipped.
+ *
+ * Only the short header is read as text. The body is read in one pass over the buffer: binary
+ * values with absolute gets, ascii values through a {@link TextTokenizer}, straight into
+ * primitive arrays. Unlike OBJ, the body is not split across threads: binary rows need no
+ * tokenizing, and an ascii line cannot be told to be a vertex or a face without counting the
+ * lines before it.
+ */
+public final class PlyImporter
+{
+    private static final int FORMAT_ASCII = 0;
+    private static final int FORMAT_BINARY_LITTLE_ENDIAN = 1;
+    private static final int FORMAT_BINARY_BIG_ENDIAN = 2;
+
+    /** Scalar types, in the order of TYPE_NAMES and TYPE_SIZES. */
+    private static final int TYPE_CHAR = 0;
+    private static final int TYPE_UCHAR = 1;
+    private static final int TYPE_SHORT = 2;
+    private static final int TYPE_USHORT = 3;
+    private static final int TYPE_INT = 4;
+    private static final int TYPE_UINT = 5;
+    private static final int TYPE_FLOAT = 6;
+    private static final int TYPE_DOUBLE = 7;
+
+    private static final String[][] TYPE_NAMES = {
+            {"char", "int8"}, {"uchar", "uint8"}, {"short", "int16"}, {"ushort", "uint16"},
+            {"int", "int32"}, {"uint", "uint32"}, {"float", "float32"}, {"double", "float64"}
+    };
+    private static final int[] TYPE_SIZES = {1, 1, 2, 2, 4, 4, 4, 8};
+
+    /** Integer colours are scaled by the largest value of their type. */
+    private static final float[] TYPE_COLOR_SCALES = {1.0f / 127.0f, 1.0f / 255.0f, 1.0f / 32767.0f, 1.0f / 65535.0f,
+            1.0f / Integer.MAX_VALUE, 1.0f / 4294967295.0f, 1.0f, 1.0f};
+
+    /** Where a vertex property goes: an offset into the position, normal or colour of the vertex. */
+    private static final int TARGET_NONE = -1;
+    private static final String[] TARGET_NAMES = {"x", "y", "z", "nx", "ny", "nz", "red", "green", "blue", "alpha"};
+
+    private static final byte[] END_HEADER = {'e', 'n', 'd', '_', 'h', 'e', 'a', 'd', 'e', 'r'};
+
+    /**
+     * One property of an element, a scalar or a list.
+     */
+    private static final class Property
+    {
+        String mName;
+        int mType;
+        boolean mList;
+        int mCountType;
+    }
+
+    /**
+     * One element of the header and its properties.
+     */
+    private static final class Element
+    {
+        String mName;
+        int mCount;
+        final ArrayList<Property> mProperties = new ArrayList<Property>();
+    }
+
+    private final TextTokenizer mTokenizer = new TextTokenizer();
+
+    /** The values of one vertex, in TARGET_NAMES order, reused for every row. */
+    private final float[] mRow = new float[TARGET_NAMES.length];
+
+    /** Face corners of the current polygon, reused for every face. */
+    private final IntArray mFace = new IntArray(8);
+
+    /**
+     * Maps and imports a PLY file.
+     *
+     * @param file The PLY file.
+     * @return The mesh.
+     * @throws IOException If the file cannot be read or is malformed.
+     */
+    public MeshData read(final File file) throws IOException
+    {
+        final RandomAccessFile input = new RandomAccessFile(file, "r");
+        try
+        {
+            final long length = input.length();
+            if (length > Integer.MAX_VALUE)
+            {
+                throw new IOException("PLY file is too large to map: " + length);
+            }
+            return read(input.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length));
+        }
+        finally
+        {
+            input.close();
+        }
+    }
+
+    /**
+     * Imports a PLY file held in a buffer.
+     *
+     * @param source The file, from 0 to its capacity.
+     * @return The mesh.
+     * @throws IOException If the data is malformed.
+     */
+    public MeshData read(final ByteBuffer source) throws IOException
+    {
+        final int headerEnd = findHeaderEnd(source);
+        final ArrayList<Element> elements = new ArrayList<Element>();
+        final int format = parseHeader(readAscii(source, headerEnd), elements);
+        final ByteBuffer data = source.duplicate().order(format == FORMAT_BINARY_BIG_ENDIAN
+                ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+
+        float[] positions = null;
+        float[] normals = null;
+        float[] colors = null;
+        int vertexCount = 0;
+        IntArray indices = null;
+
+        int position = headerEnd;
+        final TextTokenizer tokenizer = mTokenizer;
+        tokenizer.reset(data, headerEnd, data.capacity());
+        try
+        {
+            for (Element element : elements)
+            {
+                if (element.mName.equals("vertex"))
+                {
+                    if (positions != null)
+                    {
+                        throw new IOException("PLY has two vertex elements.");
+                    }
+                    final int[] targets = vertexTargets(element);
+                    vertexCount = element.mCount;
+                    positions = new float[vertexCount * 3];
+                    normals = hasTargets(targets, 3, 6) ? new float[vertexCount * 3] : null;
+                    colors = hasTargets(targets, 6, 10) ? new float[vertexCount * 4] : null;
+                    position = readVertices(format, data, position, element, targets, positions, normals, colors);
+                }
+                else if (element.mName.equals("face"))
+                {
+                    indices = new IntArray(element.mCount * 3);
+                    position = readFaces(format, data, position, element, indices);
+                }
+                else
+                {
+                    position = skipElement(format, data, position, element);
+                }
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IOException("Malformed PLY: " + e.getMessage());
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            throw new IOException("PLY body is truncated.");
+        }
+
+        if (positions == null || indices == null)
+        {
+            throw new IOException("PLY has no vertex or no face element.");
+        }
+        final int[] triangles = indices.toArray();
+        for (int i = 0; i < triangles.length; i++)
+        {
+            if (triangles[i] < 0 || triangles[i] >= vertexCount)
+            {
+                throw new IOException("Face refers to vertex " + triangles[i] + " of " + vertexCount);
+            }
+        }
+        return new MeshData(positions, colors, normals, vertexCount, triangles);
+    }
+
+    private int readVertices(final int format, final ByteBuffer data, int position, final Element element,
+                             final int[] targets, final float[] positions, final float[] normals,
+                             final float[] colors)
+    {
+        final float[] row = mRow;
+        final ArrayList<Property> properties = element.mProperties;
+        final int propertyCount = properties.size();
+        final TextTokenizer tokenizer = mTokenizer;
+
+        // Colours missing from the file are opaque white.
+        row[6] = row[7] = row[8] = row[9] = 1.0f;
+        for (int v = 0; v < element.mCount; v++)
+        {
+            for (int p = 0; p < propertyCount; p++)
+            {
+                final Property property = properties.get(p);
+                if (property.mList)
+                {
+                    // A list on a vertex is not something we draw; step over it.
+                    position = skipList(format, data, position, property);
+                    continue;
+                }
+
+                final float value;
+                if (format == FORMAT_ASCII)
+                {
+                    value = tokenizer.nextFloat();
+                }
+                else
+                {
+                    value = (float) readScalar(data, position, property.mType);
+                    position += TYPE_SIZES[property.mType];
+                }
+
+                final int target = targets[p];
+                if (target >= 6)
+                {
+                    row[target] = value * TYPE_COLOR_SCALES[property.mType];
+                }
+                else if (target != TARGET_NONE)
+                {
+                    row[target] = value;
+                }
+            }
+            if (format == FORMAT_ASCII)
+            {
+                tokenizer.nextLine();
+            }
+
+            positions[v * 3] = row[0];
+            positions[v * 3 + 1] = row[1];
+            positions[v * 3 + 2] = row[2];
+            if (normals != null)
+            {
+                normals[v * 3] = row[3];
+                normals[v * 3 + 1] = row[4];
+                normals[v * 3 + 2] = row[5];
+            }
+            if (colors != null)
+            {
+                colors[v * 4] = row[6];
+                colors[v * 4 + 1] = row[7];
+                colors[v * 4 + 2] = row[8];
+                colors[v * 4 + 3] = row[9];
+            }
+        }
+        return position;
+    }
+
+    private int readFaces(final int format, final ByteBuffer data, int position, final Element element,
+                          final IntArray indices) throws IOException
+    {
+        final ArrayList<Property> properties = element.mProperties;
+        final int propertyCount = properties.size();
+        final TextTokenizer tokenizer = mTokenizer;
+        final IntArray face = mFace;
+
+        for (int f = 0; f < element.mCount; f++)
+        {
+            for (int p = 0; p < propertyCount; p++)
+            {
+                final Property property = properties.get(p);
+                final boolean corners = property.mList
+                        && (property.mName.equals("vertex_indices") || property.mName.equals("vertex_index"));
+                if (!corners)
+                {
+                    position = property.mList ? skipList(format, data, position, property)
+                            : skipScalar(format, data, position, property.mType);
+                    continue;
+                }
+
+                face.clear();
+                final int count;
+                if (format == FORMAT_ASCII)
+                {
+                    count = tokenizer.nextInt();
+                    for (int i = 0; i < count; i++)
+                    {
+                        face.add(tokenizer.nextInt());
+                    }
+                }
+                else
+                {
+                    count = (int) readScalar(data, position, property.mCountType);
+                    position += TYPE_SIZES[property.mCountType];
+                    final int size = TYPE_SIZES[property.mType];
+                    for (int i = 0; i < count; i++)
+                    {
+                        face.add((int) readScalar(data, position, property.mType));
+                        position += size;
+                    }
+                }
+                if (count < 3)
+                {
+                    throw new IOException("PLY face with " + count + " corners.");
+                }
+                for (int i = 1; i + 1 < count; i++)
+                {
+                    indices.add(face.get(0), face.get(i), face.get(i + 1));
+                }
+            }
+            if (format == FORMAT_ASCII)
+            {
+                tokenizer.nextLine();
+            }
+        }
+        return position;
+    }
+
+    private int skipElement(final int format, final ByteBuffer data, int position, final Element element)
+    {
+        for (int i = 0; i < element.mCount; i++)
+        {
+            if (format == FORMAT_ASCII)
+            {
+                mTokenizer.nextLine();
+                continue;
+            }
+            for (Property property : element.mProperties)
+            {
+                position = property.mList ? skipList(format, data, position, property)
+                        : skipScalar(format, data, position, property.mType);
+            }
+        }
+        return position;
+    }
+
+    private int skipList(final int format, final ByteBuffer data, final int position, final Property property)
+    {
+        if (format == FORMAT_ASCII)
+        {
+            final int count = mTokenizer.nextInt();
+            for (int i = 0; i < count; i++)
+            {
+                mTokenizer.skipToken();
+            }
+            return position;
+        }
+        final int count = (int) readScalar(data, position, property.mCountType);
+        return position + TYPE_SIZES[property.mCountType] + count * TYPE_SIZES[property.mType];
+    }
+
+    private int skipScalar(final int format, final ByteBuffer data, final int position, final int type)
+    {
+        if (format == FORMAT_ASCII)
+        {
+            mTokenizer.skipToken();
+            return position;
+        }
+        return position + TYPE_SIZES[type];
+    }
+
+    private static double readScalar(final ByteBuffer data, final int position, final int type)
+    {
+        switch (type)
+        {
+            case TYPE_CHAR:
+                return data.get(position);
+            case TYPE_UCHAR:
+                return data.get(position) & 0xff;
+            case TYPE_SHORT:
+                return data.getShort(position);
+            case TYPE_USHORT:
+                return data.getShort(position) & 0xffff;
+            case TYPE_INT:
+                return data.getInt(position);
+            case TYPE_UINT:
+                return data.getInt(position) & 0xffffffffL;
+            case TYPE_FLOAT:
+                return data.getFloat(position);
+            default:
+                return data.getDouble(position);
+        }
+    }
+
+    private static int[] vertexTargets(final Element element)
+    {
+        final int[] targets = new int[element.mProperties.size()];
+        for (int p = 0; p < targets.length; p++)
+        {
+            targets[p] = TARGET_NONE;
+            final String name = element.mProperties.get(p).mName;
+            for (int t = 0; t < TARGET_NAMES.length; t++)
+            {
+                if (TARGET_NAMES[t].equals(name))
+                {
+                    targets[p] = t;
+                }
+            }
+        }
+        return targets;
+    }
+
+    private static boolean hasTargets(final int[] targets, final int from, final int to)
+    {
+        for (int target : targets)
+        {
+            if (target >= from && target < to)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The index of the first body byte, just past the "end_header" line.
+     */
+    private static int findHeaderEnd(final ByteBuffer source) throws IOException
+    {
+        final int length = source.capacity();
+        int lineStart = 0;
+        while (lineStart < length)
+        {
+            int match = 0;
+            while (match < END_HEADER.length && lineStart + match < length
+                    && source.get(lineStart + match) == END_HEADER[match])
+            {
+                match++;
+            }
+
+            int lineEnd = lineStart;
+            while (lineEnd < length && source.get(lineEnd) != '\n')
+            {
+                lineEnd++;
+            }
+            if (match == END_HEADER.length)
+            {
+                return Math.min(lineEnd + 1, length);
+            }
+            lineStart = lineEnd + 1;
+        }
+        throw new IOException("PLY header has no end_header.");
+    }
+
+    private static String readAscii(final ByteBuffer source, final int length)
+    {
+        final byte[] bytes = new byte[length];
+        final ByteBuffer view = source.duplicate();
+        view.position(0);
+        view.get(bytes);
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+        {
+            chars[i] = (char) (bytes[i] & 0xff);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Reads the header lines into elements.
+     *
+     * @return One of the FORMAT_ constants.
+     */
+    private static int parseHeader(final String header, final ArrayList<Element> elements) throws IOException
+    {
+        final String[] lines = header.split("\r?\n");
+        if (lines.length == 0 || !lines[0].trim().equals("ply"))
+        {
+            throw new IOException("Not a PLY file.");
+        }
+
+        int format = -1;
+        Element element = null;
+        for (int i = 1; i < lines.length; i++)
+        {
+            final String[] tokens = lines[i].trim().split("\\s+");
+            final String keyword = tokens[0];
+            if (keyword.equals("format") && tokens.length >= 2)
+            {
+                if (tokens[1].equals("ascii"))
+                {
+                    format = FORMAT_ASCII;
+                }
+                else if (tokens[1].equals("binary_little_endian"))
+                {
+                    format = FORMAT_BINARY_LITTLE_ENDIAN;
+                }
+                else if (tokens[1].equals("binary_big_endian"))
+                {
+                    format = FORMAT_BINARY_BIG_ENDIAN;
+                }
+                else
+                {
+                    throw new IOException("Unknown PLY format: " + tokens[1]);
+                }
+            }
+            else if (keyword.equals("element") && tokens.length >= 3)
+            {
+                element = new Element();
+                element.mName = tokens[1];
+                try
+                {
+                    element.mCount = Integer.parseInt(tokens[2]);
+                }
+                catch (NumberFormatException e)
+                {
+                    throw new IOException("Bad PLY element count: " + tokens[2]);
+                }
+                elements.add(element);
+            }
+            else if (keyword.equals("property"))
+            {
+                if (element == null)
+                {
+                    throw new IOException("PLY property before any element.");
+                }
+                final Property property = new Property();
+                if (tokens.length >= 5 && tokens[1].equals("list"))
+                {
+                    property.mList = true;
+                    property.mCountType = parseType(tokens[2]);
+                    property.mType = parseType(tokens[3]);
+                    property.mName = tokens[4];
+                }
+                else if (tokens.length >= 3)
+                {
+                    property.mType = parseType(tokens[1]);
+                    property.mName = tokens[2];
+                }
+                else
+                {
+                    throw new IOException("Bad PLY property: " + lines[i]);
+                }
+                element.mProperties.add(property);
+            }
+            // comment, obj_info and end_header carry nothing we need.
+        }
+
+        if (format < 0)
+        {
+            throw new IOException("PLY header has no format.");
+        }
+        return format;
+    }
+
+    private static int parseType(final String name) throws IOException
+    {
+        for (int type = 0; type < TYPE_NAMES.length; type++)
+        {
+            if (TYPE_NAMES[type][0].equals(name) || TYPE_NAMES[type][1].equals(name))
+            {
+                return type;
+            }
+        }
+        throw new IOException("Unknown PLY type: " + name);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,509 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps linked programs on disk as driver binaries, so a later run or a recreated context can
+ * load them with glProgramBinary instead of compiling and linking the sources again. Used by
+ * {@link ProgramCache} when one is set with {@link ProgramCache#setBinaryCache(ProgramBinaryCache)}.
+ *
+ * Each program is one file named after its source hash. The file holds:
+ * <ul>
+ * <li>a header,</li>
+ * <li>the GL_VENDOR, GL_RENDERER and GL_VERSION strings of the driver that produced it,</li>
+ * <li>the sources and attribute bindings,</li>
+ * <li>the binary format and bytes,</li>
+ * <li>a CRC32 of everything before it.</li>
+ * </ul>
+ * An entry is discarded, and the program built from source, if any of the following holds:
+ * <ul>
+ * <li>it is truncated or its CRC does not match;</li>
+ * <li>it comes from another driver or driver version;</li>
+ * <li>its sources differ;</li>
+ * <li>the driver refuses to link it.</li>
+ * </ul>
+ *
+ * Nothing is loaded or stored when the driver reports no binary formats, or when an ES 2.0
+ * context does not list GL_OES_get_program_binary, whose entry points may then be missing. The class only talks
+ * to {@link GL} and java.io, so it runs on a plain JVM against {@link NoOpGL}.
+ */
+public class ProgramBinaryCache
+{
+    /** "GLPB". */
+    private static final int MAGIC = 0x474C5042;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String FILE_PREFIX = "program-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    /** The ES 2.0 extension that adds the binary entry points. */
+    private static final String EXTENSION = "GL_OES_get_program_binary";
+
+    private static final String VERSION_PREFIX = "OpenGL ES ";
+
+    /**
+     * A decoded cache file.
+     */
+    static final class Entry
+    {
+        String mVendor;
+        String mRenderer;
+        String mVersion;
+        String mVertexSource;
+        String mFragmentSource;
+        String[] mAttributes;
+        int mBinaryFormat;
+        byte[] mBinary;
+    }
+
+    private final File mDirectory;
+
+    /** Programs loaded from a binary. */
+    private int mLoadCount;
+
+    /** Programs saved as a binary. */
+    private int mStoreCount;
+
+    /** Entries discarded as corrupt, stale or refused by the driver. */
+    private int mRejectCount;
+
+    /**
+     * @param directory Where the binaries are kept, e.g. a directory under Context.getCacheDir().
+     *                  Created when the first binary is stored.
+     */
+    public ProgramBinaryCache(final File directory)
+    {
+        mDirectory = directory;
+    }
+
+    /**
+     * Creates a program from the stored binary of the given sources.
+     *
+     * @param gl The GL of the current context.
+     * @param key The source hash the program is cached under.
+     * @return The linked program handle, or 0 if there is no usable binary.
+     */
+    public synchronized int load(final GL gl, final long key, final String vertexSource, final String fragmentSource,
+                                 final String[] attributes)
+    {
+        final File file = getFile(key);
+        if (!file.isFile() || !isSupported(gl))
+        {
+            return 0;
+        }
+
+        final Entry entry;
+        try
+        {
+            entry = decode(readFile(file));
+        }
+        catch (IOException e)
+        {
+            return 0;
+        }
+
+        if (entry == null
+                || !entry.mVendor.equals(String.valueOf(gl.glGetString(GL.GL_VENDOR)))
+                || !entry.mRenderer.equals(String.valueOf(gl.glGetString(GL.GL_RENDERER)))
+                || !entry.mVersion.equals(String.valueOf(gl.glGetString(GL.GL_VERSION)))
+                || !entry.mVertexSource.equals(vertexSource)
+                || !entry.mFragmentSource.equals(fragmentSource)
+                || !sameAttributes(entry.mAttributes, attributes))
+        {
+            reject(file);
+            return 0;
+        }
+
+        final int programHandle = gl.glCreateProgram();
+        if (programHandle == 0)
+        {
+            return 0;
+        }
+
+        final ByteBuffer binary = ByteBuffer.allocateDirect(entry.mBinary.length).order(ByteOrder.nativeOrder());
+        binary.put(entry.mBinary).position(0);
+        gl.glProgramBinary(programHandle, entry.mBinaryFormat, binary, entry.mBinary.length);
+
+        final int[] linkStatus = new int[1];
+        gl.glGetProgramiv(programHandle, GL.GL_LINK_STATUS, linkStatus, 0);
+        if (linkStatus[0] == 0)
+        {
+            // Usually a driver update that kept its version string.
+            gl.glDeleteProgram(programHandle);
+            reject(file);
+            return 0;
+        }
+
+        mLoadCount++;
+        return programHandle;
+    }
+
+    /**
+     * Saves a freshly linked program. Failing to save only means it is built from source again
+     * next time.
+     *
+     * @param gl The GL of the current context.
+     * @param key The source hash the program is cached under.
+     * @param programHandle The linked program.
+     * @return True if the binary was written.
+     */
+    public synchronized boolean store(final GL gl, final long key, final int programHandle, final String vertexSource,
+                                      final String fragmentSource, final String[] attributes)
+    {
+        if (!isSupported(gl))
+        {
+            return false;
+        }
+
+        final int[] length = new int[1];
+        gl.glGetProgramiv(programHandle, GL.GL_PROGRAM_BINARY_LENGTH, length, 0);
+        final int capacity = length[0];
+        if (capacity <= 0)
+        {
+            return false;
+        }
+
+        // A call that fails or writes nothing must not look like a binary of the queried length.
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+        final int[] format = {-1};
+        length[0] = 0;
+        gl.glGetProgramBinary(programHandle, capacity, length, 0, format, 0, buffer);
+        if (gl.glGetError() != GL.GL_NO_ERROR || length[0] <= 0 || length[0] > capacity
+                || !isListedFormat(gl, format[0]))
+        {
+            return false;
+        }
+
+        final Entry entry = new Entry();
+        entry.mVendor = String.valueOf(gl.glGetString(GL.GL_VENDOR));
+        entry.mRenderer = String.valueOf(gl.glGetString(GL.GL_RENDERER));
+        entry.mVersion = String.valueOf(gl.glGetString(GL.GL_VERSION));
+        entry.mVertexSource = vertexSource;
+        entry.mFragmentSource = fragmentSource;
+        entry.mAttributes = attributes;
+        entry.mBinaryFormat = format[0];
+        entry.mBinary = new byte[length[0]];
+        buffer.position(0);
+        buffer.get(entry.mBinary);
+
+        try
+        {
+            writeFile(getFile(key), encode(entry));
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+
+        mStoreCount++;
+        return true;
+    }
+
+    /**
+     * Deletes every stored binary.
+     */
+    public synchronized void clear()
+    {
+        final File[] files = mDirectory.listFiles();
+        if (files == null)
+        {
+            return;
+        }
+        for (File file : files)
+        {
+            if (file.getName().startsWith(FILE_PREFIX))
+            {
+                file.delete();
+            }
+        }
+    }
+
+    public synchronized int getLoadCount()
+    {
+        return mLoadCount;
+    }
+
+    public synchronized int getStoreCount()
+    {
+        return mStoreCount;
+    }
+
+    public synchronized int getRejectCount()
+    {
+        return mRejectCount;
+    }
+
+    /**
+     * @return The file the program with the given source hash is stored in.
+     */
+    File getFile(final long key)
+    {
+        return new File(mDirectory, FILE_PREFIX + Long.toHexString(key) + FILE_SUFFIX);
+    }
+
+    /**
+     * Serializes an entry, checksum included.
+     */
+    static byte[] encode(final Entry entry) throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(entry.mBinary.length + 1024);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(entry.mVendor);
+        out.writeUTF(entry.mRenderer);
+        out.writeUTF(entry.mVersion);
+        out.writeUTF(entry.mVertexSource);
+        out.writeUTF(entry.mFragmentSource);
+
+        final int attributeCount = entry.mAttributes == null ? 0 : entry.mAttributes.length;
+        out.writeInt(attributeCount);
+        for (int i = 0; i < attributeCount; i++)
+        {
+            out.writeUTF(entry.mAttributes[i]);
+        }
+
+        out.writeInt(entry.mBinaryFormat);
+        out.writeInt(entry.mBinary.length);
+        out.write(entry.mBinary);
+
+        final CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Parses and validates a serialized entry.
+     *
+     * @return The entry, or null if the data is truncated, corrupt or from another format version.
+     */
+    static Entry decode(final byte[] data)
+    {
+        if (data.length < 12)
+        {
+            return null;
+        }
+
+        // Check the whole file before trusting any length inside it.
+        final CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        final int storedCrc = ((data[data.length - 4] & 0xff) << 24) | ((data[data.length - 3] & 0xff) << 16)
+                | ((data[data.length - 2] & 0xff) << 8) | (data[data.length - 1] & 0xff);
+        if ((int) crc.getValue() != storedCrc)
+        {
+            return null;
+        }
+
+        final ByteArrayInputStream bytes = new ByteArrayInputStream(data, 0, data.length - 4);
+        final DataInputStream in = new DataInputStream(bytes);
+        try
+        {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION)
+            {
+                return null;
+            }
+
+            final Entry entry = new Entry();
+            entry.mVendor = in.readUTF();
+            entry.mRenderer = in.readUTF();
+            entry.mVersion = in.readUTF();
+            entry.mVertexSource = in.readUTF();
+            entry.mFragmentSource = in.readUTF();
+
+            // Every attribute takes at least its 2-byte length.
+            final int attributeCount = in.readInt();
+            if (attributeCount < 0 || attributeCount > bytes.available() / 2)
+            {
+                return null;
+            }
+            entry.mAttributes = new String[attributeCount];
+            for (int i = 0; i < attributeCount; i++)
+            {
+                entry.mAttributes[i] = in.readUTF();
+            }
+
+            entry.mBinaryFormat = in.readInt();
+            final int length = in.readInt();
+            if (length <= 0 || length != bytes.available())
+            {
+                return null;
+            }
+            entry.mBinary = new byte[length];
+            in.readFully(entry.mBinary);
+            return entry;
+        }
+        catch (IOException e)
+        {
+            // A length field pointing past the end, or malformed UTF-8.
+            return null;
+        }
+    }
+
+    private static boolean isSupported(final GL gl)
+    {
+        if (!isEs3(gl.glGetString(GL.GL_VERSION)) && !hasExtension(gl.glGetString(GL.GL_EXTENSIONS), EXTENSION))
+        {
+            return false;
+        }
+
+        final int[] formats = new int[1];
+        gl.glGetIntegerv(GL.GL_NUM_PROGRAM_BINARY_FORMATS, formats, 0);
+        return formats[0] > 0;
+    }
+
+    /**
+     * @param version GL_VERSION, "OpenGL ES major.minor" followed by anything.
+     */
+    static boolean isEs3(final String version)
+    {
+        if (version == null || !version.startsWith(VERSION_PREFIX) || version.length() <= VERSION_PREFIX.length())
+        {
+            return false;
+        }
+        final char major = version.charAt(VERSION_PREFIX.length());
+        return major >= '3' && major <= '9';
+    }
+
+    /**
+     * @param extensions GL_EXTENSIONS, names separated by spaces.
+     */
+    static boolean hasExtension(final String extensions, final String name)
+    {
+        if (extensions == null)
+        {
+            return false;
+        }
+        int start = extensions.indexOf(name);
+        while (start >= 0)
+        {
+            // A whole name, not the prefix of a longer one.
+            final int end = start + name.length();
+            if ((start == 0 || extensions.charAt(start - 1) == ' ')
+                    && (end == extensions.length() || extensions.charAt(end) == ' '))
+            {
+                return true;
+            }
+            start = extensions.indexOf(name, end);
+        }
+        return false;
+    }
+
+    /**
+     * @return True if the driver lists the format among its GL_PROGRAM_BINARY_FORMATS.
+     */
+    private static boolean isListedFormat(final GL gl, final int format)
+    {
+        final int[] count = new int[1];
+        gl.glGetIntegerv(GL.GL_NUM_PROGRAM_BINARY_FORMATS, count, 0);
+        if (count[0] <= 0)
+        {
+            return false;
+        }
+
+        final int[] formats = new int[count[0]];
+        gl.glGetIntegerv(GL.GL_PROGRAM_BINARY_FORMATS, formats, 0);
+        for (int i = 0; i < formats.length; i++)
+        {
+            if (formats[i] == format)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean sameAttributes(final String[] stored, final String[] attributes)
+    {
+        final int count = attributes == null ? 0 : attributes.length;
+        if (stored.length != count)
+        {
+            return false;
+        }
+        for (int i = 0; i < count; i++)
+        {
+            if (!stored[i].equals(attributes[i]))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void reject(final File file)
+    {
+        file.delete();
+        mRejectCount++;
+    }
+
+    private static byte[] readFile(final File file) throws IOException
+    {
+        final long length = file.length();
+        if (length > Integer.MAX_VALUE)
+        {
+            throw new IOException("Cache file too large: " + file);
+        }
+
+        final byte[] data = new byte[(int) length];
+        final DataInputStream in = new DataInputStream(new FileInputStream(file));
+        try
+        {
+            in.readFully(data);
+        }
+        finally
+        {
+            in.close();
+        }
+        return data;
+    }
+
+    /**
+     * Writes to a temporary file first and renames it, so a crash never leaves half a file
+     * under the real name.
+     */
+    private void writeFile(final File file, final byte[] data) throws IOException
+    {
+        if (!mDirectory.isDirectory() && !mDirectory.mkdirs())
+        {
+            throw new IOException("Cannot create " + mDirectory);
+        }
+
+        final File temp = new File(mDirectory, file.getName() + ".tmp");
+        final FileOutputStream out = new FileOutputStream(temp);
+        try
+        {
+            out.write(data);
+            out.getFD().sync();
+        }
+        finally
+        {
+            out.close();
+        }
+
+        if (!temp.renameTo(file))
+        {
+            temp.delete();
+            throw new IOException("Cannot rename " + temp + " to " + file);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,406 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Compiles and links each shader program once and hands back the same {@link ShaderProgram} for
+ * every later request with identical sources. Programs are keyed by a 64-bit hash of the vertex
+ * source, fragment source and bound attribute names.
+ *
+ * Program handles belong to the EGL context they were created in, so renderers must call
+ * {@link #invalidate()} from onSurfaceCreated, which runs every time the context is (re)created.
+ *
+ * With a {@link ProgramBinaryCache} set, programs missing from memory are first looked for on
+ * disk, and programs built from source are saved there, so they survive context loss and restarts.
+ */
+public class ProgramCache
+{
+    /** The cache shared by all renderers. */
+    private static final ProgramCache sShared = new ProgramCache();
+
+    /** Directory under the app's cache directory that {@link #ensureBinaryCache(File)} uses. */
+    public static final String BINARY_DIRECTORY = "programs";
+
+    /** Linked programs by source hash. */
+    private final HashMap<Long, ShaderProgram> mPrograms = new HashMap<Long, ShaderProgram>();
+
+    /** Number of requests answered from the cache. */
+    private int mHitCount;
+
+    /** Number of requests that had to compile and link. */
+    private int mMissCount;
+
+    /** Linked programs kept on disk, or null. */
+    private ProgramBinaryCache mBinaryCache;
+
+    /**
+     * @return The process-wide cache used by the renderers.
+     */
+    public static ProgramCache getShared()
+    {
+        return sShared;
+    }
+
+    /**
+     * Returns the program built from the given sources, compiling and linking it on first use.
+     *
+     * @param gl The GL to compile with if the program is not cached yet.
+     * @param vertexSource The vertex shader source code.
+     * @param fragmentSource The fragment shader source code.
+     * @param attributes Attributes to bind to locations 0..n-1 before linking, or null.
+     * @return The linked program, with all declared uniform and attribute locations resolved.
+     */
+    public synchronized ShaderProgram getProgram(final GL gl, final String vertexSource, final String fragmentSource,
+                                                 final String[] attributes)
+    {
+        long key = keyOf(vertexSource, fragmentSource, attributes);
+
+        // Probe past any entry whose hash collides with ours but was built from other sources.
+        ShaderProgram program = mPrograms.get(key);
+        while (program != null && !program.matches(vertexSource, fragmentSource, attributes))
+        {
+            key++;
+            program = mPrograms.get(key);
+        }
+
+        if (program != null)
+        {
+            mHitCount++;
+            return program;
+        }
+
+        mMissCount++;
+        program = buildProgram(gl, mBinaryCache, key, vertexSource, fragmentSource, attributes);
+        mPrograms.put(key, program);
+        return program;
+    }
+
+    /**
+     * Returns the program of a shader variant, compiling and linking it on first use.
+     *
+     * @param gl The GL to compile with if the program is not cached yet.
+     * @param variant The variant, from {@link ShaderTemplate#getVariant(String...)}.
+     * @return The linked program. Variants with the same normalized sources share it.
+     */
+    public ShaderProgram getProgram(final GL gl, final ShaderVariant variant)
+    {
+        return getProgram(gl, variant.getVertexSource(), variant.getFragmentSource(), variant.attributes());
+    }
+
+    /**
+     * Builds the programs of every listed variant that is not cached yet, so the compile and link
+     * cost is paid up front, e.g. in onSurfaceCreated, instead of on the frame a variant is first drawn.
+     *
+     * @param gl The GL of the current context.
+     * @param variants The variants the renderer may draw with.
+     * @return The number of programs that had to be built.
+     */
+    public synchronized int warmUp(final GL gl, final ShaderVariant[] variants)
+    {
+        final int missCount = mMissCount;
+        for (ShaderVariant variant : variants)
+        {
+            getProgram(gl, variant);
+        }
+        return mMissCount - missCount;
+    }
+
+    /**
+     * Forgets every cached program without deleting it. Call this when the EGL context has been
+     * lost, since the old handles died with it.
+     */
+    public synchronized void invalidate()
+    {
+        mPrograms.clear();
+    }
+
+    /**
+     * Deletes every cached program. The context the programs were created in must be current.
+     *
+     * @param gl The GL the programs were created with.
+     */
+    public synchronized void release(final GL gl)
+    {
+        for (ShaderProgram program : mPrograms.values())
+        {
+            gl.glDeleteProgram(program.getHandle());
+        }
+        mPrograms.clear();
+    }
+
+    /**
+     * Sets where linked programs are kept between contexts and runs.
+     *
+     * @param binaryCache The on-disk cache, or null to always build from source.
+     */
+    public synchronized void setBinaryCache(final ProgramBinaryCache binaryCache)
+    {
+        mBinaryCache = binaryCache;
+    }
+
+    public synchronized ProgramBinaryCache getBinaryCache()
+    {
+        return mBinaryCache;
+    }
+
+    /**
+     * Keeps linked programs in BINARY_DIRECTORY under the app's cache directory, unless a binary
+     * cache is set already, e.g. by the activity started before this one. Call from onCreate.
+     *
+     * @param cacheDir The app's cache directory, from Context.getCacheDir().
+     * @return The binary cache in use.
+     */
+    public synchronized ProgramBinaryCache ensureBinaryCache(final File cacheDir)
+    {
+        if (mBinaryCache == null)
+        {
+            mBinaryCache = new ProgramBinaryCache(new File(cacheDir, BINARY_DIRECTORY));
+        }
+        return mBinaryCache;
+    }
+
+    public synchronized int size()
+    {
+        return mPrograms.size();
+    }
+
+    public synchronized int getHitCount()
+    {
+        return mHitCount;
+    }
+
+    public synchronized int getMissCount()
+    {
+        return mMissCount;
+    }
+
+    /**
+     * @return The key a program is first looked up under. Tests override this to force collisions.
+     */
+    long keyOf(final String vertexSource, final String fragmentSource, final String[] attributes)
+    {
+        return hashSources(vertexSource, fragmentSource, attributes);
+    }
+
+    /**
+     * 64-bit FNV-1a hash over both shader sources and the attribute bindings.
+     */
+    static long hashSources(final String vertexSource, final String fragmentSource, final String[] attributes)
+    {
+        long hash = 0xcbf29ce484222325L;
+        hash = hashString(hash, vertexSource);
+        hash = hashString(hash, fragmentSource);
+        if (attributes != null)
+        {
+            for (String attribute : attributes)
+            {
+                hash = hashString(hash, attribute);
+            }
+        }
+        return hash;
+    }
+
+    private static long hashString(long hash, final String value)
+    {
+        final int length = value.length();
+        for (int i = 0; i < length; i++)
+        {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        // Terminate each string so "ab" + "c" and "a" + "bc" hash differently.
+        hash ^= 0xff;
+        hash *= 0x100000001b3L;
+        return hash;
+    }
+
+    private static ShaderProgram buildProgram(final GL gl, final ProgramBinaryCache binaryCache, final long key,
+                                              final String vertexSource, final String fragmentSource,
+                                              final String[] attributes)
+    {
+        int programHandle = binaryCache == null ? 0 : binaryCache.load(gl, key, vertexSource, fragmentSource, attributes);
+        if (programHandle == 0)
+        {
+            final int vertexShaderHandle = compileShader(gl, GL.GL_VERTEX_SHADER, vertexSource);
+            final int fragmentShaderHandle = compileShader(gl, GL.GL_FRAGMENT_SHADER, fragmentSource);
+            programHandle = createAndLinkProgram(gl, vertexShaderHandle, fragmentShaderHandle, attributes);
+
+            // The program keeps its own reference to the shaders, so they can be flagged for deletion now.
+            gl.glDeleteShader(vertexShaderHandle);
+            gl.glDeleteShader(fragmentShaderHandle);
+
+            if (binaryCache != null)
+            {
+                binaryCache.store(gl, key, programHandle, vertexSource, fragmentSource, attributes);
+            }
+        }
+
+        final ArrayList<String> uniforms = new ArrayList<String>();
+        parseDeclarations(vertexSource, "uniform", uniforms);
+        parseDeclarations(fragmentSource, "uniform", uniforms);
+        final String[] uniformNames = uniforms.toArray(new String[uniforms.size()]);
+        final int[] uniformLocations = new int[uniformNames.length];
+        for (int i = 0; i < uniformNames.length; i++)
+        {
+            uniformLocations[i] = gl.glGetUniformLocation(programHandle, uniformNames[i]);
+        }
+
+        final ArrayList<String> attributeList = new ArrayList<String>();
+        parseDeclarations(vertexSource, "attribute", attributeList);
+        final String[] attributeNames = attributeList.toArray(new String[attributeList.size()]);
+        final int[] attributeLocations = new int[attributeNames.length];
+        for (int i = 0; i < attributeNames.length; i++)
+        {
+            attributeLocations[i] = gl.glGetAttribLocation(programHandle, attributeNames[i]);
+        }
+
+        return new ShaderProgram(programHandle, key, vertexSource, fragmentSource, attributes,
+                uniformNames, uniformLocations, attributeNames, attributeLocations);
+    }
+
+    /**
+     * Helper function to compile a shader.
+     *
+     * @param gl The GL to compile with.
+     * @param shaderType The shader type.
+     * @param shaderSource The shader source code.
+     * @return An OpenGL handle to the shader.
+     */
+    private static int compileShader(final GL gl, final int shaderType, final String shaderSource)
+    {
+        final int shaderHandle = gl.glCreateShader(shaderType);
+
+        if (shaderHandle == 0)
+        {
+            throw new RuntimeException("Error creating shader.");
+        }
+
+        // Pass in the shader source.
+        gl.glShaderSource(shaderHandle, shaderSource);
+
+        // Compile the shader.
+        gl.glCompileShader(shaderHandle);
+
+        // Get the compilation status.
+        final int[] compileStatus = new int[1];
+        gl.glGetShaderiv(shaderHandle, GL.GL_COMPILE_STATUS, compileStatus, 0);
+
+        // If the compilation failed, delete the shader.
+        if (compileStatus[0] == 0)
+        {
+            final String log = gl.glGetShaderInfoLog(shaderHandle);
+            gl.glDeleteShader(shaderHandle);
+            throw new RuntimeException("Error compiling shader: " + log);
+        }
+
+        return shaderHandle;
+    }
+
+    /**
+     * Helper function to compile and link a program.
+     *
+     * @param gl The GL to link with.
+     * @param vertexShaderHandle An OpenGL handle to an already-compiled vertex shader.
+     * @param fragmentShaderHandle An OpenGL handle to an already-compiled fragment shader.
+     * @param attributes Attributes that need to be bound to the program.
+     * @return An OpenGL handle to the program.
+     */
+    private static int createAndLinkProgram(final GL gl, final int vertexShaderHandle, final int fragmentShaderHandle,
+                                            final String[] attributes)
+    {
+        final int programHandle = gl.glCreateProgram();
+
+        if (programHandle == 0)
+        {
+            throw new RuntimeException("Error creating program.");
+        }
+
+        // Bind the vertex shader to the program.
+        gl.glAttachShader(programHandle, vertexShaderHandle);
+
+        // Bind the fragment shader to the program.
+        gl.glAttachShader(programHandle, fragmentShaderHandle);
+
+        // Bind attributes
+        if (attributes != null)
+        {
+            final int size = attributes.length;
+            for (int i = 0; i < size; i++)
+            {
+                gl.glBindAttribLocation(programHandle, i, attributes[i]);
+            }
+        }
+
+        // Link the two shaders together into a program.
+        gl.glLinkProgram(programHandle);
+
+        // Get the link status.
+        final int[] linkStatus = new int[1];
+        gl.glGetProgramiv(programHandle, GL.GL_LINK_STATUS, linkStatus, 0);
+
+        // If the link failed, delete the program.
+        if (linkStatus[0] == 0)
+        {
+            final String log = gl.glGetProgramInfoLog(programHandle);
+            gl.glDeleteProgram(programHandle);
+            throw new RuntimeException("Error linking program: " + log);
+        }
+
+        return programHandle;
+    }
+
+    /**
+     * Collects the variable names declared with the given storage qualifier, e.g. "uniform mat4 u_MVPMatrix;"
+     * or "uniform highp vec3 u_A, u_B[2];". Names already in the list are not added again.
+     *
+     * @param source The shader source code.
+     * @param qualifier "uniform" or "attribute".
+     * @param names The list to add the names to.
+     */
+    static void parseDeclarations(final String source, final String qualifier, final ArrayList<String> names)
+    {
+        // Preprocessor lines have no terminating semicolon, so drop them before splitting.
+        final String[] statements = ShaderPreprocessor.stripComments(source).replaceAll("(?m)^\\s*#.*$", "").split(";");
+        for (String statement : statements)
+        {
+            final String[] tokens = statement.trim().split("[\\s,]+");
+            if (tokens.length < 3 || !tokens[0].equals(qualifier))
+            {
+                continue;
+            }
+
+            // Skip the optional precision qualifier and the type.
+            int first = 2;
+            if (tokens[1].equals("lowp") || tokens[1].equals("mediump") || tokens[1].equals("highp"))
+            {
+                first = 3;
+            }
+
+            for (int i = first; i < tokens.length; i++)
+            {
+                String name = tokens[i];
+                final int bracket = name.indexOf('[');
+                if (bracket >= 0)
+                {
+                    name = name.substring(0, bracket);
+                }
+                if (name.length() > 0 && !names.contains(name))
+                {
+                    names.add(name);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
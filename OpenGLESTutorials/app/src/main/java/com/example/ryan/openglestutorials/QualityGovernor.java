@@ -0,0 +1,302 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.Arrays;
+
+/**
+ * Trades image quality for frame rate when a device runs slow or hot, and back when it recovers.
+ * Each quality level sets three levers:
+ * <ul>
+ * <li>render scale - the surface is rendered at this fraction of the view size and upscaled.</li>
+ * <li>detail - scales how many objects are drawn and how far LOD distances reach, 1 for all.</li>
+ * <li>lighting - LIGHTING_PER_VERTEX, or the cheaper LIGHTING_UNLIT.</li>
+ * </ul>
+ * Level 0 is the best quality. Each step down the default ladder lowers one lever.
+ *
+ * Frame times are gathered in windows of WINDOW_FRAMES frames, and each window is judged by its
+ * 90th percentile:
+ * <ul>
+ * <li>The level drops after DOWN_WINDOWS windows in a row whose frame interval is over budget.</li>
+ * <li>It rises after a longer run of windows in a row whose work time is under UP_THRESHOLD of
+ * the budget. Work time is used here because frame intervals cannot drop below the vsync period.</li>
+ * <li>A drop soon after a rise doubles the run needed to rise again, so the governor does not
+ * keep bouncing between two levels.</li>
+ * <li>The window after every change is ignored while the new level settles.</li>
+ * </ul>
+ *
+ * Pure Java and allocation-free per frame, so it can be driven by synthetic frame-time traces.
+ * Must only be used on one thread, normally the GL thread.
+ */
+public class QualityGovernor
+{
+    public static final int LIGHTING_PER_VERTEX = 0;
+    public static final int LIGHTING_UNLIT = 1;
+
+    /**
+     * Told when the quality level changes, on the thread that reported the frame.
+     */
+    public interface OnQualityChangeListener
+    {
+        /**
+         * @param governor The governor, already at the new level.
+         */
+        void onQualityChanged(QualityGovernor governor);
+    }
+
+    /** Frames per judged window, about half a second at 60 frames per second. */
+    static final int WINDOW_FRAMES = 30;
+
+    /** The percentile each window is judged by, as a sample index. */
+    private static final int PERCENTILE_INDEX = WINDOW_FRAMES * 9 / 10;
+
+    /** A window is over budget when its frame interval exceeds the budget by this factor. */
+    private static final float DOWN_THRESHOLD = 1.1f;
+
+    /** A window leaves headroom when its work time is below this fraction of the budget. */
+    private static final float UP_THRESHOLD = 0.6f;
+
+    /** Consecutive over-budget windows before dropping a level. */
+    static final int DOWN_WINDOWS = 2;
+
+    /** Consecutive windows with headroom before rising a level, before any back-off. */
+    static final int UP_WINDOWS = 8;
+
+    /** Most the rising run can be lengthened by back-off. */
+    static final int MAX_UP_WINDOWS = UP_WINDOWS * 8;
+
+    /** The default ladder, best first. */
+    private static final float[] DEFAULT_SCALES = {1.0f, 0.85f, 0.85f, 0.7f, 0.7f, 0.5f, 0.5f};
+    private static final float[] DEFAULT_DETAILS = {1.0f, 1.0f, 0.75f, 0.75f, 0.5f, 0.5f, 0.25f};
+    private static final int[] DEFAULT_LIGHTING = {LIGHTING_PER_VERTEX, LIGHTING_PER_VERTEX, LIGHTING_PER_VERTEX,
+            LIGHTING_PER_VERTEX, LIGHTING_UNLIT, LIGHTING_UNLIT, LIGHTING_UNLIT};
+
+    private final long mTargetFrameNanos;
+    private final float[] mScales;
+    private final float[] mDetails;
+    private final int[] mLighting;
+
+    /** Samples of the window being gathered. Sorted in place when the window is judged. */
+    private final long[] mIntervals = new long[WINDOW_FRAMES];
+    private final long[] mWork = new long[WINDOW_FRAMES];
+    private int mSampleCount;
+
+    private int mLevel;
+    private int mOverWindows;
+    private int mHeadroomWindows;
+    private int mUpWindowsRequired = UP_WINDOWS;
+
+    /**
+     * Windows judged since the last rise, or Integer.MAX_VALUE if the level dropped since. Used to
+     * spot a drop that follows a rise too soon, and a rise held long enough to end the back-off.
+     */
+    private int mWindowsSinceRise = Integer.MAX_VALUE;
+
+    /** Set after a change or reset so the next window is ignored. */
+    private boolean mSettling;
+
+    private OnQualityChangeListener mListener;
+
+    /**
+     * Creates a governor with the default seven-level ladder.
+     *
+     * @param targetFrameNanos The frame budget, e.g. 16666667 for 60 frames per second.
+     */
+    public QualityGovernor(final long targetFrameNanos)
+    {
+        this(targetFrameNanos, DEFAULT_SCALES, DEFAULT_DETAILS, DEFAULT_LIGHTING);
+    }
+
+    /**
+     * Creates a governor with a custom ladder. The arrays are indexed by level, best first.
+     *
+     * @param targetFrameNanos The frame budget.
+     * @param scales Render scale per level, in (0, 1].
+     * @param details Detail per level, in [0, 1].
+     * @param lighting LIGHTING_ constant per level.
+     */
+    public QualityGovernor(final long targetFrameNanos, final float[] scales, final float[] details,
+                           final int[] lighting)
+    {
+        if (targetFrameNanos <= 0)
+        {
+            throw new IllegalArgumentException("Frame budget must be positive: " + targetFrameNanos);
+        }
+        if (scales.length == 0 || details.length != scales.length || lighting.length != scales.length)
+        {
+            throw new IllegalArgumentException("Every level needs a scale, a detail and a lighting mode.");
+        }
+
+        mTargetFrameNanos = targetFrameNanos;
+        mScales = scales.clone();
+        mDetails = details.clone();
+        mLighting = lighting.clone();
+    }
+
+    /**
+     * Records one frame and, at the end of a window, adjusts the level.
+     *
+     * @param intervalNanos Time since the previous frame started, which includes waiting on the GPU.
+     * @param workNanos Time this frame spent on the CPU.
+     * @return True if the level changed.
+     */
+    public boolean onFrame(final long intervalNanos, final long workNanos)
+    {
+        mIntervals[mSampleCount] = intervalNanos;
+        mWork[mSampleCount] = workNanos;
+        if (++mSampleCount < WINDOW_FRAMES)
+        {
+            return false;
+        }
+        mSampleCount = 0;
+
+        if (mSettling)
+        {
+            mSettling = false;
+            return false;
+        }
+
+        Arrays.sort(mIntervals);
+        Arrays.sort(mWork);
+        final boolean over = mIntervals[PERCENTILE_INDEX] > mTargetFrameNanos * DOWN_THRESHOLD;
+        final boolean headroom = !over && mWork[PERCENTILE_INDEX] < mTargetFrameNanos * UP_THRESHOLD;
+
+        if (mWindowsSinceRise < Integer.MAX_VALUE)
+        {
+            mWindowsSinceRise++;
+        }
+
+        mOverWindows = over ? mOverWindows + 1 : 0;
+        mHeadroomWindows = headroom ? mHeadroomWindows + 1 : 0;
+
+        if (mOverWindows >= DOWN_WINDOWS && mLevel < mScales.length - 1)
+        {
+            // Dropping right after a rise means the better level could not be sustained.
+            if (mWindowsSinceRise <= mUpWindowsRequired)
+            {
+                mUpWindowsRequired = Math.min(mUpWindowsRequired * 2, MAX_UP_WINDOWS);
+            }
+            // Time spent below the level that could not be held must not end the back-off.
+            mWindowsSinceRise = Integer.MAX_VALUE;
+            changeLevel(mLevel + 1);
+            return true;
+        }
+
+        if (mHeadroomWindows >= mUpWindowsRequired && mLevel > 0)
+        {
+            mWindowsSinceRise = 0;
+            changeLevel(mLevel - 1);
+            return true;
+        }
+
+        // A rise held long enough earns back the normal rising run.
+        if (mWindowsSinceRise != Integer.MAX_VALUE && mWindowsSinceRise > MAX_UP_WINDOWS)
+        {
+            mUpWindowsRequired = UP_WINDOWS;
+        }
+        return false;
+    }
+
+    /**
+     * Forgets the frames gathered so far and ignores the next window, e.g. after the surface was
+     * recreated and the first frames include one-off setup costs. Keeps the current level.
+     */
+    public void reset()
+    {
+        mSampleCount = 0;
+        mOverWindows = 0;
+        mHeadroomWindows = 0;
+        mSettling = true;
+    }
+
+    /**
+     * Moves to a level directly, e.g. one saved from the last run. Does not notify the listener.
+     *
+     * @param level 0 for the best quality, up to getLevelCount() - 1.
+     */
+    public void setLevel(final int level)
+    {
+        if (level < 0 || level >= mScales.length)
+        {
+            throw new IllegalArgumentException("No quality level " + level);
+        }
+        mLevel = level;
+        reset();
+    }
+
+    public int getLevel()
+    {
+        return mLevel;
+    }
+
+    public int getLevelCount()
+    {
+        return mScales.length;
+    }
+
+    /**
+     * @return The run of windows with headroom currently needed to rise a level.
+     */
+    int getUpWindowsRequired()
+    {
+        return mUpWindowsRequired;
+    }
+
+    public long getTargetFrameNanos()
+    {
+        return mTargetFrameNanos;
+    }
+
+    /**
+     * @return The fraction of the view size to render at.
+     */
+    public float getRenderScale()
+    {
+        return mScales[mLevel];
+    }
+
+    /**
+     * @return How much of the scene to draw, 1 for everything.
+     */
+    public float getDetail()
+    {
+        return mDetails[mLevel];
+    }
+
+    /**
+     * @return The LIGHTING_ constant of the current level.
+     */
+    public int getLighting()
+    {
+        return mLighting[mLevel];
+    }
+
+    /**
+     * Sets the listener told about level changes. It is called on the thread reporting frames.
+     *
+     * @param listener The listener, or null.
+     */
+    public void setOnQualityChangeListener(final OnQualityChangeListener listener)
+    {
+        mListener = listener;
+    }
+
+    private void changeLevel(final int level)
+    {
+        mLevel = level;
+        mOverWindows = 0;
+        mHeadroomWindows = 0;
+        mSettling = true;
+        if (mListener != null)
+        {
+            mListener.onQualityChanged(this);
+        }
+    }
+}
\ No newline at end of file
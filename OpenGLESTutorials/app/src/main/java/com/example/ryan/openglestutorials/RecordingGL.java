@@ -0,0 +1,522 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.Buffer;
+
+/**
+ * Implementation of {@link GL} that counts every call per entry point, for the current frame and
+ * in total, before forwarding it to another GL. Wrapped around a {@link NoOpGL} it lets a renderer
+ * run on a plain JVM and be checked for how many GL calls and draw calls a frame issues:
+ * <pre>
+ * final RecordingGL gl = new RecordingGL();
+ * final IntroToLightingRenderer renderer = new IntroToLightingRenderer(gl);
+ * ...
+ * gl.beginFrame();
+ * renderer.onDrawFrame(null);
+ * assert gl.getFrameCallCount() &lt;= 60;
+ * </pre>
+ *
+ * Entry points are identified by the CALL_ constants. Recording allocates nothing.
+ */
+public class RecordingGL implements GL
+{
+    public static final int CALL_CREATE_SHADER = 0;
+    public static final int CALL_SHADER_SOURCE = 1;
+    public static final int CALL_COMPILE_SHADER = 2;
+    public static final int CALL_GET_SHADERIV = 3;
+    public static final int CALL_GET_SHADER_INFO_LOG = 4;
+    public static final int CALL_DELETE_SHADER = 5;
+    public static final int CALL_CREATE_PROGRAM = 6;
+    public static final int CALL_ATTACH_SHADER = 7;
+    public static final int CALL_BIND_ATTRIB_LOCATION = 8;
+    public static final int CALL_LINK_PROGRAM = 9;
+    public static final int CALL_GET_PROGRAMIV = 10;
+    public static final int CALL_GET_PROGRAM_INFO_LOG = 11;
+    public static final int CALL_DELETE_PROGRAM = 12;
+    public static final int CALL_GET_UNIFORM_LOCATION = 13;
+    public static final int CALL_GET_ATTRIB_LOCATION = 14;
+    public static final int CALL_USE_PROGRAM = 15;
+    public static final int CALL_UNIFORM_3F = 16;
+    public static final int CALL_UNIFORM_MATRIX_4FV = 17;
+    public static final int CALL_GEN_BUFFERS = 18;
+    public static final int CALL_DELETE_BUFFERS = 19;
+    public static final int CALL_BIND_BUFFER = 20;
+    public static final int CALL_BUFFER_DATA = 21;
+    public static final int CALL_BUFFER_SUB_DATA = 22;
+    public static final int CALL_VERTEX_ATTRIB_POINTER = 23;
+    public static final int CALL_ENABLE_VERTEX_ATTRIB_ARRAY = 24;
+    public static final int CALL_DISABLE_VERTEX_ATTRIB_ARRAY = 25;
+    public static final int CALL_VERTEX_ATTRIB_3F = 26;
+    public static final int CALL_DRAW_ARRAYS = 27;
+    public static final int CALL_DRAW_ELEMENTS = 28;
+    public static final int CALL_CLEAR_COLOR = 29;
+    public static final int CALL_CLEAR = 30;
+    public static final int CALL_ENABLE = 31;
+    public static final int CALL_DISABLE = 32;
+    public static final int CALL_VIEWPORT = 33;
+    public static final int CALL_GET_STRING = 34;
+    public static final int CALL_GET_INTEGERV = 35;
+    public static final int CALL_GET_PROGRAM_BINARY = 36;
+    public static final int CALL_PROGRAM_BINARY = 37;
+    public static final int CALL_UNIFORM_3FV = 38;
+    public static final int CALL_GET_ERROR = 39;
+
+    /** Number of entry points, one past the last CALL_ constant. */
+    public static final int CALL_COUNT = 40;
+
+    private static final String[] CALL_NAMES = {
+            "glCreateShader", "glShaderSource", "glCompileShader", "glGetShaderiv", "glGetShaderInfoLog",
+            "glDeleteShader", "glCreateProgram", "glAttachShader", "glBindAttribLocation", "glLinkProgram",
+            "glGetProgramiv", "glGetProgramInfoLog", "glDeleteProgram", "glGetUniformLocation", "glGetAttribLocation",
+            "glUseProgram", "glUniform3f", "glUniformMatrix4fv", "glGenBuffers", "glDeleteBuffers", "glBindBuffer",
+            "glBufferData", "glBufferSubData", "glVertexAttribPointer", "glEnableVertexAttribArray",
+            "glDisableVertexAttribArray", "glVertexAttrib3f", "glDrawArrays", "glDrawElements", "glClearColor",
+            "glClear", "glEnable", "glDisable", "glViewport", "glGetString", "glGetIntegerv", "glGetProgramBinary",
+            "glProgramBinary", "glUniform3fv", "glGetError"
+    };
+
+    /** The GL every call is forwarded to. */
+    private final GL mDelegate;
+
+    /** Calls per entry point since beginFrame() and since creation or reset(). */
+    private final int[] mFrameCounts = new int[CALL_COUNT];
+    private final long[] mTotalCounts = new long[CALL_COUNT];
+
+    /** Vertices (or indices) submitted by draw calls since beginFrame(). */
+    private int mFrameVertexCount;
+
+    /** Number of beginFrame() calls since creation or reset(). */
+    private int mFrameNumber;
+
+    /**
+     * Records calls without drawing anything.
+     */
+    public RecordingGL()
+    {
+        this(new NoOpGL());
+    }
+
+    /**
+     * @param delegate The GL every call is forwarded to after it has been counted.
+     */
+    public RecordingGL(final GL delegate)
+    {
+        mDelegate = delegate;
+    }
+
+    /**
+     * Starts a new frame, clearing the per-frame counts.
+     */
+    public void beginFrame()
+    {
+        for (int i = 0; i < CALL_COUNT; i++)
+        {
+            mFrameCounts[i] = 0;
+        }
+        mFrameVertexCount = 0;
+        mFrameNumber++;
+    }
+
+    /**
+     * Clears every count.
+     */
+    public void reset()
+    {
+        beginFrame();
+        for (int i = 0; i < CALL_COUNT; i++)
+        {
+            mTotalCounts[i] = 0L;
+        }
+        mFrameNumber = 0;
+    }
+
+    /**
+     * @param call One of the CALL_ constants.
+     * @return How often the entry point was called since beginFrame().
+     */
+    public int getFrameCount(final int call)
+    {
+        return mFrameCounts[call];
+    }
+
+    /**
+     * @param call One of the CALL_ constants.
+     * @return How often the entry point was called since creation or reset().
+     */
+    public long getTotalCount(final int call)
+    {
+        return mTotalCounts[call];
+    }
+
+    /**
+     * @return The number of GL calls of any kind since beginFrame().
+     */
+    public int getFrameCallCount()
+    {
+        int count = 0;
+        for (int i = 0; i < CALL_COUNT; i++)
+        {
+            count += mFrameCounts[i];
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of GL calls of any kind since creation or reset().
+     */
+    public long getTotalCallCount()
+    {
+        long count = 0L;
+        for (int i = 0; i < CALL_COUNT; i++)
+        {
+            count += mTotalCounts[i];
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of glDrawArrays and glDrawElements calls since beginFrame().
+     */
+    public int getFrameDrawCallCount()
+    {
+        return mFrameCounts[CALL_DRAW_ARRAYS] + mFrameCounts[CALL_DRAW_ELEMENTS];
+    }
+
+    /**
+     * @return The vertices and indices submitted by draw calls since beginFrame().
+     */
+    public int getFrameVertexCount()
+    {
+        return mFrameVertexCount;
+    }
+
+    public int getFrameNumber()
+    {
+        return mFrameNumber;
+    }
+
+    /**
+     * @param call One of the CALL_ constants.
+     * @return The name of the entry point, e.g. "glDrawElements".
+     */
+    public static String getCallName(final int call)
+    {
+        return CALL_NAMES[call];
+    }
+
+    /**
+     * @return One line per entry point called since beginFrame(), e.g. "glUseProgram: 2".
+     */
+    public String report()
+    {
+        final StringBuilder builder = new StringBuilder(512);
+        for (int i = 0; i < CALL_COUNT; i++)
+        {
+            if (mFrameCounts[i] > 0)
+            {
+                builder.append(CALL_NAMES[i]).append(": ").append(mFrameCounts[i]).append('\n');
+            }
+        }
+        builder.append("total: ").append(getFrameCallCount())
+                .append(" calls, ").append(getFrameDrawCallCount())
+                .append(" draws, ").append(mFrameVertexCount).append(" vertices\n");
+        return builder.toString();
+    }
+
+    private void record(final int call)
+    {
+        mFrameCounts[call]++;
+        mTotalCounts[call]++;
+    }
+
+    @Override
+    public int glCreateShader(int type)
+    {
+        record(CALL_CREATE_SHADER);
+        return mDelegate.glCreateShader(type);
+    }
+
+    @Override
+    public void glShaderSource(int shader, String source)
+    {
+        record(CALL_SHADER_SOURCE);
+        mDelegate.glShaderSource(shader, source);
+    }
+
+    @Override
+    public void glCompileShader(int shader)
+    {
+        record(CALL_COMPILE_SHADER);
+        mDelegate.glCompileShader(shader);
+    }
+
+    @Override
+    public void glGetShaderiv(int shader, int pname, int[] params, int offset)
+    {
+        record(CALL_GET_SHADERIV);
+        mDelegate.glGetShaderiv(shader, pname, params, offset);
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader)
+    {
+        record(CALL_GET_SHADER_INFO_LOG);
+        return mDelegate.glGetShaderInfoLog(shader);
+    }
+
+    @Override
+    public void glDeleteShader(int shader)
+    {
+        record(CALL_DELETE_SHADER);
+        mDelegate.glDeleteShader(shader);
+    }
+
+    @Override
+    public int glCreateProgram()
+    {
+        record(CALL_CREATE_PROGRAM);
+        return mDelegate.glCreateProgram();
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader)
+    {
+        record(CALL_ATTACH_SHADER);
+        mDelegate.glAttachShader(program, shader);
+    }
+
+    @Override
+    public void glBindAttribLocation(int program, int index, String name)
+    {
+        record(CALL_BIND_ATTRIB_LOCATION);
+        mDelegate.glBindAttribLocation(program, index, name);
+    }
+
+    @Override
+    public void glLinkProgram(int program)
+    {
+        record(CALL_LINK_PROGRAM);
+        mDelegate.glLinkProgram(program);
+    }
+
+    @Override
+    public void glGetProgramiv(int program, int pname, int[] params, int offset)
+    {
+        record(CALL_GET_PROGRAMIV);
+        mDelegate.glGetProgramiv(program, pname, params, offset);
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program)
+    {
+        record(CALL_GET_PROGRAM_INFO_LOG);
+        return mDelegate.glGetProgramInfoLog(program);
+    }
+
+    @Override
+    public void glDeleteProgram(int program)
+    {
+        record(CALL_DELETE_PROGRAM);
+        mDelegate.glDeleteProgram(program);
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, String name)
+    {
+        record(CALL_GET_UNIFORM_LOCATION);
+        return mDelegate.glGetUniformLocation(program, name);
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, String name)
+    {
+        record(CALL_GET_ATTRIB_LOCATION);
+        return mDelegate.glGetAttribLocation(program, name);
+    }
+
+    @Override
+    public void glUseProgram(int program)
+    {
+        record(CALL_USE_PROGRAM);
+        mDelegate.glUseProgram(program);
+    }
+
+    @Override
+    public void glUniform3f(int location, float x, float y, float z)
+    {
+        record(CALL_UNIFORM_3F);
+        mDelegate.glUniform3f(location, x, y, z);
+    }
+
+    @Override
+    public void glUniform3fv(int location, int count, float[] value, int offset)
+    {
+        record(CALL_UNIFORM_3FV);
+        mDelegate.glUniform3fv(location, count, value, offset);
+    }
+
+    @Override
+    public void glUniformMatrix4fv(int location, int count, boolean transpose, float[] value, int offset)
+    {
+        record(CALL_UNIFORM_MATRIX_4FV);
+        mDelegate.glUniformMatrix4fv(location, count, transpose, value, offset);
+    }
+
+    @Override
+    public void glGenBuffers(int n, int[] buffers, int offset)
+    {
+        record(CALL_GEN_BUFFERS);
+        mDelegate.glGenBuffers(n, buffers, offset);
+    }
+
+    @Override
+    public void glDeleteBuffers(int n, int[] buffers, int offset)
+    {
+        record(CALL_DELETE_BUFFERS);
+        mDelegate.glDeleteBuffers(n, buffers, offset);
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer)
+    {
+        record(CALL_BIND_BUFFER);
+        mDelegate.glBindBuffer(target, buffer);
+    }
+
+    @Override
+    public void glBufferData(int target, int size, Buffer data, int usage)
+    {
+        record(CALL_BUFFER_DATA);
+        mDelegate.glBufferData(target, size, data, usage);
+    }
+
+    @Override
+    public void glBufferSubData(int target, int offset, int size, Buffer data)
+    {
+        record(CALL_BUFFER_SUB_DATA);
+        mDelegate.glBufferSubData(target, offset, size, data);
+    }
+
+    @Override
+    public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, int offset)
+    {
+        record(CALL_VERTEX_ATTRIB_POINTER);
+        mDelegate.glVertexAttribPointer(index, size, type, normalized, stride, offset);
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index)
+    {
+        record(CALL_ENABLE_VERTEX_ATTRIB_ARRAY);
+        mDelegate.glEnableVertexAttribArray(index);
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index)
+    {
+        record(CALL_DISABLE_VERTEX_ATTRIB_ARRAY);
+        mDelegate.glDisableVertexAttribArray(index);
+    }
+
+    @Override
+    public void glVertexAttrib3f(int index, float x, float y, float z)
+    {
+        record(CALL_VERTEX_ATTRIB_3F);
+        mDelegate.glVertexAttrib3f(index, x, y, z);
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count)
+    {
+        record(CALL_DRAW_ARRAYS);
+        mFrameVertexCount += count;
+        mDelegate.glDrawArrays(mode, first, count);
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, int offset)
+    {
+        record(CALL_DRAW_ELEMENTS);
+        mFrameVertexCount += count;
+        mDelegate.glDrawElements(mode, count, type, offset);
+    }
+
+    @Override
+    public void glClearColor(float red, float green, float blue, float alpha)
+    {
+        record(CALL_CLEAR_COLOR);
+        mDelegate.glClearColor(red, green, blue, alpha);
+    }
+
+    @Override
+    public void glClear(int mask)
+    {
+        record(CALL_CLEAR);
+        mDelegate.glClear(mask);
+    }
+
+    @Override
+    public void glEnable(int capability)
+    {
+        record(CALL_ENABLE);
+        mDelegate.glEnable(capability);
+    }
+
+    @Override
+    public void glDisable(int capability)
+    {
+        record(CALL_DISABLE);
+        mDelegate.glDisable(capability);
+    }
+
+    @Override
+    public void glViewport(int x, int y, int width, int height)
+    {
+        record(CALL_VIEWPORT);
+        mDelegate.glViewport(x, y, width, height);
+    }
+
+    @Override
+    public String glGetString(int name)
+    {
+        record(CALL_GET_STRING);
+        return mDelegate.glGetString(name);
+    }
+
+    @Override
+    public void glGetIntegerv(int pname, int[] params, int offset)
+    {
+        record(CALL_GET_INTEGERV);
+        mDelegate.glGetIntegerv(pname, params, offset);
+    }
+
+    @Override
+    public int glGetError()
+    {
+        record(CALL_GET_ERROR);
+        return mDelegate.glGetError();
+    }
+
+    @Override
+    public void glGetProgramBinary(int program, int bufSize, int[] length, int lengthOffset, int[] binaryFormat,
+                                   int binaryFormatOffset, Buffer binary)
+    {
+        record(CALL_GET_PROGRAM_BINARY);
+        mDelegate.glGetProgramBinary(program, bufSize, length, lengthOffset, binaryFormat, binaryFormatOffset, binary);
+    }
+
+    @Override
+    public void glProgramBinary(int program, int binaryFormat, Buffer binary, int length)
+    {
+        record(CALL_PROGRAM_BINARY);
+        mDelegate.glProgramBinary(program, binaryFormat, binary, length);
+    }
+}
\ No newline at end of file
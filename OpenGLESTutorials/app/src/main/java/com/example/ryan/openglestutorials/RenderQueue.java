@@ -0,0 +1,255 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * Collects a frame's draws as 64-bit sort keys, each paired with an int the caller uses to find
+ * the draw again, and sorts them so that draws sharing a program and mesh end up next to each
+ * other. Keys compare as unsigned 64-bit integers; from the top bit down they hold:
+ * <pre>
+ * opaque:      pass (4) | program (12) | mesh (16) | depth, front to back (32)
+ * transparent: pass (4) | depth, back to front (32) | program (12) | mesh (16)
+ * </pre>
+ * so every pass is drawn in order, opaque draws switch program and mesh as rarely as possible
+ * and, within one program and mesh, are drawn nearest first to reduce overdraw, and transparent
+ * draws blend correctly from the farthest in.
+ *
+ * Sorting is an LSD radix sort over the key bytes into preallocated arrays; byte positions that
+ * are the same in every key are skipped. Nothing is allocated once the queue has grown to the
+ * largest frame.
+ */
+public class RenderQueue
+{
+    /** Opaque geometry, drawn first. */
+    public static final int PASS_OPAQUE = 0;
+
+    /** Blended geometry, drawn after all opaque geometry. */
+    public static final int PASS_TRANSPARENT = 1;
+
+    /** Drawn last, on top of the scene, e.g. debug markers. */
+    public static final int PASS_OVERLAY = 2;
+
+    /** Largest program and mesh ids a key can hold. */
+    public static final int MAX_PROGRAM_ID = 0xfff;
+    public static final int MAX_MESH_ID = 0xffff;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_PASSES = 64 / RADIX_BITS;
+
+    private long[] mKeys;
+    private int[] mItems;
+
+    /** Destination of every other radix pass. */
+    private long[] mScratchKeys;
+    private int[] mScratchItems;
+
+    /** One histogram per key byte. */
+    private final int[] mCounts = new int[RADIX_PASSES * RADIX];
+
+    private int mSize;
+
+    /**
+     * @param initialCapacity The number of draws to allocate room for up front.
+     */
+    public RenderQueue(final int initialCapacity)
+    {
+        final int capacity = Math.max(initialCapacity, 16);
+        mKeys = new long[capacity];
+        mItems = new int[capacity];
+        mScratchKeys = new long[capacity];
+        mScratchItems = new int[capacity];
+    }
+
+    /**
+     * Empties the queue. Call once at the start of every frame.
+     */
+    public void clear()
+    {
+        mSize = 0;
+    }
+
+    /**
+     * Adds a draw.
+     *
+     * @param key The sort key, from {@link #opaqueKey} or {@link #transparentKey}.
+     * @param item Identifies the draw to the caller, e.g. an index into its own object array.
+     */
+    public void add(final long key, final int item)
+    {
+        if (mSize == mKeys.length)
+        {
+            grow();
+        }
+        mKeys[mSize] = key;
+        mItems[mSize] = item;
+        mSize++;
+    }
+
+    /**
+     * Sorts the queue by ascending unsigned key. Draws with equal keys keep the order they were
+     * added in.
+     */
+    public void sort()
+    {
+        final int size = mSize;
+        if (size < 2)
+        {
+            return;
+        }
+
+        final long[] keys = mKeys;
+        final int[] counts = mCounts;
+        for (int i = 0; i < counts.length; i++)
+        {
+            counts[i] = 0;
+        }
+
+        // Histogram every byte position in one read of the keys.
+        for (int i = 0; i < size; i++)
+        {
+            final long key = keys[i];
+            for (int pass = 0; pass < RADIX_PASSES; pass++)
+            {
+                counts[pass * RADIX + (int) ((key >>> (pass * RADIX_BITS)) & (RADIX - 1))]++;
+            }
+        }
+
+        long[] fromKeys = mKeys;
+        int[] fromItems = mItems;
+        long[] toKeys = mScratchKeys;
+        int[] toItems = mScratchItems;
+        for (int pass = 0; pass < RADIX_PASSES; pass++)
+        {
+            final int base = pass * RADIX;
+            final int shift = pass * RADIX_BITS;
+
+            // A byte that is the same in every key would not move anything.
+            final int firstByte = (int) ((fromKeys[0] >>> shift) & (RADIX - 1));
+            if (counts[base + firstByte] == size)
+            {
+                continue;
+            }
+
+            // Turn the counts into the first destination index of each bucket.
+            int offset = 0;
+            for (int b = 0; b < RADIX; b++)
+            {
+                final int count = counts[base + b];
+                counts[base + b] = offset;
+                offset += count;
+            }
+
+            for (int i = 0; i < size; i++)
+            {
+                final long key = fromKeys[i];
+                final int destination = counts[base + (int) ((key >>> shift) & (RADIX - 1))]++;
+                toKeys[destination] = key;
+                toItems[destination] = fromItems[i];
+            }
+
+            final long[] swapKeys = fromKeys;
+            fromKeys = toKeys;
+            toKeys = swapKeys;
+            final int[] swapItems = fromItems;
+            fromItems = toItems;
+            toItems = swapItems;
+        }
+
+        // The sorted data may have ended up in the scratch arrays; make those the live ones.
+        mKeys = fromKeys;
+        mItems = fromItems;
+        mScratchKeys = toKeys;
+        mScratchItems = toItems;
+    }
+
+    public int size()
+    {
+        return mSize;
+    }
+
+    public long getKey(final int index)
+    {
+        return mKeys[index];
+    }
+
+    /**
+     * @return The item passed to {@link #add} for the draw at this position.
+     */
+    public int getItem(final int index)
+    {
+        return mItems[index];
+    }
+
+    /**
+     * Builds the key of an opaque draw: grouped by program, then mesh, then drawn front to back.
+     *
+     * @param pass PASS_OPAQUE, or any pass up to 15 that should be ordered the same way.
+     * @param programId Program id, 0 to MAX_PROGRAM_ID, e.g. the program handle.
+     * @param meshId Mesh id, 0 to MAX_MESH_ID.
+     * @param depth Distance from the camera; negative values sort as 0.
+     * @return The sort key.
+     */
+    public static long opaqueKey(final int pass, final int programId, final int meshId, final float depth)
+    {
+        return ((long) (pass & 0xf) << 60)
+                | ((long) (programId & MAX_PROGRAM_ID) << 48)
+                | ((long) (meshId & MAX_MESH_ID) << 32)
+                | depthBits(depth);
+    }
+
+    /**
+     * Builds the key of a transparent draw: drawn back to front, then grouped by program and mesh
+     * among draws at the same depth.
+     *
+     * @param pass PASS_TRANSPARENT, or any pass up to 15 that should be ordered the same way.
+     * @param programId Program id, 0 to MAX_PROGRAM_ID, e.g. the program handle.
+     * @param meshId Mesh id, 0 to MAX_MESH_ID.
+     * @param depth Distance from the camera; negative values sort as 0.
+     * @return The sort key.
+     */
+    public static long transparentKey(final int pass, final int programId, final int meshId, final float depth)
+    {
+        return ((long) (pass & 0xf) << 60)
+                | ((~depthBits(depth) & 0xffffffffL) << 28)
+                | ((long) (programId & MAX_PROGRAM_ID) << 16)
+                | (meshId & MAX_MESH_ID);
+    }
+
+    /**
+     * @return The pass the key was built with.
+     */
+    public static int getPass(final long key)
+    {
+        return (int) (key >>> 60);
+    }
+
+    /**
+     * The bits of a non-negative float compare in the same order as the float, so the depth is
+     * kept exactly instead of being quantized.
+     */
+    private static long depthBits(final float depth)
+    {
+        return depth > 0.0f ? Float.floatToIntBits(depth) & 0xffffffffL : 0L;
+    }
+
+    private void grow()
+    {
+        final int capacity = mKeys.length * 2;
+        final long[] keys = new long[capacity];
+        final int[] items = new int[capacity];
+        System.arraycopy(mKeys, 0, keys, 0, mSize);
+        System.arraycopy(mItems, 0, items, 0, mSize);
+        mKeys = keys;
+        mItems = items;
+        mScratchKeys = new long[capacity];
+        mScratchItems = new int[capacity];
+    }
+}
\ No newline at end of file
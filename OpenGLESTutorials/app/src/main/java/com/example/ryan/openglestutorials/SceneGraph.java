@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * A tree of {@link SceneNode}s plus the camera they are viewed with. {@link #update()} walks only
+ * the parts of the tree that need work: subtrees with no dirty node are skipped entirely unless
+ * the camera moved, so on a mostly static scene the per-frame matrix work scales with what moves
+ * rather than with the size of the scene.
+ */
+public class SceneGraph
+{
+    private final SceneNode mRoot = new SceneNode();
+
+    private final float[] mViewMatrix = new float[16];
+    private final float[] mProjectionMatrix = new float[16];
+
+    /** The view or projection changed since the last update. */
+    private boolean mCameraDirty = true;
+
+    /** Counts of the last update, written by the nodes. */
+    int mVisitedCount;
+    int mWorldUpdateCount;
+    int mViewUpdateCount;
+
+    public SceneGraph()
+    {
+        MatrixMath.setIdentity(mViewMatrix, 0);
+        MatrixMath.setIdentity(mProjectionMatrix, 0);
+    }
+
+    /**
+     * @return The root node. Its own transform applies to the whole scene.
+     */
+    public SceneNode getRoot()
+    {
+        return mRoot;
+    }
+
+    /**
+     * Sets the view matrix. Every node's MV and MVP are recomputed on the next update if it changed.
+     *
+     * @param view The view matrix, at offset 0.
+     */
+    public void setViewMatrix(final float[] view)
+    {
+        mCameraDirty |= copyIfChanged(view, mViewMatrix);
+    }
+
+    /**
+     * Sets the projection matrix. Every node's MVP is recomputed on the next update if it changed.
+     *
+     * @param projection The projection matrix, at offset 0.
+     */
+    public void setProjectionMatrix(final float[] projection)
+    {
+        mCameraDirty |= copyIfChanged(projection, mProjectionMatrix);
+    }
+
+    public float[] getViewMatrix()
+    {
+        return mViewMatrix;
+    }
+
+    public float[] getProjectionMatrix()
+    {
+        return mProjectionMatrix;
+    }
+
+    /**
+     * Brings every out-of-date world, MV and MVP matrix up to date.
+     */
+    public void update()
+    {
+        mVisitedCount = 0;
+        mWorldUpdateCount = 0;
+        mViewUpdateCount = 0;
+
+        mRoot.update(this, false, mCameraDirty);
+        mCameraDirty = false;
+    }
+
+    /**
+     * @return Nodes the last update looked at.
+     */
+    public int getVisitedCount()
+    {
+        return mVisitedCount;
+    }
+
+    /**
+     * @return Nodes whose world matrix the last update recomputed.
+     */
+    public int getWorldUpdateCount()
+    {
+        return mWorldUpdateCount;
+    }
+
+    /**
+     * @return Nodes whose MV and MVP matrices the last update recomputed.
+     */
+    public int getViewUpdateCount()
+    {
+        return mViewUpdateCount;
+    }
+
+    private static boolean copyIfChanged(final float[] source, final float[] destination)
+    {
+        boolean changed = false;
+        for (int i = 0; i < 16; i++)
+        {
+            if (destination[i] != source[i])
+            {
+                destination[i] = source[i];
+                changed = true;
+            }
+        }
+        return changed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,289 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.ArrayList;
+
+/**
+ * A node of a {@link SceneGraph}. Each node has a local translate * rotate * scale transform
+ * relative to its parent and caches its world, modelview and modelview-projection matrices.
+ *
+ * Changing the local transform only marks the node dirty; the matrices are recomputed by the
+ * next {@link SceneGraph#update()}, and only for nodes whose transform, or whose ancestors'
+ * transforms, or the camera, actually changed.
+ */
+public class SceneNode
+{
+    private SceneNode mParent;
+    private final ArrayList<SceneNode> mChildren = new ArrayList<SceneNode>();
+
+    /** Local transform parameters: translation, rotation angle in degrees and axis, scale. */
+    private float mTranslateX, mTranslateY, mTranslateZ;
+    private float mAngle;
+    private float mAxisX, mAxisY = 1.0f, mAxisZ;
+    private float mScaleX = 1.0f, mScaleY = 1.0f, mScaleZ = 1.0f;
+
+    /** Cached matrices. */
+    private final float[] mLocalMatrix = new float[16];
+    private final float[] mWorldMatrix = new float[16];
+    private final float[] mMVMatrix = new float[16];
+    private final float[] mMVPMatrix = new float[16];
+
+    /** The local transform changed since the last update. */
+    private boolean mLocalDirty = true;
+
+    /** Some node below this one has a dirty local transform. */
+    private boolean mSubtreeDirty;
+
+    /** The mesh drawn at this node, or null for a pure transform node. */
+    private Mesh mMesh;
+
+    /** The mesh bounds in world space, kept up to date with the world matrix. */
+    private final Bounds mWorldBounds = new Bounds();
+
+    public SceneNode()
+    {
+        MatrixMath.setIdentity(mLocalMatrix, 0);
+        MatrixMath.setIdentity(mWorldMatrix, 0);
+    }
+
+    /**
+     * @param mesh The mesh drawn at this node, or null.
+     */
+    public SceneNode(final Mesh mesh)
+    {
+        this();
+        mMesh = mesh;
+    }
+
+    /**
+     * Attaches a node below this one. Its world transform is recomputed on the next update.
+     *
+     * @param child A node without a parent.
+     * @return The child, so calls can be chained.
+     */
+    public SceneNode addChild(final SceneNode child)
+    {
+        if (child.mParent != null)
+        {
+            throw new IllegalArgumentException("Node already has a parent.");
+        }
+        child.mParent = this;
+        mChildren.add(child);
+        child.markDirty();
+        return child;
+    }
+
+    /**
+     * Detaches a child node.
+     *
+     * @param child A child of this node.
+     */
+    public void removeChild(final SceneNode child)
+    {
+        if (child.mParent != this)
+        {
+            throw new IllegalArgumentException("Not a child of this node.");
+        }
+        mChildren.remove(child);
+        child.mParent = null;
+        child.markDirty();
+    }
+
+    public SceneNode getParent()
+    {
+        return mParent;
+    }
+
+    public int getChildCount()
+    {
+        return mChildren.size();
+    }
+
+    public SceneNode getChild(final int index)
+    {
+        return mChildren.get(index);
+    }
+
+    public Mesh getMesh()
+    {
+        return mMesh;
+    }
+
+    public void setMesh(final Mesh mesh)
+    {
+        mMesh = mesh;
+
+        // The world bounds come from the mesh.
+        markDirty();
+    }
+
+    /**
+     * Sets the translation relative to the parent.
+     */
+    public void setTranslation(final float x, final float y, final float z)
+    {
+        if (x != mTranslateX || y != mTranslateY || z != mTranslateZ)
+        {
+            mTranslateX = x;
+            mTranslateY = y;
+            mTranslateZ = z;
+            markDirty();
+        }
+    }
+
+    /**
+     * Sets the rotation relative to the parent.
+     *
+     * @param angle The angle in degrees.
+     * @param x The x component of the axis.
+     * @param y The y component of the axis.
+     * @param z The z component of the axis.
+     */
+    public void setRotation(final float angle, final float x, final float y, final float z)
+    {
+        if (angle != mAngle || x != mAxisX || y != mAxisY || z != mAxisZ)
+        {
+            mAngle = angle;
+            mAxisX = x;
+            mAxisY = y;
+            mAxisZ = z;
+            markDirty();
+        }
+    }
+
+    /**
+     * Sets the rotation angle about the current axis.
+     *
+     * @param angle The angle in degrees.
+     */
+    public void setAngle(final float angle)
+    {
+        setRotation(angle, mAxisX, mAxisY, mAxisZ);
+    }
+
+    /**
+     * Sets the scale relative to the parent.
+     */
+    public void setScale(final float x, final float y, final float z)
+    {
+        if (x != mScaleX || y != mScaleY || z != mScaleZ)
+        {
+            mScaleX = x;
+            mScaleY = y;
+            mScaleZ = z;
+            markDirty();
+        }
+    }
+
+    /**
+     * @return The world matrix as of the last update.
+     */
+    public float[] getWorldMatrix()
+    {
+        return mWorldMatrix;
+    }
+
+    /**
+     * @return The bounds of the mesh in world space as of the last update. Empty without a mesh.
+     */
+    public Bounds getWorldBounds()
+    {
+        return mWorldBounds;
+    }
+
+    /**
+     * @return view * world as of the last update.
+     */
+    public float[] getMVMatrix()
+    {
+        return mMVMatrix;
+    }
+
+    /**
+     * @return projection * view * world as of the last update.
+     */
+    public float[] getMVPMatrix()
+    {
+        return mMVPMatrix;
+    }
+
+    /**
+     * Flags the local transform as changed and lets every ancestor know a descendant needs work.
+     */
+    private void markDirty()
+    {
+        mLocalDirty = true;
+        for (SceneNode node = mParent; node != null && !node.mSubtreeDirty; node = node.mParent)
+        {
+            node.mSubtreeDirty = true;
+        }
+    }
+
+    /**
+     * Recomputes the matrices of this subtree that are out of date.
+     *
+     * @param graph Receives the per-frame counts.
+     * @param parentChanged True if the parent's world matrix was recomputed this update.
+     * @param cameraChanged True if the view or projection changed since the last update.
+     */
+    void update(final SceneGraph graph, final boolean parentChanged, final boolean cameraChanged)
+    {
+        graph.mVisitedCount++;
+
+        final boolean worldChanged = parentChanged || mLocalDirty;
+        if (worldChanged)
+        {
+            if (mLocalDirty)
+            {
+                MatrixMath.setTranslateRotateScale(mLocalMatrix, 0, mTranslateX, mTranslateY, mTranslateZ,
+                        mAngle, mAxisX, mAxisY, mAxisZ, mScaleX, mScaleY, mScaleZ);
+                mLocalDirty = false;
+            }
+
+            if (mParent == null)
+            {
+                System.arraycopy(mLocalMatrix, 0, mWorldMatrix, 0, 16);
+            }
+            else
+            {
+                MatrixMath.multiply(mWorldMatrix, 0, mParent.mWorldMatrix, 0, mLocalMatrix, 0);
+            }
+            if (mMesh != null)
+            {
+                mMesh.getBounds().transform(mWorldMatrix, 0, mWorldBounds);
+            }
+            graph.mWorldUpdateCount++;
+        }
+
+        if (worldChanged || cameraChanged)
+        {
+            MatrixMath.multiplyMVP(mMVMatrix, 0, mMVPMatrix, 0, graph.getProjectionMatrix(), graph.getViewMatrix(),
+                    mWorldMatrix, 0);
+            graph.mViewUpdateCount++;
+        }
+
+        final boolean visitAll = worldChanged || cameraChanged;
+        if (visitAll || mSubtreeDirty)
+        {
+            final int childCount = mChildren.size();
+            for (int i = 0; i < childCount; i++)
+            {
+                // Otherwise only descend where something is dirty.
+                final SceneNode child = mChildren.get(i);
+                if (visitAll || child.mLocalDirty || child.mSubtreeDirty)
+                {
+                    child.update(graph, worldChanged, cameraChanged);
+                }
+            }
+            mSubtreeDirty = false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,582 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Resolves the preprocessor directives of a GLSL source on the CPU, so every shader variant
+ * reaches the driver as plain code, and normalizes the result. Two define sets that end up
+ * selecting the same code produce the same string, which then hashes to the same
+ * {@link ProgramCache} entry and is compiled only once.
+ *
+ * Supported:
+ * <ul>
+ * <li>object-like #define and #undef, expanded in the code;</li>
+ * <li>#ifdef, #ifndef, #if, #elif, #else and #endif;</li>
+ * <li>in #if and #elif: integers, defined(NAME), ! &amp;&amp; || == != &lt; &gt; &lt;= &gt;= + - * / and parentheses;</li>
+ * <li>#error, which throws.</li>
+ * </ul>
+ * The GLSL ES built-in macros are predefined, as the compiler would: GL_ES is 1, __VERSION__ is
+ * 100 or the number of the source's #version, and GL_FRAGMENT_PRECISION_HIGH is 1, so the usual
+ * "#ifdef GL_ES" precision block is kept. A source meant for devices without high precision
+ * fragments can #undef GL_FRAGMENT_PRECISION_HIGH first.
+ *
+ * Other directives such as #version, #extension and #pragma are passed through. Normalizing drops
+ * comments and blank lines and collapses each run of whitespace into one space.
+ */
+public final class ShaderPreprocessor
+{
+    private final HashMap<String, String> mMacros = new HashMap<String, String>();
+
+    /** Macros whose value is being expanded; as in C, their names are left alone inside it. */
+    private final HashSet<String> mExpanding = new HashSet<String>();
+    private final StringBuilder mOutput = new StringBuilder();
+
+    /** Per open conditional: whether its enclosing block is active, and whether a branch was taken. */
+    private boolean[] mParentActive = new boolean[8];
+    private boolean[] mBranchTaken = new boolean[8];
+    private int mDepth;
+    private boolean mActive = true;
+
+    /** The expression being evaluated and the read position in it. */
+    private String mExpression;
+    private int mPosition;
+
+    private ShaderPreprocessor()
+    {
+    }
+
+    /**
+     * Preprocesses and normalizes a shader source.
+     *
+     * @param source The GLSL source with directives.
+     * @param defines Macros defined before the first line, as "NAME" (defined as 1) or "NAME=VALUE".
+     *                May be null.
+     * @return The source with every directive resolved, or passed through, and all macros expanded.
+     * @throws IllegalArgumentException If the source has unbalanced conditionals, a malformed
+     *                                  directive or expression, or reaches an #error.
+     */
+    public static String preprocess(final String source, final String[] defines)
+    {
+        final ShaderPreprocessor preprocessor = new ShaderPreprocessor();
+        preprocessor.define("GL_ES", "1");
+        preprocessor.define("__VERSION__", "100");
+        preprocessor.define("GL_FRAGMENT_PRECISION_HIGH", "1");
+        if (defines != null)
+        {
+            for (String define : defines)
+            {
+                final int equals = define.indexOf('=');
+                if (equals < 0)
+                {
+                    preprocessor.define(define.trim(), "1");
+                }
+                else
+                {
+                    preprocessor.define(define.substring(0, equals).trim(), define.substring(equals + 1).trim());
+                }
+            }
+        }
+        return preprocessor.run(source);
+    }
+
+    /**
+     * Strips comments and blank lines and collapses whitespace, without touching directives.
+     *
+     * @param source A GLSL source.
+     * @return The normalized source, one statement or directive per line as written.
+     */
+    public static String normalize(final String source)
+    {
+        final StringBuilder builder = new StringBuilder(source.length());
+        for (String line : stripComments(source).split("\n"))
+        {
+            appendNormalized(builder, line);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Replaces every comment with a space, keeping the line breaks of line comments.
+     */
+    static String stripComments(final String source)
+    {
+        final StringBuilder builder = new StringBuilder(source.length());
+        final int length = source.length();
+        int i = 0;
+        while (i < length)
+        {
+            final char c = source.charAt(i);
+            if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/')
+            {
+                while (i < length && source.charAt(i) != '\n')
+                {
+                    i++;
+                }
+            }
+            else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*')
+            {
+                final int end = source.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                builder.append(' ');
+            }
+            else
+            {
+                builder.append(c);
+                i++;
+            }
+        }
+        return builder.toString();
+    }
+
+    private String run(final String source)
+    {
+        for (String line : stripComments(source).split("\n"))
+        {
+            final String trimmed = line.trim();
+            if (trimmed.startsWith("#"))
+            {
+                directive(trimmed.substring(1).trim());
+            }
+            else if (mActive)
+            {
+                appendNormalized(mOutput, expand(line));
+            }
+        }
+
+        if (mDepth != 0)
+        {
+            throw new IllegalArgumentException("Missing #endif.");
+        }
+        return mOutput.toString();
+    }
+
+    private void directive(final String text)
+    {
+        int nameEnd = 0;
+        while (nameEnd < text.length() && Character.isLetter(text.charAt(nameEnd)))
+        {
+            nameEnd++;
+        }
+        final String name = text.substring(0, nameEnd);
+        final String argument = text.substring(nameEnd).trim();
+
+        if (name.equals("ifdef") || name.equals("ifndef") || name.equals("if"))
+        {
+            push();
+            final boolean condition;
+            if (name.equals("if"))
+            {
+                condition = mActive && evaluate(argument) != 0;
+            }
+            else
+            {
+                condition = mMacros.containsKey(identifier(argument)) == name.equals("ifdef");
+            }
+            mActive = mActive && condition;
+            mBranchTaken[mDepth - 1] = mActive;
+        }
+        else if (name.equals("elif"))
+        {
+            checkOpen(name);
+            final boolean parent = mParentActive[mDepth - 1];
+            mActive = parent && !mBranchTaken[mDepth - 1] && evaluate(argument) != 0;
+            mBranchTaken[mDepth - 1] |= mActive;
+        }
+        else if (name.equals("else"))
+        {
+            checkOpen(name);
+            mActive = mParentActive[mDepth - 1] && !mBranchTaken[mDepth - 1];
+            mBranchTaken[mDepth - 1] = true;
+        }
+        else if (name.equals("endif"))
+        {
+            checkOpen(name);
+            mDepth--;
+            mActive = mParentActive[mDepth];
+        }
+        else if (!mActive)
+        {
+            // Every other directive in a skipped block is ignored.
+            return;
+        }
+        else if (name.equals("define"))
+        {
+            final String macro = identifier(argument);
+            final String value = argument.substring(macro.length());
+            if (value.startsWith("("))
+            {
+                throw new IllegalArgumentException("Function-like macros are not supported: " + macro);
+            }
+            define(macro, value.trim());
+        }
+        else if (name.equals("undef"))
+        {
+            mMacros.remove(identifier(argument));
+        }
+        else if (name.equals("error"))
+        {
+            throw new IllegalArgumentException("#error " + argument);
+        }
+        else
+        {
+            // #version, #extension, #pragma and #line are for the compiler.
+            if (name.equals("version"))
+            {
+                define("__VERSION__", identifier(argument));
+            }
+            appendNormalized(mOutput, "#" + text);
+        }
+    }
+
+    private void define(final String macro, final String value)
+    {
+        if (macro.length() == 0)
+        {
+            throw new IllegalArgumentException("Missing macro name.");
+        }
+        mMacros.put(macro, value);
+    }
+
+    private void push()
+    {
+        if (mDepth == mParentActive.length)
+        {
+            final boolean[] parents = new boolean[mDepth * 2];
+            final boolean[] taken = new boolean[mDepth * 2];
+            System.arraycopy(mParentActive, 0, parents, 0, mDepth);
+            System.arraycopy(mBranchTaken, 0, taken, 0, mDepth);
+            mParentActive = parents;
+            mBranchTaken = taken;
+        }
+        mParentActive[mDepth] = mActive;
+        mBranchTaken[mDepth] = false;
+        mDepth++;
+    }
+
+    private void checkOpen(final String directive)
+    {
+        if (mDepth == 0)
+        {
+            throw new IllegalArgumentException("#" + directive + " without #if.");
+        }
+    }
+
+    /**
+     * Replaces every macro name in a line of code with its value, recursively. A macro is not
+     * expanded again inside its own expansion, so #define X X leaves X.
+     */
+    private String expand(final String line)
+    {
+        final StringBuilder builder = new StringBuilder(line.length());
+        final int length = line.length();
+        int i = 0;
+        while (i < length)
+        {
+            final char c = line.charAt(i);
+            if (Character.isJavaIdentifierStart(c))
+            {
+                final int start = i;
+                while (i < length && Character.isJavaIdentifierPart(line.charAt(i)))
+                {
+                    i++;
+                }
+                final String word = line.substring(start, i);
+                final String value = mMacros.get(word);
+                if (value == null || mExpanding.contains(word))
+                {
+                    builder.append(word);
+                }
+                else
+                {
+                    mExpanding.add(word);
+                    builder.append(expand(value));
+                    mExpanding.remove(word);
+                }
+            }
+            else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(line.charAt(i + 1))))
+            {
+                // Skip whole numbers, so the exponent of 1.0e5 or a suffix is not taken for a name.
+                final int start = i;
+                while (i < length && (Character.isLetterOrDigit(line.charAt(i)) || line.charAt(i) == '.'
+                        || line.charAt(i) == '_'))
+                {
+                    i++;
+                }
+                builder.append(line, start, i);
+            }
+            else
+            {
+                builder.append(c);
+                i++;
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String identifier(final String text)
+    {
+        int end = 0;
+        while (end < text.length() && Character.isJavaIdentifierPart(text.charAt(end)))
+        {
+            end++;
+        }
+        return text.substring(0, end);
+    }
+
+    private static void appendNormalized(final StringBuilder builder, final String line)
+    {
+        final String collapsed = line.trim().replaceAll("\\s+", " ");
+        if (collapsed.length() > 0)
+        {
+            builder.append(collapsed).append('\n');
+        }
+    }
+
+    // Recursive descent over the #if expression grammar, lowest precedence first.
+
+    private long evaluate(final String expression)
+    {
+        mExpression = expression;
+        mPosition = 0;
+        final long value = parseOr();
+        skipSpaces();
+        if (mPosition != mExpression.length())
+        {
+            throw new IllegalArgumentException("Malformed expression: " + expression);
+        }
+        return value;
+    }
+
+    private long parseOr()
+    {
+        long value = parseAnd();
+        while (accept("||"))
+        {
+            final long right = parseAnd();
+            value = (value != 0 || right != 0) ? 1 : 0;
+        }
+        return value;
+    }
+
+    private long parseAnd()
+    {
+        long value = parseEquality();
+        while (accept("&&"))
+        {
+            final long right = parseEquality();
+            value = (value != 0 && right != 0) ? 1 : 0;
+        }
+        return value;
+    }
+
+    private long parseEquality()
+    {
+        long value = parseRelational();
+        while (true)
+        {
+            if (accept("=="))
+            {
+                value = value == parseRelational() ? 1 : 0;
+            }
+            else if (accept("!="))
+            {
+                value = value != parseRelational() ? 1 : 0;
+            }
+            else
+            {
+                return value;
+            }
+        }
+    }
+
+    private long parseRelational()
+    {
+        long value = parseAdditive();
+        while (true)
+        {
+            if (accept("<="))
+            {
+                value = value <= parseAdditive() ? 1 : 0;
+            }
+            else if (accept(">="))
+            {
+                value = value >= parseAdditive() ? 1 : 0;
+            }
+            else if (accept("<"))
+            {
+                value = value < parseAdditive() ? 1 : 0;
+            }
+            else if (accept(">"))
+            {
+                value = value > parseAdditive() ? 1 : 0;
+            }
+            else
+            {
+                return value;
+            }
+        }
+    }
+
+    private long parseAdditive()
+    {
+        long value = parseMultiplicative();
+        while (true)
+        {
+            if (accept("+"))
+            {
+                value += parseMultiplicative();
+            }
+            else if (accept("-"))
+            {
+                value -= parseMultiplicative();
+            }
+            else
+            {
+                return value;
+            }
+        }
+    }
+
+    private long parseMultiplicative()
+    {
+        long value = parseUnary();
+        while (true)
+        {
+            if (accept("*"))
+            {
+                value *= parseUnary();
+            }
+            else if (accept("/"))
+            {
+                final long divisor = parseUnary();
+                if (divisor == 0)
+                {
+                    throw new IllegalArgumentException("Division by zero: " + mExpression);
+                }
+                value /= divisor;
+            }
+            else
+            {
+                return value;
+            }
+        }
+    }
+
+    private long parseUnary()
+    {
+        if (accept("!"))
+        {
+            return parseUnary() == 0 ? 1 : 0;
+        }
+        if (accept("-"))
+        {
+            return -parseUnary();
+        }
+        return parsePrimary();
+    }
+
+    private long parsePrimary()
+    {
+        skipSpaces();
+        if (accept("("))
+        {
+            final long value = parseOr();
+            expect(")");
+            return value;
+        }
+
+        final String word = identifier(mExpression.substring(mPosition));
+        if (word.length() == 0)
+        {
+            throw new IllegalArgumentException("Malformed expression: " + mExpression);
+        }
+        mPosition += word.length();
+
+        if (word.equals("defined"))
+        {
+            final boolean parenthesized = accept("(");
+            skipSpaces();
+            final String macro = identifier(mExpression.substring(mPosition));
+            mPosition += macro.length();
+            if (parenthesized)
+            {
+                expect(")");
+            }
+            return mMacros.containsKey(macro) ? 1 : 0;
+        }
+
+        if (Character.isDigit(word.charAt(0)))
+        {
+            try
+            {
+                return Long.decode(word);
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IllegalArgumentException("Not an integer: " + word);
+            }
+        }
+
+        // A macro evaluates to its value; an undefined name, or one met again inside its own
+        // expansion, is 0, as in C.
+        final String value = mMacros.get(word);
+        if (value == null || value.length() == 0 || mExpanding.contains(word))
+        {
+            return 0;
+        }
+        final String expression = mExpression;
+        final int position = mPosition;
+        mExpanding.add(word);
+        final long result = evaluate(expand(value));
+        mExpanding.remove(word);
+        mExpression = expression;
+        mPosition = position;
+        return result;
+    }
+
+    private boolean accept(final String token)
+    {
+        skipSpaces();
+        if (mExpression.startsWith(token, mPosition))
+        {
+            // Do not take the first character of a two-character operator.
+            if (token.length() == 1 && mPosition + 1 < mExpression.length())
+            {
+                final char next = mExpression.charAt(mPosition + 1);
+                if ((token.equals("<") || token.equals(">") || token.equals("!")) && next == '=')
+                {
+                    return false;
+                }
+            }
+            mPosition += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(final String token)
+    {
+        if (!accept(token))
+        {
+            throw new IllegalArgumentException("Expected " + token + ": " + mExpression);
+        }
+    }
+
+    private void skipSpaces()
+    {
+        while (mPosition < mExpression.length() && Character.isWhitespace(mExpression.charAt(mPosition)))
+        {
+            mPosition++;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * Immutable handle to a linked shader program. Every uniform and attribute declared in the
+ * shader sources has its location resolved once at link time, so renderers can look them up
+ * in onSurfaceCreated and never call glGetUniformLocation/glGetAttribLocation while drawing.
+ *
+ * Instances are created by {@link ProgramCache}.
+ */
+public final class ShaderProgram
+{
+    /** The OpenGL handle to the linked program. */
+    private final int mHandle;
+
+    /** The cache key this program was stored under. */
+    private final long mKey;
+
+    /** The sources the program was built from, kept to detect key collisions. */
+    private final String mVertexSource;
+    private final String mFragmentSource;
+    private final String[] mBoundAttributes;
+
+    /** Uniform names and their resolved locations, index for index. */
+    private final String[] mUniformNames;
+    private final int[] mUniformLocations;
+
+    /** Attribute names and their resolved locations, index for index. */
+    private final String[] mAttributeNames;
+    private final int[] mAttributeLocations;
+
+    ShaderProgram(final int handle, final long key, final String vertexSource, final String fragmentSource,
+                  final String[] boundAttributes, final String[] uniformNames, final int[] uniformLocations,
+                  final String[] attributeNames, final int[] attributeLocations)
+    {
+        mHandle = handle;
+        mKey = key;
+        mVertexSource = vertexSource;
+        mFragmentSource = fragmentSource;
+        mBoundAttributes = boundAttributes == null ? new String[0] : boundAttributes.clone();
+        mUniformNames = uniformNames;
+        mUniformLocations = uniformLocations;
+        mAttributeNames = attributeNames;
+        mAttributeLocations = attributeLocations;
+    }
+
+    /**
+     * @return The OpenGL handle to pass to glUseProgram.
+     */
+    public int getHandle()
+    {
+        return mHandle;
+    }
+
+    /**
+     * @return The hash of the sources this program was built from.
+     */
+    public long getKey()
+    {
+        return mKey;
+    }
+
+    public String getVertexSource()
+    {
+        return mVertexSource;
+    }
+
+    public String getFragmentSource()
+    {
+        return mFragmentSource;
+    }
+
+    /**
+     * Returns the location of a uniform resolved at link time.
+     *
+     * @param name The uniform name as declared in the shader.
+     * @return The location, or -1 if the shader does not declare it or the linker removed it.
+     */
+    public int getUniformLocation(final String name)
+    {
+        return find(mUniformNames, mUniformLocations, name);
+    }
+
+    /**
+     * Returns the location of an attribute resolved at link time.
+     *
+     * @param name The attribute name as declared in the vertex shader.
+     * @return The location, or -1 if the shader does not declare it or the linker removed it.
+     */
+    public int getAttributeLocation(final String name)
+    {
+        return find(mAttributeNames, mAttributeLocations, name);
+    }
+
+    public int getUniformCount()
+    {
+        return mUniformNames.length;
+    }
+
+    public String getUniformName(final int index)
+    {
+        return mUniformNames[index];
+    }
+
+    public int getAttributeCount()
+    {
+        return mAttributeNames.length;
+    }
+
+    public String getAttributeName(final int index)
+    {
+        return mAttributeNames[index];
+    }
+
+    /**
+     * @return True if this program was built from exactly these sources and attribute bindings.
+     */
+    boolean matches(final String vertexSource, final String fragmentSource, final String[] boundAttributes)
+    {
+        if (!mVertexSource.equals(vertexSource) || !mFragmentSource.equals(fragmentSource))
+        {
+            return false;
+        }
+
+        final int count = boundAttributes == null ? 0 : boundAttributes.length;
+        if (count != mBoundAttributes.length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < count; i++)
+        {
+            if (!mBoundAttributes[i].equals(boundAttributes[i]))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int find(final String[] names, final int[] locations, final String name)
+    {
+        for (int i = 0; i < names.length; i++)
+        {
+            if (names[i].equals(name))
+            {
+                return locations[i];
+            }
+        }
+
+        return -1;
+    }
+}
\ No newline at end of file
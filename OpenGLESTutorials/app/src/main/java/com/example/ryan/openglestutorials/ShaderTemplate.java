@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A vertex and fragment shader pair written once with #ifdef feature switches, from which
+ * {@link ShaderVariant}s are generated on demand. Each define set is preprocessed only the first
+ * time it is asked for. Define sets that select the same code, e.g. a value the sources never
+ * read, resolve to one shared variant, and so to one program in the {@link ProgramCache}.
+ *
+ * A common header is put in front of both stages, so defaults and shared declarations are
+ * written once.
+ */
+public final class ShaderTemplate
+{
+    private final String mName;
+    private final String mVertexSource;
+    private final String mFragmentSource;
+    private final String[] mAttributes;
+
+    /** Variants by canonical define list. */
+    private final HashMap<String, ShaderVariant> mVariantsByDefines = new HashMap<String, ShaderVariant>();
+
+    /** The distinct variants, by source hash. */
+    private final HashMap<Long, ShaderVariant> mVariantsByKey = new HashMap<Long, ShaderVariant>();
+
+    /**
+     * @param name Used in logs and variant names.
+     * @param header Put in front of both stages, or null.
+     * @param vertexSource The vertex shader template.
+     * @param fragmentSource The fragment shader template.
+     * @param attributes Attributes to bind to locations 0..n-1, the same in every variant.
+     */
+    public ShaderTemplate(final String name, final String header, final String vertexSource,
+                          final String fragmentSource, final String[] attributes)
+    {
+        mName = name;
+        mVertexSource = header == null ? vertexSource : header + vertexSource;
+        mFragmentSource = header == null ? fragmentSource : header + fragmentSource;
+        mAttributes = attributes.clone();
+    }
+
+    public String getName()
+    {
+        return mName;
+    }
+
+    /**
+     * Returns the variant for a set of defines, preprocessing it on first use.
+     *
+     * @param defines "NAME" or "NAME=VALUE" per feature. Order does not matter.
+     * @return The variant, shared with every other define set that selects the same code.
+     * @throws IllegalArgumentException If the template does not preprocess with these defines.
+     */
+    public synchronized ShaderVariant getVariant(final String... defines)
+    {
+        final String canonical = canonicalize(defines);
+        ShaderVariant variant = mVariantsByDefines.get(canonical);
+        if (variant != null)
+        {
+            return variant;
+        }
+
+        final String vertexSource = ShaderPreprocessor.preprocess(mVertexSource, defines);
+        final String fragmentSource = ShaderPreprocessor.preprocess(mFragmentSource, defines);
+        variant = new ShaderVariant(mName, canonical, vertexSource, fragmentSource, mAttributes);
+
+        final ShaderVariant existing = mVariantsByKey.get(variant.getKey());
+        if (existing != null && existing.isSameProgram(variant))
+        {
+            variant = existing;
+        }
+        else if (existing == null)
+        {
+            mVariantsByKey.put(variant.getKey(), variant);
+        }
+
+        mVariantsByDefines.put(canonical, variant);
+        return variant;
+    }
+
+    /**
+     * @return The number of distinct variants generated so far.
+     */
+    public synchronized int getVariantCount()
+    {
+        return mVariantsByKey.size();
+    }
+
+    /**
+     * Sorts the defines and drops duplicates, so "B", "A" and "A", "B", "A" name the same variant.
+     */
+    static String canonicalize(final String[] defines)
+    {
+        if (defines == null || defines.length == 0)
+        {
+            return "";
+        }
+
+        final String[] sorted = new String[defines.length];
+        for (int i = 0; i < defines.length; i++)
+        {
+            sorted[i] = defines[i].replaceAll("\\s+", "");
+        }
+        Arrays.sort(sorted);
+
+        final ArrayList<String> unique = new ArrayList<String>(sorted.length);
+        for (String define : sorted)
+        {
+            if (unique.isEmpty() || !unique.get(unique.size() - 1).equals(define))
+            {
+                unique.add(define);
+            }
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        for (String define : unique)
+        {
+            if (builder.length() > 0)
+            {
+                builder.append(',');
+            }
+            builder.append(define);
+        }
+        return builder.toString();
+    }
+}
\ No newline at end of file
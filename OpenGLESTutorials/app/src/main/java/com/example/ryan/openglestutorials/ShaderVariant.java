@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * One permutation of a {@link ShaderTemplate}: the preprocessed, normalized sources for a set of
+ * defines, ready to hand to {@link ProgramCache#getProgram(GL, ShaderVariant)}. Variants hold no
+ * GL state, so they can be created once, in static fields, and used in every context.
+ */
+public final class ShaderVariant
+{
+    private final String mTemplateName;
+
+    /** The defines in canonical order, comma separated, e.g. "ATTENUATION=0.002,LIGHTING". */
+    private final String mDefines;
+
+    private final String mVertexSource;
+    private final String mFragmentSource;
+    private final String[] mAttributes;
+
+    /** Hash of the sources and attributes, the same one ProgramCache keys programs by. */
+    private final long mKey;
+
+    ShaderVariant(final String templateName, final String defines, final String vertexSource,
+                  final String fragmentSource, final String[] attributes)
+    {
+        mTemplateName = templateName;
+        mDefines = defines;
+        mVertexSource = vertexSource;
+        mFragmentSource = fragmentSource;
+        mAttributes = attributes;
+        mKey = ProgramCache.hashSources(vertexSource, fragmentSource, attributes);
+    }
+
+    public String getTemplateName()
+    {
+        return mTemplateName;
+    }
+
+    /**
+     * @return The defines this variant was first created for, in canonical order.
+     */
+    public String getDefines()
+    {
+        return mDefines;
+    }
+
+    public String getVertexSource()
+    {
+        return mVertexSource;
+    }
+
+    public String getFragmentSource()
+    {
+        return mFragmentSource;
+    }
+
+    /**
+     * @return The attributes bound to locations 0..n-1 before linking.
+     */
+    public String[] getAttributes()
+    {
+        return mAttributes.clone();
+    }
+
+    /**
+     * @return The hash of the normalized sources. Variants with equal keys compile to the same program.
+     */
+    public long getKey()
+    {
+        return mKey;
+    }
+
+    /**
+     * @return True if both variants have the same sources and attributes, whatever their defines.
+     */
+    public boolean isSameProgram(final ShaderVariant other)
+    {
+        if (mKey != other.mKey || !mVertexSource.equals(other.mVertexSource)
+                || !mFragmentSource.equals(other.mFragmentSource) || mAttributes.length != other.mAttributes.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < mAttributes.length; i++)
+        {
+            if (!mAttributes[i].equals(other.mAttributes[i]))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String[] attributes()
+    {
+        return mAttributes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return mDefines.length() == 0 ? mTemplateName : mTemplateName + "[" + mDefines + "]";
+    }
+}
\ No newline at end of file
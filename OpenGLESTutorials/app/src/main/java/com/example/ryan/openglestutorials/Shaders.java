@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * The shader templates every renderer draws with. Each scene picks the variant it needs from
+ * one template instead of keeping its own copy of the sources.
+ *
+ * {@link #COLOR} draws vertex-colored geometry. Its features:
+ * <ul>
+ * <li>LIGHTING - diffuse point lighting. Without it the vertex color is passed through.</li>
+ * <li>PER_FRAGMENT - light every fragment instead of every vertex. Needs LIGHTING.</li>
+ * <li>NUM_LIGHTS=n - number of point lights in u_LightPos[], 1 by default.</li>
+ * <li>ATTENUATION=k - falloff with the squared distance to a light, 0.25 by default.</li>
+ * <li>WORLD_SPACE - a_Position and a_Normal are already in the space the lights are given in,
+ *     as in a pre-transformed batch, so u_MVMatrix is not needed.</li>
+ * <li>PACKED_POSITIONS - a_Position is quantized with {@link MeshBuilder#quantizePositions},
+ *     and u_PositionDecode maps it back to object space.</li>
+ * </ul>
+ * The attributes are bound to the locations the cube and batch layouts use: a_Position 0,
+ * a_Color 1 and a_Normal 2.
+ *
+ * {@link #POINT} draws a white point at a_Position; POINT_SIZE=s sets its size, 5.0 by default.
+ */
+public final class Shaders
+{
+    /** Defaults shared by both stages of the color template. */
+    private static final String COLOR_HEADER =
+            "#ifndef NUM_LIGHTS                \n"
+          + "#define NUM_LIGHTS 1              \n"
+          + "#endif                            \n"
+          + "#ifndef ATTENUATION               \n"
+          + "#define ATTENUATION 0.25          \n"
+          + "#endif                            \n"
+          + "#if defined(PER_FRAGMENT) && !defined(LIGHTING)\n"
+          + "#error PER_FRAGMENT needs LIGHTING\n"
+          + "#endif                            \n"
+          + "#if NUM_LIGHTS < 1                \n"
+          + "#error NUM_LIGHTS must be at least 1\n"
+          + "#endif                            \n";
+
+    /**
+     * Diffuse lighting from every light, pasted into whichever stage does the lighting. Both
+     * arguments are in the space the lights are given in.
+     */
+    private static final String DIFFUSE_FUNCTION =
+            "uniform vec3 u_LightPos[NUM_LIGHTS];                                     \n"
+          + "float diffuse(vec3 position, vec3 normal)                                \n"
+          + "{                                                                        \n"
+          + "   float total = 0.0;                                                    \n"
+          + "   for (int i = 0; i < NUM_LIGHTS; i++)                                  \n"
+          + "   {                                                                     \n"
+          + "      vec3 toLight = u_LightPos[i] - position;                           \n"
+          + "      float distance = length(toLight);                                  \n"
+          // Full illumination when the normal points at the light, with a little ambient light.
+          + "      float lambert = max(dot(normal, toLight / distance), 0.1);         \n"
+          + "      total += lambert * (1.0 / (1.0 + (ATTENUATION * distance * distance)));\n"
+          + "   }                                                                     \n"
+          + "   return total;                                                         \n"
+          + "}                                                                        \n";
+
+    private static final String COLOR_VERTEX =
+            "uniform mat4 u_MVPMatrix;                                                \n"
+          + "#ifdef PACKED_POSITIONS                                                  \n"
+          + "uniform mat4 u_PositionDecode;                                           \n"
+          + "#endif                                                                   \n"
+          + "attribute vec4 a_Position;                                               \n"
+          + "attribute vec4 a_Color;                                                  \n"
+          + "varying vec4 v_Color;                                                    \n"
+          + "#ifdef LIGHTING                                                          \n"
+          + "#ifndef WORLD_SPACE                                                      \n"
+          + "uniform mat4 u_MVMatrix;                                                 \n"
+          + "#endif                                                                   \n"
+          + "attribute vec3 a_Normal;                                                 \n"
+          + "#ifdef PER_FRAGMENT                                                      \n"
+          + "varying vec3 v_Position;                                                 \n"
+          + "varying vec3 v_Normal;                                                   \n"
+          + "#else                                                                    \n"
+          + DIFFUSE_FUNCTION
+          + "#endif                                                                   \n"
+          + "#endif                                                                   \n"
+          + "void main()                                                              \n"
+          + "{                                                                        \n"
+          + "#ifdef PACKED_POSITIONS                                                  \n"
+          + "   vec4 position = u_PositionDecode * a_Position;                        \n"
+          + "#else                                                                    \n"
+          + "   vec4 position = a_Position;                                           \n"
+          + "#endif                                                                   \n"
+          + "#ifdef LIGHTING                                                          \n"
+          + "#ifdef WORLD_SPACE                                                       \n"
+          + "   vec3 litPosition = position.xyz;                                      \n"
+          + "   vec3 litNormal = a_Normal;                                            \n"
+          + "#else                                                                    \n"
+          // Light in eye space.
+          + "   vec3 litPosition = vec3(u_MVMatrix * position);                       \n"
+          + "   vec3 litNormal = vec3(u_MVMatrix * vec4(a_Normal, 0.0));              \n"
+          + "#endif                                                                   \n"
+          + "#ifdef PER_FRAGMENT                                                      \n"
+          + "   v_Position = litPosition;                                             \n"
+          + "   v_Normal = litNormal;                                                 \n"
+          + "   v_Color = a_Color;                                                    \n"
+          + "#else                                                                    \n"
+          + "   v_Color = a_Color * diffuse(litPosition, litNormal);                  \n"
+          + "#endif                                                                   \n"
+          + "#else                                                                    \n"
+          + "   v_Color = a_Color;                                                    \n"
+          + "#endif                                                                   \n"
+          + "   gl_Position = u_MVPMatrix * position;                                 \n"
+          + "}                                                                        \n";
+
+    private static final String COLOR_FRAGMENT =
+            "precision mediump float;                                                 \n"
+          + "varying vec4 v_Color;                                                    \n"
+          + "#if defined(LIGHTING) && defined(PER_FRAGMENT)                           \n"
+          + "varying vec3 v_Position;                                                 \n"
+          + "varying vec3 v_Normal;                                                   \n"
+          + DIFFUSE_FUNCTION
+          + "#endif                                                                   \n"
+          + "void main()                                                              \n"
+          + "{                                                                        \n"
+          + "#if defined(LIGHTING) && defined(PER_FRAGMENT)                           \n"
+          // The interpolated normal is shorter than 1 between vertices.
+          + "   gl_FragColor = v_Color * diffuse(v_Position, normalize(v_Normal));    \n"
+          + "#else                                                                    \n"
+          + "   gl_FragColor = v_Color;                                               \n"
+          + "#endif                                                                   \n"
+          + "}                                                                        \n";
+
+    private static final String POINT_HEADER =
+            "#ifndef POINT_SIZE                \n"
+          + "#define POINT_SIZE 5.0            \n"
+          + "#endif                            \n";
+
+    private static final String POINT_VERTEX =
+            "uniform mat4 u_MVPMatrix;         \n"
+          + "attribute vec4 a_Position;        \n"
+          + "void main()                       \n"
+          + "{                                 \n"
+          + "   gl_Position = u_MVPMatrix      \n"
+          + "               * a_Position;      \n"
+          + "   gl_PointSize = POINT_SIZE;     \n"
+          + "}                                 \n";
+
+    private static final String POINT_FRAGMENT =
+            "precision mediump float;          \n"
+          + "void main()                       \n"
+          + "{                                 \n"
+          + "   gl_FragColor = vec4(1.0,       \n"
+          + "   1.0, 1.0, 1.0);                \n"
+          + "}                                 \n";
+
+    /** Vertex-colored geometry, optionally lit. */
+    public static final ShaderTemplate COLOR = new ShaderTemplate("color", COLOR_HEADER, COLOR_VERTEX,
+            COLOR_FRAGMENT, new String[] {"a_Position", "a_Color", "a_Normal"});
+
+    /** A single white point, used to show where a light is. */
+    public static final ShaderTemplate POINT = new ShaderTemplate("point", POINT_HEADER, POINT_VERTEX,
+            POINT_FRAGMENT, new String[] {"a_Position"});
+
+    private Shaders()
+    {
+    }
+}
\ No newline at end of file
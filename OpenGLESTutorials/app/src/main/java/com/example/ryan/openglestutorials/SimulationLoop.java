@@ -0,0 +1,362 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Advances a simulation in fixed time steps on its own thread, independent of the frame rate.
+ * After each update the two latest states are published together as a {@link Snapshot} through
+ * a {@link TripleBuffer}, so the renderer never waits for the simulation and never sees a state
+ * that is still being written. The renderer draws the state one step in the past, interpolated
+ * between the snapshot's previous and current state by {@link #getAlpha(Snapshot, long)}.
+ *
+ * A snapshot is never modified while the renderer holds it, until its next {@link #acquire()}.
+ *
+ * Time is read from an injected {@link Clock}. Without starting the thread, {@link #update(long)}
+ * can be called directly to run the loop deterministically, e.g. in a test.
+ *
+ * @param <S> The simulation state.
+ */
+public class SimulationLoop<S>
+{
+    /**
+     * The simulated world. Only called on the thread running the loop.
+     */
+    public interface Simulation<S>
+    {
+        /**
+         * @return A new state object. The loop creates all the states it needs up front.
+         */
+        S createState();
+
+        /**
+         * Advances the world by one fixed step.
+         *
+         * @param from The state before the step. Must not be modified.
+         * @param to Receives the state after the step. Holds an older state, never from.
+         * @param seconds The length of a step.
+         */
+        void step(S from, S to, float seconds);
+
+        /**
+         * Copies every field of one state into another.
+         */
+        void copy(S from, S to);
+    }
+
+    /**
+     * The two latest simulation states and when the current one was reached.
+     */
+    public static final class Snapshot<S>
+    {
+        private final S mPrevious;
+        private final S mCurrent;
+        private long mTick;
+        private long mTickNanos;
+
+        private Snapshot(final S previous, final S current)
+        {
+            mPrevious = previous;
+            mCurrent = current;
+        }
+
+        /**
+         * @return The state one step before the current one.
+         */
+        public S getPrevious()
+        {
+            return mPrevious;
+        }
+
+        public S getCurrent()
+        {
+            return mCurrent;
+        }
+
+        /**
+         * @return The number of steps simulated to reach the current state.
+         */
+        public long getTick()
+        {
+            return mTick;
+        }
+
+        /**
+         * @return The clock time the current state belongs to.
+         */
+        public long getTickNanos()
+        {
+            return mTickNanos;
+        }
+    }
+
+    /**
+     * Most steps one update catches up on. If the simulation falls further behind than this,
+     * the rest of the time is skipped, slowing the world down rather than stalling it for good.
+     */
+    private static final int MAX_STEPS_PER_UPDATE = 8;
+
+    private final Simulation<S> mSimulation;
+    private final Clock mClock;
+    private final long mStepNanos;
+    private final float mStepSeconds;
+
+    private final TripleBuffer<Snapshot<S>> mSnapshots;
+
+    /** The two latest states, owned by the thread running the loop. */
+    private S mPrevious;
+    private S mCurrent;
+    private long mTick;
+
+    /** Clock time the next step is due at. */
+    private long mNextTickNanos;
+
+    /** Whether the loop has read the clock since it was (re)started. */
+    private boolean mAnchored;
+
+    /** Steps dropped because the simulation could not keep up. */
+    private volatile long mSkippedStepCount;
+
+    private volatile boolean mRunning;
+    private Thread mThread;
+
+    /** The first exception thrown by the simulation, rethrown on the rendering thread. */
+    private volatile RuntimeException mFailure;
+
+    /**
+     * @param simulation The world to advance.
+     * @param initial The state to start from. Copied, not kept.
+     * @param stepsPerSecond How many fixed steps are simulated per second of clock time.
+     * @param clock The time source, e.g. {@link Clock#SYSTEM}.
+     */
+    public SimulationLoop(final Simulation<S> simulation, final S initial, final int stepsPerSecond, final Clock clock)
+    {
+        if (stepsPerSecond <= 0)
+        {
+            throw new IllegalArgumentException("Steps per second must be positive: " + stepsPerSecond);
+        }
+
+        mSimulation = simulation;
+        mClock = clock;
+        mStepNanos = 1000000000L / stepsPerSecond;
+        mStepSeconds = 1.0f / stepsPerSecond;
+
+        mPrevious = createState(initial);
+        mCurrent = createState(initial);
+        mSnapshots = new TripleBuffer<Snapshot<S>>(createSnapshot(initial), createSnapshot(initial),
+                createSnapshot(initial));
+    }
+
+    /**
+     * Starts the simulation thread. Time that passed while the loop was stopped is not simulated.
+     */
+    public void start()
+    {
+        if (mThread != null)
+        {
+            return;
+        }
+
+        mAnchored = false;
+        mFailure = null;
+        mRunning = true;
+        mThread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                runLoop();
+            }
+        }, "Simulation");
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    /**
+     * Stops the simulation thread and waits for it to finish its current step.
+     */
+    public void stop()
+    {
+        final Thread thread = mThread;
+        if (thread == null)
+        {
+            return;
+        }
+
+        mRunning = false;
+        LockSupport.unpark(thread);
+        boolean interrupted = false;
+        while (thread.isAlive())
+        {
+            try
+            {
+                thread.join();
+            }
+            catch (InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+        mThread = null;
+    }
+
+    public boolean isRunning()
+    {
+        return mThread != null;
+    }
+
+    /**
+     * Simulates every step that is due at the given time and publishes the result. The thread
+     * started by {@link #start()} calls this; call it directly only while the thread is stopped.
+     *
+     * @param nowNanos The current clock time.
+     * @return The number of steps simulated.
+     */
+    public int update(final long nowNanos)
+    {
+        if (!mAnchored)
+        {
+            // Start counting from now, and let the renderer know when the current state is from.
+            mAnchored = true;
+            mNextTickNanos = nowNanos + mStepNanos;
+            publish();
+            return 0;
+        }
+
+        int steps = 0;
+        while (nowNanos >= mNextTickNanos)
+        {
+            if (steps == MAX_STEPS_PER_UPDATE)
+            {
+                final long skipped = (nowNanos - mNextTickNanos) / mStepNanos + 1;
+                mSkippedStepCount += skipped;
+                mNextTickNanos += skipped * mStepNanos;
+                break;
+            }
+
+            // The older state is overwritten with the next one.
+            final S next = mPrevious;
+            mSimulation.step(mCurrent, next, mStepSeconds);
+            mPrevious = mCurrent;
+            mCurrent = next;
+            mTick++;
+            mNextTickNanos += mStepNanos;
+            steps++;
+        }
+
+        if (steps > 0)
+        {
+            publish();
+        }
+        return steps;
+    }
+
+    /**
+     * Takes the newest published snapshot. Only call from the one thread that renders.
+     *
+     * @return The snapshot to draw. It stays unchanged until the next call.
+     */
+    public Snapshot<S> acquire()
+    {
+        final RuntimeException failure = mFailure;
+        if (failure != null)
+        {
+            throw failure;
+        }
+
+        mSnapshots.acquire();
+        return mSnapshots.getReadBuffer();
+    }
+
+    /**
+     * How far to interpolate from the snapshot's previous state to its current one, so motion
+     * stays smooth whatever the frame rate.
+     *
+     * @param snapshot The snapshot being drawn.
+     * @param nowNanos The clock time of the frame.
+     * @return 0 for the previous state, up to 1 for the current state.
+     */
+    public float getAlpha(final Snapshot<S> snapshot, final long nowNanos)
+    {
+        final float alpha = (float) (nowNanos - snapshot.mTickNanos) / mStepNanos;
+        return alpha < 0.0f ? 0.0f : (alpha > 1.0f ? 1.0f : alpha);
+    }
+
+    public Clock getClock()
+    {
+        return mClock;
+    }
+
+    public float getStepSeconds()
+    {
+        return mStepSeconds;
+    }
+
+    /**
+     * @return The number of steps dropped because the simulation could not keep up with the clock.
+     */
+    public long getSkippedStepCount()
+    {
+        return mSkippedStepCount;
+    }
+
+    private void publish()
+    {
+        final Snapshot<S> snapshot = mSnapshots.getWriteBuffer();
+        mSimulation.copy(mPrevious, snapshot.mPrevious);
+        mSimulation.copy(mCurrent, snapshot.mCurrent);
+        snapshot.mTick = mTick;
+        snapshot.mTickNanos = mNextTickNanos - mStepNanos;
+        mSnapshots.publish();
+    }
+
+    private S createState(final S initial)
+    {
+        final S state = mSimulation.createState();
+        mSimulation.copy(initial, state);
+        return state;
+    }
+
+    private Snapshot<S> createSnapshot(final S initial)
+    {
+        return new Snapshot<S>(createState(initial), createState(initial));
+    }
+
+    private void runLoop()
+    {
+        try
+        {
+            while (mRunning)
+            {
+                update(mClock.nanoTime());
+
+                // Sleep until the next step is due. Stopping unparks the thread early.
+                final long waitNanos = mNextTickNanos - mClock.nanoTime();
+                if (waitNanos > 0)
+                {
+                    LockSupport.parkNanos(this, waitNanos);
+                }
+            }
+        }
+        catch (RuntimeException e)
+        {
+            mFailure = e;
+        }
+        catch (Error e)
+        {
+            mFailure = new RuntimeException("Simulation failed.", e);
+        }
+    }
+}
\ No newline at end of file
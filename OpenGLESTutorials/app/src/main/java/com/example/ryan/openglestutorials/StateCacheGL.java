@@ -0,0 +1,948 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.Buffer;
+
+/**
+ * Implementation of {@link GL} that shadows the context state and drops calls that would not
+ * change it before they reach the wrapped GL. It remembers the current program, the bound array
+ * and element array buffers, which attribute arrays are enabled and what they point at, constant
+ * attribute values, enabled capabilities, the clear colour, the viewport and, per program, the
+ * last value of every uniform set through glUniform3f, glUniform3fv and glUniformMatrix4fv.
+ *
+ * Everything starts out unknown, so the first call of each kind is always forwarded. Call
+ * {@link #invalidate()} whenever the EGL context is (re)created, since a new context starts from
+ * the default state whatever the shadow says.
+ *
+ * Only state changed through this instance is tracked; do not mix it with direct GLES20 calls.
+ */
+public class StateCacheGL implements GL
+{
+    /** Shadow value of state that has not been set through this instance yet. */
+    private static final int UNKNOWN = -1;
+
+    /** Attribute arrays tracked. ES 2.0 guarantees at least 8; higher indices are not filtered. */
+    private static final int MAX_ATTRIBUTES = 16;
+
+    /** Distinct capabilities tracked; further ones are passed through unfiltered. */
+    private static final int MAX_CAPABILITIES = 8;
+
+    /** The GL every call that changes state is forwarded to. */
+    private final GL mDelegate;
+
+    private int mProgram;
+    private int mArrayBuffer;
+    private int mElementArrayBuffer;
+
+    /** Per attribute index: enabled (1), disabled (0) or UNKNOWN. */
+    private final int[] mAttributeEnabled = new int[MAX_ATTRIBUTES];
+
+    /** Per attribute index: the last glVertexAttribPointer, with its buffer UNKNOWN if not known. */
+    private final int[] mPointerBuffer = new int[MAX_ATTRIBUTES];
+    private final int[] mPointerSize = new int[MAX_ATTRIBUTES];
+    private final int[] mPointerType = new int[MAX_ATTRIBUTES];
+    private final boolean[] mPointerNormalized = new boolean[MAX_ATTRIBUTES];
+    private final int[] mPointerStride = new int[MAX_ATTRIBUTES];
+    private final int[] mPointerOffset = new int[MAX_ATTRIBUTES];
+
+    /** Per attribute index: the last glVertexAttrib3f value. */
+    private final boolean[] mConstantKnown = new boolean[MAX_ATTRIBUTES];
+    private final float[] mConstants = new float[MAX_ATTRIBUTES * 3];
+
+    /** Capabilities seen so far and whether each is enabled (1), disabled (0) or UNKNOWN. */
+    private final int[] mCapabilities = new int[MAX_CAPABILITIES];
+    private final int[] mCapabilityEnabled = new int[MAX_CAPABILITIES];
+    private int mCapabilityCount;
+
+    private boolean mClearColorKnown;
+    private final float[] mClearColor = new float[4];
+
+    private boolean mViewportKnown;
+    private final int[] mViewport = new int[4];
+
+    /** Uniform values by program handle, created the first time a program sets a uniform. */
+    private final ProgramTable mUniforms = new ProgramTable();
+
+    /** Calls forwarded and calls dropped, since beginFrame() and since creation. */
+    private int mFrameIssuedCount;
+    private int mFrameFilteredCount;
+    private long mTotalIssuedCount;
+    private long mTotalFilteredCount;
+
+    /**
+     * @param delegate The GL calls are forwarded to.
+     */
+    public StateCacheGL(final GL delegate)
+    {
+        mDelegate = delegate;
+        invalidate();
+    }
+
+    /**
+     * Forgets all shadowed state, so the next call of each kind is forwarded again. Call from
+     * onSurfaceCreated, when a new context starts from the default state.
+     */
+    public void invalidate()
+    {
+        mProgram = UNKNOWN;
+        mArrayBuffer = UNKNOWN;
+        mElementArrayBuffer = UNKNOWN;
+        for (int i = 0; i < MAX_ATTRIBUTES; i++)
+        {
+            mAttributeEnabled[i] = UNKNOWN;
+            mPointerBuffer[i] = UNKNOWN;
+            mConstantKnown[i] = false;
+        }
+        mCapabilityCount = 0;
+        mClearColorKnown = false;
+        mViewportKnown = false;
+        mUniforms.clear();
+    }
+
+    /**
+     * Starts a new frame, clearing the per-frame counts.
+     */
+    public void beginFrame()
+    {
+        mFrameIssuedCount = 0;
+        mFrameFilteredCount = 0;
+    }
+
+    /**
+     * @return Calls forwarded to the wrapped GL since beginFrame().
+     */
+    public int getFrameIssuedCount()
+    {
+        return mFrameIssuedCount;
+    }
+
+    /**
+     * @return Redundant calls dropped since beginFrame().
+     */
+    public int getFrameFilteredCount()
+    {
+        return mFrameFilteredCount;
+    }
+
+    public long getTotalIssuedCount()
+    {
+        return mTotalIssuedCount;
+    }
+
+    public long getTotalFilteredCount()
+    {
+        return mTotalFilteredCount;
+    }
+
+    /**
+     * @return The counts of the current frame, e.g. "gl: 41 issued, 36 filtered".
+     */
+    public String report()
+    {
+        return "gl: " + mFrameIssuedCount + " issued, " + mFrameFilteredCount + " filtered\n";
+    }
+
+    @Override
+    public int glCreateShader(int type)
+    {
+        issued();
+        return mDelegate.glCreateShader(type);
+    }
+
+    @Override
+    public void glShaderSource(int shader, String source)
+    {
+        issued();
+        mDelegate.glShaderSource(shader, source);
+    }
+
+    @Override
+    public void glCompileShader(int shader)
+    {
+        issued();
+        mDelegate.glCompileShader(shader);
+    }
+
+    @Override
+    public void glGetShaderiv(int shader, int pname, int[] params, int offset)
+    {
+        issued();
+        mDelegate.glGetShaderiv(shader, pname, params, offset);
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader)
+    {
+        issued();
+        return mDelegate.glGetShaderInfoLog(shader);
+    }
+
+    @Override
+    public void glDeleteShader(int shader)
+    {
+        issued();
+        mDelegate.glDeleteShader(shader);
+    }
+
+    @Override
+    public int glCreateProgram()
+    {
+        issued();
+        return mDelegate.glCreateProgram();
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader)
+    {
+        issued();
+        mDelegate.glAttachShader(program, shader);
+    }
+
+    @Override
+    public void glBindAttribLocation(int program, int index, String name)
+    {
+        issued();
+        mDelegate.glBindAttribLocation(program, index, name);
+    }
+
+    @Override
+    public void glLinkProgram(int program)
+    {
+        // Linking resets every uniform of the program to zero.
+        forgetUniforms(program);
+        issued();
+        mDelegate.glLinkProgram(program);
+    }
+
+    @Override
+    public void glGetProgramiv(int program, int pname, int[] params, int offset)
+    {
+        issued();
+        mDelegate.glGetProgramiv(program, pname, params, offset);
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program)
+    {
+        issued();
+        return mDelegate.glGetProgramInfoLog(program);
+    }
+
+    @Override
+    public void glDeleteProgram(int program)
+    {
+        // The handle may be reused by the next program created.
+        forgetUniforms(program);
+        if (program == mProgram)
+        {
+            mProgram = UNKNOWN;
+        }
+        issued();
+        mDelegate.glDeleteProgram(program);
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, String name)
+    {
+        issued();
+        return mDelegate.glGetUniformLocation(program, name);
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, String name)
+    {
+        issued();
+        return mDelegate.glGetAttribLocation(program, name);
+    }
+
+    @Override
+    public void glUseProgram(int program)
+    {
+        if (program == mProgram)
+        {
+            filtered();
+            return;
+        }
+        mProgram = program;
+        issued();
+        mDelegate.glUseProgram(program);
+    }
+
+    @Override
+    public void glUniform3f(int location, float x, float y, float z)
+    {
+        final UniformState uniforms = currentUniforms(location);
+        if (uniforms != null)
+        {
+            final int slot = uniforms.slotOf(location);
+            final float[] values = uniforms.mValues;
+            final int base = slot * 16;
+            if (uniforms.mSizes[slot] == 3 && values[base] == x && values[base + 1] == y
+                    && values[base + 2] == z)
+            {
+                filtered();
+                return;
+            }
+            uniforms.mSizes[slot] = 3;
+            values[base] = x;
+            values[base + 1] = y;
+            values[base + 2] = z;
+        }
+        issued();
+        mDelegate.glUniform3f(location, x, y, z);
+    }
+
+    @Override
+    public void glUniform3fv(int location, int count, float[] value, int offset)
+    {
+        if (count == 1)
+        {
+            // A single vector is the same state change as glUniform3f, and is filtered the same way.
+            glUniform3f(location, value[offset], value[offset + 1], value[offset + 2]);
+            return;
+        }
+
+        final UniformState uniforms = currentUniforms(location);
+        if (uniforms != null)
+        {
+            // Arrays of vectors are not shadowed.
+            uniforms.forget(location, count);
+        }
+        issued();
+        mDelegate.glUniform3fv(location, count, value, offset);
+    }
+
+    @Override
+    public void glUniformMatrix4fv(int location, int count, boolean transpose, float[] value, int offset)
+    {
+        final UniformState uniforms = currentUniforms(location);
+        if (uniforms != null)
+        {
+            if (count == 1 && !transpose)
+            {
+                final int slot = uniforms.slotOf(location);
+                if (uniforms.matches(slot, value, offset))
+                {
+                    filtered();
+                    return;
+                }
+                uniforms.store(slot, value, offset);
+            }
+            else
+            {
+                // Arrays of matrices, and transpose (an error in ES 2.0), are not shadowed.
+                uniforms.forget(location, count);
+            }
+        }
+        issued();
+        mDelegate.glUniformMatrix4fv(location, count, transpose, value, offset);
+    }
+
+    @Override
+    public void glGenBuffers(int n, int[] buffers, int offset)
+    {
+        issued();
+        mDelegate.glGenBuffers(n, buffers, offset);
+    }
+
+    @Override
+    public void glDeleteBuffers(int n, int[] buffers, int offset)
+    {
+        for (int i = 0; i < n; i++)
+        {
+            // Deleting a bound buffer reverts the binding to 0, and the handle may be reused.
+            final int buffer = buffers[offset + i];
+            if (buffer == mArrayBuffer)
+            {
+                mArrayBuffer = 0;
+            }
+            if (buffer == mElementArrayBuffer)
+            {
+                mElementArrayBuffer = 0;
+            }
+            for (int a = 0; a < MAX_ATTRIBUTES; a++)
+            {
+                if (mPointerBuffer[a] == buffer)
+                {
+                    mPointerBuffer[a] = UNKNOWN;
+                }
+            }
+        }
+        issued();
+        mDelegate.glDeleteBuffers(n, buffers, offset);
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer)
+    {
+        if (target == GL_ARRAY_BUFFER)
+        {
+            if (buffer == mArrayBuffer)
+            {
+                filtered();
+                return;
+            }
+            mArrayBuffer = buffer;
+        }
+        else if (target == GL_ELEMENT_ARRAY_BUFFER)
+        {
+            if (buffer == mElementArrayBuffer)
+            {
+                filtered();
+                return;
+            }
+            mElementArrayBuffer = buffer;
+        }
+        issued();
+        mDelegate.glBindBuffer(target, buffer);
+    }
+
+    @Override
+    public void glBufferData(int target, int size, Buffer data, int usage)
+    {
+        issued();
+        mDelegate.glBufferData(target, size, data, usage);
+    }
+
+    @Override
+    public void glBufferSubData(int target, int offset, int size, Buffer data)
+    {
+        issued();
+        mDelegate.glBufferSubData(target, offset, size, data);
+    }
+
+    @Override
+    public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, int offset)
+    {
+        if (index >= 0 && index < MAX_ATTRIBUTES)
+        {
+            // The pointer captures the buffer bound at the time of the call.
+            if (mArrayBuffer != UNKNOWN && mPointerBuffer[index] == mArrayBuffer && mPointerSize[index] == size
+                    && mPointerType[index] == type && mPointerNormalized[index] == normalized
+                    && mPointerStride[index] == stride && mPointerOffset[index] == offset)
+            {
+                filtered();
+                return;
+            }
+            mPointerBuffer[index] = mArrayBuffer;
+            mPointerSize[index] = size;
+            mPointerType[index] = type;
+            mPointerNormalized[index] = normalized;
+            mPointerStride[index] = stride;
+            mPointerOffset[index] = offset;
+        }
+        issued();
+        mDelegate.glVertexAttribPointer(index, size, type, normalized, stride, offset);
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index)
+    {
+        if (index >= 0 && index < MAX_ATTRIBUTES)
+        {
+            if (mAttributeEnabled[index] == 1)
+            {
+                filtered();
+                return;
+            }
+            mAttributeEnabled[index] = 1;
+        }
+        issued();
+        mDelegate.glEnableVertexAttribArray(index);
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index)
+    {
+        if (index >= 0 && index < MAX_ATTRIBUTES)
+        {
+            if (mAttributeEnabled[index] == 0)
+            {
+                filtered();
+                return;
+            }
+            mAttributeEnabled[index] = 0;
+        }
+        issued();
+        mDelegate.glDisableVertexAttribArray(index);
+    }
+
+    @Override
+    public void glVertexAttrib3f(int index, float x, float y, float z)
+    {
+        if (index >= 0 && index < MAX_ATTRIBUTES)
+        {
+            final int base = index * 3;
+            if (mConstantKnown[index] && mConstants[base] == x && mConstants[base + 1] == y
+                    && mConstants[base + 2] == z)
+            {
+                filtered();
+                return;
+            }
+            mConstantKnown[index] = true;
+            mConstants[base] = x;
+            mConstants[base + 1] = y;
+            mConstants[base + 2] = z;
+        }
+        issued();
+        mDelegate.glVertexAttrib3f(index, x, y, z);
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count)
+    {
+        issued();
+        mDelegate.glDrawArrays(mode, first, count);
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, int offset)
+    {
+        issued();
+        mDelegate.glDrawElements(mode, count, type, offset);
+    }
+
+    @Override
+    public void glClearColor(float red, float green, float blue, float alpha)
+    {
+        final float[] color = mClearColor;
+        if (mClearColorKnown && color[0] == red && color[1] == green && color[2] == blue && color[3] == alpha)
+        {
+            filtered();
+            return;
+        }
+        mClearColorKnown = true;
+        color[0] = red;
+        color[1] = green;
+        color[2] = blue;
+        color[3] = alpha;
+        issued();
+        mDelegate.glClearColor(red, green, blue, alpha);
+    }
+
+    @Override
+    public void glClear(int mask)
+    {
+        issued();
+        mDelegate.glClear(mask);
+    }
+
+    @Override
+    public void glEnable(int capability)
+    {
+        if (setCapability(capability, 1))
+        {
+            issued();
+            mDelegate.glEnable(capability);
+        }
+    }
+
+    @Override
+    public void glDisable(int capability)
+    {
+        if (setCapability(capability, 0))
+        {
+            issued();
+            mDelegate.glDisable(capability);
+        }
+    }
+
+    @Override
+    public void glViewport(int x, int y, int width, int height)
+    {
+        final int[] viewport = mViewport;
+        if (mViewportKnown && viewport[0] == x && viewport[1] == y && viewport[2] == width && viewport[3] == height)
+        {
+            filtered();
+            return;
+        }
+        mViewportKnown = true;
+        viewport[0] = x;
+        viewport[1] = y;
+        viewport[2] = width;
+        viewport[3] = height;
+        issued();
+        mDelegate.glViewport(x, y, width, height);
+    }
+
+    @Override
+    public String glGetString(int name)
+    {
+        issued();
+        return mDelegate.glGetString(name);
+    }
+
+    @Override
+    public void glGetIntegerv(int pname, int[] params, int offset)
+    {
+        issued();
+        mDelegate.glGetIntegerv(pname, params, offset);
+    }
+
+    @Override
+    public int glGetError()
+    {
+        issued();
+        return mDelegate.glGetError();
+    }
+
+    @Override
+    public void glGetProgramBinary(int program, int bufSize, int[] length, int lengthOffset, int[] binaryFormat,
+                                   int binaryFormatOffset, Buffer binary)
+    {
+        issued();
+        mDelegate.glGetProgramBinary(program, bufSize, length, lengthOffset, binaryFormat, binaryFormatOffset, binary);
+    }
+
+    @Override
+    public void glProgramBinary(int program, int binaryFormat, Buffer binary, int length)
+    {
+        // Loading a binary links the program, which resets every uniform of it to zero.
+        forgetUniforms(program);
+        issued();
+        mDelegate.glProgramBinary(program, binaryFormat, binary, length);
+    }
+
+    /**
+     * Records the new state of a capability.
+     *
+     * @return True if the call has to be forwarded, false if it was filtered.
+     */
+    private boolean setCapability(final int capability, final int enabled)
+    {
+        for (int i = 0; i < mCapabilityCount; i++)
+        {
+            if (mCapabilities[i] == capability)
+            {
+                if (mCapabilityEnabled[i] == enabled)
+                {
+                    filtered();
+                    return false;
+                }
+                mCapabilityEnabled[i] = enabled;
+                return true;
+            }
+        }
+
+        if (mCapabilityCount < MAX_CAPABILITIES)
+        {
+            mCapabilities[mCapabilityCount] = capability;
+            mCapabilityEnabled[mCapabilityCount] = enabled;
+            mCapabilityCount++;
+        }
+        return true;
+    }
+
+    /**
+     * @return The uniform shadow of the current program, or null if the call cannot be shadowed.
+     */
+    private UniformState currentUniforms(final int location)
+    {
+        final int program = mProgram;
+        if (program <= 0 || location < 0)
+        {
+            return null;
+        }
+
+        return mUniforms.getOrCreate(program);
+    }
+
+    private void forgetUniforms(final int program)
+    {
+        if (program > 0)
+        {
+            mUniforms.remove(program);
+        }
+    }
+
+    private void issued()
+    {
+        mFrameIssuedCount++;
+        mTotalIssuedCount++;
+    }
+
+    private void filtered()
+    {
+        mFrameFilteredCount++;
+        mTotalFilteredCount++;
+    }
+
+    /**
+     * Spreads the bits of a GL name or location, so dense small values and sparse large ones both
+     * land in different slots of an open-addressing table.
+     */
+    private static int hash(final int key)
+    {
+        int hash = key * 0x9e3779b9;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    /**
+     * The {@link UniformState} of each program, keyed by program handle through an open-addressing
+     * hash table like the one inside UniformState. Program names are opaque too, so the table grows
+     * with the number of programs, not with the largest handle.
+     */
+    private static final class ProgramTable
+    {
+        /** Marks an empty slot. 0 is never a program. */
+        private static final int EMPTY = 0;
+
+        /** The program held by each slot, sized to a power of two and kept at most half full. */
+        private int[] mPrograms = new int[16];
+        private UniformState[] mStates = new UniformState[16];
+        private int mCount;
+
+        UniformState getOrCreate(final int program)
+        {
+            final int slot = find(program);
+            if (mPrograms[slot] == program)
+            {
+                return mStates[slot];
+            }
+
+            if ((mCount + 1) * 2 > mPrograms.length)
+            {
+                grow();
+                return getOrCreate(program);
+            }
+            final UniformState state = new UniformState();
+            mPrograms[slot] = program;
+            mStates[slot] = state;
+            mCount++;
+            return state;
+        }
+
+        /**
+         * Removes a program, shifting later entries of its probe run back so lookups stay correct.
+         */
+        void remove(final int program)
+        {
+            int slot = find(program);
+            if (mPrograms[slot] != program)
+            {
+                return;
+            }
+
+            final int mask = mPrograms.length - 1;
+            int next = slot;
+            while (true)
+            {
+                next = (next + 1) & mask;
+                final int key = mPrograms[next];
+                if (key == EMPTY)
+                {
+                    break;
+                }
+                // Move the entry back unless its home slot lies after the gap, up to where it is.
+                final int home = hash(key) & mask;
+                final boolean stays = slot <= next ? (home > slot && home <= next) : (home > slot || home <= next);
+                if (!stays)
+                {
+                    mPrograms[slot] = key;
+                    mStates[slot] = mStates[next];
+                    slot = next;
+                }
+            }
+            mPrograms[slot] = EMPTY;
+            mStates[slot] = null;
+            mCount--;
+        }
+
+        void clear()
+        {
+            for (int i = 0; i < mPrograms.length; i++)
+            {
+                mPrograms[i] = EMPTY;
+                mStates[i] = null;
+            }
+            mCount = 0;
+        }
+
+        /**
+         * @return The slot holding the program, or the empty slot where it would go.
+         */
+        private int find(final int program)
+        {
+            final int[] programs = mPrograms;
+            final int mask = programs.length - 1;
+            int slot = hash(program) & mask;
+            while (programs[slot] != program && programs[slot] != EMPTY)
+            {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow()
+        {
+            final int[] programs = mPrograms;
+            final UniformState[] states = mStates;
+            mPrograms = new int[programs.length * 2];
+            mStates = new UniformState[programs.length * 2];
+            for (int old = 0; old < programs.length; old++)
+            {
+                if (programs[old] != EMPTY)
+                {
+                    final int slot = find(programs[old]);
+                    mPrograms[slot] = programs[old];
+                    mStates[slot] = states[old];
+                }
+            }
+        }
+    }
+
+    /**
+     * The last value of each uniform location of one program, 16 floats per slot. Locations are
+     * opaque driver values that need not be small or dense, so they are mapped to slots through an
+     * open-addressing hash table that grows with the number of uniforms set, not with their values.
+     */
+    private static final class UniformState
+    {
+        /** Marks an empty slot. Uniform locations are never negative. */
+        private static final int EMPTY = -1;
+
+        /** The location held by each slot, sized to a power of two and kept at most half full. */
+        int[] mLocations = emptyTable(8);
+
+        /** Floats stored per slot: 0 while unknown, 3 for a vec3, 16 for a mat4. */
+        int[] mSizes = new int[8];
+        float[] mValues = new float[8 * 16];
+        int mCount;
+
+        /**
+         * @return The slot of the location, added with an unknown value if it is new.
+         */
+        int slotOf(final int location)
+        {
+            int slot = find(location);
+            if (slot >= 0)
+            {
+                return slot;
+            }
+
+            if ((mCount + 1) * 2 > mLocations.length)
+            {
+                grow();
+            }
+            final int mask = mLocations.length - 1;
+            slot = hash(location) & mask;
+            while (mLocations[slot] != EMPTY)
+            {
+                slot = (slot + 1) & mask;
+            }
+            mLocations[slot] = location;
+            mSizes[slot] = 0;
+            mCount++;
+            return slot;
+        }
+
+        /**
+         * @return The slot of the location, or -1 if nothing was stored for it yet.
+         */
+        int find(final int location)
+        {
+            final int[] locations = mLocations;
+            final int mask = locations.length - 1;
+            int slot = hash(location) & mask;
+            while (true)
+            {
+                final int key = locations[slot];
+                if (key == location)
+                {
+                    return slot;
+                }
+                if (key == EMPTY)
+                {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        boolean matches(final int slot, final float[] matrix, final int offset)
+        {
+            if (mSizes[slot] != 16)
+            {
+                return false;
+            }
+            final float[] values = mValues;
+            final int base = slot * 16;
+            for (int i = 0; i < 16; i++)
+            {
+                if (values[base + i] != matrix[offset + i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void store(final int slot, final float[] matrix, final int offset)
+        {
+            mSizes[slot] = 16;
+            System.arraycopy(matrix, offset, mValues, slot * 16, 16);
+        }
+
+        /**
+         * Marks the values of count consecutive locations, e.g. the elements of an array, unknown.
+         */
+        void forget(final int location, final int count)
+        {
+            final int end = location + Math.max(count, 1);
+            for (int i = location; i < end; i++)
+            {
+                final int slot = find(i);
+                if (slot >= 0)
+                {
+                    mSizes[slot] = 0;
+                }
+            }
+        }
+
+        private void grow()
+        {
+            final int[] locations = mLocations;
+            final int[] sizes = mSizes;
+            final float[] values = mValues;
+            final int capacity = locations.length * 2;
+            final int mask = capacity - 1;
+
+            mLocations = emptyTable(capacity);
+            mSizes = new int[capacity];
+            mValues = new float[capacity * 16];
+            for (int old = 0; old < locations.length; old++)
+            {
+                if (locations[old] != EMPTY)
+                {
+                    int slot = hash(locations[old]) & mask;
+                    while (mLocations[slot] != EMPTY)
+                    {
+                        slot = (slot + 1) & mask;
+                    }
+                    mLocations[slot] = locations[old];
+                    mSizes[slot] = sizes[old];
+                    System.arraycopy(values, old * 16, mValues, slot * 16, 16);
+                }
+            }
+        }
+
+        private static int[] emptyTable(final int capacity)
+        {
+            final int[] table = new int[capacity];
+            for (int i = 0; i < capacity; i++)
+            {
+                table[i] = EMPTY;
+            }
+            return table;
+        }
+    }
+}
\ No newline at end of file
@@ -4,20 +4,17 @@
  * Application: OpenGL Tutorials
  * Author: Ryan Ballinger
  * Date: 1/3/2015
- * Modified: 2/12/2015
+ * Modified: 10/17/2026
  */
 
 package com.example.ryan.openglestutorials;
 
-import android.opengl.GLES20;
 import android.opengl.GLSurfaceView.Renderer;
 import android.opengl.Matrix;
 import android.os.SystemClock;
 import android.util.Log;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.FloatBuffer;
 import java.util.Random;
 
 import javax.microedition.khronos.egl.EGLConfig;
@@ -27,6 +24,35 @@ import javax.microedition.khronos.opengles.GL10;
  * Created by Ryan on 1/3/2015.
  */
 public class TestRenderer implements Renderer {
+    /** Simulation steps per second. */
+    private static final int SIMULATION_RATE = 60;
+
+    /** How far the cube approaches per simulation step while a finger is down. */
+    private static final float APPROACH_PER_STEP = 0.1f;
+
+    /** Where the cube starts, and how close it gets before it jumps back and moves somewhere else. */
+    private static final float START_DISTANCE = 20.0f;
+    private static final float NEAR_DISTANCE = 2.0f;
+
+    /** Most touch events that can wait for the next frame. */
+    private static final int INPUT_CAPACITY = 64;
+
+    /** The cube is drawn in its vertex colors, without lighting. */
+    private static final ShaderVariant CUBE_SHADER = Shaders.COLOR.getVariant();
+
+    /**
+     * Where the cube is in one simulation step.
+     */
+    private static final class CubeState
+    {
+        float mX;
+        float mY;
+        float mDistance;
+
+        /** Counts jumps back to the start, which must not be interpolated across. */
+        int mSpawnCount;
+    }
+
     /**
      * Store the model matrix. This matrix is used to move models from object space (where each model can be thought
      * of being located at the center of the universe) to world space.
@@ -45,208 +71,203 @@ public class TestRenderer implements Renderer {
     /** Allocate storage for the final combined matrix. This will be passed into the shader program. */
     private float[] mMVPMatrix = new float[16];
 
-    /** Store our model data in a float buffer. */
-    private final FloatBuffer mCubePositions;
-    private final FloatBuffer mCubeColors;
+    /** Allocate storage for the modelview matrix, computed in the same pass as the MVP matrix. */
+    private float[] mMVMatrix = new float[16];
+
+    /** Store our model data interleaved and packed, as unique vertices plus indices. */
+    private final VertexLayout mCubeLayout;
 
     /** This will be used to pass in the transformation matrix. */
     private int mMVPMatrixHandle;
 
-    /** This will be used to pass in the modelview matrix. */
-    private int mMVMatrixHandle;
-
-    /** This will be used to pass in model position information. */
-    private int mPositionHandle;
-
-    /** This will be used to pass in model color information. */
-    private int mColorHandle;
-
-    /** How many bytes per float. */
-    private final int mBytesPerFloat = 4;
-
     /** Size of the position data in elements. */
     private final int mPositionDataSize = 3;
 
     /** Size of the color data in elements. */
     private final int mColorDataSize = 4;
 
+    /** The cube and its levels of detail, uploaded to GPU buffer objects when the surface is created. */
+    private final LodMesh mCubeLod;
+
+    /** Picks the cube's level of detail from its size on screen. */
+    private final LodSelector mLodSelector = new LodSelector();
+
+    /** The level the cube was drawn at last frame, which the selector only leaves with some margin. */
+    private int mCubeLevel;
+
+    /** Triangles submitted this frame, logged with the profiler report. */
+    private int mTrianglesDrawn;
+
+    /** Skips the cube while it is off-screen. */
+    private final FrustumCuller mCuller = new FrustumCuller();
+
+    /** The cube bounds moved to where the cube is this frame. */
+    private final Bounds mCubeWorldBounds = new Bounds();
+
+    /** Hierarchy over the world boxes of pickable objects, refit as the cube moves. */
+    private final Bvh mPickBvh = new Bvh();
+
+    /** Maps touches to the cube. */
+    private final Picker mPicker = new Picker();
+
+    /** Told about every touch that hits an object, on the GL thread. */
+    private Picker.OnPickListener mOnPickListener;
+
     /** This is a handle to our per-vertex cube shading program. */
-    private int mPerVertexProgramHandle;
+    private ShaderProgram mPerVertexProgram;
 
     /**
-     * Initialize the model data.
+     * Every GL call goes through this, so the renderer can run against a recording or no-op GL.
+     * Calls that would not change the context state are dropped before they reach it.
+     */
+    private final StateCacheGL mGL;
+
+    /**
+     * Moves the cube at a fixed rate on its own thread, so its speed does not depend on the
+     * frame rate and the simulation cost stays off the GL thread.
+     */
+    private final SimulationLoop<CubeState> mSimulation;
+
+    /** The cube drawn this frame, interpolated between the two latest simulation steps. */
+    private final CubeState mDrawnCube = new CubeState();
+
+    /** Touch events from the UI thread, drained once per frame. */
+    private final InputRing mInput = new InputRing(INPUT_CAPACITY);
+
+    /** Handles the drained touch events on the GL thread. */
+    private final InputRing.Handler mInputHandler = new InputRing.Handler()
+    {
+        @Override
+        public void onInput(final int action, final int pointerId, final float x, final float y, final long timeNanos)
+        {
+            switch (action)
+            {
+                case InputRing.ACTION_DOWN:
+                    fingerOn(x, y);
+                    break;
+                case InputRing.ACTION_MOVE:
+                    mPointerX = x;
+                    mPointerY = y;
+                    break;
+                case InputRing.ACTION_UP:
+                case InputRing.ACTION_CANCEL:
+                    fingerOff();
+                    break;
+            }
+        }
+    };
+
+    /** Times every frame and its update, matrix, cull and submit phases. */
+    private final FrameProfiler mProfiler = new FrameProfiler();
+    private final int mUpdatePhase = mProfiler.addPhase("update");
+    private final int mMatrixPhase = mProfiler.addPhase("matrix");
+    private final int mCullPhase = mProfiler.addPhase("cull");
+    private final int mSubmitPhase = mProfiler.addPhase("submit");
+
+    /**
+     * Initialize the model data, drawing through android.opengl.GLES20.
      */
     public TestRenderer()
     {
-        // Define points for a cube.
-
-        // X, Y, Z
-        final float[] cubePositionData = {
-            // In OpenGL counter-clockwise winding is default. This means that when we look at a triangle,
-            // if the points are counter-clockwise we are looking at the "front". If not we are looking at
-            // the back. OpenGL has an optimization where all back-facing triangles are culled, since they
-            // usually represent the backside of an object and aren't visible anyways.
-
-            // Front face
-            -1.0f, 1.0f, 1.0f,
-            -1.0f, -1.0f, 1.0f,
-            1.0f, 1.0f, 1.0f,
-            -1.0f, -1.0f, 1.0f,
-            1.0f, -1.0f, 1.0f,
-            1.0f, 1.0f, 1.0f,
-
-            // Right face
-            1.0f, 1.0f, 1.0f,
-            1.0f, -1.0f, 1.0f,
-            1.0f, 1.0f, -1.0f,
-            1.0f, -1.0f, 1.0f,
-            1.0f, -1.0f, -1.0f,
-            1.0f, 1.0f, -1.0f,
-
-            // Back face
-            1.0f, 1.0f, -1.0f,
-            1.0f, -1.0f, -1.0f,
-            -1.0f, 1.0f, -1.0f,
-            1.0f, -1.0f, -1.0f,
-            -1.0f, -1.0f, -1.0f,
-            -1.0f, 1.0f, -1.0f,
-
-            // Left face
-            -1.0f, 1.0f, -1.0f,
-            -1.0f, -1.0f, -1.0f,
-            -1.0f, 1.0f, 1.0f,
-            -1.0f, -1.0f, -1.0f,
-            -1.0f, -1.0f, 1.0f,
-            -1.0f, 1.0f, 1.0f,
-
-            // Top face
-            -1.0f, 1.0f, -1.0f,
-            -1.0f, 1.0f, 1.0f,
-            1.0f, 1.0f, -1.0f,
-            -1.0f, 1.0f, 1.0f,
-            1.0f, 1.0f, 1.0f,
-            1.0f, 1.0f, -1.0f,
-
-            // Bottom face
-            1.0f, -1.0f, -1.0f,
-            1.0f, -1.0f, 1.0f,
-            -1.0f, -1.0f, -1.0f,
-            1.0f, -1.0f, 1.0f,
-            -1.0f, -1.0f, 1.0f,
-            -1.0f, -1.0f, -1.0f,
-        };
-
-        // R, G, B, A
-        final float[] cubeColorData = {
-            // Front face (red)
-            1.0f, 0.0f, 0.0f, 1.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-
-            // Right face (green)
-            0.0f, 1.0f, 0.0f, 1.0f,
-            0.0f, 1.0f, 0.0f, 1.0f,
-            0.0f, 1.0f, 0.0f, 1.0f,
-            0.0f, 1.0f, 0.0f, 1.0f,
-            0.0f, 1.0f, 0.0f, 1.0f,
-            0.0f, 1.0f, 0.0f, 1.0f,
-
-            // Back face (blue)
-            0.0f, 0.0f, 1.0f, 1.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
-
-            // Left face (yellow)
-            1.0f, 1.0f, 0.0f, 1.0f,
-            1.0f, 1.0f, 0.0f, 1.0f,
-            1.0f, 1.0f, 0.0f, 1.0f,
-            1.0f, 1.0f, 0.0f, 1.0f,
-            1.0f, 1.0f, 0.0f, 1.0f,
-            1.0f, 1.0f, 0.0f, 1.0f,
-
-            // Top face (cyan)
-            0.0f, 1.0f, 1.0f, 1.0f,
-            0.0f, 1.0f, 1.0f, 1.0f,
-            0.0f, 1.0f, 1.0f, 1.0f,
-            0.0f, 1.0f, 1.0f, 1.0f,
-            0.0f, 1.0f, 1.0f, 1.0f,
-            0.0f, 1.0f, 1.0f, 1.0f,
-
-            // Bottom face (magenta)
-            1.0f, 0.0f, 1.0f, 1.0f,
-            1.0f, 0.0f, 1.0f, 1.0f,
-            1.0f, 0.0f, 1.0f, 1.0f,
-            1.0f, 0.0f, 1.0f, 1.0f,
-            1.0f, 0.0f, 1.0f, 1.0f,
-            1.0f, 0.0f, 1.0f, 1.0f
-        };
-
-        // Initialize the buffers.
-        mCubePositions = ByteBuffer.allocateDirect(cubePositionData.length * mBytesPerFloat)
-                .order(ByteOrder.nativeOrder()).asFloatBuffer();
-        mCubePositions.put(cubePositionData).position(0);
-
-        mCubeColors = ByteBuffer.allocateDirect(cubeColorData.length * mBytesPerFloat)
-                .order(ByteOrder.nativeOrder()).asFloatBuffer();
-        mCubeColors.put(cubeColorData).position(0);
+        this(new AndroidGL());
     }
 
-    protected String getVertexShader()
+    /**
+     * Initialize the model data.
+     *
+     * @param gl The GL to issue every call through, after redundant state changes are filtered.
+     */
+    public TestRenderer(final GL gl)
     {
-        final String vertexShader =
-            "uniform mat4 u_MVPMatrix;      \n"		// A constant representing the combined model/view/projection matrix.
-                + "uniform mat4 u_MVMatrix;       \n"		// A constant representing the combined model/view matrix.
-
-                + "attribute vec4 a_Position;     \n"		// Per-vertex position information we will pass in.
-                + "attribute vec4 a_Color;        \n"		// Per-vertex color information we will pass in.
-
-                + "varying vec4 v_Color;          \n"		// This will be passed into the fragment shader.
-
-                + "void main()                    \n" 	// The entry point for our vertex shader.
-                + "{                              \n"
-                // Transform the vertex into eye space.
-                + "   vec3 modelViewVertex = vec3(u_MVMatrix * a_Position);              \n"
-                + "   v_Color = a_Color;                                       \n"
-                // gl_Position is a special variable used to store the final position.
-                // Multiply the vertex by the matrix to get the final point in normalized screen coordinates.
-                + "   gl_Position = u_MVPMatrix * a_Position;                            \n"
-                + "}                                                                     \n";
-
-        return vertexShader;
+        this(gl, Clock.SYSTEM);
     }
 
-    protected String getFragmentShader()
+    /**
+     * Initialize the model data.
+     *
+     * @param gl The GL to issue every call through, after redundant state changes are filtered.
+     * @param clock The time source the simulation steps by and frames interpolate with.
+     */
+    public TestRenderer(final GL gl, final Clock clock)
+    {
+        mGL = new StateCacheGL(gl);
+
+        final CubeState initial = new CubeState();
+        initial.mDistance = START_DISTANCE;
+        mSimulation = new SimulationLoop<CubeState>(new CubeSimulation(), initial, SIMULATION_RATE, clock);
+
+        // Interleave and pack the cube: float positions and unsigned byte colours take 16 bytes per
+        // vertex instead of 28 spread over two float buffers. The locations match the order the
+        // attributes are bound in when the program is linked.
+        mCubeLayout = new VertexLayout()
+                .add(0, mPositionDataSize, VertexLayout.TYPE_FLOAT)
+                .add(1, mColorDataSize, VertexLayout.TYPE_UNORM8);
+
+        final ByteBuffer cubeVertices = new MeshBuilder(mCubeLayout, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .setAttribute(1, CubeData.COLORS)
+                .build();
+
+        // Only 24 of the 36 vertices are unique (4 per face), so weld them and draw with indices,
+        // with the faces reordered for the vertex cache and early-Z.
+        final MeshWelder cubeWelder = new MeshWelder();
+        cubeWelder.weld(cubeVertices, mCubeLayout, CubeData.VERTEX_COUNT);
+        cubeWelder.optimize();
+
+        // Generate the levels of detail once, at load time. A plain cube has no triangle to spare
+        // and keeps just the one level; a more detailed model drawn here would get a full chain.
+        mCubeLod = new LodMesh(mCubeLayout, cubeWelder.getVertices(), cubeWelder.getVertexCount(),
+                cubeWelder.copyIndices(), Mesh.USAGE_STATIC);
+
+        // The cube is the only pickable object, placed by the model matrix. Its box is set every frame.
+        mPickBvh.build(new float[6], 1);
+        mPicker.setScene(mPickBvh, mModelMatrix,
+                new PickShape[] {PickShape.fromTriangleList(CubeData.POSITIONS, CubeData.VERTEX_COUNT)});
+
+        // Log the timings about every 10 seconds at 60 frames per second.
+        mProfiler.setReportInterval(600);
+    }
+
+    /**
+     * @return The ring the UI thread pushes touch events into. The renderer is its only consumer.
+     */
+    public InputRing getInputRing()
+    {
+        return mInput;
+    }
+
+    /**
+     * Stops the simulation thread while the view is paused. The next frame starts it again.
+     * Call after GLSurfaceView.onPause(), when the GL thread is no longer drawing.
+     */
+    public void onPause()
+    {
+        mSimulation.stop();
+    }
+
+    /**
+     * @return The profiler timing this renderer's frames. Call requestReport() on it to have the
+     *         current timings logged after the next frame.
+     */
+    public FrameProfiler getProfiler()
     {
-        final String fragmentShader =
-            "precision mediump float;       \n"		// Set the default precision to medium. We don't need as high of a
-                // precision in the fragment shader.
-                + "varying vec4 v_Color;          \n"		// This is the color from the vertex shader interpolated across the
-                // triangle per fragment.
-                + "void main()                    \n"		// The entry point for our fragment shader.
-                + "{                              \n"
-                + "   gl_FragColor = v_Color;     \n"		// Pass the color directly through the pipeline.
-                + "}                              \n";
-
-        return fragmentShader;
+        return mProfiler;
     }
 
     @Override
     public void onSurfaceCreated(GL10 glUnused, EGLConfig config)
     {
+        // A new context starts from the default state, whatever was set in the last one.
+        mGL.invalidate();
+
         // Set the background clear color to black.
-        GLES20.glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+        mGL.glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
 
         // Use culling to remove back faces.
-        GLES20.glEnable(GLES20.GL_CULL_FACE);
+        mGL.glEnable(GL.GL_CULL_FACE);
 
         // Enable depth testing
-        GLES20.glEnable(GLES20.GL_DEPTH_TEST);
+        mGL.glEnable(GL.GL_DEPTH_TEST);
 
         // Position the eye in front of the origin.
         final float eyeX = 0.0f;
@@ -268,43 +289,25 @@ public class TestRenderer implements Renderer {
         // view matrix. In OpenGL 2, we can keep track of these matrices separately if we choose.
         Matrix.setLookAtM(mViewMatrix, 0, eyeX, eyeY, eyeZ, lookX, lookY, lookZ, upX, upY, upZ);
 
-        final String vertexShader = getVertexShader();
-        final String fragmentShader = getFragmentShader();
-
-        final int vertexShaderHandle = compileShader(GLES20.GL_VERTEX_SHADER, vertexShader);
-        final int fragmentShaderHandle = compileShader(GLES20.GL_FRAGMENT_SHADER, fragmentShader);
-
-        mPerVertexProgramHandle = createAndLinkProgram(vertexShaderHandle, fragmentShaderHandle,
-                new String[] {"a_Position",  "a_Color", "a_Normal"});
-
-        // Define a simple shader program for our point.
-        final String pointVertexShader =
-            "uniform mat4 u_MVPMatrix;      \n"
-                +	"attribute vec4 a_Position;     \n"
-                + "void main()                    \n"
-                + "{                              \n"
-                + "   gl_Position = u_MVPMatrix   \n"
-                + "               * a_Position;   \n"
-                + "   gl_PointSize = 5.0;         \n"
-                + "}                              \n";
-
-        final String pointFragmentShader =
-            "precision mediump float;       \n"
-                + "void main()                    \n"
-                + "{                              \n"
-                + "   gl_FragColor = vec4(1.0,    \n"
-                + "   1.0, 1.0, 1.0);             \n"
-                + "}                              \n";
-
-        final int pointVertexShaderHandle = compileShader(GLES20.GL_VERTEX_SHADER, pointVertexShader);
-        final int pointFragmentShaderHandle = compileShader(GLES20.GL_FRAGMENT_SHADER, pointFragmentShader);
+        // Programs from a previous context are gone, so drop them from the shared cache.
+        final ProgramCache programCache = ProgramCache.getShared();
+        programCache.invalidate();
+
+        mPerVertexProgram = programCache.getProgram(mGL, CUBE_SHADER);
+
+        // Set program handles for cube drawing. These are resolved once when the program is linked.
+        mMVPMatrixHandle = mPerVertexProgram.getUniformLocation("u_MVPMatrix");
+
+        // Upload the cube once. Draws then read straight from the buffer objects instead of
+        // having the driver copy the client-side arrays every time.
+        mCubeLod.upload(mGL);
     }
 
     @Override
     public void onSurfaceChanged(GL10 glUnused, int width, int height)
     {
         // Set the OpenGL viewport to the same size as the surface.
-        GLES20.glViewport(0, 0, width, height);
+        mGL.glViewport(0, 0, width, height);
 
         // Create a new perspective projection matrix. The height will stay the same
         // while the width will vary as per aspect ratio.
@@ -317,197 +320,197 @@ public class TestRenderer implements Renderer {
         final float far = 20.0f;
 
         Matrix.frustumM(mProjectionMatrix, 0, left, right, bottom, top, near, far);
+        mCuller.setCamera(mViewMatrix, mProjectionMatrix);
+        mPicker.setCamera(mViewMatrix, mProjectionMatrix, width, height);
+        mLodSelector.setCamera(mViewMatrix, mProjectionMatrix, height);
     }
 
-    private float mDistance = 20.0f;
-    private Random mRandGen = new Random();
-    private float mX = 0.0f;
-    private float mY = 0.0f;
     private float mPointerX = 0.0f;
     private float mPointerY = 0.0f;
-    private boolean mFingerOn = false;
-    private boolean mFingerOff = false;
+
+    // Set on the GL thread and read by the simulation thread.
+    private volatile boolean mFingerOn = false;
+    private volatile boolean mFingerOff = false;
 
     @Override
     public void onDrawFrame(GL10 glUnused)
     {
-        GLES20.glClear(GLES20.GL_COLOR_BUFFER_BIT | GLES20.GL_DEPTH_BUFFER_BIT);
-
-        // Do a complete rotation every 10 seconds.
-        long time = SystemClock.uptimeMillis() % 10000L;
-        float angleInDegrees = (360.0f / 10000.0f) * ((int) time);
+        mProfiler.beginFrame();
+        mGL.beginFrame();
+        mGL.glClear(GL.GL_COLOR_BUFFER_BIT | GL.GL_DEPTH_BUFFER_BIT);
 
         // Set our per-vertex lighting program.
-        GLES20.glUseProgram(mPerVertexProgramHandle);
-
-        // Set program handles for cube drawing.
-        mMVPMatrixHandle = GLES20.glGetUniformLocation(mPerVertexProgramHandle, "u_MVPMatrix");
-        mMVMatrixHandle = GLES20.glGetUniformLocation(mPerVertexProgramHandle, "u_MVMatrix");
-        mPositionHandle = GLES20.glGetAttribLocation(mPerVertexProgramHandle, "a_Position");
-        mColorHandle = GLES20.glGetAttribLocation(mPerVertexProgramHandle, "a_Color");
-
-        if(mFingerOn && !mFingerOff){
-            if(mDistance < 2.0f) {
-                mDistance = 20.0f;
-                mX = mRandGen.nextFloat() * 10.0f - 5.0f;
-                mY = mRandGen.nextFloat() * 10.0f - 5.0f;
-            }else{
-                mDistance = mDistance - 0.1f;
-            }
-        }else{
+        mGL.glUseProgram(mPerVertexProgram.getHandle());
 
+        // Handle the touches since the last frame, then take the latest simulation steps,
+        // never waiting for the simulation thread.
+        mProfiler.begin(mUpdatePhase);
+        mInput.drain(mInputHandler);
+        if (!mSimulation.isRunning())
+        {
+            mSimulation.start();
+        }
+        final SimulationLoop.Snapshot<CubeState> snapshot = mSimulation.acquire();
+        interpolate(snapshot.getPrevious(), snapshot.getCurrent(),
+                mSimulation.getAlpha(snapshot, mSimulation.getClock().nanoTime()), mDrawnCube);
+        mProfiler.end(mUpdatePhase);
+
+        // Move single cube.
+        mProfiler.begin(mMatrixPhase);
+        MatrixMath.setTranslate(mModelMatrix, 0, mDrawnCube.mX, mDrawnCube.mY, mDrawnCube.mDistance);
+        mCubeLod.getBounds().transform(mModelMatrix, 0, mCubeWorldBounds);
+        mPickBvh.setObjectBox(0, mCubeWorldBounds.getMinX(), mCubeWorldBounds.getMinY(), mCubeWorldBounds.getMinZ(),
+                mCubeWorldBounds.getMaxX(), mCubeWorldBounds.getMaxY(), mCubeWorldBounds.getMaxZ());
+        mPickBvh.refit();
+        mProfiler.end(mMatrixPhase);
+
+        // Only draw it if some of it is inside the frustum.
+        mProfiler.begin(mCullPhase);
+        mCuller.beginFrame();
+        final boolean visible = mCuller.isVisible(mCubeWorldBounds);
+        mProfiler.end(mCullPhase);
+
+        mProfiler.begin(mSubmitPhase);
+        mTrianglesDrawn = 0;
+        if (visible)
+        {
+            drawCube();
         }
+        mProfiler.end(mSubmitPhase);
 
-        // Move single cube
-        Matrix.setIdentityM(mModelMatrix, 0);
-        Matrix.translateM(mModelMatrix, 0, mX, mY, mDistance);
-        drawCube();
+        mProfiler.endFrame();
+        final String report = mProfiler.pollReport();
+        if (report != null)
+        {
+            Log.i("TestRenderer", report + mGL.report() + "triangles: " + mTrianglesDrawn + " (cube level "
+                    + mCubeLevel + ")\n");
+        }
     }
 
-    public void fingerOn(float x, float y){
+    private void fingerOn(float x, float y){
         if(mFingerOn){
             mFingerOff = true;
         }
         mFingerOn = true;
 
-        Log.d("TestRenderer", "X: " + x + " Y: " + y);
-
         mPointerX = x;
         mPointerY = y;
-    }
 
-    public void fingerOff(){
-        mFingerOff = true;
+        // This runs on the GL thread, so the cube is exactly where it was last drawn.
+        final PickResult result = mPicker.pick(x, y);
+        if (result.isHit())
+        {
+            if (Log.isLoggable("TestRenderer", Log.DEBUG))
+            {
+                Log.d("TestRenderer", "Picked object " + result.getObject() + " at distance " + result.getDistance());
+            }
+            if (mOnPickListener != null)
+            {
+                mOnPickListener.onPick(result);
+            }
+        }
     }
 
     /**
-     * Draws a cube.
+     * Sets the listener told about touches that hit an object. It is called on the GL thread.
+     *
+     * @param listener The listener, or null.
      */
-    private void drawCube()
+    public void setOnPickListener(final Picker.OnPickListener listener)
     {
-        // Pass in the position information
-        mCubePositions.position(0);
-        GLES20.glVertexAttribPointer(mPositionHandle, mPositionDataSize, GLES20.GL_FLOAT, false,
-                0, mCubePositions);
-
-        GLES20.glEnableVertexAttribArray(mPositionHandle);
-
-        // Pass in the color information
-        mCubeColors.position(0);
-        GLES20.glVertexAttribPointer(mColorHandle, mColorDataSize, GLES20.GL_FLOAT, false,
-                0, mCubeColors);
-
-        GLES20.glEnableVertexAttribArray(mColorHandle);
-
-        // This multiplies the view matrix by the model matrix, and stores the result in the MVP matrix
-        // (which currently contains model * view).
-        Matrix.multiplyMM(mMVPMatrix, 0, mViewMatrix, 0, mModelMatrix, 0);
-
-        // Pass in the modelview matrix.
-        GLES20.glUniformMatrix4fv(mMVMatrixHandle, 1, false, mMVPMatrix, 0);
-
-        // This multiplies the modelview matrix by the projection matrix, and stores the result in the MVP matrix
-        // (which now contains model * view * projection).
-        Matrix.multiplyMM(mMVPMatrix, 0, mProjectionMatrix, 0, mMVPMatrix, 0);
-
-        // Pass in the combined matrix.
-        GLES20.glUniformMatrix4fv(mMVPMatrixHandle, 1, false, mMVPMatrix, 0);
+        mOnPickListener = listener;
+    }
 
-        // Draw the cube.
-        GLES20.glDrawArrays(GLES20.GL_TRIANGLES, 0, 36);
+    private void fingerOff(){
+        mFingerOff = true;
     }
 
     /**
-     * Helper function to compile a shader.
+     * Blends two consecutive simulation steps.
      *
-     * @param shaderType The shader type.
-     * @param shaderSource The shader source code.
-     * @return An OpenGL handle to the shader.
+     * @param previous The earlier step.
+     * @param current The later step.
+     * @param alpha 0 for the earlier step, 1 for the later one.
+     * @param out Receives the blended cube.
      */
-    private int compileShader(final int shaderType, final String shaderSource)
+    private static void interpolate(final CubeState previous, final CubeState current, final float alpha,
+                                    final CubeState out)
     {
-        int shaderHandle = GLES20.glCreateShader(shaderType);
-
-        if (shaderHandle != 0)
+        if (previous.mSpawnCount != current.mSpawnCount)
         {
-            // Pass in the shader source.
-            GLES20.glShaderSource(shaderHandle, shaderSource);
-
-            // Compile the shader.
-            GLES20.glCompileShader(shaderHandle);
-
-            // Get the compilation status.
-            final int[] compileStatus = new int[1];
-            GLES20.glGetShaderiv(shaderHandle, GLES20.GL_COMPILE_STATUS, compileStatus, 0);
-
-            // If the compilation failed, delete the shader.
-            if (compileStatus[0] == 0)
-            {
-                Log.e("TestActivity", "Error compiling shader: " + GLES20.glGetShaderInfoLog(shaderHandle));
-                GLES20.glDeleteShader(shaderHandle);
-                shaderHandle = 0;
-            }
+            // The cube jumped; sliding it across the gap would show it somewhere it never was.
+            out.mX = current.mX;
+            out.mY = current.mY;
+            out.mDistance = current.mDistance;
         }
-
-        if (shaderHandle == 0)
+        else
         {
-            throw new RuntimeException("Error creating shader.");
+            out.mX = previous.mX + (current.mX - previous.mX) * alpha;
+            out.mY = previous.mY + (current.mY - previous.mY) * alpha;
+            out.mDistance = previous.mDistance + (current.mDistance - previous.mDistance) * alpha;
         }
-
-        return shaderHandle;
+        out.mSpawnCount = current.mSpawnCount;
     }
 
     /**
-     * Helper function to compile and link a program.
-     *
-     * @param vertexShaderHandle An OpenGL handle to an already-compiled vertex shader.
-     * @param fragmentShaderHandle An OpenGL handle to an already-compiled fragment shader.
-     * @param attributes Attributes that need to be bound to the program.
-     * @return An OpenGL handle to the program.
+     * Moves the cube towards the camera while a finger is down, and somewhere new when it gets close.
+     * Runs on the simulation thread.
      */
-    private int createAndLinkProgram(final int vertexShaderHandle, final int fragmentShaderHandle, final String[] attributes)
+    private final class CubeSimulation implements SimulationLoop.Simulation<CubeState>
     {
-        int programHandle = GLES20.glCreateProgram();
+        /** Only used on the simulation thread. */
+        private final Random mRandGen = new Random();
 
-        if (programHandle != 0)
+        @Override
+        public CubeState createState()
         {
-            // Bind the vertex shader to the program.
-            GLES20.glAttachShader(programHandle, vertexShaderHandle);
-
-            // Bind the fragment shader to the program.
-            GLES20.glAttachShader(programHandle, fragmentShaderHandle);
+            return new CubeState();
+        }
 
-            // Bind attributes
-            if (attributes != null)
+        @Override
+        public void step(final CubeState from, final CubeState to, final float seconds)
+        {
+            copy(from, to);
+            if (mFingerOn && !mFingerOff)
             {
-                final int size = attributes.length;
-                for (int i = 0; i < size; i++)
+                if (from.mDistance < NEAR_DISTANCE)
                 {
-                    GLES20.glBindAttribLocation(programHandle, i, attributes[i]);
+                    to.mDistance = START_DISTANCE;
+                    to.mX = mRandGen.nextFloat() * 10.0f - 5.0f;
+                    to.mY = mRandGen.nextFloat() * 10.0f - 5.0f;
+                    to.mSpawnCount++;
+                }
+                else
+                {
+                    to.mDistance = from.mDistance - APPROACH_PER_STEP;
                 }
-            }
-
-            // Link the two shaders together into a program.
-            GLES20.glLinkProgram(programHandle);
-
-            // Get the link status.
-            final int[] linkStatus = new int[1];
-            GLES20.glGetProgramiv(programHandle, GLES20.GL_LINK_STATUS, linkStatus, 0);
-
-            // If the link failed, delete the program.
-            if (linkStatus[0] == 0)
-            {
-                Log.e("TestActivity", "Error compiling program: " + GLES20.glGetProgramInfoLog(programHandle));
-                GLES20.glDeleteProgram(programHandle);
-                programHandle = 0;
             }
         }
 
-        if (programHandle == 0)
+        @Override
+        public void copy(final CubeState from, final CubeState to)
         {
-            throw new RuntimeException("Error creating program.");
+            to.mX = from.mX;
+            to.mY = from.mY;
+            to.mDistance = from.mDistance;
+            to.mSpawnCount = from.mSpawnCount;
         }
+    }
+
+    /**
+     * Draws a cube.
+     */
+    private void drawCube()
+    {
+        // Compute model * view and model * view * projection in one pass.
+        MatrixMath.multiplyMVP(mMVMatrix, 0, mMVPMatrix, 0, mProjectionMatrix, mViewMatrix, mModelMatrix, 0);
+
+        // Pass in the combined matrix.
+        mGL.glUniformMatrix4fv(mMVPMatrixHandle, 1, false, mMVPMatrix, 0);
 
-        return programHandle;
+        // Draw the level of detail the cube's size on screen calls for, from its buffer objects.
+        mCubeLevel = mLodSelector.select(mCubeLod, mCubeWorldBounds, mCubeLevel);
+        mCubeLod.draw(mGL, GL.GL_TRIANGLES, mCubeLevel);
+        mTrianglesDrawn += mCubeLod.getTriangleCount(mCubeLevel);
     }
 }
\ No newline at end of file
@@ -4,7 +4,7 @@
  * Application: OpenGL Tutorials
  * Author: Ryan Ballinger
  * Date: 1/10/2015
- * Modified: 2/12/2015
+ * Modified: 10/17/2026
  */
 
 package com.example.ryan.openglestutorials;
@@ -20,6 +20,9 @@ import android.view.MotionEvent;
 public class TestSurfaceView extends GLSurfaceView{
     private TestRenderer mRenderer;
 
+    /** The renderer's touch event ring. Touches are pushed here instead of queued as Runnables. */
+    private InputRing mInput;
+
     public TestSurfaceView(Context context)
     {
         super(context);
@@ -28,49 +31,72 @@ public class TestSurfaceView extends GLSurfaceView{
     @Override
     public boolean onTouchEvent(MotionEvent event)
     {
+        final InputRing input = mInput;
+        if (input == null)
+        {
+            return super.onTouchEvent(event);
+        }
+
         int action = MotionEventCompat.getActionMasked(event);
-        final float x = event.getX();
-        final float y = event.getY();
+        final int index = MotionEventCompat.getActionIndex(event);
 
         switch(action){
             case MotionEvent.ACTION_DOWN:
             case MotionEvent.ACTION_POINTER_DOWN:
-                if (mRenderer != null)
+                pushPointer(input, event, InputRing.ACTION_DOWN, index);
+                break;
+            case MotionEvent.ACTION_MOVE:
+                // Every pointer that moved, with the samples batched since the last event. The ring
+                // keeps only the newest position of each, so this costs no more than one sample.
+                final int historySize = event.getHistorySize();
+                final int pointerCount = event.getPointerCount();
+                for (int p = 0; p < pointerCount; p++)
                 {
-                    queueEvent(new Runnable()
+                    final int pointerId = MotionEventCompat.getPointerId(event, p);
+                    for (int h = 0; h < historySize; h++)
                     {
-                        @Override
-                        public void run()
-                        {
-                            mRenderer.fingerOn(x, y);
-                        }
-                    });
-                    return true;
+                        input.push(InputRing.ACTION_MOVE, pointerId, event.getHistoricalX(p, h),
+                                event.getHistoricalY(p, h), event.getHistoricalEventTime(h) * 1000000L);
+                    }
+                    pushPointer(input, event, InputRing.ACTION_MOVE, p);
                 }
                 break;
             case MotionEvent.ACTION_UP:
-                if (mRenderer != null)
-                {
-                    queueEvent(new Runnable()
-                    {
-                        @Override
-                        public void run()
-                        {
-                            mRenderer.fingerOff();
-                        }
-                    });
-                    return true;
-                }
+                pushPointer(input, event, InputRing.ACTION_UP, index);
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                pushPointer(input, event, InputRing.ACTION_CANCEL, index);
                 break;
+            default:
+                return super.onTouchEvent(event);
         }
 
-        return super.onTouchEvent(event);
+        input.publish();
+        return true;
+    }
+
+    @Override
+    public void onPause()
+    {
+        // Once this returns the GL thread has stopped drawing, so the renderer can stop its own threads.
+        super.onPause();
+        if (mRenderer != null)
+        {
+            mRenderer.onPause();
+        }
     }
 
     // Hides superclass method.
     public void setRenderer(TestRenderer renderer)
     {
         mRenderer = renderer;
+        mInput = renderer.getInputRing();
         super.setRenderer(renderer);
     }
+
+    private static void pushPointer(final InputRing input, final MotionEvent event, final int action, final int index)
+    {
+        input.push(action, MotionEventCompat.getPointerId(event, index), event.getX(index), event.getY(index),
+                event.getEventTime() * 1000000L);
+    }
 }
\ No newline at end of file
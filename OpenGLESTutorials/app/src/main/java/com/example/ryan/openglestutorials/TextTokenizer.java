@@ -0,0 +1,325 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads whitespace-separated ASCII tokens straight from the bytes of a buffer, for text model
+ * formats. Numbers are parsed digit by digit, so no String or char[] is created per token, and
+ * the buffer can be a memory mapping of the whole file.
+ *
+ * Lines end at '\n'; '\r' counts as whitespace, so CRLF files read the same.
+ */
+public final class TextTokenizer
+{
+    /** Powers of ten that a double holds exactly. */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+            1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** More significant digits than this cannot change a float, so the rest are only counted. */
+    private static final int MAX_DIGITS = 18;
+
+    private ByteBuffer mBuffer;
+    private int mPosition;
+    private int mLimit;
+
+    /**
+     * Starts reading a range of a buffer. The buffer's own position and limit are not used.
+     *
+     * @param buffer The text.
+     * @param position Index of the first byte to read.
+     * @param limit Index one past the last byte to read.
+     */
+    public void reset(final ByteBuffer buffer, final int position, final int limit)
+    {
+        mBuffer = buffer;
+        mPosition = position;
+        mLimit = limit;
+    }
+
+    public int getPosition()
+    {
+        return mPosition;
+    }
+
+    public boolean hasRemaining()
+    {
+        return mPosition < mLimit;
+    }
+
+    /**
+     * Skips spaces, tabs and '\r', but not the end of the line.
+     */
+    public void skipSpaces()
+    {
+        final ByteBuffer buffer = mBuffer;
+        while (mPosition < mLimit)
+        {
+            final byte b = buffer.get(mPosition);
+            if (b != ' ' && b != '\t' && b != '\r')
+            {
+                return;
+            }
+            mPosition++;
+        }
+    }
+
+    /**
+     * @return True if only whitespace is left on the current line.
+     */
+    public boolean isAtLineEnd()
+    {
+        skipSpaces();
+        return mPosition >= mLimit || mBuffer.get(mPosition) == '\n';
+    }
+
+    /**
+     * Moves to the start of the next line.
+     */
+    public void nextLine()
+    {
+        final ByteBuffer buffer = mBuffer;
+        while (mPosition < mLimit && buffer.get(mPosition) != '\n')
+        {
+            mPosition++;
+        }
+        if (mPosition < mLimit)
+        {
+            mPosition++;
+        }
+    }
+
+    /**
+     * @return The next byte without consuming it, or -1 at the end.
+     */
+    public int peek()
+    {
+        return mPosition < mLimit ? mBuffer.get(mPosition) & 0xff : -1;
+    }
+
+    /**
+     * Consumes the next byte if it is the given one.
+     */
+    public boolean accept(final char c)
+    {
+        if (mPosition < mLimit && mBuffer.get(mPosition) == c)
+        {
+            mPosition++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Consumes the given keyword if the next token is exactly it.
+     *
+     * @param keyword ASCII bytes of the keyword.
+     */
+    public boolean acceptKeyword(final byte[] keyword)
+    {
+        skipSpaces();
+        final int end = mPosition + keyword.length;
+        if (end > mLimit)
+        {
+            return false;
+        }
+        for (int i = 0; i < keyword.length; i++)
+        {
+            if (mBuffer.get(mPosition + i) != keyword[i])
+            {
+                return false;
+            }
+        }
+        if (end < mLimit && !isSeparator(mBuffer.get(end)))
+        {
+            return false;
+        }
+        mPosition = end;
+        return true;
+    }
+
+    /**
+     * Skips the next token.
+     */
+    public void skipToken()
+    {
+        skipSpaces();
+        while (mPosition < mLimit && !isSeparator(mBuffer.get(mPosition)))
+        {
+            mPosition++;
+        }
+    }
+
+    /**
+     * Parses a decimal integer with an optional sign.
+     *
+     * @throws NumberFormatException If the next token does not start with one.
+     */
+    public int nextInt()
+    {
+        skipSpaces();
+        final ByteBuffer buffer = mBuffer;
+        boolean negative = false;
+        if (mPosition < mLimit && (buffer.get(mPosition) == '-' || buffer.get(mPosition) == '+'))
+        {
+            negative = buffer.get(mPosition) == '-';
+            mPosition++;
+        }
+
+        final int start = mPosition;
+        long value = 0;
+        while (mPosition < mLimit)
+        {
+            final int digit = buffer.get(mPosition) - '0';
+            if (digit < 0 || digit > 9)
+            {
+                break;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L)
+            {
+                throw new NumberFormatException("Integer too large at byte " + start);
+            }
+            mPosition++;
+        }
+        if (mPosition == start)
+        {
+            throw new NumberFormatException("Expected an integer at byte " + start);
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Parses a decimal float such as 1, -0.5, .25 or 6.02e23.
+     *
+     * @throws NumberFormatException If the next token does not start with one.
+     */
+    public float nextFloat()
+    {
+        skipSpaces();
+        final ByteBuffer buffer = mBuffer;
+        final int start = mPosition;
+        boolean negative = false;
+        if (mPosition < mLimit && (buffer.get(mPosition) == '-' || buffer.get(mPosition) == '+'))
+        {
+            negative = buffer.get(mPosition) == '-';
+            mPosition++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+        while (mPosition < mLimit)
+        {
+            final int digit = buffer.get(mPosition) - '0';
+            if (digit < 0 || digit > 9)
+            {
+                break;
+            }
+            seenDigit = true;
+            if (digits < MAX_DIGITS)
+            {
+                if (mantissa != 0 || digit != 0)
+                {
+                    digits++;
+                }
+                mantissa = mantissa * 10 + digit;
+            }
+            else
+            {
+                exponent++;
+            }
+            mPosition++;
+        }
+        if (mPosition < mLimit && buffer.get(mPosition) == '.')
+        {
+            mPosition++;
+            while (mPosition < mLimit)
+            {
+                final int digit = buffer.get(mPosition) - '0';
+                if (digit < 0 || digit > 9)
+                {
+                    break;
+                }
+                seenDigit = true;
+                if (digits < MAX_DIGITS)
+                {
+                    if (mantissa != 0 || digit != 0)
+                    {
+                        digits++;
+                    }
+                    mantissa = mantissa * 10 + digit;
+                    exponent--;
+                }
+                mPosition++;
+            }
+        }
+        if (!seenDigit)
+        {
+            mPosition = start;
+            throw new NumberFormatException("Expected a number at byte " + start);
+        }
+
+        if (mPosition < mLimit && (buffer.get(mPosition) == 'e' || buffer.get(mPosition) == 'E'))
+        {
+            mPosition++;
+            exponent += nextExponent();
+        }
+
+        double value = mantissa;
+        if (exponent < 0)
+        {
+            value = -exponent < POWERS_OF_TEN.length ? value / POWERS_OF_TEN[-exponent] : value * Math.pow(10.0, exponent);
+        }
+        else if (exponent > 0)
+        {
+            value = exponent < POWERS_OF_TEN.length ? value * POWERS_OF_TEN[exponent] : value * Math.pow(10.0, exponent);
+        }
+        return (float) (negative ? -value : value);
+    }
+
+    private int nextExponent()
+    {
+        final ByteBuffer buffer = mBuffer;
+        boolean negative = false;
+        if (mPosition < mLimit && (buffer.get(mPosition) == '-' || buffer.get(mPosition) == '+'))
+        {
+            negative = buffer.get(mPosition) == '-';
+            mPosition++;
+        }
+        final int start = mPosition;
+        int value = 0;
+        while (mPosition < mLimit)
+        {
+            final int digit = buffer.get(mPosition) - '0';
+            if (digit < 0 || digit > 9)
+            {
+                break;
+            }
+            // Anything past a few hundred is zero or infinity as a float anyway.
+            value = Math.min(value * 10 + digit, 1000);
+            mPosition++;
+        }
+        if (mPosition == start)
+        {
+            throw new NumberFormatException("Expected an exponent at byte " + start);
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean isSeparator(final byte b)
+    {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+}
\ No newline at end of file
@@ -33,6 +33,8 @@ public class TriangleActivity extends ActionBarActivity {
         // first 16 bits = major build number, last 16 bits = minor build number
         final boolean supportEs2 = configInfo.reqGlEsVersion >= 0x20000;
         if(supportEs2){
+            // keep linked programs on disk so later starts skip compiling the shaders
+            ProgramCache.getShared().ensureBinaryCache(getCacheDir());
             // create renderer
             TriangleRenderer mainRend = new TriangleRenderer();
             // create surface view
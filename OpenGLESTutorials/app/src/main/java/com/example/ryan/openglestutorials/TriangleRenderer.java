@@ -4,18 +4,16 @@
  * Application: OpenGL Tutorials
  * Author: Ryan Ballinger
  * Date: 1/2/2015
- * Modified: 2/12/2015
+ * Modified: 10/17/2026
  */
 
 package com.example.ryan.openglestutorials;
 
-import android.opengl.GLES20;
 import android.opengl.GLSurfaceView.Renderer;
 import android.opengl.Matrix;
 import android.os.SystemClock;
+import android.util.Log;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.FloatBuffer;
 import javax.microedition.khronos.egl.EGLConfig;
 import javax.microedition.khronos.opengles.GL10;
 
@@ -24,14 +22,11 @@ import javax.microedition.khronos.opengles.GL10;
  */
 public class TriangleRenderer implements Renderer {
 
-    // store model data in float buffer
-    private final FloatBuffer mTriangle1Vertices;
+    // store model data interleaved and packed in a single buffer
+    private final ByteBuffer mTriangle1Vertices;
     // private final FloatBuffer mTriangle2Vertices;
     // private final FloatBuffer mTriangle3Vertices;
 
-    // bytes per float
-    private final int mBytesPerFloat = 4;
-
     // store view matrix, thought of as the camera, matrix positions things relative to our eye
     private float[] mViewMatrix = new float[16];
 
@@ -53,61 +48,102 @@ public class TriangleRenderer implements Renderer {
     // allocate storage for final combined matrix, this will be passed into shader program
     private float[] mMVPMatrix = new float[16];
 
-    // elements per vertex
-    private final int mStrideBytes = 7 * mBytesPerFloat;
+    // scratch storage for the modelview matrix
+    private float[] mMVMatrix = new float[16];
 
-    // offset of the position data
-    private final int mPositionOffset = 0;
+    // every gl call goes through this, so the renderer can also run against a recording or no-op gl.
+    // calls that would not change the context state are dropped before they reach it
+    private final StateCacheGL mGL;
 
     // size of the position data in elements
     private final int mPositionDataSize = 3;
 
-    // offset of the color data
-    private final int mColorOffset = 3;
-
     // size of the color data in elements
     private final int mColorDataSize = 4;
 
+    // float positions followed by unsigned byte colors, 16 bytes per vertex instead of 28
+    private final VertexLayout mLayout = new VertexLayout()
+            .add(0, mPositionDataSize, VertexLayout.TYPE_FLOAT)
+            .add(1, mColorDataSize, VertexLayout.TYPE_UNORM8);
+
+    // the triangle uploaded to a GPU buffer object
+    private Mesh mTriangle1Mesh;
+
+    // times every frame and its matrix and submit phases
+    private final FrameProfiler mProfiler = new FrameProfiler();
+    private final int mMatrixPhase = mProfiler.addPhase("matrix");
+    private final int mSubmitPhase = mProfiler.addPhase("submit");
+
+    // draws through android.opengl.GLES20
     public TriangleRenderer(){
+        this(new AndroidGL());
+    }
+
+    public TriangleRenderer(final GL gl){
+        mGL = new StateCacheGL(gl);
+
         // this triangle is red, green, blue
-        final float[] triangle1VerticesData = {
+        final float[] triangle1PositionData = {
             // X, Y, Z
-            // R, G, B, Alpha
             -0.5f, -0.25f, 0.0f,
-            1.0f, 0.0f, 0.0f, 1.0f,
-
             0.5f, -0.25f, 0.0f,
-            0.0f, 0.0f, 1.0f, 1.0f,
+            0.0f, 0.559016994f, 0.0f
+        };
 
-            0.0f, 0.559016994f, 0.0f,
+        final float[] triangle1ColorData = {
+            // R, G, B, Alpha
+            1.0f, 0.0f, 0.0f, 1.0f,
+            0.0f, 0.0f, 1.0f, 1.0f,
             0.0f, 1.0f, 0.0f, 1.0f
         };
 
-        // Initialize the buffers
-        mTriangle1Vertices = ByteBuffer.allocateDirect(triangle1VerticesData.length
-                * mBytesPerFloat).order(ByteOrder.nativeOrder()).asFloatBuffer();
-        // copy over into buffer
-        mTriangle1Vertices.put(triangle1VerticesData).position(0);
+        // interleave and pack into a single buffer
+        mTriangle1Vertices = new MeshBuilder(mLayout, 3)
+                .setAttribute(0, triangle1PositionData)
+                .setAttribute(1, triangle1ColorData)
+                .build();
+
+        // log the timings about every 10 seconds at 60 frames per second
+        mProfiler.setReportInterval(600);
+    }
+
+    /**
+     * @return The profiler timing this renderer's frames.
+     */
+    public FrameProfiler getProfiler(){
+        return mProfiler;
     }
 
     @Override
     public void onDrawFrame(GL10 glUnused){
-        GLES20.glClear(GLES20.GL_DEPTH_BUFFER_BIT | GLES20.GL_COLOR_BUFFER_BIT);
+        mProfiler.beginFrame();
+        mGL.beginFrame();
+        mGL.glClear(GL.GL_DEPTH_BUFFER_BIT | GL.GL_COLOR_BUFFER_BIT);
 
         // do a complete rotation every 10 seconds
         long time = SystemClock.uptimeMillis() % 10000L;
         float angleInDegrees = (360.0f / 10000.0f) * ((int) time);
 
         // draw the triangle facing straight on
-        Matrix.setIdentityM(mModelMatrix, 0);
-        Matrix.rotateM(mModelMatrix, 0, angleInDegrees, 0.0f, 0.0f, 1.0f);
-        drawTriangle(mTriangle1Vertices);
+        mProfiler.begin(mMatrixPhase);
+        MatrixMath.setTranslateRotate(mModelMatrix, 0, 0.0f, 0.0f, 0.0f, angleInDegrees, 0.0f, 0.0f, 1.0f);
+        mProfiler.end(mMatrixPhase);
+
+        mProfiler.begin(mSubmitPhase);
+        drawTriangle(mTriangle1Mesh);
+        mProfiler.end(mSubmitPhase);
+
+        mProfiler.endFrame();
+        final String report = mProfiler.pollReport();
+        if (report != null) {
+            Log.i("TriangleRenderer", report + mGL.report());
+        }
     }
 
     @Override
     public void onSurfaceChanged(GL10 glUnused, int width, int height){
         // set the OpenGL viewport to the same size as the surface
-        GLES20.glViewport(0, 0, width, height);
+        mGL.glViewport(0, 0, width, height);
 
         // create new perspective projection matrix. The height will stay the same while
         // the width will vary as per aspect ratio.
@@ -124,8 +160,11 @@ public class TriangleRenderer implements Renderer {
 
     @Override
     public void onSurfaceCreated(GL10 glUnused, EGLConfig config){
+        // a new context starts from the default state, whatever was set in the last one
+        mGL.invalidate();
+
         // set the background clear color to gray
-        GLES20.glClearColor(0.5f, 0.5f, 0.5f, 0.5f);
+        mGL.glClearColor(0.5f, 0.5f, 0.5f, 0.5f);
 
         // position the eye behind the origin
         final float eyeX = 0.0f;
@@ -147,147 +186,37 @@ public class TriangleRenderer implements Renderer {
         // In OpenGL 2, these can be separate
         Matrix.setLookAtM(mViewMatrix, 0, eyeX, eyeY, eyeZ, lookX, lookY, lookZ, upX, upY, upZ);
 
-        final String vertexShader =
-            "uniform mat4 u_MVPMatrix;      \n"     // represents combined model/view/projection
-                + "attribute vec4 a_Position;     \n"     // per vertex position info we will pass in
-
-                + "attribute vec4 a_Color;        \n"     // per vertex color info we will pass in
-                + "varying vec4 v_Color;          \n"     // will be passed in to the fragment shader
-
-                + "void main(){                   \n"     // entry point for our vertex shader
-                + "    v_Color = a_Color;         \n"     // pass the color to the fragment shader
-                + "    gl_Position = u_MVPMatrix  \n"     // special variable to store final position
-                + "                * a_Position;  \n"     // multiply vertex by matrix to get final
-                + "}                              \n";    // point normalized screen coordinates
-
-        final String fragmentShader =
-            "precision mediump float;       \n"     // set default precision to medium, we don't
-                + "varying vec4 v_Color;          \n"     // need as high precision in fragment shader
-
-                + "void main(){                   \n"     // entry point for fragment shader
-                + "    gl_FragColor = v_Color;    \n"     // pass color directly through the pipeline
-                + "}                              \n";
-
-        // load in vertex shader
-        int vertexShaderHandle = GLES20.glCreateShader(GLES20.GL_VERTEX_SHADER);
-
-        if(vertexShaderHandle != 0){
-            // pass in the shader source
-            GLES20.glShaderSource(vertexShaderHandle, vertexShader);
+        // programs from a previous context are gone, so drop them from the shared cache
+        final ProgramCache programCache = ProgramCache.getShared();
+        programCache.invalidate();
 
-            // compile the shader
-            GLES20.glCompileShader(vertexShaderHandle);
-
-            // get the compilation status
-            final int[] compileStatus = new int[1];
-            GLES20.glGetShaderiv(vertexShaderHandle, GLES20.GL_COMPILE_STATUS, compileStatus, 0);
-
-            // if compilation failed, delete the shader
-            if(compileStatus[0] == 0){
-                GLES20.glDeleteShader(vertexShaderHandle);
-                vertexShaderHandle = 0;
-            }
-        }
-
-        if(vertexShaderHandle == 0){
-            throw new RuntimeException("Error creating vertex shader.");
-        }
-
-        // load in vertex shader
-        int fragmentShaderHandle = GLES20.glCreateShader(GLES20.GL_FRAGMENT_SHADER);
-
-        if(fragmentShaderHandle != 0){
-            // pass in the shader source
-            GLES20.glShaderSource(fragmentShaderHandle, fragmentShader);
-
-            // compile the shader
-            GLES20.glCompileShader(fragmentShaderHandle);
-
-            // get the compilation status
-            final int[] compileStatus = new int[1];
-            GLES20.glGetShaderiv(fragmentShaderHandle, GLES20.GL_COMPILE_STATUS, compileStatus, 0);
-
-            // if compilation failed, delete the shader
-            if(compileStatus[0] == 0){
-                GLES20.glDeleteShader(fragmentShaderHandle);
-                fragmentShaderHandle = 0;
-            }
-        }
-
-        if(fragmentShaderHandle == 0){
-            throw new RuntimeException("Error creating fragment shader.");
-        }
-
-        // create a program object and store the handle to it
-        int programHandle = GLES20.glCreateProgram();
-
-        if(programHandle != 0){
-            // bind the vertex shader to the program
-            GLES20.glAttachShader(programHandle, vertexShaderHandle);
-
-            // bind the fragment shader to the program
-            GLES20.glAttachShader(programHandle, fragmentShaderHandle);
-
-            // bind attributes
-            GLES20.glBindAttribLocation(programHandle, 0, "a_Position");
-            GLES20.glBindAttribLocation(programHandle, 1, "a_Color");
-
-            // link the two shaders together into a program
-            GLES20.glLinkProgram(programHandle);
-
-            // get the link status
-            final int[] linkStatus = new int[1];
-            GLES20.glGetProgramiv(programHandle, GLES20.GL_LINK_STATUS, linkStatus, 0);
-
-            // if the link failed, delete the program
-            if(linkStatus[0] == 0){
-                GLES20.glDeleteProgram(programHandle);
-                programHandle = 0;
-            }
-        }
-
-        if(programHandle == 0){
-            throw new RuntimeException("Error creating program.");
-        }
+        // compile and link the unlit color shader, which binds a_Position to 0 and a_Color to 1
+        final ShaderProgram program = programCache.getProgram(mGL, Shaders.COLOR.getVariant());
 
         // set program handles. These will later be used to pass in values to the program.
-        mMVPMatrixHandle = GLES20.glGetUniformLocation(programHandle, "u_MVPMatrix");
-        mPositionHandle = GLES20.glGetAttribLocation(programHandle, "a_Position");
-        mColorHandle = GLES20.glGetAttribLocation(programHandle, "a_Color");
+        mMVPMatrixHandle = program.getUniformLocation("u_MVPMatrix");
+        mPositionHandle = program.getAttributeLocation("a_Position");
+        mColorHandle = program.getAttributeLocation("a_Color");
+
+        // upload the triangle once, draws then read from the buffer object
+        mTriangle1Mesh = new Mesh(mLayout, mTriangle1Vertices, 3, Mesh.USAGE_STATIC);
+        mTriangle1Mesh.upload(mGL);
 
         // tell OpenGL to use this program when rendering
-        GLES20.glUseProgram(programHandle);
+        mGL.glUseProgram(program.getHandle());
     }
 
     /**
-     * Draws a triangle from the given vertex data.
+     * Draws a triangle from the given mesh.
      *
-     * @param aTriangleBuffer The buffer containing the vertex data.
+     * @param aTriangleMesh The mesh containing the vertex data.
      */
-    private void drawTriangle(final FloatBuffer aTriangleBuffer){
-        // pass in the position info
-        aTriangleBuffer.position(mPositionOffset);
-        GLES20.glVertexAttribPointer(mPositionHandle, mPositionDataSize, GLES20.GL_FLOAT, false,
-                mStrideBytes, aTriangleBuffer);
-
-        GLES20.glEnableVertexAttribArray(mPositionHandle);
-
-        // pass in the color info
-        aTriangleBuffer.position(mColorOffset);
-        GLES20.glVertexAttribPointer(mColorHandle, mColorDataSize, GLES20.GL_FLOAT, false,
-                mStrideBytes, aTriangleBuffer);
-
-        GLES20.glEnableVertexAttribArray(mColorHandle);
-
-        // this multiplies the view matrix by the model matrix, and stores result in the MVP matrix
-        // which currently contains model * view
-        Matrix.multiplyMM(mMVPMatrix, 0, mViewMatrix, 0, mModelMatrix, 0);
-
-        // this multiplies the modelview matrix by the projection matrix, and stores the result in
-        // the MVP matrix which now contains model * view * projection
-        Matrix.multiplyMM(mMVPMatrix, 0, mProjectionMatrix, 0, mMVPMatrix, 0);
+    private void drawTriangle(final Mesh aTriangleMesh){
+        // computes model * view and then model * view * projection in one pass, the modelview
+        // result is only scratch here
+        MatrixMath.multiplyMVP(mMVMatrix, 0, mMVPMatrix, 0, mProjectionMatrix, mViewMatrix, mModelMatrix, 0);
 
-        GLES20.glUniformMatrix4fv(mMVPMatrixHandle, 1, false, mMVPMatrix, 0);
-        GLES20.glDrawArrays(GLES20.GL_TRIANGLES, 0, 3);
+        mGL.glUniformMatrix4fv(mMVPMatrixHandle, 1, false, mMVPMatrix, 0);
+        aTriangleMesh.draw(mGL, GL.GL_TRIANGLES);
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free hand-off of whole objects from one producer thread to one consumer thread. Of the
+ * three slots the producer owns one, the consumer owns one and the third is parked in between.
+ * Publishing and acquiring each swap the caller's slot with the parked one in a single atomic
+ * operation, so neither side ever waits for the other, the producer never overwrites what the
+ * consumer is reading, and the consumer always gets the newest published object.
+ *
+ * @param <T> The type of the buffered objects, e.g. a {@link CommandBuffer}.
+ */
+public class TripleBuffer<T>
+{
+    /** Set on the parked slot index when it holds an object the consumer has not taken yet. */
+    private static final int FRESH = 4;
+    private static final int INDEX_MASK = 3;
+
+    private final Object[] mSlots;
+
+    /** Index of the parked slot, plus FRESH. */
+    private final AtomicInteger mParked = new AtomicInteger(1);
+
+    /** Only touched by the producer. */
+    private int mWriteIndex = 0;
+
+    /** Only touched by the consumer. */
+    private int mReadIndex = 2;
+
+    /**
+     * The consumer starts out holding the third object, so it is what {@link #getReadBuffer()}
+     * returns before anything is published.
+     *
+     * @param first The producer's first write buffer.
+     * @param second The initially parked object.
+     * @param third The consumer's initial read buffer.
+     */
+    public TripleBuffer(final T first, final T second, final T third)
+    {
+        mSlots = new Object[] {first, second, third};
+    }
+
+    /**
+     * Producer side.
+     *
+     * @return The object to fill. It belongs to the producer until {@link #publish()}.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer()
+    {
+        return (T) mSlots[mWriteIndex];
+    }
+
+    /**
+     * Producer side: hands the filled write buffer over and takes the parked one to fill next.
+     * A published object the consumer never took is reused, so the producer may run ahead.
+     */
+    public void publish()
+    {
+        mWriteIndex = mParked.getAndSet(mWriteIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Consumer side: takes the newest published object, if there is one the consumer has not
+     * seen, and gives the previous read buffer back to the producer.
+     *
+     * @return True if a new object was taken, false if the read buffer is unchanged.
+     */
+    public boolean acquire()
+    {
+        if ((mParked.get() & FRESH) == 0)
+        {
+            return false;
+        }
+        mReadIndex = mParked.getAndSet(mReadIndex) & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * Consumer side.
+     *
+     * @return The object taken by the last successful {@link #acquire()}.
+     */
+    @SuppressWarnings("unchecked")
+    public T getReadBuffer()
+    {
+        return (T) mSlots[mReadIndex];
+    }
+
+    /**
+     * Returns every slot to its starting owner, dropping anything published but not taken. Only
+     * call while neither side is using the buffer, e.g. after the producer thread has stopped.
+     */
+    public void reset()
+    {
+        mWriteIndex = 0;
+        mParked.set(1);
+        mReadIndex = 2;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+/**
+ * Counts how many vertex shader invocations an index list costs on a GPU with a FIFO
+ * post-transform cache, the model mobile GPUs follow most closely. Two figures come out of it:
+ * <ul>
+ * <li>ACMR, average cache miss ratio: vertices transformed per triangle. 3.0 means no reuse at
+ * all; a regular grid can get close to 0.5.</li>
+ * <li>ATVR, average transform to vertex ratio: vertices transformed per vertex referenced.
+ * 1.0 means every vertex is shaded exactly once, the best any order can do.</li>
+ * </ul>
+ * Comparing both before and after {@link MeshOptimizer} shows whether a reordering paid off
+ * without a GPU or a profiler.
+ */
+public final class VertexCacheSimulator
+{
+    /** A small FIFO, as on older Mali and Adreno parts. */
+    public static final int DEFAULT_CACHE_SIZE = 16;
+
+    private final int mCacheSize;
+
+    /** When each vertex last entered the cache, in misses, or 0 if it never has. */
+    private int[] mCacheTimes = new int[0];
+
+    private int mTransformCount;
+    private int mTriangleCount;
+    private int mReferencedCount;
+
+    public VertexCacheSimulator()
+    {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize The number of transformed vertices the cache holds.
+     */
+    public VertexCacheSimulator(final int cacheSize)
+    {
+        if (cacheSize < 1)
+        {
+            throw new IllegalArgumentException("Cache size must be positive: " + cacheSize);
+        }
+        mCacheSize = cacheSize;
+    }
+
+    /**
+     * Runs the indices through an empty cache and keeps the counts.
+     *
+     * @param indices Three per triangle.
+     * @param indexCount The number of indices to draw.
+     * @param vertexCount One more than the largest index.
+     * @return This simulator, so the results can be read straight off.
+     */
+    public VertexCacheSimulator simulate(final int[] indices, final int indexCount, final int vertexCount)
+    {
+        if (mCacheTimes.length < vertexCount)
+        {
+            mCacheTimes = new int[vertexCount];
+        }
+        final int[] cacheTimes = mCacheTimes;
+        for (int v = 0; v < vertexCount; v++)
+        {
+            cacheTimes[v] = 0;
+        }
+
+        // A FIFO only advances on a miss, so a vertex is still cached while fewer than cacheSize
+        // misses have happened since it was loaded. The clock starts past cacheSize so that the
+        // zeroed times read as never loaded.
+        int time = mCacheSize + 1;
+        int referenced = 0;
+        for (int i = 0; i < indexCount; i++)
+        {
+            final int v = indices[i];
+            if (cacheTimes[v] == 0)
+            {
+                referenced++;
+            }
+            if (time - cacheTimes[v] > mCacheSize)
+            {
+                cacheTimes[v] = time++;
+            }
+        }
+
+        mTransformCount = time - mCacheSize - 1;
+        mTriangleCount = indexCount / 3;
+        mReferencedCount = referenced;
+        return this;
+    }
+
+    public int getCacheSize()
+    {
+        return mCacheSize;
+    }
+
+    /**
+     * @return The number of vertex shader invocations of the last simulation.
+     */
+    public int getTransformCount()
+    {
+        return mTransformCount;
+    }
+
+    public int getTriangleCount()
+    {
+        return mTriangleCount;
+    }
+
+    /**
+     * @return The number of distinct vertices the last simulation referenced.
+     */
+    public int getReferencedCount()
+    {
+        return mReferencedCount;
+    }
+
+    /**
+     * @return Vertices transformed per triangle.
+     */
+    public float getAcmr()
+    {
+        return mTriangleCount == 0 ? 0.0f : (float) mTransformCount / mTriangleCount;
+    }
+
+    /**
+     * @return Vertices transformed per distinct vertex referenced.
+     */
+    public float getAtvr()
+    {
+        return mReferencedCount == 0 ? 0.0f : (float) mTransformCount / mReferencedCount;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ACMR " + getAcmr() + ", ATVR " + getAtvr() + " (" + mTransformCount + " transforms, "
+                + mTriangleCount + " triangles, cache " + mCacheSize + ")";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,343 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Describes how the attributes of one vertex are interleaved and packed in a vertex buffer.
+ * Attributes are laid out in the order they are added, each starting on a 4-byte boundary as
+ * recommended for ES 2.0 hardware.
+ *
+ * Supported component types:
+ * <ul>
+ * <li>TYPE_FLOAT - 32-bit float, 4 bytes.</li>
+ * <li>TYPE_HALF_FLOAT - 16-bit float, 2 bytes. Needs the GL_OES_vertex_half_float extension.</li>
+ * <li>TYPE_SNORM16 - signed short mapped to [-1, 1], 2 bytes.</li>
+ * <li>TYPE_SNORM8 - signed byte mapped to [-1, 1], 1 byte.</li>
+ * <li>TYPE_UNORM8 - unsigned byte mapped to [0, 1], 1 byte.</li>
+ * </ul>
+ *
+ * Normalized values follow the ES 2.0 fixed-point rule (section 2.1.2): an unsigned b-bit c reads
+ * as c / (2^b - 1) and a signed one as (2c + 1) / (2^b - 1). The signed mapping is symmetric but
+ * cannot represent 0 exactly; the nearest values are +-1 / (2^b - 1). {@link #encode} rounds to
+ * the nearest of those values and {@link #decode} returns exactly what the GPU will read.
+ */
+public class VertexLayout
+{
+    public static final int TYPE_FLOAT = 0;
+    public static final int TYPE_HALF_FLOAT = 1;
+    public static final int TYPE_SNORM16 = 2;
+    public static final int TYPE_SNORM8 = 3;
+    public static final int TYPE_UNORM8 = 4;
+
+    /** GL_HALF_FLOAT_OES from the GL_OES_vertex_half_float extension. */
+    public static final int GL_HALF_FLOAT_OES = 0x8D61;
+
+    /** Per type: GL component type, bytes per component and whether GL should normalize it. */
+    private static final int[] GL_TYPES = {GL.GL_FLOAT, GL_HALF_FLOAT_OES, GL.GL_SHORT, GL.GL_BYTE, GL.GL_UNSIGNED_BYTE};
+    private static final int[] TYPE_SIZES = {4, 2, 2, 1, 1};
+    private static final boolean[] TYPE_NORMALIZED = {false, false, true, true, true};
+
+    /** Most attributes a layout can describe. ES 2.0 guarantees at least 8 vertex attributes. */
+    private static final int MAX_ATTRIBUTES = 8;
+
+    private final int[] mLocations = new int[MAX_ATTRIBUTES];
+    private final int[] mComponents = new int[MAX_ATTRIBUTES];
+    private final int[] mTypes = new int[MAX_ATTRIBUTES];
+    private final int[] mOffsets = new int[MAX_ATTRIBUTES];
+    private int mAttributeCount;
+
+    /** Size of one vertex in bytes. */
+    private int mStride;
+
+    /**
+     * Appends an attribute to the layout.
+     *
+     * @param location The shader attribute location the attribute is bound to.
+     * @param components Number of components per vertex, 1 to 4.
+     * @param type One of the TYPE_ constants.
+     * @return This layout, so calls can be chained.
+     */
+    public VertexLayout add(final int location, final int components, final int type)
+    {
+        if (mAttributeCount == MAX_ATTRIBUTES)
+        {
+            throw new IllegalStateException("Too many attributes.");
+        }
+        if (components < 1 || components > 4)
+        {
+            throw new IllegalArgumentException("Attributes have 1 to 4 components, not " + components);
+        }
+        if (type < TYPE_FLOAT || type > TYPE_UNORM8)
+        {
+            throw new IllegalArgumentException("Unknown attribute type: " + type);
+        }
+
+        final int index = mAttributeCount++;
+        mLocations[index] = location;
+        mComponents[index] = components;
+        mTypes[index] = type;
+        mOffsets[index] = mStride;
+
+        // Keep every attribute 4-byte aligned. The padding bytes are left zero.
+        mStride += align4(components * TYPE_SIZES[type]);
+        return this;
+    }
+
+    public int getAttributeCount()
+    {
+        return mAttributeCount;
+    }
+
+    /**
+     * @return The size of one vertex in bytes.
+     */
+    public int getStride()
+    {
+        return mStride;
+    }
+
+    public int getLocation(final int attribute)
+    {
+        return mLocations[attribute];
+    }
+
+    public int getComponents(final int attribute)
+    {
+        return mComponents[attribute];
+    }
+
+    /**
+     * @return The TYPE_ constant of the attribute.
+     */
+    public int getType(final int attribute)
+    {
+        return mTypes[attribute];
+    }
+
+    /**
+     * @return The GL component type to pass to glVertexAttribPointer.
+     */
+    public int getGLType(final int attribute)
+    {
+        return GL_TYPES[mTypes[attribute]];
+    }
+
+    public boolean isNormalized(final int attribute)
+    {
+        return TYPE_NORMALIZED[mTypes[attribute]];
+    }
+
+    /**
+     * @return The byte offset of the attribute inside a vertex.
+     */
+    public int getOffset(final int attribute)
+    {
+        return mOffsets[attribute];
+    }
+
+    /**
+     * @return The index of the attribute bound to the given location, or -1.
+     */
+    public int indexOfLocation(final int location)
+    {
+        for (int i = 0; i < mAttributeCount; i++)
+        {
+            if (mLocations[i] == location)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Points every attribute at the currently bound GL_ARRAY_BUFFER and enables it.
+     *
+     * @param gl The GL of the current context.
+     * @param baseOffset Byte offset of the first vertex inside the bound buffer.
+     */
+    public void bind(final GL gl, final int baseOffset)
+    {
+        for (int i = 0; i < mAttributeCount; i++)
+        {
+            gl.glVertexAttribPointer(mLocations[i], mComponents[i], GL_TYPES[mTypes[i]], TYPE_NORMALIZED[mTypes[i]],
+                    mStride, baseOffset + mOffsets[i]);
+            gl.glEnableVertexAttribArray(mLocations[i]);
+        }
+    }
+
+    /**
+     * Writes one component in the given packed type.
+     *
+     * @param buffer The destination buffer.
+     * @param byteOffset Absolute byte offset to write at.
+     * @param type One of the TYPE_ constants.
+     * @param value The value to pack. Normalized types are clamped to their range.
+     */
+    public static void encode(final ByteBuffer buffer, final int byteOffset, final int type, final float value)
+    {
+        switch (type)
+        {
+            case TYPE_FLOAT:
+                buffer.putFloat(byteOffset, value);
+                break;
+            case TYPE_HALF_FLOAT:
+                buffer.putShort(byteOffset, floatToHalf(value));
+                break;
+            case TYPE_SNORM16:
+                buffer.putShort(byteOffset, (short) encodeSnorm(value, 65535.0f));
+                break;
+            case TYPE_SNORM8:
+                buffer.put(byteOffset, (byte) encodeSnorm(value, 255.0f));
+                break;
+            case TYPE_UNORM8:
+                buffer.put(byteOffset, (byte) Math.round(clamp(value, 0.0f, 1.0f) * 255.0f));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown attribute type: " + type);
+        }
+    }
+
+    /**
+     * Reads one component back the way GL would interpret it.
+     *
+     * @param buffer The source buffer.
+     * @param byteOffset Absolute byte offset to read from.
+     * @param type One of the TYPE_ constants.
+     * @return The decoded value.
+     */
+    public static float decode(final ByteBuffer buffer, final int byteOffset, final int type)
+    {
+        switch (type)
+        {
+            case TYPE_FLOAT:
+                return buffer.getFloat(byteOffset);
+            case TYPE_HALF_FLOAT:
+                return halfToFloat(buffer.getShort(byteOffset));
+            case TYPE_SNORM16:
+                return (2 * buffer.getShort(byteOffset) + 1) / 65535.0f;
+            case TYPE_SNORM8:
+                return (2 * buffer.get(byteOffset) + 1) / 255.0f;
+            case TYPE_UNORM8:
+                return (buffer.get(byteOffset) & 0xff) / 255.0f;
+            default:
+                throw new IllegalArgumentException("Unknown attribute type: " + type);
+        }
+    }
+
+    /**
+     * Converts a float to IEEE 754 half precision, rounding to nearest even.
+     */
+    public static short floatToHalf(final float value)
+    {
+        final int bits = Float.floatToIntBits(value);
+        final int sign = (bits >>> 16) & 0x8000;
+        final int exponent = (bits >>> 23) & 0xff;
+        int mantissa = bits & 0x7fffff;
+
+        if (exponent == 0xff)
+        {
+            // Infinity stays infinity, NaN stays a quiet NaN.
+            return (short) (sign | 0x7c00 | (mantissa != 0 ? 0x200 : 0));
+        }
+
+        final int halfExponent = exponent - 127 + 15;
+        if (halfExponent >= 0x1f)
+        {
+            // Too large, overflow to infinity.
+            return (short) (sign | 0x7c00);
+        }
+
+        if (halfExponent <= 0)
+        {
+            if (halfExponent < -10)
+            {
+                // Too small even for a subnormal half.
+                return (short) sign;
+            }
+
+            // Subnormal half: shift the mantissa, including its implicit leading bit, into place.
+            mantissa |= 0x800000;
+            final int shift = 14 - halfExponent;
+            int half = mantissa >> shift;
+            final int remainder = mantissa & ((1 << shift) - 1);
+            final int halfway = 1 << (shift - 1);
+            if (remainder > halfway || (remainder == halfway && (half & 1) != 0))
+            {
+                half++;
+            }
+            return (short) (sign | half);
+        }
+
+        int half = (halfExponent << 10) | (mantissa >> 13);
+        final int remainder = mantissa & 0x1fff;
+        if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0))
+        {
+            // May carry into the exponent, which correctly rounds up to the next power of two or infinity.
+            half++;
+        }
+        return (short) (sign | half);
+    }
+
+    /**
+     * Converts an IEEE 754 half precision value to a float.
+     */
+    public static float halfToFloat(final short half)
+    {
+        final int bits = half & 0xffff;
+        final int sign = (bits & 0x8000) << 16;
+        final int exponent = (bits >>> 10) & 0x1f;
+        final int mantissa = bits & 0x3ff;
+
+        if (exponent == 0)
+        {
+            // Zero or subnormal: mantissa * 2^-24.
+            final float magnitude = mantissa * (1.0f / 16777216.0f);
+            return sign != 0 ? -magnitude : magnitude;
+        }
+        if (exponent == 0x1f)
+        {
+            return Float.intBitsToFloat(sign | 0x7f800000 | (mantissa << 13));
+        }
+        return Float.intBitsToFloat(sign | ((exponent - 15 + 127) << 23) | (mantissa << 13));
+    }
+
+    /**
+     * @return The size in bytes of one component of the given TYPE_ constant.
+     */
+    public static int getTypeSize(final int type)
+    {
+        return TYPE_SIZES[type];
+    }
+
+    /**
+     * Inverts (2c + 1) / range, rounding to the nearest code. -1 and 1 map to the end codes exactly.
+     *
+     * @param value The value to pack, clamped to [-1, 1].
+     * @param range 2^b - 1 for a b-bit code.
+     * @return The signed code.
+     */
+    static int encodeSnorm(final float value, final float range)
+    {
+        return (int) Math.floor((clamp(value, -1.0f, 1.0f) * range) * 0.5f);
+    }
+
+    private static float clamp(final float value, final float min, final float max)
+    {
+        return value < min ? min : (value > max ? max : value);
+    }
+
+    private static int align4(final int bytes)
+    {
+        return (bytes + 3) & ~3;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One frame of the batching renderer's CPU work for a grid of 1k, 10k and 100k cubes: writing the
+ * model matrices and transforming every instance into the shared vertex buffer, on the calling
+ * thread and split across worker threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchingBenchmark
+{
+    /** Cubes per frame. */
+    @Param({"1000", "10000", "100000"})
+    public int instances;
+
+    /** Worker threads, or 0 to transform on the calling thread. */
+    @Param({"0", "2", "4"})
+    public int threads;
+
+    private ExecutorService mExecutor;
+    private InstanceBatch mBatch;
+    private float mAngle;
+
+    /** Cubes along each edge of the grid. */
+    private int mSide;
+
+    @Setup
+    public void setUp()
+    {
+        mSide = (int) Math.ceil(Math.cbrt(instances));
+        if (threads > 0)
+        {
+            mExecutor = Executors.newFixedThreadPool(threads, new ThreadFactory()
+            {
+                @Override
+                public Thread newThread(final Runnable runnable)
+                {
+                    final Thread thread = new Thread(runnable, "BatchTransform");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        mBatch = new InstanceBatch(CubeData.POSITIONS, CubeData.COLORS, CubeData.NORMALS, CubeData.VERTEX_COUNT,
+                instances, mExecutor, Math.max(threads * 4, 1));
+        writeModelMatrices();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        if (mExecutor != null)
+        {
+            mExecutor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public float[] writeModelMatrices()
+    {
+        mAngle += 0.1f;
+        final float[] matrices = mBatch.getModelMatrices();
+        for (int instance = 0; instance < instances; instance++)
+        {
+            final int x = instance / (mSide * mSide);
+            final int y = instance / mSide % mSide;
+            final int z = instance % mSide;
+            MatrixMath.setTranslateRotate(matrices, instance * 16, x * 3.0f, y * 3.0f, z * 3.0f, mAngle,
+                    x + 1.0f, y + 1.0f, z + 1.0f);
+        }
+        return matrices;
+    }
+
+    @Benchmark
+    public InstanceBatch transform()
+    {
+        mBatch.transform(instances);
+        return mBatch;
+    }
+}
\ No newline at end of file
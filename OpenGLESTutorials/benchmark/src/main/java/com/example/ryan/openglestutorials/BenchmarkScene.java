@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.Random;
+
+/**
+ * Camera and scene setup shared by the benchmarks. Mirrors what the renderers do in
+ * onSurfaceChanged, without android.opengl.Matrix.
+ */
+final class BenchmarkScene
+{
+    private BenchmarkScene()
+    {
+    }
+
+    /**
+     * Writes a perspective projection, the same matrix as android.opengl.Matrix.frustumM.
+     */
+    static void setFrustum(final float[] m, final float left, final float right, final float bottom, final float top,
+                           final float near, final float far)
+    {
+        for (int i = 0; i < 16; i++)
+        {
+            m[i] = 0.0f;
+        }
+        m[0] = 2.0f * near / (right - left);
+        m[5] = 2.0f * near / (top - bottom);
+        m[8] = (right + left) / (right - left);
+        m[9] = (top + bottom) / (top - bottom);
+        m[10] = -(far + near) / (far - near);
+        m[11] = -1.0f;
+        m[14] = -2.0f * far * near / (far - near);
+    }
+
+    /**
+     * Sets up the camera the lighting tutorial uses: a 16:9 frustum from z = 1 to far, looking
+     * down -z from the origin.
+     */
+    static void setCamera(final float[] view, final float[] projection, final float far)
+    {
+        MatrixMath.setIdentity(view, 0);
+        final float ratio = 16.0f / 9.0f;
+        setFrustum(projection, -ratio, ratio, -1.0f, 1.0f, 1.0f, far);
+    }
+
+    /**
+     * Scatters unit-sized boxes through a cube of the given half extent in front of the camera,
+     * roughly a quarter of them inside the frustum set up by {@link #setCamera}.
+     *
+     * @return minX, minY, minZ, maxX, maxY, maxZ per box.
+     */
+    static float[] randomBoxes(final int count, final float extent, final long seed)
+    {
+        final Random random = new Random(seed);
+        final float[] boxes = new float[count * 6];
+        for (int i = 0; i < count; i++)
+        {
+            for (int k = 0; k < 3; k++)
+            {
+                final float center = (random.nextFloat() * 2.0f - 1.0f) * extent;
+                final float halfSize = 0.5f + random.nextFloat() * 0.5f;
+                boxes[i * 6 + k] = center - halfSize;
+                boxes[i * 6 + 3 + k] = center + halfSize;
+            }
+        }
+        return boxes;
+    }
+}
\ No newline at end of file
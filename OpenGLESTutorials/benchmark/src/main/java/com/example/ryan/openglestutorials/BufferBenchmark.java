@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Vertex buffer setup as done in the renderer constructors: the original separate
+ * allocateDirect/asFloatBuffer arrays per attribute, against interleaving and packing through
+ * {@link MeshBuilder} and welding with {@link MeshWelder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BufferBenchmark
+{
+    private final VertexLayout mFloatLayout = new VertexLayout()
+            .add(0, 3, VertexLayout.TYPE_FLOAT)
+            .add(1, 4, VertexLayout.TYPE_FLOAT)
+            .add(2, 3, VertexLayout.TYPE_FLOAT);
+
+    private final VertexLayout mPackedLayout = new VertexLayout()
+            .add(0, 3, VertexLayout.TYPE_FLOAT)
+            .add(1, 4, VertexLayout.TYPE_UNORM8)
+            .add(2, 3, VertexLayout.TYPE_SNORM8);
+
+    private final MeshWelder mWelder = new MeshWelder();
+
+    private MeshBuilder mPackedBuilder;
+    private ByteBuffer mPackedVertices;
+    private ByteBuffer mFloatVertices;
+
+    @Setup
+    public void setUp()
+    {
+        mPackedBuilder = new MeshBuilder(mPackedLayout, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .setAttribute(1, CubeData.COLORS)
+                .setAttribute(2, CubeData.NORMALS);
+        mPackedVertices = mPackedBuilder.build();
+        mFloatVertices = new MeshBuilder(mFloatLayout, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .setAttribute(1, CubeData.COLORS)
+                .setAttribute(2, CubeData.NORMALS)
+                .build();
+    }
+
+    /** One direct float buffer per attribute, as the tutorials first set up their cubes. */
+    @Benchmark
+    public void separateFloatBuffers(final Blackhole blackhole)
+    {
+        blackhole.consume(toFloatBuffer(CubeData.POSITIONS));
+        blackhole.consume(toFloatBuffer(CubeData.COLORS));
+        blackhole.consume(toFloatBuffer(CubeData.NORMALS));
+    }
+
+    @Benchmark
+    public ByteBuffer interleavedFloat()
+    {
+        return new MeshBuilder(mFloatLayout, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .setAttribute(1, CubeData.COLORS)
+                .setAttribute(2, CubeData.NORMALS)
+                .build();
+    }
+
+    @Benchmark
+    public ByteBuffer interleavedPacked()
+    {
+        return mPackedBuilder.build();
+    }
+
+    /** Repacking into a buffer that already exists, as a dynamic mesh would. */
+    @Benchmark
+    public ByteBuffer repackInPlace()
+    {
+        mPackedBuilder.pack(mPackedVertices, 0);
+        return mPackedVertices;
+    }
+
+    @Benchmark
+    public int weldPacked()
+    {
+        mWelder.weld(mPackedVertices, mPackedLayout, CubeData.VERTEX_COUNT);
+        return mWelder.getVertexCount();
+    }
+
+    @Benchmark
+    public int weldFloat()
+    {
+        mWelder.weld(mFloatVertices, mFloatLayout, CubeData.VERTEX_COUNT);
+        return mWelder.getVertexCount();
+    }
+
+    private static FloatBuffer toFloatBuffer(final float[] data)
+    {
+        final FloatBuffer buffer = ByteBuffer.allocateDirect(data.length * 4).order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        buffer.put(data).position(0);
+        return buffer;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Frustum culling of scattered boxes: testing every object's sphere and box against the planes,
+ * against walking a {@link Bvh}, plus what it costs to build and refit the hierarchy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CullingBenchmark
+{
+    @Param({"1000", "10000", "100000"})
+    public int objectCount;
+
+    private final Frustum mFrustum = new Frustum();
+    private final Bvh mBvh = new Bvh();
+    private float[] mBoxes;
+    private Bounds[] mBounds;
+    private int[] mVisible;
+
+    @Setup
+    public void setUp()
+    {
+        final float[] view = new float[16];
+        final float[] projection = new float[16];
+        final float[] viewProjection = new float[16];
+        BenchmarkScene.setCamera(view, projection, 200.0f);
+        MatrixMath.multiply(viewProjection, 0, projection, 0, view, 0);
+        mFrustum.set(viewProjection, 0);
+
+        mBoxes = BenchmarkScene.randomBoxes(objectCount, 200.0f, 42L);
+        mBounds = new Bounds[objectCount];
+        for (int i = 0; i < objectCount; i++)
+        {
+            final int b = i * 6;
+            mBounds[i] = new Bounds();
+            mBounds[i].set(mBoxes[b], mBoxes[b + 1], mBoxes[b + 2], mBoxes[b + 3], mBoxes[b + 4], mBoxes[b + 5]);
+        }
+        mBvh.build(mBoxes, objectCount);
+        mVisible = new int[objectCount];
+    }
+
+    /** Sphere test first, box test only where the sphere straddles a plane. */
+    @Benchmark
+    public int linearBounds()
+    {
+        int visible = 0;
+        for (int i = 0; i < objectCount; i++)
+        {
+            if (mFrustum.classify(mBounds[i]) != Frustum.OUTSIDE)
+            {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    @Benchmark
+    public int linearBoxes()
+    {
+        final float[] boxes = mBoxes;
+        int visible = 0;
+        for (int i = 0; i < objectCount; i++)
+        {
+            final int b = i * 6;
+            if (mFrustum.classifyBox(boxes[b], boxes[b + 1], boxes[b + 2], boxes[b + 3], boxes[b + 4],
+                    boxes[b + 5]) != Frustum.OUTSIDE)
+            {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    @Benchmark
+    public int bvhCull()
+    {
+        return mBvh.cull(mFrustum, mVisible);
+    }
+
+    @Benchmark
+    public int bvhRefit()
+    {
+        mBvh.refit();
+        return mBvh.getNodeCount();
+    }
+
+    @Benchmark
+    public int bvhBuild()
+    {
+        mBvh.build(mBoxes, objectCount);
+        return mBvh.getNodeCount();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Importing a generated grid of about {@link #megabytes} MB: OBJ through {@link ObjImporter}
+ * split across every core, on one thread, and streamed from a channel; the same grid as binary
+ * PLY; and OBJ read line by line with String.split and Float.parseFloat as the baseline.
+ *
+ * Scores are milliseconds per file, so throughput in MB/s is 1000 * megabytes / score. Run with
+ * the GC profiler, e.g. ./gradlew :benchmark:jmh -PjmhInclude=Import -PjmhProfiler=gc, and
+ * gc.alloc.rate.norm / (megabytes * 1048576) is the bytes allocated per byte of input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ImportBenchmark
+{
+    /** Rough OBJ bytes per grid vertex: its v and vn lines and its share of the f lines. */
+    private static final int OBJ_BYTES_PER_VERTEX = 130;
+
+    @Param({"64", "256"})
+    public int megabytes;
+
+    private File mObjFile;
+    private File mPlyFile;
+    private ExecutorService mExecutor;
+    private int mThreadCount;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        final int side = (int) Math.sqrt(megabytes * 1048576.0 / OBJ_BYTES_PER_VERTEX);
+        mObjFile = File.createTempFile("import", ".obj");
+        mPlyFile = File.createTempFile("import", ".ply");
+        writeObj(mObjFile, side);
+        writePly(mPlyFile, side);
+
+        mThreadCount = Runtime.getRuntime().availableProcessors();
+        mExecutor = Executors.newFixedThreadPool(mThreadCount);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        mExecutor.shutdown();
+        mObjFile.delete();
+        mPlyFile.delete();
+    }
+
+    @Benchmark
+    public MeshData objParallel() throws IOException
+    {
+        return new ObjImporter(mExecutor, mThreadCount).read(mObjFile);
+    }
+
+    @Benchmark
+    public MeshData objSingleThread() throws IOException
+    {
+        return new ObjImporter(null, 1).read(mObjFile);
+    }
+
+    @Benchmark
+    public MeshData objStreamed() throws IOException
+    {
+        final FileInputStream input = new FileInputStream(mObjFile);
+        try
+        {
+            return new ObjImporter(null, 1).read(input.getChannel());
+        }
+        finally
+        {
+            input.close();
+        }
+    }
+
+    @Benchmark
+    public MeshData plyBinary() throws IOException
+    {
+        return new PlyImporter().read(mPlyFile);
+    }
+
+    /** What a first importer usually looks like: a String per line and per token. */
+    @Benchmark
+    public int objLineSplit() throws IOException
+    {
+        final FloatArray positions = new FloatArray(1024);
+        final FloatArray normals = new FloatArray(1024);
+        final IntArray indices = new IntArray(1024);
+        final BufferedReader reader = new BufferedReader(new FileReader(mObjFile));
+        try
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                final String[] tokens = line.trim().split("\\s+");
+                if (tokens[0].equals("v"))
+                {
+                    positions.add(Float.parseFloat(tokens[1]), Float.parseFloat(tokens[2]), Float.parseFloat(tokens[3]));
+                }
+                else if (tokens[0].equals("vn"))
+                {
+                    normals.add(Float.parseFloat(tokens[1]), Float.parseFloat(tokens[2]), Float.parseFloat(tokens[3]));
+                }
+                else if (tokens[0].equals("f"))
+                {
+                    for (int i = 1; i < tokens.length; i++)
+                    {
+                        indices.add(Integer.parseInt(tokens[i].split("/")[0]) - 1);
+                    }
+                }
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+        return positions.size() + normals.size() + indices.size();
+    }
+
+    /**
+     * Writes a side x side grid of a rippled surface with per-vertex normals and quad faces.
+     */
+    private static void writeObj(final File file, final int side) throws IOException
+    {
+        final Writer writer = new OutputStreamWriter(new BufferedOutputStream(new FileOutputStream(file), 1 << 16), "US-ASCII");
+        try
+        {
+            final float[] vertex = new float[6];
+            for (int i = 0; i < side * side; i++)
+            {
+                gridVertex(i, side, vertex);
+                writer.write("v " + vertex[0] + " " + vertex[1] + " " + vertex[2] + "\n");
+            }
+            for (int i = 0; i < side * side; i++)
+            {
+                gridVertex(i, side, vertex);
+                writer.write("vn " + vertex[3] + " " + vertex[4] + " " + vertex[5] + "\n");
+            }
+            for (int y = 0; y + 1 < side; y++)
+            {
+                for (int x = 0; x + 1 < side; x++)
+                {
+                    final int a = y * side + x + 1;
+                    final int b = a + side;
+                    writer.write("f " + a + "//" + a + " " + (a + 1) + "//" + (a + 1) + " "
+                            + (b + 1) + "//" + (b + 1) + " " + b + "//" + b + "\n");
+                }
+            }
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes the same grid as binary little-endian PLY.
+     */
+    private static void writePly(final File file, final int side) throws IOException
+    {
+        final OutputStream output = new BufferedOutputStream(new FileOutputStream(file), 1 << 16);
+        final DataOutputStream data = new DataOutputStream(output);
+        try
+        {
+            final int faceCount = (side - 1) * (side - 1);
+            data.writeBytes("ply\nformat binary_little_endian 1.0\n"
+                    + "element vertex " + side * side + "\n"
+                    + "property float x\nproperty float y\nproperty float z\n"
+                    + "property float nx\nproperty float ny\nproperty float nz\n"
+                    + "element face " + faceCount + "\n"
+                    + "property list uchar int vertex_indices\n"
+                    + "end_header\n");
+
+            final float[] vertex = new float[6];
+            for (int i = 0; i < side * side; i++)
+            {
+                gridVertex(i, side, vertex);
+                for (float value : vertex)
+                {
+                    data.writeInt(Integer.reverseBytes(Float.floatToIntBits(value)));
+                }
+            }
+            for (int y = 0; y + 1 < side; y++)
+            {
+                for (int x = 0; x + 1 < side; x++)
+                {
+                    final int a = y * side + x;
+                    final int b = a + side;
+                    data.writeByte(4);
+                    data.writeInt(Integer.reverseBytes(a));
+                    data.writeInt(Integer.reverseBytes(a + 1));
+                    data.writeInt(Integer.reverseBytes(b + 1));
+                    data.writeInt(Integer.reverseBytes(b));
+                }
+            }
+        }
+        finally
+        {
+            data.close();
+        }
+    }
+
+    /**
+     * @param out Receives the position and normal of grid vertex i.
+     */
+    private static void gridVertex(final int i, final int side, final float[] out)
+    {
+        final float x = (float) (i % side) / side * 100.0f - 50.0f;
+        final float z = (float) (i / side) / side * 100.0f - 50.0f;
+        out[0] = x;
+        out[1] = (float) (Math.sin(x * 0.3) * Math.cos(z * 0.2));
+        out[2] = z;
+
+        final float dx = (float) (0.3 * Math.cos(x * 0.3) * Math.cos(z * 0.2));
+        final float dz = (float) (-0.2 * Math.sin(x * 0.3) * Math.sin(z * 0.2));
+        final float length = (float) Math.sqrt(dx * dx + 1.0f + dz * dz);
+        out[3] = -dx / length;
+        out[4] = 1.0f / length;
+        out[5] = -dz / length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The load-time cost of simplifying a UV sphere with rings x 2 * rings quads: one
+ * {@link MeshSimplifier} pass down to a tenth of the triangles, and building a whole
+ * {@link LodMesh} chain, which also packs and cache-optimizes every level.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LodBenchmark
+{
+    @Param({"32", "128"})
+    public int rings;
+
+    private final VertexLayout mLayout = new VertexLayout().add(0, 3, VertexLayout.TYPE_FLOAT);
+    private float[] mPositions;
+    private ByteBuffer mVertices;
+    private int[] mIndices;
+    private int mVertexCount;
+
+    @Setup
+    public void setUp()
+    {
+        final int segments = rings * 2;
+        final int columns = segments + 1;
+        mVertexCount = (rings + 1) * columns;
+        mPositions = new float[mVertexCount * 3];
+        for (int r = 0; r <= rings; r++)
+        {
+            final double theta = Math.PI * r / rings;
+            for (int s = 0; s <= segments; s++)
+            {
+                final double phi = 2.0 * Math.PI * s / segments;
+                final int v = (r * columns + s) * 3;
+
+                // Snap the poles and the seam so their copies weld exactly.
+                final double ring = r == 0 || r == rings ? 0.0 : Math.sin(theta);
+                final double angle = s == segments ? 0.0 : phi;
+                mPositions[v] = (float) (ring * Math.cos(angle));
+                mPositions[v + 1] = r == 0 ? 1.0f : (r == rings ? -1.0f : (float) Math.cos(theta));
+                mPositions[v + 2] = (float) (ring * Math.sin(angle));
+            }
+        }
+
+        mIndices = new int[rings * segments * 6];
+        int i = 0;
+        for (int r = 0; r < rings; r++)
+        {
+            for (int s = 0; s < segments; s++)
+            {
+                final int a = r * columns + s;
+                final int b = a + columns;
+                mIndices[i++] = a;
+                mIndices[i++] = b;
+                mIndices[i++] = a + 1;
+                mIndices[i++] = a + 1;
+                mIndices[i++] = b;
+                mIndices[i++] = b + 1;
+            }
+        }
+
+        mVertices = new MeshBuilder(mLayout, mVertexCount).setAttribute(0, mPositions).build();
+    }
+
+    @Benchmark
+    public int[] simplify()
+    {
+        final MeshSimplifier simplifier = new MeshSimplifier(mPositions, mVertexCount);
+        return simplifier.simplify(mIndices, mIndices.length / 30 * 3, 1.0f);
+    }
+
+    @Benchmark
+    public LodMesh lodChain()
+    {
+        return new LodMesh(mLayout, mVertices, mVertexCount, mIndices, Mesh.USAGE_STATIC);
+    }
+}
\ No newline at end of file
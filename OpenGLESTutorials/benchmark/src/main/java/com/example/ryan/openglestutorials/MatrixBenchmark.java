@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The per-draw matrix chains of drawCube() and drawLight(), written out as the tutorials first
+ * had them (separate multiplies and rotations) and as the renderers run them now (fused
+ * MatrixMath calls and a MatrixStack).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatrixBenchmark
+{
+    private final float[] mProjectionMatrix = new float[16];
+    private final float[] mViewMatrix = new float[16];
+    private final float[] mModelMatrix = new float[16];
+    private final float[] mMVMatrix = new float[16];
+    private final float[] mMVPMatrix = new float[16];
+    private final float[] mInverse = new float[16];
+    private final MatrixStack mStack = new MatrixStack(4);
+
+    /** Changed every call so the rotation cannot be hoisted out of the measurement loop. */
+    private float mAngle;
+
+    @Setup
+    public void setUp()
+    {
+        BenchmarkScene.setCamera(mViewMatrix, mProjectionMatrix, 10.0f);
+        MatrixMath.translate(mViewMatrix, 0, 0.0f, 0.0f, -1.5f);
+        MatrixMath.setTranslateRotate(mModelMatrix, 0, 4.0f, 0.0f, -7.0f, 30.0f, 1.0f, 0.0f, 0.0f);
+    }
+
+    /** The model matrix of one cube: identity, translate, then rotate. */
+    @Benchmark
+    public float[] cubeModelSeparate()
+    {
+        mAngle += 0.1f;
+        MatrixMath.setIdentity(mModelMatrix, 0);
+        MatrixMath.translate(mModelMatrix, 0, 4.0f, 0.0f, -7.0f);
+        MatrixMath.rotate(mModelMatrix, 0, mAngle, 1.0f, 0.0f, 0.0f);
+        return mModelMatrix;
+    }
+
+    @Benchmark
+    public float[] cubeModelFused()
+    {
+        mAngle += 0.1f;
+        MatrixMath.setTranslateRotate(mModelMatrix, 0, 4.0f, 0.0f, -7.0f, mAngle, 1.0f, 0.0f, 0.0f);
+        return mModelMatrix;
+    }
+
+    /** MV = V * M, then MVP = P * MV, as drawCube() did with two multiplyMM calls. */
+    @Benchmark
+    public float[] mvpSeparate()
+    {
+        MatrixMath.multiply(mMVMatrix, 0, mViewMatrix, 0, mModelMatrix, 0);
+        MatrixMath.multiply(mMVPMatrix, 0, mProjectionMatrix, 0, mMVMatrix, 0);
+        return mMVPMatrix;
+    }
+
+    @Benchmark
+    public float[] mvpFused()
+    {
+        MatrixMath.multiplyMVP(mMVMatrix, 0, mMVPMatrix, 0, mProjectionMatrix, mViewMatrix, mModelMatrix, 0);
+        return mMVPMatrix;
+    }
+
+    /** The light orbit of drawLight(): translate, rotate about y, translate, then MV and MVP. */
+    @Benchmark
+    public float[] lightChainSeparate()
+    {
+        mAngle += 0.1f;
+        MatrixMath.setIdentity(mModelMatrix, 0);
+        MatrixMath.translate(mModelMatrix, 0, 0.0f, 0.0f, -5.0f);
+        MatrixMath.rotate(mModelMatrix, 0, mAngle, 0.0f, 1.0f, 0.0f);
+        MatrixMath.translate(mModelMatrix, 0, 0.0f, 0.0f, 2.0f);
+        MatrixMath.multiply(mMVMatrix, 0, mViewMatrix, 0, mModelMatrix, 0);
+        MatrixMath.multiply(mMVPMatrix, 0, mProjectionMatrix, 0, mMVMatrix, 0);
+        return mMVPMatrix;
+    }
+
+    @Benchmark
+    public float[] lightChainStack()
+    {
+        mAngle += 0.1f;
+        final MatrixStack stack = mStack;
+        stack.reset();
+        stack.loadTranslateRotateScale(0.0f, 0.0f, -5.0f, mAngle, 0.0f, 1.0f, 0.0f, 1.0f, 1.0f, 1.0f);
+        stack.push();
+        stack.translate(0.0f, 0.0f, 2.0f);
+        MatrixMath.multiplyMVP(mMVMatrix, 0, mMVPMatrix, 0, mProjectionMatrix, mViewMatrix, stack.getArray(),
+                stack.getOffset());
+        stack.pop();
+        return mMVPMatrix;
+    }
+
+    /** Picking inverts the view-projection whenever the camera changes. */
+    @Benchmark
+    public float[] invert()
+    {
+        MatrixMath.invert(mInverse, 0, mMVPMatrix, 0);
+        return mInverse;
+    }
+}
\ No newline at end of file
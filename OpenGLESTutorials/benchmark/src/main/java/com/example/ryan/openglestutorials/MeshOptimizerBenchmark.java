@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The load-time cost of each {@link MeshOptimizer} pass on a side x side grid whose triangles
+ * are shuffled, as an exporter that pays no attention to order may leave them, and of running
+ * the result through the {@link VertexCacheSimulator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MeshOptimizerBenchmark
+{
+    @Param({"64", "256"})
+    public int side;
+
+    private float[] mPositions;
+    private int[] mIndices;
+    private int[] mCacheOrder;
+    private int mVertexCount;
+    private final VertexCacheSimulator mSimulator = new VertexCacheSimulator();
+
+    @Setup
+    public void setUp()
+    {
+        mVertexCount = side * side;
+        mPositions = new float[mVertexCount * 3];
+        for (int v = 0; v < mVertexCount; v++)
+        {
+            mPositions[v * 3] = v % side;
+            mPositions[v * 3 + 1] = (float) Math.sin(v % side * 0.2);
+            mPositions[v * 3 + 2] = v / side;
+        }
+
+        final int triangleCount = (side - 1) * (side - 1) * 2;
+        mIndices = new int[triangleCount * 3];
+        int i = 0;
+        for (int y = 0; y + 1 < side; y++)
+        {
+            for (int x = 0; x + 1 < side; x++)
+            {
+                final int a = y * side + x;
+                final int b = a + side;
+                mIndices[i++] = a;
+                mIndices[i++] = b;
+                mIndices[i++] = a + 1;
+                mIndices[i++] = a + 1;
+                mIndices[i++] = b;
+                mIndices[i++] = b + 1;
+            }
+        }
+
+        final Random random = new Random(1);
+        for (int t = triangleCount - 1; t > 0; t--)
+        {
+            final int other = random.nextInt(t + 1);
+            for (int corner = 0; corner < 3; corner++)
+            {
+                final int swap = mIndices[t * 3 + corner];
+                mIndices[t * 3 + corner] = mIndices[other * 3 + corner];
+                mIndices[other * 3 + corner] = swap;
+            }
+        }
+
+        mCacheOrder = MeshOptimizer.optimizeVertexCache(mIndices, mVertexCount);
+    }
+
+    @Benchmark
+    public int[] vertexCache()
+    {
+        return MeshOptimizer.optimizeVertexCache(mIndices, mVertexCount);
+    }
+
+    @Benchmark
+    public int[] overdraw()
+    {
+        return MeshOptimizer.optimizeOverdraw(mCacheOrder, mPositions, mVertexCount,
+                MeshOptimizer.DEFAULT_OVERDRAW_THRESHOLD);
+    }
+
+    @Benchmark
+    public int[] vertexFetch()
+    {
+        return MeshOptimizer.optimizeVertexFetch(mCacheOrder.clone(), mVertexCount);
+    }
+
+    @Benchmark
+    public float simulate()
+    {
+        return mSimulator.simulate(mCacheOrder, mCacheOrder.length, mVertexCount).getAcmr();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Touch picking against scattered cubes through a {@link Bvh}, cycling through a fixed set of
+ * screen positions so hits and misses are both measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PickingBenchmark
+{
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final int TOUCH_COUNT = 64;
+
+    @Param({"1000", "30000"})
+    public int objectCount;
+
+    private final Picker mPicker = new Picker();
+    private final Bvh mBvh = new Bvh();
+    private final float[] mTouches = new float[TOUCH_COUNT * 2];
+    private int mNextTouch;
+
+    @Setup
+    public void setUp()
+    {
+        final float[] view = new float[16];
+        final float[] projection = new float[16];
+        BenchmarkScene.setCamera(view, projection, 200.0f);
+        mPicker.setCamera(view, projection, WIDTH, HEIGHT);
+
+        // Unit cubes in front of the camera, all sharing one pick shape.
+        final Random random = new Random(42L);
+        final float[] worldMatrices = new float[objectCount * 16];
+        final float[] boxes = new float[objectCount * 6];
+        final PickShape[] shapes = new PickShape[objectCount];
+        final PickShape cube = PickShape.fromTriangleList(CubeData.POSITIONS, CubeData.VERTEX_COUNT);
+        for (int i = 0; i < objectCount; i++)
+        {
+            final float x = (random.nextFloat() * 2.0f - 1.0f) * 60.0f;
+            final float y = (random.nextFloat() * 2.0f - 1.0f) * 35.0f;
+            final float z = -10.0f - random.nextFloat() * 100.0f;
+            MatrixMath.setTranslate(worldMatrices, i * 16, x, y, z);
+            boxes[i * 6] = x - 1.0f;
+            boxes[i * 6 + 1] = y - 1.0f;
+            boxes[i * 6 + 2] = z - 1.0f;
+            boxes[i * 6 + 3] = x + 1.0f;
+            boxes[i * 6 + 4] = y + 1.0f;
+            boxes[i * 6 + 5] = z + 1.0f;
+            shapes[i] = cube;
+        }
+        mBvh.build(boxes, objectCount);
+        mPicker.setScene(mBvh, worldMatrices, shapes);
+
+        for (int i = 0; i < TOUCH_COUNT; i++)
+        {
+            mTouches[i * 2] = random.nextFloat() * WIDTH;
+            mTouches[i * 2 + 1] = random.nextFloat() * HEIGHT;
+        }
+    }
+
+    @Benchmark
+    public PickResult pick()
+    {
+        final int touch = mNextTouch;
+        mNextTouch = (touch + 1) % TOUCH_COUNT;
+        return mPicker.pick(mTouches[touch * 2], mTouches[touch * 2 + 1]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Filling and sorting a {@link RenderQueue} for one frame, against Arrays.sort on the bare keys.
+ * The draws use 8 programs and 64 meshes at random depths, 15% of them transparent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderQueueBenchmark
+{
+    @Param({"10000", "100000", "1000000"})
+    public int drawCount;
+
+    private long[] mSourceKeys;
+    private long[] mSortKeys;
+    private RenderQueue mQueue;
+
+    @Setup
+    public void setUp()
+    {
+        final Random random = new Random(42L);
+        mSourceKeys = new long[drawCount];
+        for (int i = 0; i < drawCount; i++)
+        {
+            final int program = random.nextInt(8);
+            final int mesh = random.nextInt(64);
+            final float depth = 1.0f + random.nextFloat() * 199.0f;
+            mSourceKeys[i] = random.nextInt(100) < 15
+                    ? RenderQueue.transparentKey(RenderQueue.PASS_TRANSPARENT, program, mesh, depth)
+                    : RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, program, mesh, depth);
+        }
+        mSortKeys = new long[drawCount];
+        mQueue = new RenderQueue(drawCount);
+    }
+
+    @Benchmark
+    public RenderQueue radixSort()
+    {
+        final RenderQueue queue = mQueue;
+        final long[] keys = mSourceKeys;
+        queue.clear();
+        for (int i = 0; i < keys.length; i++)
+        {
+            queue.add(keys[i], i);
+        }
+        queue.sort();
+        return queue;
+    }
+
+    /** Keys only, without the items a render queue has to carry along. */
+    @Benchmark
+    public long[] arraysSort()
+    {
+        System.arraycopy(mSourceKeys, 0, mSortKeys, 0, drawCount);
+        Arrays.sort(mSortKeys);
+        return mSortKeys;
+    }
+}
\ No newline at end of file
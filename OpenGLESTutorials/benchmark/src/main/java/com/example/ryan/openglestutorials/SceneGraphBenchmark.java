@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scene graph updates over 100 groups of 10 cubes: how much the dirty flags save when nothing,
+ * one node or every node moved, and what a camera move costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SceneGraphBenchmark
+{
+    private static final int GROUP_COUNT = 100;
+    private static final int CUBES_PER_GROUP = 10;
+
+    private final SceneGraph mScene = new SceneGraph();
+    private final SceneNode[] mCubes = new SceneNode[GROUP_COUNT * CUBES_PER_GROUP];
+    private final float[] mViewMatrix = new float[16];
+    private float mAngle;
+
+    @Setup
+    public void setUp()
+    {
+        final VertexLayout layout = new VertexLayout().add(0, 3, VertexLayout.TYPE_FLOAT);
+        final Mesh cube = new Mesh(layout, new MeshBuilder(layout, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .build(), CubeData.VERTEX_COUNT, Mesh.USAGE_STATIC);
+
+        final float[] projection = new float[16];
+        BenchmarkScene.setCamera(mViewMatrix, projection, 200.0f);
+        mScene.setViewMatrix(mViewMatrix);
+        mScene.setProjectionMatrix(projection);
+
+        for (int g = 0; g < GROUP_COUNT; g++)
+        {
+            final SceneNode group = mScene.getRoot().addChild(new SceneNode());
+            group.setTranslation((g % 10) * 10.0f - 45.0f, (g / 10) * 10.0f - 45.0f, -100.0f);
+            for (int c = 0; c < CUBES_PER_GROUP; c++)
+            {
+                final SceneNode node = group.addChild(new SceneNode(cube));
+                node.setTranslation(0.0f, 0.0f, c * 3.0f);
+                node.setRotation(c * 36.0f, 1.0f, 1.0f, 0.0f);
+                mCubes[g * CUBES_PER_GROUP + c] = node;
+            }
+        }
+        mScene.update();
+    }
+
+    @Benchmark
+    public int updateClean()
+    {
+        mScene.update();
+        return mScene.getVisitedCount();
+    }
+
+    @Benchmark
+    public int updateOneCube()
+    {
+        mAngle += 0.1f;
+        mCubes[mCubes.length / 2].setAngle(mAngle);
+        mScene.update();
+        return mScene.getVisitedCount();
+    }
+
+    @Benchmark
+    public int updateAllCubes()
+    {
+        mAngle += 0.1f;
+        for (SceneNode cube : mCubes)
+        {
+            cube.setAngle(mAngle);
+        }
+        mScene.update();
+        return mScene.getWorldUpdateCount();
+    }
+
+    /** Only the MV and MVP matrices are recomputed, the world matrices stay cached. */
+    @Benchmark
+    public int updateCameraMoved()
+    {
+        mViewMatrix[12] = mViewMatrix[12] == 0.0f ? 0.5f : 0.0f;
+        mScene.setViewMatrix(mViewMatrix);
+        mScene.update();
+        return mScene.getViewUpdateCount();
+    }
+}
\ No newline at end of file
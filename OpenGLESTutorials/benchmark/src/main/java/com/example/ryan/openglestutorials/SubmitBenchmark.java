@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The CPU cost of issuing draw calls, with the GPU taken out by a {@link NoOpGL}: the lighting
+ * tutorial's per-cube uniforms and indexed mesh draw, and the batched grid's buffer update and
+ * paged draws. The "recording" backend shows what counting calls adds on top, and "cached" what
+ * a {@link StateCacheGL} costs or saves in front of the GL. drawCubesRecorded adds recording the
+ * same calls into a {@link CommandBuffer} and replaying them, as the frame pipeline does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SubmitBenchmark
+{
+    private static final int CUBE_COUNT = 5;
+
+    @Param({"noop", "recording", "cached"})
+    public String backend;
+
+    private final float[] mMVMatrix = new float[16];
+    private final float[] mMVPMatrix = new float[16];
+    private final CommandBuffer mCommands = new CommandBuffer();
+    private GL mGL;
+    private Mesh mCubeMesh;
+    private InstanceBatch mBatch;
+
+    @Setup
+    public void setUp()
+    {
+        if (backend.equals("recording"))
+        {
+            mGL = new RecordingGL();
+        }
+        else if (backend.equals("cached"))
+        {
+            mGL = new StateCacheGL(new NoOpGL());
+        }
+        else
+        {
+            mGL = new NoOpGL();
+        }
+
+        final VertexLayout layout = new VertexLayout()
+                .add(0, 3, VertexLayout.TYPE_FLOAT)
+                .add(1, 4, VertexLayout.TYPE_UNORM8)
+                .add(2, 3, VertexLayout.TYPE_SNORM8);
+        final MeshWelder welder = new MeshWelder();
+        welder.weld(new MeshBuilder(layout, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .setAttribute(1, CubeData.COLORS)
+                .setAttribute(2, CubeData.NORMALS)
+                .build(), layout, CubeData.VERTEX_COUNT);
+        mCubeMesh = new Mesh(layout, welder.getVertices(), welder.getVertexCount(), welder.getIndices(),
+                welder.getIndexCount(), welder.getIndexType(), Mesh.USAGE_STATIC);
+        mCubeMesh.upload(mGL);
+
+        mBatch = new InstanceBatch(CubeData.POSITIONS, CubeData.COLORS, CubeData.NORMALS, CubeData.VERTEX_COUNT,
+                16 * 16 * 16, null, 1);
+        mBatch.upload(mGL);
+        mBatch.transform(16 * 16 * 16);
+    }
+
+    /** The submit phase of IntroToLightingRenderer: uniforms and one indexed draw per cube. */
+    @Benchmark
+    public GL drawCubes()
+    {
+        final GL gl = mGL;
+        gl.glUseProgram(1);
+        for (int i = 0; i < CUBE_COUNT; i++)
+        {
+            gl.glUniformMatrix4fv(0, 1, false, mMVMatrix, 0);
+            gl.glUniformMatrix4fv(1, 1, false, mMVPMatrix, 0);
+            gl.glUniform3f(2, 0.0f, 0.0f, -3.0f);
+            mCubeMesh.draw(gl, GL.GL_TRIANGLES);
+        }
+        return gl;
+    }
+
+    /** The same frame, recorded into a command buffer and then replayed. */
+    @Benchmark
+    public GL drawCubesRecorded()
+    {
+        final CommandBuffer commands = mCommands;
+        commands.begin();
+        commands.useProgram(1);
+        for (int i = 0; i < CUBE_COUNT; i++)
+        {
+            commands.uniformMatrix4fv(0, mMVMatrix, 0);
+            commands.uniformMatrix4fv(1, mMVPMatrix, 0);
+            commands.uniform3f(2, 0.0f, 0.0f, -3.0f);
+            commands.drawMesh(mCubeMesh, GL.GL_TRIANGLES);
+        }
+        commands.replay(mGL);
+        return mGL;
+    }
+
+    @Benchmark
+    public GL drawBatch()
+    {
+        mBatch.draw(mGL);
+        return mGL;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,278 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Culls random boxes through a {@link Bvh} and checks every result against testing each box on
+ * its own with {@link FrustumCuller}, after building, refitting and rebuilding, including trees
+ * that cannot be split.
+ */
+public class BvhTest
+{
+    private static final int CAMERAS = 24;
+
+    private final Random mRandom = new Random(9);
+    private final FrustumCuller mCuller = new FrustumCuller();
+    private final Bvh mBvh = new Bvh();
+
+    /** 90 degrees, near 1, far 60. */
+    private final float[] mProjection = new float[16];
+    private final float[] mView = new float[16];
+
+    @Before
+    public void setUp()
+    {
+        final float near = 1.0f;
+        final float far = 60.0f;
+        mProjection[0] = 1.0f;
+        mProjection[5] = 1.0f;
+        mProjection[10] = -(far + near) / (far - near);
+        mProjection[11] = -1.0f;
+        mProjection[14] = -2.0f * far * near / (far - near);
+    }
+
+    @Test
+    public void cullMatchesBruteForce()
+    {
+        final float[] boxes = randomBoxes(1000, 50.0f);
+        mBvh.build(boxes, 1000);
+        assertValidTree(1000, true);
+        assertMatchesBruteForce(boxes, 1000);
+    }
+
+    @Test
+    public void refitMatchesBruteForce()
+    {
+        final int count = 800;
+        final float[] boxes = randomBoxes(count, 50.0f);
+        mBvh.build(boxes, count);
+
+        // Move everything, some objects far from where the tree was built around them.
+        for (int step = 0; step < 3; step++)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                final float jump = i % 10 == 0 ? 80.0f : 4.0f;
+                final float dx = (mRandom.nextFloat() - 0.5f) * jump;
+                final float dy = (mRandom.nextFloat() - 0.5f) * jump;
+                final float dz = (mRandom.nextFloat() - 0.5f) * jump;
+                final int b = i * 6;
+                boxes[b] += dx;
+                boxes[b + 1] += dy;
+                boxes[b + 2] += dz;
+                boxes[b + 3] += dx;
+                boxes[b + 4] += dy;
+                boxes[b + 5] += dz;
+                mBvh.setObjectBox(i, boxes[b], boxes[b + 1], boxes[b + 2], boxes[b + 3], boxes[b + 4], boxes[b + 5]);
+            }
+            mBvh.refit();
+            assertValidTree(count, false);
+            assertMatchesBruteForce(boxes, count);
+        }
+    }
+
+    @Test
+    public void coincidentCentroidsStayInOneLeaf()
+    {
+        // Nested boxes of many sizes around one point: no split can separate them.
+        final int count = 100;
+        final float[] boxes = new float[count * 6];
+        for (int i = 0; i < count; i++)
+        {
+            final float half = 0.5f + i * 0.3f;
+            boxes[i * 6] = 3.0f - half;
+            boxes[i * 6 + 1] = -2.0f - half;
+            boxes[i * 6 + 2] = -20.0f - half;
+            boxes[i * 6 + 3] = 3.0f + half;
+            boxes[i * 6 + 4] = -2.0f + half;
+            boxes[i * 6 + 5] = -20.0f + half;
+        }
+        mBvh.build(boxes, count);
+        assertEquals(1, mBvh.getNodeCount());
+        assertEquals(count, mBvh.getNodeObjectCount(0));
+        assertValidTree(count, false);
+        assertMatchesBruteForce(boxes, count);
+    }
+
+    @Test
+    public void smallCountsAreOneLeaf()
+    {
+        for (int count = 0; count <= 4; count++)
+        {
+            final float[] boxes = randomBoxes(count, 30.0f);
+            mBvh.build(boxes, count);
+            assertEquals(1, mBvh.getNodeCount());
+            assertEquals(count, mBvh.getObjectCount());
+            assertValidTree(count, true);
+            assertMatchesBruteForce(boxes, count);
+
+            mBvh.refit();
+            assertMatchesBruteForce(boxes, count);
+        }
+
+        mBvh.build(new float[0], 0);
+        assertEquals(0, mBvh.cull(mCuller.getFrustum(), new int[0]));
+        assertEquals(0, mBvh.getNodesVisited());
+    }
+
+    @Test
+    public void rebuildWithFewerObjects()
+    {
+        mBvh.build(randomBoxes(600, 50.0f), 600);
+
+        // The arrays stay large; nothing of the old tree may leak into the new one.
+        final float[] boxes = randomBoxes(40, 50.0f);
+        mBvh.build(boxes, 40);
+        assertEquals(40, mBvh.getObjectCount());
+        assertValidTree(40, true);
+        assertMatchesBruteForce(boxes, 40);
+
+        mBvh.build(boxes, 3);
+        assertEquals(3, mBvh.getObjectCount());
+        assertMatchesBruteForce(boxes, 3);
+    }
+
+    @Test
+    public void insideSubtreesAreNotTestedObjectByObject()
+    {
+        // A tight cluster straight ahead is accepted as a whole.
+        final float[] boxes = new float[200 * 6];
+        for (int i = 0; i < 200; i++)
+        {
+            final float x = (mRandom.nextFloat() - 0.5f) * 2.0f;
+            final float y = (mRandom.nextFloat() - 0.5f) * 2.0f;
+            final float z = -20.0f + (mRandom.nextFloat() - 0.5f) * 2.0f;
+            setBox(boxes, i, x, y, z, 0.1f);
+        }
+        mBvh.build(boxes, 200);
+        MatrixMath.setIdentity(mView, 0);
+        mCuller.setCamera(mView, mProjection);
+        assertEquals(200, mBvh.cull(mCuller.getFrustum(), new int[200]));
+        assertEquals(1, mBvh.getNodesVisited());
+        assertEquals(0, mBvh.getObjectsTested());
+    }
+
+    /**
+     * Culls from random cameras, through the tree and box by box, and compares the sorted results.
+     */
+    private void assertMatchesBruteForce(final float[] boxes, final int count)
+    {
+        final int[] visible = new int[count];
+        final int[] expected = new int[count];
+        final Bounds bounds = new Bounds();
+        for (int camera = 0; camera < CAMERAS; camera++)
+        {
+            MatrixMath.setIdentity(mView, 0);
+            if (camera > 0)
+            {
+                MatrixMath.rotate(mView, 0, mRandom.nextFloat() * 360.0f, mRandom.nextFloat() - 0.5f,
+                        mRandom.nextFloat() - 0.5f, mRandom.nextFloat() - 0.5f);
+                MatrixMath.translate(mView, 0, (mRandom.nextFloat() - 0.5f) * 40.0f,
+                        (mRandom.nextFloat() - 0.5f) * 40.0f, (mRandom.nextFloat() - 0.5f) * 40.0f);
+            }
+            mCuller.setCamera(mView, mProjection);
+
+            mCuller.beginFrame();
+            int expectedCount = 0;
+            for (int i = 0; i < count; i++)
+            {
+                final int b = i * 6;
+                bounds.set(boxes[b], boxes[b + 1], boxes[b + 2], boxes[b + 3], boxes[b + 4], boxes[b + 5]);
+                if (mCuller.isVisible(bounds))
+                {
+                    expected[expectedCount++] = i;
+                }
+            }
+
+            mCuller.beginFrame();
+            final int visibleCount = mCuller.cull(mBvh, visible);
+            assertEquals(count, mCuller.getVisibleCount() + mCuller.getCulledCount());
+            final int[] actual = Arrays.copyOf(visible, visibleCount);
+            Arrays.sort(actual);
+            assertArrayEquals("Camera " + camera, Arrays.copyOf(expected, expectedCount), actual);
+        }
+    }
+
+    /**
+     * Every object is in exactly one leaf, and every node box holds the boxes below it.
+     *
+     * @param smallLeaves Whether leaves must hold at most four objects.
+     */
+    private void assertValidTree(final int count, final boolean smallLeaves)
+    {
+        final int[] seen = new int[count];
+        final float[] nodeBoxes = mBvh.getNodeBoxes();
+        final float[] objectBoxes = mBvh.getObjectBoxes();
+        for (int node = 0; node < mBvh.getNodeCount(); node++)
+        {
+            final int objects = mBvh.getNodeObjectCount(node);
+            final int start = mBvh.getNodeStart(node);
+            if (objects == 0 && count > 0)
+            {
+                assertTrue(start > node && start + 1 < mBvh.getNodeCount());
+                assertContains(nodeBoxes, node, nodeBoxes, start);
+                assertContains(nodeBoxes, node, nodeBoxes, start + 1);
+                continue;
+            }
+            assertTrue(!smallLeaves || objects <= 4);
+            for (int slot = start; slot < start + objects; slot++)
+            {
+                final int object = mBvh.getObjectIndex(slot);
+                seen[object]++;
+                assertContains(nodeBoxes, node, objectBoxes, object);
+            }
+        }
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals("Object " + i, 1, seen[i]);
+        }
+    }
+
+    private static void assertContains(final float[] outer, final int outerIndex, final float[] inner,
+                                       final int innerIndex)
+    {
+        for (int k = 0; k < 3; k++)
+        {
+            assertTrue(outer[outerIndex * 6 + k] <= inner[innerIndex * 6 + k]);
+            assertTrue(outer[outerIndex * 6 + 3 + k] >= inner[innerIndex * 6 + 3 + k]);
+        }
+    }
+
+    private float[] randomBoxes(final int count, final float extent)
+    {
+        final float[] boxes = new float[count * 6];
+        for (int i = 0; i < count; i++)
+        {
+            setBox(boxes, i, (mRandom.nextFloat() - 0.5f) * 2.0f * extent, (mRandom.nextFloat() - 0.5f) * 2.0f * extent,
+                    (mRandom.nextFloat() - 0.5f) * 2.0f * extent, 0.05f + mRandom.nextFloat() * 3.0f);
+        }
+        return boxes;
+    }
+
+    private static void setBox(final float[] boxes, final int i, final float x, final float y, final float z,
+                               final float half)
+    {
+        boxes[i * 6] = x - half;
+        boxes[i * 6 + 1] = y - half;
+        boxes[i * 6 + 2] = z - half;
+        boxes[i * 6 + 3] = x + half;
+        boxes[i * 6 + 4] = y + half;
+        boxes[i * 6 + 5] = z + half;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,247 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the histogram buckets against their documented error bound, percentiles of known
+ * distributions, and when {@link FrameProfiler#pollReport()} reports and resets.
+ */
+public class FrameProfilerTest
+{
+    /** Durations from 2^36 microseconds on share the last bucket. */
+    private static final long LIMIT = 1L << 36;
+
+    private FrameProfiler mProfiler;
+    private int mPhase;
+
+    @Before
+    public void setUp()
+    {
+        mProfiler = new FrameProfiler();
+        mPhase = mProfiler.addPhase("draw");
+    }
+
+    @Test
+    public void bucketsAreWithinASixteenthAcrossTheRange()
+    {
+        for (long micros = 0; micros < 4096; micros++)
+        {
+            assertBound(micros);
+        }
+        for (int exponent = 12; exponent < 36; exponent++)
+        {
+            final long power = 1L << exponent;
+            assertBound(power - 1);
+            assertBound(power);
+            assertBound(power + 1);
+        }
+        final Random random = new Random(3);
+        for (int i = 0; i < 100000; i++)
+        {
+            assertBound((long) (random.nextDouble() * LIMIT));
+        }
+        assertBound(LIMIT - 1);
+    }
+
+    @Test
+    public void bucketsAreContiguous()
+    {
+        final int last = FrameProfiler.bucketOf(LIMIT);
+        assertEquals(last, FrameProfiler.bucketOf(Long.MAX_VALUE));
+        assertEquals(0, FrameProfiler.bucketOf(0));
+        for (int bucket = 0; bucket < last; bucket++)
+        {
+            final long upper = FrameProfiler.bucketUpperMicros(bucket);
+            assertEquals(bucket, FrameProfiler.bucketOf(upper));
+            assertEquals(bucket + 1, FrameProfiler.bucketOf(upper + 1));
+        }
+    }
+
+    @Test
+    public void percentilesOfAUniformDistribution()
+    {
+        // 1 to 1000 microseconds, recorded out of order.
+        final Random random = new Random(8);
+        final int[] order = new int[1000];
+        for (int i = 0; i < order.length; i++)
+        {
+            order[i] = i + 1;
+        }
+        for (int i = order.length - 1; i > 0; i--)
+        {
+            final int j = random.nextInt(i + 1);
+            final int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        for (final int micros : order)
+        {
+            mProfiler.record(mPhase, micros * 1000L);
+        }
+
+        assertPercentile(500, 50.0);
+        assertPercentile(950, 95.0);
+        assertPercentile(990, 99.0);
+        assertEquals(1000, mProfiler.getPhasePercentileMicros(mPhase, 100.0));
+        assertEquals(1, mProfiler.getPhasePercentileMicros(mPhase, 0.0));
+        assertEquals(1000, mProfiler.getPhaseMaxMicros(mPhase));
+    }
+
+    @Test
+    public void percentilesOfASkewedDistribution()
+    {
+        // 90 fast frames and 10 slow ones: p90 is still fast, p91 on are slow.
+        for (int i = 0; i < 90; i++)
+        {
+            mProfiler.record(mPhase, 100000L);
+        }
+        for (int i = 0; i < 10; i++)
+        {
+            mProfiler.record(mPhase, 10000000L);
+        }
+        assertPercentile(100, 50.0);
+        assertPercentile(100, 90.0);
+
+        // The slow bucket reaches past the maximum, which caps it.
+        assertEquals(10000, mProfiler.getPhasePercentileMicros(mPhase, 91.0));
+        assertEquals(10000, mProfiler.getPhasePercentileMicros(mPhase, 99.0));
+    }
+
+    @Test
+    public void smallDurationsAreExact()
+    {
+        for (int micros = 0; micros < 32; micros++)
+        {
+            mProfiler.record(mPhase, micros * 1000L + 999L);
+        }
+        assertEquals(15, mProfiler.getPhasePercentileMicros(mPhase, 50.0));
+        assertEquals(31, mProfiler.getPhasePercentileMicros(mPhase, 100.0));
+
+        // Negative durations, from a clock going backwards, count as zero.
+        final FrameProfiler profiler = new FrameProfiler();
+        final int phase = profiler.addPhase("negative");
+        profiler.record(phase, -5000L);
+        assertEquals(0, profiler.getPhasePercentileMicros(phase, 50.0));
+        assertEquals(0, profiler.getPhasePercentileMicros(mPhase, 50.0));
+    }
+
+    @Test
+    public void reportsEveryIntervalAndResets()
+    {
+        mProfiler.setReportInterval(3);
+        for (int round = 0; round < 2; round++)
+        {
+            for (int frame = 0; frame < 2; frame++)
+            {
+                runFrame();
+                assertNull(mProfiler.pollReport());
+            }
+            runFrame();
+            final String report = mProfiler.pollReport();
+            assertTrue(report, report.startsWith("frame: n=3 "));
+            assertTrue(report, report.contains("\ndraw: n=3 "));
+
+            // The next window starts empty.
+            assertEquals(0, mProfiler.getFrameCount());
+            assertEquals(0, mProfiler.getPhaseMaxMicros(mPhase));
+            assertEquals(0, mProfiler.getPhasePercentileMicros(mPhase, 50.0));
+            assertNull(mProfiler.pollReport());
+        }
+    }
+
+    @Test
+    public void reportsOnRequestOnlyOnce()
+    {
+        for (int frame = 0; frame < 100; frame++)
+        {
+            runFrame();
+            assertNull(mProfiler.pollReport());
+        }
+        assertEquals(100, mProfiler.getFrameCount());
+
+        mProfiler.requestReport();
+        final String report = mProfiler.pollReport();
+        assertTrue(report, report.startsWith("frame: n=100 "));
+        assertEquals(0, mProfiler.getFrameCount());
+        assertNull(mProfiler.pollReport());
+
+        // A request with nothing recorded still reports.
+        mProfiler.requestReport();
+        final String empty = mProfiler.pollReport();
+        assertTrue(empty, empty.startsWith("frame: n=0 p50=0 p95=0 p99=0 max=0 mean=0 us\n"));
+    }
+
+    @Test
+    public void disabledRecordsNothing()
+    {
+        mProfiler.setEnabled(false);
+        mProfiler.setReportInterval(1);
+        runFrame();
+        assertEquals(0, mProfiler.getFrameCount());
+        assertNull(mProfiler.pollReport());
+    }
+
+    @Test
+    public void phasesAreLimited()
+    {
+        for (int i = mProfiler.getPhaseCount(); i < 16; i++)
+        {
+            mProfiler.addPhase("phase " + i);
+        }
+        assertEquals("phase 15", mProfiler.getPhaseName(15));
+        try
+        {
+            mProfiler.addPhase("one too many");
+            fail();
+        }
+        catch (final IllegalStateException e)
+        {
+            // Refused.
+        }
+    }
+
+    private void runFrame()
+    {
+        mProfiler.beginFrame();
+        mProfiler.begin(mPhase);
+        mProfiler.end(mPhase);
+        mProfiler.endFrame();
+    }
+
+    /**
+     * The phase's percentile is the top of the bucket holding the expected sample.
+     */
+    private void assertPercentile(final long expectedMicros, final double percentile)
+    {
+        final long actual = mProfiler.getPhasePercentileMicros(mPhase, percentile);
+        assertEquals(FrameProfiler.bucketUpperMicros(FrameProfiler.bucketOf(expectedMicros)), actual);
+        assertTrue(actual >= expectedMicros);
+        assertTrue(actual <= expectedMicros + expectedMicros / 16);
+    }
+
+    /**
+     * The top of a value's bucket is at least the value and over it by at most a sixteenth.
+     */
+    private static void assertBound(final long micros)
+    {
+        final long upper = FrameProfiler.bucketUpperMicros(FrameProfiler.bucketOf(micros));
+        assertTrue("Value " + micros, upper >= micros);
+        assertTrue("Value " + micros, (upper - micros) * 16 <= micros);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the planes {@link Frustum} extracts from a known perspective matrix, sphere and box
+ * classification, the culler's counts, and the {@link Bounds} box transform against the box
+ * around the brute-force transformed corners.
+ */
+public class FrustumTest
+{
+    private static final float EPSILON = 1e-5f;
+    private static final float HALF_SQRT2 = (float) Math.sqrt(0.5);
+
+    /** glFrustum(-1, 1, -1, 1, 1, 10): a 90 degree frustum looking down -z from the origin. */
+    private final float[] mProjection = new float[16];
+
+    private final Frustum mFrustum = new Frustum();
+
+    @Before
+    public void setUp()
+    {
+        final float near = 1.0f;
+        final float far = 10.0f;
+        mProjection[0] = 2.0f * near / 2.0f;
+        mProjection[5] = 2.0f * near / 2.0f;
+        mProjection[10] = -(far + near) / (far - near);
+        mProjection[11] = -1.0f;
+        mProjection[14] = -2.0f * far * near / (far - near);
+        mFrustum.set(mProjection, 0);
+    }
+
+    @Test
+    public void extractsNormalizedInwardPlanes()
+    {
+        assertPlane(Frustum.LEFT, HALF_SQRT2, 0.0f, -HALF_SQRT2, 0.0f);
+        assertPlane(Frustum.RIGHT, -HALF_SQRT2, 0.0f, -HALF_SQRT2, 0.0f);
+        assertPlane(Frustum.BOTTOM, 0.0f, HALF_SQRT2, -HALF_SQRT2, 0.0f);
+        assertPlane(Frustum.TOP, 0.0f, -HALF_SQRT2, -HALF_SQRT2, 0.0f);
+        assertPlane(Frustum.NEAR, 0.0f, 0.0f, -1.0f, -1.0f);
+        assertPlane(Frustum.FAR, 0.0f, 0.0f, 1.0f, 10.0f);
+    }
+
+    @Test
+    public void planesFollowTheViewMatrix()
+    {
+        // The camera moved to z = 5: the near plane is now at z = 4 and the far one at z = -5.
+        final float[] view = new float[16];
+        MatrixMath.setTranslate(view, 0, 0.0f, 0.0f, -5.0f);
+        final float[] viewProjection = new float[16];
+        MatrixMath.multiply(viewProjection, 0, mProjection, 0, view, 0);
+        mFrustum.set(viewProjection, 0);
+
+        assertPlane(Frustum.NEAR, 0.0f, 0.0f, -1.0f, 4.0f);
+        assertPlane(Frustum.FAR, 0.0f, 0.0f, 1.0f, 5.0f);
+        assertEquals(Frustum.INSIDE, mFrustum.classifySphere(0.0f, 0.0f, 0.0f, 1.0f));
+    }
+
+    @Test
+    public void classifiesSpheres()
+    {
+        assertEquals(Frustum.INSIDE, mFrustum.classifySphere(0.0f, 0.0f, -5.0f, 1.0f));
+        assertEquals(Frustum.INTERSECTING, mFrustum.classifySphere(0.0f, 0.0f, -5.0f, 4.0f));
+        assertEquals(Frustum.INTERSECTING, mFrustum.classifySphere(0.0f, 0.0f, -10.0f, 0.5f));
+        assertEquals(Frustum.OUTSIDE, mFrustum.classifySphere(20.0f, 0.0f, -5.0f, 1.0f));
+        assertEquals(Frustum.OUTSIDE, mFrustum.classifySphere(0.0f, 0.0f, -0.5f, 0.2f));
+        assertEquals(Frustum.OUTSIDE, mFrustum.classifySphere(0.0f, 0.0f, 5.0f, 1.0f));
+        assertEquals(Frustum.OUTSIDE, mFrustum.classifySphere(0.0f, 0.0f, -12.0f, 1.5f));
+    }
+
+    @Test
+    public void classifiesBoxes()
+    {
+        assertEquals(Frustum.INSIDE, mFrustum.classifyBox(-1.0f, -1.0f, -6.0f, 1.0f, 1.0f, -4.0f));
+        assertEquals(Frustum.OUTSIDE, mFrustum.classifyBox(10.0f, -1.0f, -5.0f, 12.0f, 1.0f, -4.0f));
+        assertEquals(Frustum.OUTSIDE, mFrustum.classifyBox(-1.0f, -1.0f, 0.0f, 1.0f, 1.0f, 2.0f));
+        assertEquals(Frustum.INTERSECTING, mFrustum.classifyBox(-1.0f, -1.0f, -12.0f, 1.0f, 1.0f, -8.0f));
+
+        // Only the far plane is straddled, so a traversal only has to test that one below this box.
+        final int[] outMask = new int[1];
+        assertEquals(Frustum.INTERSECTING, mFrustum.classifyBox(-1.0f, -1.0f, -12.0f, 1.0f, 1.0f, -8.0f,
+                Frustum.ALL_PLANES, outMask));
+        assertEquals(1 << Frustum.FAR, outMask[0]);
+
+        // Without the far plane in the mask the same box is inside.
+        assertEquals(Frustum.INSIDE, mFrustum.classifyBox(-1.0f, -1.0f, -12.0f, 1.0f, 1.0f, -8.0f,
+                Frustum.ALL_PLANES & ~(1 << Frustum.FAR), outMask));
+        assertEquals(0, outMask[0]);
+    }
+
+    @Test
+    public void classifyTestsTheBoxOnlyWhenTheSphereStraddles()
+    {
+        // A long thin box whose sphere reaches into the frustum although the box does not.
+        final Bounds bounds = new Bounds();
+        bounds.set(3.0f, -0.1f, -2.1f, 9.0f, 0.1f, -1.9f);
+        assertEquals(Frustum.INTERSECTING, mFrustum.classifySphere(bounds.getCenterX(), bounds.getCenterY(),
+                bounds.getCenterZ(), bounds.getRadius()));
+        assertEquals(Frustum.OUTSIDE, mFrustum.classify(bounds));
+
+        bounds.set(-0.5f, -0.5f, -5.5f, 0.5f, 0.5f, -4.5f);
+        assertEquals(Frustum.INSIDE, mFrustum.classify(bounds));
+    }
+
+    @Test
+    public void cullerCountsVisibleAndCulled()
+    {
+        final float[] view = new float[16];
+        MatrixMath.setIdentity(view, 0);
+        final FrustumCuller culler = new FrustumCuller();
+        culler.setCamera(view, mProjection);
+        culler.beginFrame();
+
+        final Bounds bounds = new Bounds();
+        bounds.set(-1.0f, -1.0f, -6.0f, 1.0f, 1.0f, -4.0f);
+        assertTrue(culler.isVisible(bounds));
+        bounds.set(-1.0f, -1.0f, -12.0f, 1.0f, 1.0f, -8.0f);
+        assertTrue(culler.isVisible(bounds));
+        bounds.set(10.0f, -1.0f, -5.0f, 12.0f, 1.0f, -4.0f);
+        assertFalse(culler.isVisible(bounds));
+        assertEquals(2, culler.getVisibleCount());
+        assertEquals(1, culler.getCulledCount());
+
+        culler.beginFrame();
+        assertEquals(0, culler.getVisibleCount());
+        assertEquals(0, culler.getCulledCount());
+    }
+
+    @Test
+    public void boxTransformMatchesTransformedCorners()
+    {
+        final Random random = new Random(8);
+        final float[] m = new float[16];
+        final Bounds bounds = new Bounds();
+        final Bounds transformed = new Bounds();
+        final float[] corner = new float[3];
+
+        for (int i = 0; i < 1000; i++)
+        {
+            // Arbitrary rotations, non-uniform and mirroring scales.
+            MatrixMath.setTranslateRotateScale(m, 0, range(random, 10.0f), range(random, 10.0f),
+                    range(random, 10.0f), range(random, 180.0f), range(random, 1.0f), range(random, 1.0f),
+                    range(random, 1.0f) + 0.01f, range(random, 3.0f), range(random, 3.0f), range(random, 3.0f));
+            final float minX = range(random, 5.0f), minY = range(random, 5.0f), minZ = range(random, 5.0f);
+            bounds.set(minX, minY, minZ, minX + random.nextFloat() * 4.0f, minY + random.nextFloat() * 4.0f,
+                    minZ + random.nextFloat() * 4.0f);
+            bounds.transform(m, 0, transformed);
+
+            final float[] expectedMin = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+            final float[] expectedMax = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+            for (int c = 0; c < 8; c++)
+            {
+                final float x = (c & 1) == 0 ? bounds.getMinX() : bounds.getMaxX();
+                final float y = (c & 2) == 0 ? bounds.getMinY() : bounds.getMaxY();
+                final float z = (c & 4) == 0 ? bounds.getMinZ() : bounds.getMaxZ();
+                for (int axis = 0; axis < 3; axis++)
+                {
+                    corner[axis] = m[axis] * x + m[4 + axis] * y + m[8 + axis] * z + m[12 + axis];
+                    expectedMin[axis] = Math.min(expectedMin[axis], corner[axis]);
+                    expectedMax[axis] = Math.max(expectedMax[axis], corner[axis]);
+                }
+
+                // Every transformed corner stays inside the transformed sphere.
+                final float dx = corner[0] - transformed.getCenterX();
+                final float dy = corner[1] - transformed.getCenterY();
+                final float dz = corner[2] - transformed.getCenterZ();
+                assertTrue((float) Math.sqrt(dx * dx + dy * dy + dz * dz) <= transformed.getRadius() + 1e-3f);
+            }
+
+            assertArrayEquals(expectedMin, new float[] {transformed.getMinX(), transformed.getMinY(),
+                    transformed.getMinZ()}, 1e-3f);
+            assertArrayEquals(expectedMax, new float[] {transformed.getMaxX(), transformed.getMaxY(),
+                    transformed.getMaxZ()}, 1e-3f);
+        }
+    }
+
+    private void assertPlane(final int plane, final float a, final float b, final float c, final float d)
+    {
+        final float[] actual = new float[4];
+        mFrustum.getPlane(plane, actual);
+        assertArrayEquals("plane " + plane, new float[] {a, b, c, d}, actual, EPSILON);
+    }
+
+    private static float range(final Random random, final float extent)
+    {
+        return (random.nextFloat() * 2.0f - 1.0f) * extent;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks which events {@link InputRing} delivers and in what order: coalesced moves, the order
+ * of other events, published events staying as they were, and dropping when full.
+ */
+public class InputRingTest
+{
+    /** Collects drained events as "action pointer x y" strings. */
+    private final ArrayList<String> mEvents = new ArrayList<String>();
+
+    private final InputRing.Handler mHandler = new InputRing.Handler()
+    {
+        @Override
+        public void onInput(final int action, final int pointerId, final float x, final float y,
+                            final long timeNanos)
+        {
+            mEvents.add(action + " " + pointerId + " " + (int) x + " " + (int) y + " " + timeNanos);
+        }
+    };
+
+    private InputRing mRing;
+
+    @Before
+    public void setUp()
+    {
+        mRing = new InputRing(8);
+    }
+
+    @Test
+    public void movesOfOnePointerCoalesce()
+    {
+        mRing.push(InputRing.ACTION_DOWN, 0, 0.0f, 0.0f, 0L);
+        for (int i = 1; i <= 20; i++)
+        {
+            assertTrue(mRing.push(InputRing.ACTION_MOVE, 0, i, i * 2, i));
+        }
+        mRing.publish();
+        assertEquals(2, mRing.size());
+
+        assertEquals(2, mRing.drain(mHandler));
+        assertEvents("0 0 0 0 0", "1 0 20 40 20");
+
+        // Moves published in separate batches are coalesced when drained together.
+        mRing.push(InputRing.ACTION_MOVE, 0, 1.0f, 1.0f, 21L);
+        mRing.publish();
+        mRing.push(InputRing.ACTION_MOVE, 0, 2.0f, 2.0f, 22L);
+        mRing.publish();
+        mRing.push(InputRing.ACTION_UP, 0, 2.0f, 2.0f, 23L);
+        mRing.publish();
+        assertEquals(2, mRing.drain(mHandler));
+        assertEvents("1 0 2 2 22", "2 0 2 2 23");
+        assertEquals(0, mRing.getDroppedCount());
+    }
+
+    @Test
+    public void otherEventsKeepTheirOrder()
+    {
+        // Alternating pointers are never merged with each other.
+        mRing.push(InputRing.ACTION_MOVE, 0, 1.0f, 0.0f, 1L);
+        mRing.push(InputRing.ACTION_MOVE, 1, 2.0f, 0.0f, 2L);
+        mRing.push(InputRing.ACTION_MOVE, 0, 3.0f, 0.0f, 3L);
+        mRing.push(InputRing.ACTION_MOVE, 1, 4.0f, 0.0f, 4L);
+
+        // A down between two moves of pointer 1 keeps the moves on either side of it.
+        mRing.push(InputRing.ACTION_DOWN, 2, 5.0f, 0.0f, 5L);
+        mRing.push(InputRing.ACTION_MOVE, 1, 6.0f, 0.0f, 6L);
+        mRing.publish();
+
+        assertEquals(6, mRing.drain(mHandler));
+        assertEvents("1 0 1 0 1", "1 1 2 0 2", "1 0 3 0 3", "1 1 4 0 4", "0 2 5 0 5", "1 1 6 0 6");
+    }
+
+    @Test
+    public void publishedEventsAreNeverRewritten()
+    {
+        mRing.push(InputRing.ACTION_MOVE, 0, 1.0f, 1.0f, 1L);
+        mRing.publish();
+
+        // The consumer may already be reading the published move, so this one goes in a new slot.
+        mRing.push(InputRing.ACTION_MOVE, 0, 2.0f, 2.0f, 2L);
+        assertEquals(1, mRing.drain(mHandler));
+        assertEvents("1 0 1 1 1");
+
+        mRing.publish();
+        assertEquals(1, mRing.drain(mHandler));
+        assertEvents("1 0 2 2 2");
+
+        // Nothing is left, and nothing unpublished is ever drained.
+        mRing.push(InputRing.ACTION_UP, 0, 2.0f, 2.0f, 3L);
+        assertEquals(0, mRing.drain(mHandler));
+        assertEvents();
+    }
+
+    @Test
+    public void fullRingDropsAndCounts()
+    {
+        final InputRing ring = new InputRing(3);
+        assertEquals(4, ring.getCapacity());
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(ring.push(InputRing.ACTION_DOWN, i, 0.0f, 0.0f, i));
+        }
+        ring.publish();
+
+        assertFalse(ring.push(InputRing.ACTION_DOWN, 4, 0.0f, 0.0f, 4L));
+        assertFalse(ring.push(InputRing.ACTION_MOVE, 4, 0.0f, 0.0f, 5L));
+        assertEquals(2, ring.getDroppedCount());
+
+        // Draining frees the slots again; the dropped events are gone.
+        assertEquals(4, ring.drain(mHandler));
+        mEvents.clear();
+        assertTrue(ring.push(InputRing.ACTION_UP, 0, 0.0f, 0.0f, 6L));
+        ring.publish();
+        assertEquals(1, ring.drain(mHandler));
+        assertEvents("2 0 0 0 6");
+        assertEquals(2, ring.getDroppedCount());
+    }
+
+    @Test
+    public void coalescedMoveNeedsNoFreeSlot()
+    {
+        final InputRing ring = new InputRing(2);
+        ring.push(InputRing.ACTION_DOWN, 0, 0.0f, 0.0f, 0L);
+        ring.push(InputRing.ACTION_MOVE, 0, 1.0f, 1.0f, 1L);
+
+        // The ring is full, but a move of the same pointer replaces the unpublished one.
+        assertTrue(ring.push(InputRing.ACTION_MOVE, 0, 2.0f, 2.0f, 2L));
+        assertEquals(0, ring.getDroppedCount());
+        ring.publish();
+        ring.drain(mHandler);
+        assertEvents("0 0 0 0 0", "1 0 2 2 2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroCapacityThrows()
+    {
+        new InputRing(0);
+    }
+
+    private void assertEvents(final String... expected)
+    {
+        assertEquals(expected.length, mEvents.size());
+        for (int i = 0; i < expected.length; i++)
+        {
+            assertEquals(expected[i], mEvents.get(i));
+        }
+        mEvents.clear();
+    }
+}
\ No newline at end of file
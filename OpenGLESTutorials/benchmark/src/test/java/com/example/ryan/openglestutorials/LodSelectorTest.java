@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Moves a simplified sphere towards and away from the eye and checks which levels
+ * {@link LodSelector} picks, in particular that it holds its level while the size oscillates
+ * inside the hysteresis band.
+ */
+public class LodSelectorTest
+{
+    /** Pixels per world unit at unit distance: projection y scale 1 over a 1000 pixel viewport. */
+    private static final float PIXELS_PER_UNIT = 500.0f;
+
+    private final LodSelector mSelector = new LodSelector();
+    private final Bounds mBounds = new Bounds();
+    private LodMesh mMesh;
+
+    @Before
+    public void setUp()
+    {
+        final float[] positions = MeshSimplifierTest.sphere(16);
+        final int vertexCount = positions.length / 3;
+        final VertexLayout layout = new VertexLayout().add(InstanceBatch.POSITION_LOCATION, 3, VertexLayout.TYPE_FLOAT);
+        final ByteBuffer vertices = new MeshBuilder(layout, vertexCount).setAttribute(0, positions).build();
+        mMesh = new LodMesh(layout, vertices, vertexCount, MeshSimplifierTest.sphereIndices(16), Mesh.USAGE_STATIC);
+
+        final float[] view = new float[16];
+        final float[] projection = new float[16];
+        view[0] = view[5] = view[10] = view[15] = 1.0f;
+        projection[0] = projection[5] = 1.0f;
+        projection[10] = -1.0f;
+        projection[11] = -1.0f;
+        mSelector.setCamera(view, projection, 1000);
+    }
+
+    @Test
+    public void meshHasLevelsOfGrowingError()
+    {
+        assertTrue("Levels: " + mMesh.getLevelCount(), mMesh.getLevelCount() >= 3);
+        assertEquals(0.0f, mMesh.getError(0), 0.0f);
+        for (int level = 1; level < mMesh.getLevelCount(); level++)
+        {
+            assertTrue(mMesh.getError(level) > mMesh.getError(level - 1));
+            assertTrue(mMesh.getTriangleCount(level) < mMesh.getTriangleCount(level - 1));
+        }
+    }
+
+    @Test
+    public void projectsTheRadius()
+    {
+        assertEquals(50.0f, mSelector.getProjectedRadius(at(10.0f)), 1e-3f);
+        assertEquals(Float.MAX_VALUE, mSelector.getProjectedRadius(at(0.5f)), 0.0f);
+        assertEquals(0, mSelector.select(mMesh, at(0.5f), 0));
+    }
+
+    @Test
+    public void holdsItsLevelInsideTheBand()
+    {
+        for (int level = 0; level + 1 < mMesh.getLevelCount(); level++)
+        {
+            // Where level + 1 shows exactly the threshold error; the band is 25% either side.
+            final float switchRadius = LodSelector.DEFAULT_PIXEL_ERROR / mMesh.getError(level + 1);
+            for (int held = level; held <= level + 1; held++)
+            {
+                for (int frame = 0; frame < 200; frame++)
+                {
+                    final float scale = 1.0f + 0.2f * (float) Math.sin(frame * 0.37);
+                    assertEquals("Frame " + frame, held, mSelector.select(mMesh, sized(switchRadius * scale), held));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void switchesOnceOutsideTheBand()
+    {
+        int level = 0;
+        int changes = 0;
+        for (int boundary = 0; boundary + 1 < mMesh.getLevelCount(); boundary++)
+        {
+            final float switchRadius = LodSelector.DEFAULT_PIXEL_ERROR / mMesh.getError(boundary + 1);
+            assertEquals(boundary + 1, mSelector.select(mMesh, sized(switchRadius * 0.7f), boundary));
+            assertTrue(mSelector.select(mMesh, sized(switchRadius * 1.3f), boundary + 1) <= boundary);
+        }
+
+        // Shrink steadily across all levels, then grow back; every level is passed through once each way.
+        for (float radius = 1000.0f; radius > 1.0f; radius *= 0.99f)
+        {
+            final int next = mSelector.select(mMesh, sized(radius), level);
+            assertTrue(next >= level);
+            changes += next != level ? 1 : 0;
+            level = next;
+        }
+        assertEquals(mMesh.getLevelCount() - 1, level);
+        for (float radius = 1.0f; radius < 1000.0f; radius *= 1.01f)
+        {
+            final int next = mSelector.select(mMesh, sized(radius), level);
+            assertTrue(next <= level);
+            changes += next != level ? 1 : 0;
+            level = next;
+        }
+        assertEquals(0, level);
+        assertTrue("Changes: " + changes, changes <= 2 * (mMesh.getLevelCount() - 1));
+    }
+
+    @Test
+    public void lowerDetailPicksCoarserLevels()
+    {
+        final float radius = LodSelector.DEFAULT_PIXEL_ERROR / mMesh.getError(1) * 2.0f;
+        assertEquals(0, mSelector.select(mMesh, sized(radius), 0));
+        mSelector.setDetail(0.25f);
+        assertTrue(mSelector.select(mMesh, sized(radius), 0) > 0);
+    }
+
+    /**
+     * @return World bounds of the unit sphere this far in front of the eye.
+     */
+    private Bounds at(final float distance)
+    {
+        mBounds.set(-1.0f, -1.0f, -distance - 1.0f, 1.0f, 1.0f, -distance + 1.0f, 1.0f);
+        return mBounds;
+    }
+
+    /**
+     * @return World bounds of the unit sphere at the distance where it is this many pixels in radius.
+     */
+    private Bounds sized(final float projectedRadius)
+    {
+        return at(PIXELS_PER_UNIT / projectedRadius);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks {@link MatrixMath} and {@link MatrixStack} against a plain reference multiply and known
+ * rotations.
+ */
+public class MatrixMathTest
+{
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    public void multiplyMatchesReference()
+    {
+        final Random random = new Random(1);
+        final float[] lhs = randomMatrix(random);
+        final float[] rhs = randomMatrix(random);
+
+        final float[] result = new float[20];
+        MatrixMath.multiply(result, 4, lhs, 0, rhs, 0);
+
+        // Same float operations in the same order, so the results are exact.
+        final float[] expected = referenceMultiply(lhs, rhs);
+        for (int i = 0; i < 16; i++)
+        {
+            assertEquals(expected[i], result[4 + i], 0.0f);
+        }
+    }
+
+    @Test
+    public void multiplyAllowsAliasing()
+    {
+        final Random random = new Random(2);
+        final float[] lhs = randomMatrix(random);
+        final float[] rhs = randomMatrix(random);
+        final float[] expected = referenceMultiply(lhs, rhs);
+
+        final float[] intoRhs = rhs.clone();
+        MatrixMath.multiply(intoRhs, 0, lhs, 0, intoRhs, 0);
+        assertArrayEquals(expected, intoRhs, 0.0f);
+
+        final float[] intoLhs = lhs.clone();
+        MatrixMath.multiply(intoLhs, 0, intoLhs, 0, rhs, 0);
+        assertArrayEquals(expected, intoLhs, 0.0f);
+    }
+
+    @Test
+    public void multiplyMVPMatchesTwoMultiplies()
+    {
+        final Random random = new Random(3);
+        final float[] projection = randomMatrix(random);
+        final float[] view = randomMatrix(random);
+        final float[] model = randomMatrix(random);
+
+        final float[] mv = new float[16];
+        final float[] mvp = new float[16];
+        MatrixMath.multiplyMVP(mv, 0, mvp, 0, projection, view, model, 0);
+
+        final float[] expectedMV = referenceMultiply(view, model);
+        assertArrayEquals(expectedMV, mv, 0.0f);
+        assertArrayEquals(referenceMultiply(projection, expectedMV), mvp, 0.0f);
+    }
+
+    @Test
+    public void invertGivesIdentityProduct()
+    {
+        final float[] m = new float[16];
+        MatrixMath.setTranslateRotateScale(m, 0, 1.0f, -2.0f, 3.0f, 37.0f, 1.0f, 2.0f, 3.0f, 2.0f, 0.5f, 4.0f);
+
+        final float[] inverse = new float[16];
+        assertTrue(MatrixMath.invert(inverse, 0, m, 0));
+
+        final float[] product = referenceMultiply(m, inverse);
+        final float[] identity = new float[16];
+        MatrixMath.setIdentity(identity, 0);
+        assertArrayEquals(identity, product, EPSILON);
+    }
+
+    @Test
+    public void invertRejectsSingularMatrix()
+    {
+        final float[] m = new float[16];
+        MatrixMath.setIdentity(m, 0);
+        MatrixMath.scale(m, 0, 1.0f, 0.0f, 1.0f);
+
+        final float[] inverse = new float[16];
+        inverse[0] = 42.0f;
+        assertFalse(MatrixMath.invert(inverse, 0, m, 0));
+        assertEquals(42.0f, inverse[0], 0.0f);
+    }
+
+    @Test
+    public void rotationsMatchKnownValues()
+    {
+        final float[] m = new float[16];
+
+        // 90 degrees about z takes x to y.
+        MatrixMath.setIdentity(m, 0);
+        MatrixMath.rotate(m, 0, 90.0f, 0.0f, 0.0f, 1.0f);
+        assertArrayEquals(new float[] {0, 1, 0, 0, -1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1}, m, EPSILON);
+
+        // 90 degrees about x takes y to z.
+        MatrixMath.setIdentity(m, 0);
+        MatrixMath.rotate(m, 0, 90.0f, 1.0f, 0.0f, 0.0f);
+        assertArrayEquals(new float[] {1, 0, 0, 0, 0, 0, 1, 0, 0, -1, 0, 0, 0, 0, 0, 1}, m, EPSILON);
+
+        // 120 degrees about the unnormalized diagonal cycles x to y, y to z and z to x.
+        MatrixMath.setIdentity(m, 0);
+        MatrixMath.rotate(m, 0, 120.0f, 2.0f, 2.0f, 2.0f);
+        assertArrayEquals(new float[] {0, 1, 0, 0, 0, 0, 1, 0, 1, 0, 0, 0, 0, 0, 0, 1}, m, EPSILON);
+    }
+
+    @Test
+    public void translateRotateScaleMatchesSeparateSteps()
+    {
+        final float[] fused = new float[16];
+        MatrixMath.setTranslateRotateScale(fused, 0, 1.0f, 2.0f, 3.0f, 30.0f, 0.0f, 1.0f, 1.0f, 2.0f, 3.0f, 4.0f);
+
+        final float[] steps = new float[16];
+        MatrixMath.setIdentity(steps, 0);
+        MatrixMath.translate(steps, 0, 1.0f, 2.0f, 3.0f);
+        MatrixMath.rotate(steps, 0, 30.0f, 0.0f, 1.0f, 1.0f);
+        MatrixMath.scale(steps, 0, 2.0f, 3.0f, 4.0f);
+
+        assertArrayEquals(steps, fused, 0.0f);
+    }
+
+    @Test
+    public void stackPushAndPopRestoreTheTop()
+    {
+        final MatrixStack stack = new MatrixStack(4);
+        stack.translate(1.0f, 2.0f, 3.0f);
+        final float[] saved = new float[16];
+        stack.get(saved, 0);
+
+        stack.push();
+        assertEquals(2, stack.size());
+        stack.rotate(45.0f, 0.0f, 1.0f, 0.0f);
+        stack.scale(2.0f, 2.0f, 2.0f);
+
+        final float[] expected = saved.clone();
+        MatrixMath.rotate(expected, 0, 45.0f, 0.0f, 1.0f, 0.0f);
+        MatrixMath.scale(expected, 0, 2.0f, 2.0f, 2.0f);
+        final float[] top = new float[16];
+        stack.get(top, 0);
+        assertArrayEquals(expected, top, 0.0f);
+        assertEquals(16, stack.getOffset());
+
+        stack.pop();
+        stack.get(top, 0);
+        assertArrayEquals(saved, top, 0.0f);
+        assertEquals(1, stack.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void stackOverflowThrows()
+    {
+        final MatrixStack stack = new MatrixStack(2);
+        stack.push();
+        stack.push();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void stackUnderflowThrows()
+    {
+        new MatrixStack(2).pop();
+    }
+
+    private static float[] randomMatrix(final Random random)
+    {
+        final float[] m = new float[16];
+        for (int i = 0; i < 16; i++)
+        {
+            m[i] = random.nextFloat() * 4.0f - 2.0f;
+        }
+        return m;
+    }
+
+    /**
+     * The textbook column-major product, summing in the same order as MatrixMath.
+     */
+    private static float[] referenceMultiply(final float[] lhs, final float[] rhs)
+    {
+        final float[] result = new float[16];
+        for (int column = 0; column < 4; column++)
+        {
+            for (int row = 0; row < 4; row++)
+            {
+                float sum = 0.0f;
+                for (int k = 0; k < 4; k++)
+                {
+                    sum += lhs[k * 4 + row] * rhs[column * 4 + k];
+                }
+                result[column * 4 + row] = sum;
+            }
+        }
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,348 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Writes meshes with {@link MeshData#write}, maps them back with {@link MeshFile} and compares
+ * the blobs and bounds, and checks that corrupt headers, truncated files and bad data are refused
+ * with an IOException.
+ */
+public class MeshFileTest
+{
+    private static final VertexLayout LAYOUT = new VertexLayout()
+            .add(InstanceBatch.POSITION_LOCATION, 3, VertexLayout.TYPE_FLOAT)
+            .add(InstanceBatch.COLOR_LOCATION, 4, VertexLayout.TYPE_UNORM8)
+            .add(InstanceBatch.NORMAL_LOCATION, 3, VertexLayout.TYPE_SNORM8);
+
+    /** Header fields covered by the header CRC, which is stored right after them. */
+    private static final int HEADER_CRC_OFFSET = 112;
+
+    /** A few header fields, as laid out in the MeshFile class comment. */
+    private static final int STRIDE_OFFSET = 12;
+    private static final int ATTRIBUTE_COUNT_OFFSET = 16;
+    private static final int INDEX_TYPE_OFFSET = 24;
+    private static final int MAX_X_OFFSET = 76;
+    private static final int VERTEX_DATA_OFFSET = 92;
+
+    private File mFile;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        mFile = File.createTempFile("mesh", MeshFile.EXTENSION);
+    }
+
+    @After
+    public void tearDown()
+    {
+        mFile.delete();
+    }
+
+    @Test
+    public void byteIndexedMeshRoundTrips() throws IOException
+    {
+        final MeshData data = grid(8);
+        data.write(mFile, LAYOUT);
+
+        final MeshFile mesh = MeshFile.open(mFile);
+        mesh.validate();
+        assertEquals(GL.GL_UNSIGNED_BYTE, mesh.getIndexType());
+        assertMatches(data, mesh);
+    }
+
+    @Test
+    public void shortIndexedMeshRoundTrips() throws IOException
+    {
+        final MeshData data = grid(40);
+        data.write(mFile, LAYOUT);
+
+        final MeshFile mesh = MeshFile.open(mFile);
+        mesh.validate();
+        assertEquals(GL.GL_UNSIGNED_SHORT, mesh.getIndexType());
+        assertMatches(data, mesh);
+        assertEquals(0, mesh.getVertices().position());
+        assertEquals(mesh.getVertexCount() * LAYOUT.getStride(), mesh.getVertices().capacity());
+    }
+
+    @Test
+    public void tooManyVerticesAreWrittenUnindexed() throws IOException
+    {
+        // Three triangles out of more vertices than 16-bit indices can address.
+        final int vertexCount = 65536 + 10;
+        final float[] positions = new float[vertexCount * 3];
+        for (int i = 0; i < positions.length; i++)
+        {
+            positions[i] = (i % 7) - 3.0f;
+        }
+        final int[] indices = {0, 1, 2, 65536, 65537, 65538, 65539, 2, 1};
+        final MeshData data = new MeshData(positions, null, null, vertexCount, indices);
+        data.write(mFile, LAYOUT);
+
+        final MeshFile mesh = MeshFile.open(mFile);
+        mesh.validate();
+        assertEquals(indices.length, mesh.getVertexCount());
+        assertEquals(0, mesh.getIndexCount());
+        assertNull(mesh.getIndices());
+
+        // Each vertex of the file is the packed vertex its index referred to.
+        final ByteBuffer packed = data.pack(LAYOUT);
+        final ByteBuffer vertices = mesh.getVertices();
+        final int stride = LAYOUT.getStride();
+        for (int i = 0; i < indices.length; i++)
+        {
+            for (int b = 0; b < stride; b++)
+            {
+                assertEquals(packed.get(indices[i] * stride + b), vertices.get(i * stride + b));
+            }
+        }
+    }
+
+    @Test
+    public void everyCorruptHeaderByteThrows() throws IOException
+    {
+        final ByteBuffer image = encode(grid(4));
+        for (int i = 0; i < HEADER_CRC_OFFSET + 4; i++)
+        {
+            final ByteBuffer corrupt = copy(image);
+            corrupt.put(i, (byte) (corrupt.get(i) ^ 0x10));
+            assertRefused("byte " + i, corrupt);
+        }
+    }
+
+    @Test
+    public void insaneHeaderFieldsThrow() throws IOException
+    {
+        // Each of these has a correct header CRC, as if written by a broken tool.
+        assertRefused("attribute count", withInt(encode(grid(4)), ATTRIBUTE_COUNT_OFFSET, 9));
+        assertRefused("no attributes", withInt(encode(grid(4)), ATTRIBUTE_COUNT_OFFSET, 0));
+        assertRefused("stride", withInt(encode(grid(4)), STRIDE_OFFSET, LAYOUT.getStride() + 4));
+        assertRefused("index type", withInt(encode(grid(4)), INDEX_TYPE_OFFSET, GL.GL_FLOAT));
+        assertRefused("vertex offset", withInt(encode(grid(4)), VERTEX_DATA_OFFSET, 136));
+        assertRefused("vertex offset", withInt(encode(grid(4)), VERTEX_DATA_OFFSET, 0));
+        assertRefused("version", withInt(encode(grid(4)), 4, 2));
+    }
+
+    @Test
+    public void everyTruncationThrows() throws IOException
+    {
+        final ByteBuffer image = encode(grid(6));
+        for (int length = 0; length < image.capacity(); length++)
+        {
+            final ByteBuffer truncated = copy(image);
+            truncated.limit(length);
+            assertRefused("length " + length, truncated.slice());
+        }
+
+        // The same through a mapped file.
+        grid(6).write(mFile, LAYOUT);
+        final RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+        try
+        {
+            file.setLength(file.length() - 1);
+        }
+        finally
+        {
+            file.close();
+        }
+        try
+        {
+            MeshFile.open(mFile);
+            fail("Opened a truncated file.");
+        }
+        catch (IOException expected)
+        {
+            // Refused.
+        }
+    }
+
+    @Test
+    public void validateFindsCorruptData() throws IOException
+    {
+        // Opening only reads the header, so a corrupt blob is found by validate().
+        final ByteBuffer image = encode(grid(4));
+        image.put(image.capacity() - 1, (byte) (image.get(image.capacity() - 1) ^ 1));
+        assertInvalid(MeshFile.wrap(image));
+
+        // An index past the last vertex, with a matching data CRC.
+        final MeshData data = grid(4);
+        final int[] indices = data.getIndices().clone();
+        indices[5] = data.getVertexCount();
+        final ByteBuffer badIndices = ByteBuffer.allocate(indices.length).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < indices.length; i++)
+        {
+            badIndices.put(i, (byte) indices[i]);
+        }
+        assertInvalid(MeshFile.wrap(MeshFile.encode(LAYOUT, data.pack(LAYOUT), data.getVertexCount(), badIndices,
+                indices.length, GL.GL_UNSIGNED_BYTE)));
+
+        // Bounds that leave vertices out, with a matching header CRC.
+        final MeshFile shrunk = MeshFile.wrap(withFloat(encode(grid(4)), MAX_X_OFFSET, 0.5f));
+        assertEquals(0.5f, shrunk.getBounds().getMaxX(), 0.0f);
+        assertInvalid(shrunk);
+    }
+
+    /**
+     * A bumpy n by n grid of vertices, two triangles per cell.
+     */
+    private static MeshData grid(final int n)
+    {
+        final float[] positions = new float[n * n * 3];
+        final float[] colors = new float[n * n * 4];
+        for (int y = 0; y < n; y++)
+        {
+            for (int x = 0; x < n; x++)
+            {
+                final int v = y * n + x;
+                positions[v * 3] = x;
+                positions[v * 3 + 1] = y;
+                positions[v * 3 + 2] = (float) Math.sin(x * 0.7 + y * 0.3);
+                colors[v * 4] = x / (float) n;
+                colors[v * 4 + 1] = y / (float) n;
+                colors[v * 4 + 2] = 0.5f;
+                colors[v * 4 + 3] = 1.0f;
+            }
+        }
+
+        final int[] indices = new int[(n - 1) * (n - 1) * 6];
+        int i = 0;
+        for (int y = 0; y < n - 1; y++)
+        {
+            for (int x = 0; x < n - 1; x++)
+            {
+                final int v = y * n + x;
+                indices[i++] = v;
+                indices[i++] = v + 1;
+                indices[i++] = v + n;
+                indices[i++] = v + 1;
+                indices[i++] = v + n + 1;
+                indices[i++] = v + n;
+            }
+        }
+        return new MeshData(positions, colors, null, n * n, indices);
+    }
+
+    private static ByteBuffer encode(final MeshData data)
+    {
+        final int[] indices = data.getIndices();
+        final ByteBuffer packed = ByteBuffer.allocate(indices.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < indices.length; i++)
+        {
+            packed.putShort(i * 2, (short) indices[i]);
+        }
+        return MeshFile.encode(LAYOUT, data.pack(LAYOUT), data.getVertexCount(), packed, indices.length,
+                GL.GL_UNSIGNED_SHORT);
+    }
+
+    private static void assertMatches(final MeshData data, final MeshFile mesh)
+    {
+        assertEquals(data.getVertexCount(), mesh.getVertexCount());
+        assertEquals(LAYOUT.getStride(), mesh.getLayout().getStride());
+        assertEquals(LAYOUT.getAttributeCount(), mesh.getLayout().getAttributeCount());
+
+        // The vertex blob is exactly what pack() produced.
+        final ByteBuffer expected = data.pack(LAYOUT);
+        final ByteBuffer vertices = mesh.getVertices();
+        assertEquals(expected.capacity(), vertices.capacity());
+        for (int i = 0; i < expected.capacity(); i++)
+        {
+            assertEquals("vertex byte " + i, expected.get(i), vertices.get(i));
+        }
+
+        final int[] indices = data.getIndices();
+        final ByteBuffer stored = mesh.getIndices();
+        assertEquals(indices.length, mesh.getIndexCount());
+        for (int i = 0; i < indices.length; i++)
+        {
+            final int index = mesh.getIndexType() == GL.GL_UNSIGNED_BYTE ? stored.get(i) & 0xff
+                    : stored.getShort(i * 2) & 0xffff;
+            assertEquals("index " + i, indices[i], index);
+        }
+
+        // The bounds are those of the positions.
+        final Bounds bounds = new Bounds();
+        bounds.setFromPositions(data.getPositions(), data.getVertexCount());
+        assertEquals(bounds.getMinX(), mesh.getBounds().getMinX(), 0.0f);
+        assertEquals(bounds.getMinY(), mesh.getBounds().getMinY(), 0.0f);
+        assertEquals(bounds.getMinZ(), mesh.getBounds().getMinZ(), 0.0f);
+        assertEquals(bounds.getMaxX(), mesh.getBounds().getMaxX(), 0.0f);
+        assertEquals(bounds.getMaxY(), mesh.getBounds().getMaxY(), 0.0f);
+        assertEquals(bounds.getMaxZ(), mesh.getBounds().getMaxZ(), 0.0f);
+        assertEquals(bounds.getRadius(), mesh.getBounds().getRadius(), 1e-5f);
+    }
+
+    private static void assertRefused(final String message, final ByteBuffer image)
+    {
+        try
+        {
+            MeshFile.wrap(image);
+            fail("Opened with a bad " + message);
+        }
+        catch (IOException expected)
+        {
+            assertTrue(expected.getMessage() != null);
+        }
+    }
+
+    private static void assertInvalid(final MeshFile mesh)
+    {
+        try
+        {
+            mesh.validate();
+            fail("Validated bad data.");
+        }
+        catch (IOException expected)
+        {
+            // Found.
+        }
+    }
+
+    private static ByteBuffer copy(final ByteBuffer image)
+    {
+        final ByteBuffer copy = ByteBuffer.allocate(image.capacity()).order(ByteOrder.LITTLE_ENDIAN);
+        copy.put(image.duplicate());
+        copy.clear();
+        return copy;
+    }
+
+    private static ByteBuffer withInt(final ByteBuffer image, final int offset, final int value)
+    {
+        image.putInt(offset, value);
+        return withHeaderCrc(image);
+    }
+
+    private static ByteBuffer withFloat(final ByteBuffer image, final int offset, final float value)
+    {
+        image.putFloat(offset, value);
+        return withHeaderCrc(image);
+    }
+
+    private static ByteBuffer withHeaderCrc(final ByteBuffer image)
+    {
+        final CRC32 crc = new CRC32();
+        crc.update(image.array(), 0, HEADER_CRC_OFFSET);
+        image.putInt(HEADER_CRC_OFFSET, (int) crc.getValue());
+        return image;
+    }
+}
\ No newline at end of file
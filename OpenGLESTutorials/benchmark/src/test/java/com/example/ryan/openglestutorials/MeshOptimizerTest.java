@@ -0,0 +1,235 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Optimizes a regular grid, measured with {@link VertexCacheSimulator}, and checks that the
+ * reordering pays off without adding, losing or flipping a triangle.
+ */
+public class MeshOptimizerTest
+{
+    /** Vertices per side; rows much longer than the FIFO, so row order reuses little. */
+    private static final int GRID = 64;
+
+    private static final int VERTEX_COUNT = GRID * GRID;
+
+    @Test
+    public void optimizingLowersAcmrAndAtvr()
+    {
+        final int[][] orders = {rowOrder(), shuffled(rowOrder(), 24)};
+        for (int[] original : orders)
+        {
+            final VertexCacheSimulator before = simulate(original);
+            final int[] indices = original.clone();
+            final int[] remap = MeshOptimizer.optimize(indices, positions(), VERTEX_COUNT);
+            final VertexCacheSimulator after = simulate(indices);
+
+            assertTrue(before + " -> " + after, after.getAcmr() < before.getAcmr());
+            assertTrue(before + " -> " + after, after.getAtvr() < before.getAtvr());
+            // Two triangles per vertex, so a perfect order transforms each vertex once: ACMR 0.5.
+            assertTrue(after.toString(), after.getAcmr() < 0.8f);
+            assertTrue(after.toString(), after.getAtvr() < 1.6f);
+            assertEquals(before.getReferencedCount(), after.getReferencedCount());
+
+            assertSameTriangles(original, undo(indices, remap));
+        }
+    }
+
+    @Test
+    public void vertexCacheOrderKeepsTheTriangles()
+    {
+        final int[] original = shuffled(rowOrder(), 7);
+        final int[] ordered = MeshOptimizer.optimizeVertexCache(original, VERTEX_COUNT);
+        assertSameTriangles(original, ordered);
+        assertTrue(simulate(ordered).getAcmr() < simulate(original).getAcmr());
+    }
+
+    @Test
+    public void overdrawOrderStaysWithinThreshold()
+    {
+        final int[] ordered = MeshOptimizer.optimizeVertexCache(rowOrder(), VERTEX_COUNT);
+        final int[] clustered = MeshOptimizer.optimizeOverdraw(ordered, positions(), VERTEX_COUNT,
+                MeshOptimizer.DEFAULT_OVERDRAW_THRESHOLD);
+        assertSameTriangles(ordered, clustered);
+        assertTrue(simulate(clustered).getAcmr()
+                <= simulate(ordered).getAcmr() * MeshOptimizer.DEFAULT_OVERDRAW_THRESHOLD);
+    }
+
+    @Test
+    public void vertexFetchNumbersInFirstUseOrder()
+    {
+        final int[] indices = {5, 2, 7, 2, 7, 0};
+        final int[] remap = MeshOptimizer.optimizeVertexFetch(indices, 8);
+        assertArrayEquals(new int[] {0, 1, 2, 1, 2, 3}, indices);
+        // Unused vertices 1, 3, 4 and 6 follow in their old order.
+        assertArrayEquals(new int[] {3, 4, 1, 5, 6, 0, 7, 2}, remap);
+
+        final float[] data = {0, 1, 2, 3, 4, 5, 6, 7};
+        assertArrayEquals(new float[] {5, 2, 7, 0, 1, 3, 4, 6}, MeshOptimizer.remapVertices(data, 1, remap), 0.0f);
+    }
+
+    @Test
+    public void meshDataOptimizeMovesTheVertices()
+    {
+        final int[] indices = shuffled(rowOrder(), 3);
+        final float[] positions = positions();
+        final MeshData mesh = new MeshData(positions, null, null, VERTEX_COUNT, indices);
+        final MeshData optimized = mesh.optimize();
+
+        // The source mesh is left alone, and every corner still has the position it had.
+        assertArrayEquals(shuffled(rowOrder(), 3), mesh.getIndices());
+        final float[] moved = optimized.getPositions();
+        final int[] newIndices = optimized.getIndices();
+        final int[] sorted = sortedTriangles(indices);
+        final int[] corners = new int[newIndices.length];
+        for (int i = 0; i < newIndices.length; i++)
+        {
+            // Positions encode the grid coordinates, so they lead back to the original vertex.
+            final int v = newIndices[i] * 3;
+            corners[i] = Math.round(moved[v + 2]) * GRID + Math.round(moved[v]);
+        }
+        assertArrayEquals(sorted, sortedTriangles(corners));
+    }
+
+    /**
+     * Two triangles per grid cell, counter-clockwise seen from +y, a row of cells at a time.
+     */
+    private static int[] rowOrder()
+    {
+        final int[] indices = new int[(GRID - 1) * (GRID - 1) * 6];
+        int i = 0;
+        for (int z = 0; z + 1 < GRID; z++)
+        {
+            for (int x = 0; x + 1 < GRID; x++)
+            {
+                final int a = z * GRID + x;
+                final int b = a + 1;
+                final int c = a + GRID + 1;
+                final int d = a + GRID;
+                indices[i++] = a;
+                indices[i++] = d;
+                indices[i++] = c;
+                indices[i++] = a;
+                indices[i++] = c;
+                indices[i++] = b;
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * The grid on the y = 0 plane with a bump, x and z in whole grid steps.
+     */
+    private static float[] positions()
+    {
+        final float[] positions = new float[VERTEX_COUNT * 3];
+        for (int z = 0; z < GRID; z++)
+        {
+            for (int x = 0; x < GRID; x++)
+            {
+                final int v = (z * GRID + x) * 3;
+                positions[v] = x;
+                positions[v + 1] = (float) Math.sin(x * 0.2) * (float) Math.cos(z * 0.2);
+                positions[v + 2] = z;
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Shuffles whole triangles, each keeping its winding.
+     */
+    private static int[] shuffled(final int[] indices, final long seed)
+    {
+        final int[] result = indices.clone();
+        final Random random = new Random(seed);
+        for (int t = result.length / 3 - 1; t > 0; t--)
+        {
+            final int other = random.nextInt(t + 1);
+            for (int k = 0; k < 3; k++)
+            {
+                final int swap = result[t * 3 + k];
+                result[t * 3 + k] = result[other * 3 + k];
+                result[other * 3 + k] = swap;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Maps optimized indices back to the original vertex numbers.
+     */
+    private static int[] undo(final int[] indices, final int[] remap)
+    {
+        final int[] inverse = new int[remap.length];
+        for (int v = 0; v < remap.length; v++)
+        {
+            inverse[remap[v]] = v;
+        }
+        final int[] result = new int[indices.length];
+        for (int i = 0; i < indices.length; i++)
+        {
+            result[i] = inverse[indices[i]];
+        }
+        return result;
+    }
+
+    private static VertexCacheSimulator simulate(final int[] indices)
+    {
+        return new VertexCacheSimulator().simulate(indices, indices.length, VERTEX_COUNT);
+    }
+
+    private static void assertSameTriangles(final int[] expected, final int[] actual)
+    {
+        assertEquals(expected.length, actual.length);
+        assertArrayEquals(sortedTriangles(expected), sortedTriangles(actual));
+    }
+
+    /**
+     * Packs each triangle into a long, rotated to start at its smallest index so the winding is
+     * kept, and sorts them.
+     */
+    private static int[] sortedTriangles(final int[] indices)
+    {
+        final long[] keys = new long[indices.length / 3];
+        for (int t = 0; t < keys.length; t++)
+        {
+            int a = indices[t * 3];
+            int b = indices[t * 3 + 1];
+            int c = indices[t * 3 + 2];
+            while (a > b || a > c)
+            {
+                final int first = a;
+                a = b;
+                b = c;
+                c = first;
+            }
+            keys[t] = ((long) a << 42) | ((long) b << 21) | c;
+        }
+        Arrays.sort(keys);
+
+        final int[] result = new int[indices.length];
+        for (int t = 0; t < keys.length; t++)
+        {
+            result[t * 3] = (int) (keys[t] >>> 42);
+            result[t * 3 + 1] = (int) (keys[t] >>> 21) & 0x1fffff;
+            result[t * 3 + 2] = (int) keys[t] & 0x1fffff;
+        }
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Simplifies a closed sphere, an open grid and a cube with split corners, and checks that every
+ * result is a valid index list into the original vertices that meets its target.
+ */
+public class MeshSimplifierTest
+{
+    private static final int RINGS = 16;
+
+    @Test
+    public void sphereMeetsEveryTarget()
+    {
+        final float[] positions = sphere(RINGS);
+        final int[] indices = sphereIndices(RINGS);
+        assertMeetsTargets(positions, positions.length / 3, indices);
+    }
+
+    @Test
+    public void gridMeetsEveryTarget()
+    {
+        final int size = 24;
+        final float[] positions = new float[size * size * 3];
+        for (int z = 0; z < size; z++)
+        {
+            for (int x = 0; x < size; x++)
+            {
+                final int v = (z * size + x) * 3;
+                positions[v] = x;
+                positions[v + 1] = (float) Math.sin(x * 0.4) * (float) Math.cos(z * 0.3);
+                positions[v + 2] = z;
+            }
+        }
+
+        final int[] indices = new int[(size - 1) * (size - 1) * 6];
+        int i = 0;
+        for (int z = 0; z + 1 < size; z++)
+        {
+            for (int x = 0; x + 1 < size; x++)
+            {
+                final int a = z * size + x;
+                final int d = a + size;
+                indices[i++] = a;
+                indices[i++] = d;
+                indices[i++] = d + 1;
+                indices[i++] = a;
+                indices[i++] = d + 1;
+                indices[i++] = a + 1;
+            }
+        }
+        assertMeetsTargets(positions, size * size, indices);
+    }
+
+    @Test
+    public void splitCubeKeepsItsSeams()
+    {
+        // Four vertices per face, so every corner of the cube is three vertices at one position.
+        final float[] positions = new float[24 * 3];
+        final int[] indices = new int[36];
+        int v = 0;
+        int i = 0;
+        for (int axis = 0; axis < 3; axis++)
+        {
+            for (int side = -1; side <= 1; side += 2)
+            {
+                final int first = v;
+                for (int corner = 0; corner < 4; corner++)
+                {
+                    final float u = corner == 1 || corner == 2 ? 1.0f : -1.0f;
+                    final float w = corner >= 2 ? 1.0f : -1.0f;
+                    positions[v * 3 + axis] = side;
+                    positions[v * 3 + (axis + 1) % 3] = u * side;
+                    positions[v * 3 + (axis + 2) % 3] = w;
+                    v++;
+                }
+                indices[i++] = first;
+                indices[i++] = first + 1;
+                indices[i++] = first + 2;
+                indices[i++] = first;
+                indices[i++] = first + 2;
+                indices[i++] = first + 3;
+            }
+        }
+
+        // No edge is shared by all three copies of a corner, so nothing may collapse.
+        final int[] simplified = new MeshSimplifier(positions, 24).simplify(indices, 18, Float.MAX_VALUE);
+        assertArrayEquals(indices, simplified);
+    }
+
+    @Test
+    public void errorLimitStopsEarly()
+    {
+        final float[] positions = sphere(RINGS);
+        final int[] indices = sphereIndices(RINGS);
+        final MeshSimplifier simplifier = new MeshSimplifier(positions, positions.length / 3);
+
+        final int[] loose = simplifier.simplify(indices, 0, 1.0f);
+        final int[] tight = simplifier.simplify(indices, 0, 0.01f);
+        assertTrue(simplifier.getLastError() <= 0.01f);
+        assertTrue(tight.length > loose.length);
+        assertValid(positions, positions.length / 3, tight);
+    }
+
+    /**
+     * Simplifies to a half, a quarter and a tenth, with an error limit that never gets in the
+     * way, and checks each result. Asking for nothing stops where no collapse is left, so that
+     * only has to be valid and no larger than the tenth.
+     */
+    private static void assertMeetsTargets(final float[] positions, final int vertexCount, final int[] indices)
+    {
+        final int[] original = indices.clone();
+        final MeshSimplifier simplifier = new MeshSimplifier(positions, vertexCount);
+        final int triangleCount = indices.length / 3;
+        final int[] targets = {triangleCount / 2 * 3, triangleCount / 4 * 3, triangleCount / 10 * 3};
+        int[] simplified = null;
+        for (int target : targets)
+        {
+            simplified = simplifier.simplify(indices, target, Float.MAX_VALUE);
+            assertTrue(simplified.length + " > " + target, simplified.length <= target);
+            assertTrue(simplifier.getLastError() >= 0.0f);
+            assertValid(positions, vertexCount, simplified);
+        }
+
+        final int[] smallest = simplifier.simplify(indices, 0, Float.MAX_VALUE);
+        assertTrue(smallest.length <= simplified.length);
+        assertValid(positions, vertexCount, smallest);
+        assertArrayEquals(original, indices);
+    }
+
+    /**
+     * Whole triangles, every index in range, and no triangle with two corners at one position.
+     */
+    private static void assertValid(final float[] positions, final int vertexCount, final int[] indices)
+    {
+        assertEquals(0, indices.length % 3);
+        for (int t = 0; t < indices.length; t += 3)
+        {
+            for (int corner = 0; corner < 3; corner++)
+            {
+                final int v = indices[t + corner];
+                assertTrue("Index " + v + " of " + vertexCount, v >= 0 && v < vertexCount);
+            }
+
+            final int a = indices[t] * 3;
+            final int b = indices[t + 1] * 3;
+            final int c = indices[t + 2] * 3;
+            final float abX = positions[b] - positions[a];
+            final float abY = positions[b + 1] - positions[a + 1];
+            final float abZ = positions[b + 2] - positions[a + 2];
+            final float acX = positions[c] - positions[a];
+            final float acY = positions[c + 1] - positions[a + 1];
+            final float acZ = positions[c + 2] - positions[a + 2];
+            final float nX = abY * acZ - abZ * acY;
+            final float nY = abZ * acX - abX * acZ;
+            final float nZ = abX * acY - abY * acX;
+            assertTrue("Degenerate triangle " + t / 3, nX * nX + nY * nY + nZ * nZ > 0.0f);
+        }
+    }
+
+    /**
+     * A unit UV sphere with rings x 2 * rings quads, the poles and seam snapped so their copies
+     * share a position.
+     */
+    static float[] sphere(final int rings)
+    {
+        final int segments = rings * 2;
+        final int columns = segments + 1;
+        final float[] positions = new float[(rings + 1) * columns * 3];
+        for (int r = 0; r <= rings; r++)
+        {
+            final double theta = Math.PI * r / rings;
+            for (int s = 0; s <= segments; s++)
+            {
+                final int v = (r * columns + s) * 3;
+                final double ring = r == 0 || r == rings ? 0.0 : Math.sin(theta);
+                final double angle = s == segments ? 0.0 : 2.0 * Math.PI * s / segments;
+                positions[v] = (float) (ring * Math.cos(angle));
+                positions[v + 1] = r == 0 ? 1.0f : (r == rings ? -1.0f : (float) Math.cos(theta));
+                positions[v + 2] = (float) (ring * Math.sin(angle));
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * The sphere's triangles, leaving out the half of each pole quad that has no area.
+     */
+    static int[] sphereIndices(final int rings)
+    {
+        final int segments = rings * 2;
+        final int columns = segments + 1;
+        final int[] indices = new int[(rings - 1) * segments * 6];
+        int i = 0;
+        for (int r = 0; r < rings; r++)
+        {
+            for (int s = 0; s < segments; s++)
+            {
+                final int a = r * columns + s;
+                final int b = a + columns;
+                if (r > 0)
+                {
+                    indices[i++] = a;
+                    indices[i++] = b;
+                    indices[i++] = a + 1;
+                }
+                if (r < rings - 1)
+                {
+                    indices[i++] = a + 1;
+                    indices[i++] = b;
+                    indices[i++] = b + 1;
+                }
+            }
+        }
+        return indices;
+    }
+}
\ No newline at end of file
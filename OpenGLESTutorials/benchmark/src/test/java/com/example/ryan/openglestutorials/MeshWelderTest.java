@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+/**
+ * Checks the unique vertex counts {@link MeshWelder} finds, the switch from byte to short indices,
+ * and that the indexed mesh expands back to exactly the vertex stream it was welded from.
+ */
+public class MeshWelderTest
+{
+    private static final VertexLayout CUBE_LAYOUT = new VertexLayout()
+            .add(0, CubeData.POSITION_DATA_SIZE, VertexLayout.TYPE_FLOAT)
+            .add(1, CubeData.COLOR_DATA_SIZE, VertexLayout.TYPE_UNORM8)
+            .add(2, CubeData.NORMAL_DATA_SIZE, VertexLayout.TYPE_SNORM8);
+
+    @Test
+    public void cubeWeldsToFourCornersPerFace()
+    {
+        final ByteBuffer vertices = new MeshBuilder(CUBE_LAYOUT, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .setAttribute(1, CubeData.COLORS)
+                .setAttribute(2, CubeData.NORMALS)
+                .build();
+
+        final MeshWelder welder = new MeshWelder();
+        welder.weld(vertices, CUBE_LAYOUT, CubeData.VERTEX_COUNT);
+
+        // Each face has its own colour and normal, so only the two corners a face's triangles share merge.
+        assertEquals(24, welder.getVertexCount());
+        assertEquals(CubeData.VERTEX_COUNT, welder.getIndexCount());
+        assertEquals(GL.GL_UNSIGNED_BYTE, welder.getIndexType());
+        assertExpandsTo(vertices, CubeData.VERTEX_COUNT, CUBE_LAYOUT.getStride(), welder);
+    }
+
+    @Test
+    public void cubePositionsWeldToEightCorners()
+    {
+        final VertexLayout layout = new VertexLayout().add(0, CubeData.POSITION_DATA_SIZE, VertexLayout.TYPE_FLOAT);
+        final ByteBuffer vertices = new MeshBuilder(layout, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .build();
+
+        final MeshWelder welder = new MeshWelder();
+        welder.weld(vertices, layout, CubeData.VERTEX_COUNT);
+        assertEquals(8, welder.getVertexCount());
+        assertExpandsTo(vertices, CubeData.VERTEX_COUNT, layout.getStride(), welder);
+    }
+
+    @Test
+    public void indexTypeSwitchesAboveByteRange()
+    {
+        final MeshWelder welder = new MeshWelder();
+
+        weldUnique(welder, 256);
+        assertEquals(256, welder.getVertexCount());
+        assertEquals(GL.GL_UNSIGNED_BYTE, welder.getIndexType());
+
+        weldUnique(welder, 257);
+        assertEquals(257, welder.getVertexCount());
+        assertEquals(GL.GL_UNSIGNED_SHORT, welder.getIndexType());
+
+        weldUnique(welder, 65536);
+        assertEquals(65536, welder.getVertexCount());
+        assertEquals(GL.GL_UNSIGNED_SHORT, welder.getIndexType());
+        assertEquals(65535, welder.copyIndices()[welder.getIndexCount() - 1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyUniqueVerticesThrows()
+    {
+        weldUnique(new MeshWelder(), 65537);
+    }
+
+    @Test
+    public void optimizeKeepsTheTriangles()
+    {
+        final ByteBuffer vertices = new MeshBuilder(CUBE_LAYOUT, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .setAttribute(1, CubeData.COLORS)
+                .setAttribute(2, CubeData.NORMALS)
+                .build();
+        final MeshWelder welder = new MeshWelder();
+        welder.weld(vertices, CUBE_LAYOUT, CubeData.VERTEX_COUNT);
+        welder.optimize();
+
+        // The order may change, but every expanded triangle must still be one of the originals.
+        final int stride = CUBE_LAYOUT.getStride();
+        final int[] indices = welder.copyIndices();
+        final boolean[] matched = new boolean[CubeData.VERTEX_COUNT / 3];
+        for (int t = 0; t < indices.length / 3; t++)
+        {
+            boolean found = false;
+            for (int original = 0; original < matched.length && !found; original++)
+            {
+                if (matched[original])
+                {
+                    continue;
+                }
+                found = true;
+                for (int corner = 0; corner < 3; corner++)
+                {
+                    found &= equalVertices(vertices, (original * 3 + corner) * stride, welder.getVertices(),
+                            indices[t * 3 + corner] * stride, stride);
+                }
+                matched[original] = found;
+            }
+            assertTrue("triangle " + t, found);
+        }
+    }
+
+    /**
+     * Welds vertexCount distinct vertices, each given twice in a row, into 2 * vertexCount indices.
+     */
+    private static void weldUnique(final MeshWelder welder, final int vertexCount)
+    {
+        final VertexLayout layout = new VertexLayout().add(0, 1, VertexLayout.TYPE_FLOAT);
+        final float[] values = new float[vertexCount * 2];
+        for (int v = 0; v < vertexCount; v++)
+        {
+            values[v * 2] = v;
+            values[v * 2 + 1] = v;
+        }
+        final ByteBuffer vertices = new MeshBuilder(layout, values.length).setAttribute(0, values).build();
+        welder.weld(vertices, layout, values.length);
+        assertExpandsTo(vertices, values.length, layout.getStride(), welder);
+    }
+
+    private static void assertExpandsTo(final ByteBuffer original, final int vertexCount, final int stride,
+                                        final MeshWelder welder)
+    {
+        final int[] indices = welder.copyIndices();
+        assertEquals(vertexCount, indices.length);
+        for (int i = 0; i < vertexCount; i++)
+        {
+            assertTrue("vertex " + i,
+                    equalVertices(original, i * stride, welder.getVertices(), indices[i] * stride, stride));
+        }
+    }
+
+    private static boolean equalVertices(final ByteBuffer a, final int offsetA, final ByteBuffer b, final int offsetB,
+                                         final int length)
+    {
+        for (int i = 0; i < length; i++)
+        {
+            if (a.get(offsetA + i) != b.get(offsetB + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Imports OBJ text on one thread, in parallel chunks and from a stream, and checks that all three
+ * give the same mesh and that malformed lines are refused.
+ */
+public class ObjImporterTest
+{
+    /** Rows and columns of the generated grid; enough text for several 1 MB chunks. */
+    private static final int GRID = 160;
+
+    private ExecutorService mExecutor;
+
+    @Before
+    public void setUp()
+    {
+        mExecutor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown()
+    {
+        mExecutor.shutdownNow();
+    }
+
+    @Test
+    public void readsASmallFile() throws IOException
+    {
+        final MeshData mesh = read("# a quad\nv 0 0 0\nv 1 0 0\nv 1 1 0\nv 0 1 0\nvt 0 0\n"
+                + "vn 0 0 1\ng quad\nusemtl none\ns off\nf 1//1 2//1 3//1 4//1\n");
+        assertEquals(4, mesh.getVertexCount());
+        assertArrayEquals(new int[] {0, 1, 2, 0, 2, 3}, mesh.getIndices());
+        assertArrayEquals(new float[] {0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0}, mesh.getPositions(), 0.0f);
+        assertNull(mesh.getColors());
+        assertNotNull(mesh.getNormals());
+    }
+
+    @Test
+    public void chunkedMatchesSingleThreaded() throws IOException
+    {
+        final byte[] text = grid().getBytes("US-ASCII");
+        assertTrue("Too small to chunk: " + text.length, text.length > 4 << 20);
+
+        final MeshData single = new ObjImporter(null, 1).read(ByteBuffer.wrap(text));
+        final MeshData chunked = new ObjImporter(mExecutor, 8).read(ByteBuffer.wrap(text));
+        final MeshData streamed = new ObjImporter(null, 1).read(Channels.newChannel(new ByteArrayInputStream(text)));
+
+        assertEquals((GRID - 1) * (GRID - 1) * 2, single.getTriangleCount());
+        assertNotNull(single.getColors());
+        assertNotNull(single.getNormals());
+        assertSameMesh(single, chunked);
+        assertSameMesh(single, streamed);
+    }
+
+    @Test
+    public void malformedLinesThrow()
+    {
+        final String header = "v 0 0 0\nv 1 0 0\nv 0 1 0\nvn 0 0 1\n";
+        final String[] lines = {
+                "v 1 2", "v 1 x 3", "v 1e 2 3", "v 1 2 3 4 5", "vn 1 2", "vn",
+                "f 1 2", "f", "f 0 1 2", "f 1 2 4", "f 1 2 x", "f 1//2 2//1 3//1", "f -4 -3 -2",
+                "f 1 2 99999999999"};
+        for (String line : lines)
+        {
+            try
+            {
+                read(header + line + "\n");
+                fail("Imported \"" + line + "\"");
+            }
+            catch (IOException expected)
+            {
+                // Refused.
+            }
+        }
+    }
+
+    @Test
+    public void malformedLineInALaterChunkThrows() throws IOException
+    {
+        final byte[] text = (grid() + "f 1 2\n").getBytes("US-ASCII");
+        try
+        {
+            new ObjImporter(mExecutor, 8).read(ByteBuffer.wrap(text));
+            fail("Imported a face with two corners.");
+        }
+        catch (IOException expected)
+        {
+            // Refused.
+        }
+    }
+
+    private static MeshData read(final String text) throws IOException
+    {
+        return new ObjImporter(null, 1).read(ByteBuffer.wrap(text.getBytes("US-ASCII")));
+    }
+
+    private static void assertSameMesh(final MeshData expected, final MeshData actual)
+    {
+        assertEquals(expected.getVertexCount(), actual.getVertexCount());
+        assertTrue(Arrays.equals(expected.getPositions(), actual.getPositions()));
+        assertTrue(Arrays.equals(expected.getColors(), actual.getColors()));
+        assertTrue(Arrays.equals(expected.getNormals(), actual.getNormals()));
+        assertTrue(Arrays.equals(expected.getIndices(), actual.getIndices()));
+    }
+
+    /**
+     * A GRID x GRID height field, one row of vertices and then the faces on it at a time, so the
+     * faces of every chunk refer back to vertices of earlier ones. Faces mix absolute and relative
+     * indices, v//vn and v/vt/vn corners, triangles and quads.
+     */
+    private static String grid()
+    {
+        final StringBuilder text = new StringBuilder(GRID * GRID * 256);
+        text.append("# generated grid\n");
+        for (int z = 0; z < GRID; z++)
+        {
+            for (int x = 0; x < GRID; x++)
+            {
+                final float y = (float) Math.sin(x * 0.1) * (float) Math.cos(z * 0.13);
+                if ((x + z) % 3 == 0)
+                {
+                    text.append(String.format(Locale.ROOT, "v %.6f %.6f %.6f %.4f %.4f %.4f\n",
+                            x * 0.01f, y, z * 0.01f, x / (float) GRID, 0.5f, z / (float) GRID));
+                }
+                else
+                {
+                    text.append(String.format(Locale.ROOT, "v %.7e %.7e %.7e\n", x * 0.01f, y, z * 0.01f));
+                }
+                text.append(String.format(Locale.ROOT, "vn %.5f %.5f %.5f\n", -y, 1.0f, y * 0.5f));
+                text.append(String.format(Locale.ROOT, "vt %.3f %.3f\n", x / (float) GRID, z / (float) GRID));
+            }
+            if (z == 0)
+            {
+                continue;
+            }
+
+            for (int x = 0; x + 1 < GRID; x++)
+            {
+                // 1-based indices of the quad's corners in the previous row and this one.
+                final int a = (z - 1) * GRID + x + 1;
+                final int b = a + 1;
+                final int c = z * GRID + x + 2;
+                final int d = c - 1;
+                final int count = (z + 1) * GRID;
+                if (x % 4 == 0)
+                {
+                    text.append("f ").append(a).append("//").append(a).append(' ').append(b).append("//").append(b)
+                            .append(' ').append(c).append("//").append(c).append(' ').append(d).append("//")
+                            .append(d).append('\n');
+                }
+                else if (x % 4 == 1)
+                {
+                    // Relative to the last vertex defined so far.
+                    text.append("f ").append(a - count - 1).append("//").append(a - count - 1).append(' ')
+                            .append(b - count - 1).append("//").append(b - count - 1).append(' ')
+                            .append(c - count - 1).append("//").append(c - count - 1).append('\n');
+                    text.append("f ").append(a).append("//").append(a).append(' ').append(c).append("//")
+                            .append(c).append(' ').append(d).append("//").append(d).append('\n');
+                }
+                else
+                {
+                    text.append("f ").append(a).append('/').append(a).append('/').append(a).append(' ')
+                            .append(b).append('/').append(b).append('/').append(b).append(' ')
+                            .append(c).append('/').append(c).append('/').append(c).append('\n');
+                    text.append("f ").append(a).append('/').append(a).append('/').append(a).append(' ')
+                            .append(c).append('/').append(c).append('/').append(c).append(' ')
+                            .append(d).append('/').append(d).append('/').append(d).append('\n');
+                }
+            }
+        }
+        return text.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,237 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Picks cubes through a camera looking down -z from the origin, with a 90 degree field of view,
+ * near 1 and far 100, and checks the hits against rays traced through world-space triangles.
+ */
+public class PickerTest
+{
+    private static final int SIZE = 100;
+    private static final float FAR = 100.0f;
+
+    private final Picker mPicker = new Picker();
+    private final Bvh mBvh = new Bvh();
+    private final PickShape mCube = PickShape.fromTriangleList(CubeData.POSITIONS, CubeData.VERTEX_COUNT);
+
+    @Before
+    public void setUp()
+    {
+        final float[] view = new float[16];
+        MatrixMath.setIdentity(view, 0);
+        final float[] projection = new float[16];
+        projection[0] = 1.0f;
+        projection[5] = 1.0f;
+        projection[10] = -(FAR + 1.0f) / (FAR - 1.0f);
+        projection[11] = -1.0f;
+        projection[14] = -2.0f * FAR / (FAR - 1.0f);
+        mPicker.setCamera(view, projection, SIZE, SIZE);
+    }
+
+    @Test
+    public void rayAlongAnAxisThroughABoxFaceHits()
+    {
+        // The centre ray has no x or y component and its origin lies on the plane x = 0, which
+        // is the left face of this cube's box.
+        final float[] worlds = new float[16];
+        MatrixMath.setTranslate(worlds, 0, 1.0f, 0.0f, -10.0f);
+        setScene(worlds, 1);
+
+        final PickResult result = mPicker.pick(SIZE / 2, SIZE / 2);
+        assertTrue(result.isHit());
+        assertEquals(0, result.getObject());
+        assertEquals(8.0f, result.getDistance(), 1e-4f);
+        assertEquals(-9.0f, result.getZ(), 1e-4f);
+
+        // Just outside the face, the parallel ray misses.
+        MatrixMath.setTranslate(worlds, 0, 1.001f, 0.0f, -10.0f);
+        setScene(worlds, 1);
+        assertFalse(mPicker.pick(SIZE / 2, SIZE / 2).isHit());
+    }
+
+    @Test
+    public void nearestOfOverlappingObjectsWins()
+    {
+        // Three cubes on the centre ray whose boxes overlap; the middle index is nearest.
+        final float[] worlds = new float[48];
+        MatrixMath.setTranslate(worlds, 0, 0.0f, 0.0f, -10.0f);
+        MatrixMath.setTranslateRotateScale(worlds, 16, 0.2f, 0.0f, -10.5f, 0.0f, 0.0f, 1.0f, 0.0f, 2.0f, 2.0f, 2.0f);
+        MatrixMath.setTranslate(worlds, 32, 0.0f, 0.0f, -9.5f);
+        setScene(worlds, 3);
+
+        final PickResult result = mPicker.pick(SIZE / 2, SIZE / 2);
+        assertTrue(result.isHit());
+        assertEquals(1, result.getObject());
+        assertEquals(7.5f, result.getDistance(), 1e-4f);
+
+        // Off to the side, only the big cube is under the touch.
+        final PickResult side = mPicker.pick(SIZE / 2 + 12, SIZE / 2);
+        assertTrue(side.isHit());
+        assertEquals(1, side.getObject());
+
+        assertFalse(mPicker.pick(1, 1).isHit());
+        assertEquals(-1, mPicker.pick(1, 1).getObject());
+    }
+
+    @Test
+    public void distancesAreInWorldUnitsUnderScaling()
+    {
+        // Scaled 4 along z, the front face sits 4 units in front of the centre.
+        final float[] worlds = new float[16];
+        MatrixMath.setTranslateRotateScale(worlds, 0, 0.0f, 0.0f, -20.0f, 0.0f, 0.0f, 1.0f, 0.0f, 3.0f, 0.5f, 4.0f);
+        setScene(worlds, 1);
+        PickResult result = mPicker.pick(SIZE / 2, SIZE / 2);
+        assertTrue(result.isHit());
+        assertEquals(15.0f, result.getDistance(), 1e-3f);
+        assertEquals(-16.0f, result.getZ(), 1e-3f);
+
+        // Scaled 4 along x and turned a quarter about y, which puts the long axis along z.
+        MatrixMath.setTranslateRotateScale(worlds, 0, 0.0f, 0.0f, -20.0f, 90.0f, 0.0f, 1.0f, 0.0f, 4.0f, 1.0f, 1.0f);
+        setScene(worlds, 1);
+        result = mPicker.pick(SIZE / 2, SIZE / 2);
+        assertTrue(result.isHit());
+        assertEquals(15.0f, result.getDistance(), 1e-3f);
+
+        // Shrunk, the same ray passes beside it.
+        MatrixMath.setTranslateRotateScale(worlds, 0, 1.5f, 0.0f, -20.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.25f, 0.25f, 0.25f);
+        setScene(worlds, 1);
+        assertFalse(mPicker.pick(SIZE / 2, SIZE / 2).isHit());
+    }
+
+    @Test
+    public void matchesBruteForce()
+    {
+        final int count = 300;
+        final Random random = new Random(5);
+        final float[] worlds = new float[count * 16];
+        for (int i = 0; i < count; i++)
+        {
+            MatrixMath.setTranslateRotateScale(worlds, i * 16, (random.nextFloat() - 0.5f) * 60.0f,
+                    (random.nextFloat() - 0.5f) * 60.0f, -5.0f - random.nextFloat() * 75.0f, random.nextFloat() * 360.0f,
+                    random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f,
+                    0.3f + random.nextFloat() * 3.0f, 0.3f + random.nextFloat() * 3.0f, 0.3f + random.nextFloat() * 3.0f);
+        }
+        final PickShape[] worldShapes = new PickShape[count];
+        setScene(worlds, count);
+        for (int i = 0; i < count; i++)
+        {
+            worldShapes[i] = PickShape.fromTriangleList(transform(worlds, i), CubeData.VERTEX_COUNT);
+        }
+
+        final float[] hit = new float[2];
+        for (int touch = 0; touch < 600; touch++)
+        {
+            // Every tenth touch is on the centre column or row, where the ray has a zero component.
+            float x = random.nextFloat() * SIZE;
+            float y = random.nextFloat() * SIZE;
+            if (touch % 10 == 0)
+            {
+                x = SIZE / 2;
+            }
+            else if (touch % 10 == 1)
+            {
+                y = SIZE / 2;
+            }
+
+            // The ray from the near plane to the far plane under this camera.
+            final float ndcX = x / SIZE * 2.0f - 1.0f;
+            final float ndcY = 1.0f - y / SIZE * 2.0f;
+            float dx = ndcX * FAR - ndcX;
+            float dy = ndcY * FAR - ndcY;
+            float dz = 1.0f - FAR;
+            final float length = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+            dx /= length;
+            dy /= length;
+            dz /= length;
+
+            float best = length;
+            int bestObject = -1;
+            final float[] distances = new float[count];
+            for (int i = 0; i < count; i++)
+            {
+                distances[i] = Float.NaN;
+                if (worldShapes[i].intersect(ndcX, ndcY, -1.0f, dx, dy, dz, length, hit))
+                {
+                    distances[i] = hit[0];
+                    if (hit[0] < best)
+                    {
+                        best = hit[0];
+                        bestObject = i;
+                    }
+                }
+            }
+
+            final PickResult result = mPicker.pick(x, y);
+            assertEquals("Touch " + touch, bestObject >= 0, result.isHit());
+            if (bestObject >= 0)
+            {
+                // Objects at the same distance may win either way.
+                final float tolerance = 1e-3f * best + 1e-4f;
+                assertEquals("Touch " + touch, best, result.getDistance(), tolerance);
+                assertEquals("Touch " + touch, best, distances[result.getObject()], tolerance);
+            }
+        }
+    }
+
+    /**
+     * Places cubes by their world matrices and builds the hierarchy over their world boxes.
+     */
+    private void setScene(final float[] worlds, final int count)
+    {
+        final float[] boxes = new float[count * 6];
+        final PickShape[] shapes = new PickShape[count];
+        for (int i = 0; i < count; i++)
+        {
+            final float[] positions = transform(worlds, i);
+            for (int k = 0; k < 3; k++)
+            {
+                boxes[i * 6 + k] = Float.MAX_VALUE;
+                boxes[i * 6 + 3 + k] = -Float.MAX_VALUE;
+            }
+            for (int v = 0; v < positions.length; v++)
+            {
+                final int k = v % 3;
+                boxes[i * 6 + k] = Math.min(boxes[i * 6 + k], positions[v]);
+                boxes[i * 6 + 3 + k] = Math.max(boxes[i * 6 + 3 + k], positions[v]);
+            }
+            shapes[i] = mCube;
+        }
+        mBvh.build(boxes, count);
+        mPicker.setScene(mBvh, worlds, shapes);
+    }
+
+    /**
+     * @return The cube's vertices in world space.
+     */
+    private static float[] transform(final float[] worlds, final int object)
+    {
+        final float[] p = CubeData.POSITIONS;
+        final float[] out = new float[CubeData.VERTEX_COUNT * 3];
+        final int m = object * 16;
+        for (int v = 0; v < out.length; v += 3)
+        {
+            for (int k = 0; k < 3; k++)
+            {
+                out[v + k] = worlds[m + k] * p[v] + worlds[m + 4 + k] * p[v + 1] + worlds[m + 8 + k] * p[v + 2]
+                        + worlds[m + 12 + k];
+            }
+        }
+        return out;
+    }
+}
\ No newline at end of file
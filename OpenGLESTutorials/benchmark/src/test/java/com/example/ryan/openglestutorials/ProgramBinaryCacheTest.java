@@ -0,0 +1,399 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Stores programs linked by {@link NoOpGL} with {@link ProgramBinaryCache} and checks that they
+ * load back without compiling, and that stale, truncated, corrupt or refused files are discarded
+ * and the program built from source instead.
+ */
+public class ProgramBinaryCacheTest
+{
+    private static final String VERTEX_SOURCE = "attribute vec4 a_Position;\nvoid main() { gl_Position = a_Position; }\n";
+    private static final String FRAGMENT_SOURCE = "precision mediump float;\nvoid main() { gl_FragColor = vec4(1.0); }\n";
+    private static final String[] ATTRIBUTES = {"a_Position"};
+    private static final long KEY = 0x1234L;
+
+    private File mDirectory;
+    private ProgramBinaryCache mCache;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        mDirectory = File.createTempFile("programs", "");
+        assertTrue(mDirectory.delete());
+        mCache = new ProgramBinaryCache(mDirectory);
+    }
+
+    @After
+    public void tearDown()
+    {
+        mCache.clear();
+        mDirectory.delete();
+    }
+
+    @Test
+    public void storedProgramLoadsWithoutCompiling()
+    {
+        final ProgramCache first = new ProgramCache();
+        first.setBinaryCache(mCache);
+        final RecordingGL gl = new RecordingGL();
+        first.getProgram(gl, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES);
+        assertEquals(2L, gl.getTotalCount(RecordingGL.CALL_COMPILE_SHADER));
+        assertEquals(1, mCache.getStoreCount());
+
+        // A new context, or the next run: the program comes from disk.
+        final ProgramCache second = new ProgramCache();
+        second.setBinaryCache(mCache);
+        final RecordingGL nextGL = new RecordingGL();
+        final ShaderProgram program = second.getProgram(nextGL, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES);
+        assertEquals(0L, nextGL.getTotalCount(RecordingGL.CALL_COMPILE_SHADER));
+        assertEquals(0L, nextGL.getTotalCount(RecordingGL.CALL_LINK_PROGRAM));
+        assertEquals(1L, nextGL.getTotalCount(RecordingGL.CALL_PROGRAM_BINARY));
+        assertEquals(1, mCache.getLoadCount());
+        assertEquals(0, program.getAttributeLocation("a_Position"));
+    }
+
+    @Test
+    public void otherDriverIsRejected()
+    {
+        final String[][] drivers = {
+                {"Other", NoOpGL.RENDERER, NoOpGL.VERSION},
+                {NoOpGL.VENDOR, "Other", NoOpGL.VERSION},
+                {NoOpGL.VENDOR, NoOpGL.RENDERER, "OpenGL ES 2.0 NoOpGL v2"}};
+        for (int i = 0; i < drivers.length; i++)
+        {
+            storeProgram();
+            final RecordingGL gl = new RecordingGL(new DriverGL(drivers[i]));
+            assertEquals(0, mCache.load(gl, KEY, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES));
+            assertEquals(0L, gl.getTotalCount(RecordingGL.CALL_CREATE_PROGRAM));
+            assertFalse(mCache.getFile(KEY).exists());
+            assertEquals(i + 1, mCache.getRejectCount());
+        }
+    }
+
+    @Test
+    public void otherSourcesAreRejected()
+    {
+        storeProgram();
+        assertEquals(0, mCache.load(new NoOpGL(), KEY, VERTEX_SOURCE, FRAGMENT_SOURCE + " ", ATTRIBUTES));
+        assertEquals(1, mCache.getRejectCount());
+
+        storeProgram();
+        assertEquals(0, mCache.load(new NoOpGL(), KEY, VERTEX_SOURCE, FRAGMENT_SOURCE, new String[] {"a_Color"}));
+        assertEquals(2, mCache.getRejectCount());
+
+        storeProgram();
+        assertEquals(0, mCache.load(new NoOpGL(), KEY, VERTEX_SOURCE, FRAGMENT_SOURCE, null));
+        assertEquals(3, mCache.getRejectCount());
+    }
+
+    @Test
+    public void truncatedFilesAreRejected() throws IOException
+    {
+        storeProgram();
+        final byte[] data = readFile(mCache.getFile(KEY));
+        for (int length = 0; length < data.length; length++)
+        {
+            writeFile(mCache.getFile(KEY), Arrays.copyOf(data, length));
+            assertEquals("length " + length, 0, mCache.load(new NoOpGL(), KEY, VERTEX_SOURCE, FRAGMENT_SOURCE,
+                    ATTRIBUTES));
+            assertFalse(mCache.getFile(KEY).exists());
+        }
+        assertEquals(data.length, mCache.getRejectCount());
+    }
+
+    @Test
+    public void corruptChecksumIsRejected() throws IOException
+    {
+        storeProgram();
+        final byte[] data = readFile(mCache.getFile(KEY));
+
+        // Any single flipped bit, in the contents or in the stored checksum itself.
+        for (int i = 0; i < data.length; i++)
+        {
+            final byte[] corrupt = data.clone();
+            corrupt[i] ^= 1 << (i & 7);
+            assertEquals(null, ProgramBinaryCache.decode(corrupt));
+
+            writeFile(mCache.getFile(KEY), corrupt);
+            assertEquals(0, mCache.load(new NoOpGL(), KEY, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES));
+        }
+        assertEquals(data.length, mCache.getRejectCount());
+        assertEquals(0, mCache.getLoadCount());
+    }
+
+    @Test
+    public void refusedBinaryIsDeletedAndRebuiltFromSource() throws IOException
+    {
+        storeProgram();
+
+        // A valid file whose binary the driver no longer accepts, as after a silent driver update.
+        final ProgramBinaryCache.Entry entry = ProgramBinaryCache.decode(readFile(mCache.getFile(KEY)));
+        entry.mBinary[0] ^= 0x55;
+        writeFile(mCache.getFile(KEY), ProgramBinaryCache.encode(entry));
+
+        final ProgramCache programs = new ProgramCache()
+        {
+            @Override
+            long keyOf(final String vertexSource, final String fragmentSource, final String[] attributes)
+            {
+                return KEY;
+            }
+        };
+        programs.setBinaryCache(mCache);
+        final RecordingGL gl = new RecordingGL();
+        final ShaderProgram program = programs.getProgram(gl, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES);
+
+        // The refused program is deleted, the sources compiled and the fresh binary saved.
+        assertEquals(1L, gl.getTotalCount(RecordingGL.CALL_PROGRAM_BINARY));
+        assertEquals(1L, gl.getTotalCount(RecordingGL.CALL_DELETE_PROGRAM));
+        assertEquals(2L, gl.getTotalCount(RecordingGL.CALL_COMPILE_SHADER));
+        assertEquals(1L, gl.getTotalCount(RecordingGL.CALL_LINK_PROGRAM));
+        assertEquals(1, mCache.getRejectCount());
+        assertEquals(2, mCache.getStoreCount());
+        assertEquals(0, program.getAttributeLocation("a_Position"));
+
+        assertTrue(mCache.load(new NoOpGL(), KEY, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES) != 0);
+    }
+
+    @Test
+    public void nothingIsCachedWithoutBinaryFormats()
+    {
+        final NoOpGL gl = new NoOpGL()
+        {
+            @Override
+            public void glGetIntegerv(final int pname, final int[] params, final int offset)
+            {
+                params[offset] = 0;
+            }
+        };
+        final int program = gl.glCreateProgram();
+        gl.glLinkProgram(program);
+        assertFalse(mCache.store(gl, KEY, program, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES));
+        assertFalse(mCache.getFile(KEY).exists());
+
+        storeProgram();
+        assertEquals(0, mCache.load(gl, KEY, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES));
+        assertEquals(0, mCache.getRejectCount());
+    }
+
+    @Test
+    public void unlistedFormatIsNotStored()
+    {
+        final NoOpGL gl = new NoOpGL()
+        {
+            @Override
+            public void glGetProgramBinary(final int program, final int bufSize, final int[] length,
+                                           final int lengthOffset, final int[] binaryFormat,
+                                           final int binaryFormatOffset, final Buffer binary)
+            {
+                super.glGetProgramBinary(program, bufSize, length, lengthOffset, binaryFormat, binaryFormatOffset,
+                        binary);
+                binaryFormat[binaryFormatOffset] = 0;
+            }
+        };
+        assertNotStored(gl);
+    }
+
+    @Test
+    public void failedReadIsNotStored()
+    {
+        final NoOpGL gl = new NoOpGL()
+        {
+            @Override
+            public int glGetError()
+            {
+                // GL_INVALID_OPERATION, as when the program cannot be read back.
+                return 0x0502;
+            }
+        };
+        assertNotStored(gl);
+    }
+
+    @Test
+    public void emptyReadIsNotStored()
+    {
+        final NoOpGL gl = new NoOpGL()
+        {
+            @Override
+            public void glGetProgramBinary(final int program, final int bufSize, final int[] length,
+                                           final int lengthOffset, final int[] binaryFormat,
+                                           final int binaryFormatOffset, final Buffer binary)
+            {
+                // A missing entry point: nothing written, no error raised.
+            }
+        };
+        assertNotStored(gl);
+    }
+
+    @Test
+    public void es2WithoutTheExtensionCachesNothing()
+    {
+        final RecordingGL gl = new RecordingGL(new NoOpGL()
+        {
+            @Override
+            public String glGetString(final int name)
+            {
+                return name == GL_EXTENSIONS ? "GL_OES_get_program_binary_x GL_OES_depth24" : super.glGetString(name);
+            }
+        });
+        assertNotStored(gl);
+
+        storeProgram();
+        assertEquals(0, mCache.load(gl, KEY, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES));
+        assertEquals(0L, gl.getTotalCount(RecordingGL.CALL_GET_PROGRAM_BINARY));
+        assertEquals(0L, gl.getTotalCount(RecordingGL.CALL_PROGRAM_BINARY));
+        assertEquals(0L, gl.getTotalCount(RecordingGL.CALL_GET_INTEGERV));
+    }
+
+    @Test
+    public void es3NeedsNoExtension()
+    {
+        final NoOpGL gl = new NoOpGL()
+        {
+            @Override
+            public String glGetString(final int name)
+            {
+                if (name == GL_VERSION)
+                {
+                    return "OpenGL ES 3.2 NoOpGL";
+                }
+                return name == GL_EXTENSIONS ? "" : super.glGetString(name);
+            }
+        };
+        final int program = gl.glCreateProgram();
+        gl.glLinkProgram(program);
+        assertTrue(mCache.store(gl, KEY, program, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES));
+        assertTrue(mCache.load(gl, KEY, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES) != 0);
+    }
+
+    @Test
+    public void parsesVersionAndExtensions()
+    {
+        assertTrue(ProgramBinaryCache.isEs3("OpenGL ES 3.0 V@269.0"));
+        assertTrue(ProgramBinaryCache.isEs3("OpenGL ES 3.2 build 1.13"));
+        assertFalse(ProgramBinaryCache.isEs3("OpenGL ES 2.0 build 1.13"));
+        assertFalse(ProgramBinaryCache.isEs3("OpenGL ES "));
+        assertFalse(ProgramBinaryCache.isEs3(null));
+
+        final String name = "GL_OES_get_program_binary";
+        assertTrue(ProgramBinaryCache.hasExtension(name, name));
+        assertTrue(ProgramBinaryCache.hasExtension("GL_OES_depth24 GL_OES_get_program_binary GL_EXT_x", name));
+        assertTrue(ProgramBinaryCache.hasExtension("GL_OES_get_program_binary_x GL_OES_get_program_binary", name));
+        assertFalse(ProgramBinaryCache.hasExtension("GL_OES_get_program_binary_x", name));
+        assertFalse(ProgramBinaryCache.hasExtension("XGL_OES_get_program_binary", name));
+        assertFalse(ProgramBinaryCache.hasExtension(null, name));
+    }
+
+    @Test
+    public void sharedCacheIsSetOnce()
+    {
+        final ProgramCache programs = new ProgramCache();
+        final ProgramBinaryCache binaryCache = programs.ensureBinaryCache(mDirectory);
+        assertEquals(new File(mDirectory, ProgramCache.BINARY_DIRECTORY), binaryCache.getFile(KEY).getParentFile());
+        assertSame(binaryCache, programs.ensureBinaryCache(new File(mDirectory, "other")));
+        assertSame(binaryCache, programs.getBinaryCache());
+    }
+
+    private void assertNotStored(final GL gl)
+    {
+        final int program = gl.glCreateProgram();
+        gl.glLinkProgram(program);
+        assertFalse(mCache.store(gl, KEY, program, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES));
+        assertFalse(mCache.getFile(KEY).exists());
+        assertEquals(0, mCache.getStoreCount());
+    }
+
+    private void storeProgram()
+    {
+        final NoOpGL gl = new NoOpGL();
+        final int program = gl.glCreateProgram();
+        gl.glLinkProgram(program);
+        assertTrue(mCache.store(gl, KEY, program, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES));
+        assertTrue(mCache.getFile(KEY).isFile());
+    }
+
+    private static byte[] readFile(final File file) throws IOException
+    {
+        final byte[] data = new byte[(int) file.length()];
+        final FileInputStream in = new FileInputStream(file);
+        try
+        {
+            int read = 0;
+            while (read < data.length)
+            {
+                read += in.read(data, read, data.length - read);
+            }
+        }
+        finally
+        {
+            in.close();
+        }
+        return data;
+    }
+
+    private static void writeFile(final File file, final byte[] data) throws IOException
+    {
+        final FileOutputStream out = new FileOutputStream(file);
+        try
+        {
+            out.write(data);
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+
+    /**
+     * A {@link NoOpGL} that reports another vendor, renderer or version.
+     */
+    private static final class DriverGL extends NoOpGL
+    {
+        private final String[] mStrings;
+
+        DriverGL(final String[] strings)
+        {
+            mStrings = strings;
+        }
+
+        @Override
+        public String glGetString(final int name)
+        {
+            switch (name)
+            {
+                case GL_VENDOR:
+                    return mStrings[0];
+                case GL_RENDERER:
+                    return mStrings[1];
+                case GL_VERSION:
+                    return mStrings[2];
+                default:
+                    return super.glGetString(name);
+            }
+        }
+    }
+}
\ No newline at end of file
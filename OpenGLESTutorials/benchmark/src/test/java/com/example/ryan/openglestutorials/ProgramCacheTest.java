@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs {@link ProgramCache} against a {@link RecordingGL} and checks that every program is
+ * compiled and linked once and its locations are looked up once, at link time.
+ */
+public class ProgramCacheTest
+{
+    private static final String VERTEX_SOURCE =
+            "uniform mat4 u_MVPMatrix;\n"
+            + "uniform highp vec3 u_LightPos, u_Offsets[2];\n"
+            + "attribute vec4 a_Position;\n"
+            + "attribute vec4 a_Color;\n"
+            + "void main() { gl_Position = u_MVPMatrix * a_Position; }\n";
+
+    private static final String FRAGMENT_SOURCE =
+            "precision mediump float;\n"
+            + "uniform vec3 u_LightPos; // shared with the vertex shader\n"
+            + "void main() { gl_FragColor = vec4(u_LightPos, 1.0); }\n";
+
+    private static final String[] ATTRIBUTES = {"a_Position", "a_Color"};
+
+    private RecordingGL mGL;
+
+    @Before
+    public void setUp()
+    {
+        mGL = new RecordingGL();
+    }
+
+    @Test
+    public void repeatedRequestsCompileAndLinkOnce()
+    {
+        final ProgramCache cache = new ProgramCache();
+        final ShaderProgram first = cache.getProgram(mGL, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES);
+        assertEquals(2L, mGL.getTotalCount(RecordingGL.CALL_COMPILE_SHADER));
+        assertEquals(1L, mGL.getTotalCount(RecordingGL.CALL_LINK_PROGRAM));
+        assertEquals(2L, mGL.getTotalCount(RecordingGL.CALL_BIND_ATTRIB_LOCATION));
+
+        final long callCount = mGL.getTotalCallCount();
+        for (int i = 0; i < 10; i++)
+        {
+            assertSame(first, cache.getProgram(mGL, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES.clone()));
+        }
+        assertEquals(callCount, mGL.getTotalCallCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(10, cache.getHitCount());
+        assertEquals(1, cache.size());
+
+        // Other attribute bindings are another program.
+        final ShaderProgram rebound = cache.getProgram(mGL, VERTEX_SOURCE, FRAGMENT_SOURCE, new String[] {"a_Position"});
+        assertNotSame(first, rebound);
+        assertEquals(2L, mGL.getTotalCount(RecordingGL.CALL_LINK_PROGRAM));
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void invalidateRebuildsAndReleaseDeletes()
+    {
+        final ProgramCache cache = new ProgramCache();
+        final ShaderProgram first = cache.getProgram(mGL, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES);
+
+        cache.invalidate();
+        assertEquals(0, cache.size());
+        final ShaderProgram second = cache.getProgram(mGL, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES);
+        assertNotSame(first, second);
+        assertEquals(2L, mGL.getTotalCount(RecordingGL.CALL_LINK_PROGRAM));
+
+        // The handles of an invalidated context are never deleted, only the live ones.
+        cache.release(mGL);
+        assertEquals(1L, mGL.getTotalCount(RecordingGL.CALL_DELETE_PROGRAM));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void collidingKeysProbeToTheirOwnProgram()
+    {
+        // Every program hashes to the same key, so all but the first are found by probing.
+        final ProgramCache cache = new ProgramCache()
+        {
+            @Override
+            long keyOf(final String vertexSource, final String fragmentSource, final String[] attributes)
+            {
+                return 42L;
+            }
+        };
+
+        final String otherFragment = "precision mediump float;\nvoid main() { gl_FragColor = vec4(1.0); }\n";
+        final ShaderProgram first = cache.getProgram(mGL, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES);
+        final ShaderProgram second = cache.getProgram(mGL, VERTEX_SOURCE, otherFragment, ATTRIBUTES);
+        final ShaderProgram third = cache.getProgram(mGL, VERTEX_SOURCE, FRAGMENT_SOURCE, null);
+        assertNotSame(first, second);
+        assertNotSame(first, third);
+        assertNotSame(second, third);
+        assertEquals(42L, first.getKey());
+        assertEquals(43L, second.getKey());
+        assertEquals(44L, third.getKey());
+
+        assertSame(second, cache.getProgram(mGL, VERTEX_SOURCE, otherFragment, ATTRIBUTES));
+        assertSame(third, cache.getProgram(mGL, VERTEX_SOURCE, FRAGMENT_SOURCE, null));
+        assertSame(first, cache.getProgram(mGL, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES));
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(3L, mGL.getTotalCount(RecordingGL.CALL_LINK_PROGRAM));
+    }
+
+    @Test
+    public void locationsAreResolvedOnceAtLinkTime()
+    {
+        final ProgramCache cache = new ProgramCache();
+        final ShaderProgram program = cache.getProgram(mGL, VERTEX_SOURCE, FRAGMENT_SOURCE, ATTRIBUTES);
+
+        // u_LightPos is declared in both shaders but looked up once.
+        assertEquals(3, program.getUniformCount());
+        assertEquals(3L, mGL.getTotalCount(RecordingGL.CALL_GET_UNIFORM_LOCATION));
+        assertEquals(2, program.getAttributeCount());
+        assertEquals(2L, mGL.getTotalCount(RecordingGL.CALL_GET_ATTRIB_LOCATION));
+        assertEquals("u_Offsets", program.getUniformName(2));
+
+        final long callCount = mGL.getTotalCallCount();
+        for (int frame = 0; frame < 100; frame++)
+        {
+            program.getUniformLocation("u_MVPMatrix");
+            program.getUniformLocation("u_LightPos");
+            program.getAttributeLocation("a_Position");
+        }
+        assertEquals(callCount, mGL.getTotalCallCount());
+
+        assertEquals(-1, program.getUniformLocation("u_Missing"));
+        assertEquals(-1, program.getAttributeLocation("a_Missing"));
+    }
+
+    @Test
+    public void declarationsSkipCommentsAndPreprocessorLines()
+    {
+        final ArrayList<String> names = new ArrayList<String>();
+        ProgramCache.parseDeclarations("#define N 2\n/* uniform vec3 u_Hidden; */\nuniform lowp vec4 u_A, u_B[N];\n"
+                + "// uniform vec3 u_Commented;\nuniform float u_C;\n", "uniform", names);
+        assertEquals(3, names.size());
+        assertEquals("u_A", names.get(0));
+        assertEquals("u_B", names.get(1));
+        assertEquals("u_C", names.get(2));
+    }
+}
\ No newline at end of file
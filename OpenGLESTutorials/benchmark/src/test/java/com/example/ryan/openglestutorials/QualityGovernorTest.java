@@ -0,0 +1,241 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Feeds {@link QualityGovernor} synthetic frame-time traces through onFrame and checks when it
+ * steps down, when it steps back up, and that it backs off instead of bouncing between levels.
+ */
+public class QualityGovernorTest
+{
+    /** 60 frames per second. */
+    private static final long BUDGET = 16666667L;
+
+    /** Frames that miss vsync. */
+    private static final long SLOW = 25000000L;
+
+    /** CPU time that leaves plenty of headroom, and CPU time that leaves too little to rise. */
+    private static final long LIGHT_WORK = 5000000L;
+    private static final long BUSY_WORK = 14000000L;
+
+    private QualityGovernor mGovernor;
+    private int mChangeCount;
+
+    @Before
+    public void setUp()
+    {
+        mGovernor = new QualityGovernor(BUDGET);
+        mGovernor.setOnQualityChangeListener(new QualityGovernor.OnQualityChangeListener()
+        {
+            @Override
+            public void onQualityChanged(final QualityGovernor governor)
+            {
+                mChangeCount++;
+            }
+        });
+    }
+
+    @Test
+    public void overloadStepsDownAfterDownWindows()
+    {
+        for (int i = 1; i < QualityGovernor.DOWN_WINDOWS; i++)
+        {
+            assertFalse(window(SLOW, SLOW));
+        }
+        assertTrue(window(SLOW, SLOW));
+        assertEquals(1, mGovernor.getLevel());
+        assertEquals(1, mChangeCount);
+        assertEquals(0.85f, mGovernor.getRenderScale(), 0.0f);
+
+        // The window after the change is ignored, however slow.
+        assertFalse(window(SLOW, SLOW));
+
+        // A window back on budget breaks the run.
+        for (int i = 1; i < QualityGovernor.DOWN_WINDOWS; i++)
+        {
+            assertFalse(window(SLOW, SLOW));
+        }
+        assertFalse(window(BUDGET, BUSY_WORK));
+        for (int i = 1; i < QualityGovernor.DOWN_WINDOWS; i++)
+        {
+            assertFalse(window(SLOW, SLOW));
+        }
+        assertTrue(window(SLOW, SLOW));
+        assertEquals(2, mGovernor.getLevel());
+        assertEquals(0.75f, mGovernor.getDetail(), 0.0f);
+    }
+
+    @Test
+    public void occasionalHitchesDoNotCount()
+    {
+        // Two hitches a window stay above the 90th percentile, which is what the window is judged by.
+        for (int w = 0; w < 10; w++)
+        {
+            for (int i = 0; i < QualityGovernor.WINDOW_FRAMES; i++)
+            {
+                final boolean hitch = i % 15 == 0;
+                assertFalse(mGovernor.onFrame(hitch ? SLOW * 4 : BUDGET, hitch ? SLOW * 4 : BUSY_WORK));
+            }
+        }
+        assertEquals(0, mGovernor.getLevel());
+    }
+
+    @Test
+    public void lowestLevelStaysPut()
+    {
+        mGovernor.setLevel(mGovernor.getLevelCount() - 1);
+        for (int w = 0; w < 20; w++)
+        {
+            assertFalse(window(SLOW, SLOW));
+        }
+        assertEquals(mGovernor.getLevelCount() - 1, mGovernor.getLevel());
+        assertEquals(QualityGovernor.LIGHTING_UNLIT, mGovernor.getLighting());
+        assertEquals(0, mChangeCount);
+    }
+
+    @Test
+    public void headroomStepsUpAfterUpWindows()
+    {
+        mGovernor.setLevel(3);
+
+        // Frames are held to vsync, so only the work time shows the headroom. The first window
+        // after setLevel is ignored.
+        assertFalse(window(BUDGET, LIGHT_WORK));
+        for (int i = 1; i < QualityGovernor.UP_WINDOWS; i++)
+        {
+            assertFalse(window(BUDGET, LIGHT_WORK));
+        }
+        assertTrue(window(BUDGET, LIGHT_WORK));
+        assertEquals(2, mGovernor.getLevel());
+
+        // A busy window restarts the run.
+        assertFalse(window(BUDGET, LIGHT_WORK));
+        for (int i = 1; i < QualityGovernor.UP_WINDOWS; i++)
+        {
+            assertFalse(window(BUDGET, LIGHT_WORK));
+        }
+        assertFalse(window(BUDGET, BUSY_WORK));
+        for (int i = 1; i < QualityGovernor.UP_WINDOWS; i++)
+        {
+            assertFalse(window(BUDGET, LIGHT_WORK));
+        }
+        assertTrue(window(BUDGET, LIGHT_WORK));
+        assertEquals(1, mGovernor.getLevel());
+        assertEquals(2, mChangeCount);
+    }
+
+    @Test
+    public void oscillationBacksOffWithoutFlapping()
+    {
+        // The device can hold level 1 easily, but not level 0.
+        mGovernor.setLevel(1);
+        final ArrayList<Integer> rises = new ArrayList<Integer>();
+        final ArrayList<Integer> required = new ArrayList<Integer>();
+        for (int w = 0; w < 1000; w++)
+        {
+            final int level = mGovernor.getLevel();
+            if (window(level == 0 ? SLOW : BUDGET, level == 0 ? SLOW : LIGHT_WORK))
+            {
+                if (mGovernor.getLevel() < level)
+                {
+                    rises.add(w);
+                }
+                else
+                {
+                    required.add(mGovernor.getUpWindowsRequired());
+                }
+            }
+        }
+
+        // Every failed rise doubles the run needed for the next one, up to the limit.
+        assertEquals(16, (int) required.get(0));
+        assertEquals(32, (int) required.get(1));
+        for (int i = 2; i < required.size(); i++)
+        {
+            assertEquals(QualityGovernor.MAX_UP_WINDOWS, (int) required.get(i));
+        }
+
+        // Each cycle is a settling window, the run of headroom, a settling window and the slow
+        // windows, so once backed off the governor tries level 0 only every 68 windows.
+        final int cycle = 1 + QualityGovernor.DOWN_WINDOWS + 1;
+        assertEquals(QualityGovernor.UP_WINDOWS, (int) rises.get(0));
+        assertEquals(cycle + 16, rises.get(1) - rises.get(0));
+        assertEquals(cycle + 32, rises.get(2) - rises.get(1));
+        for (int i = 3; i < rises.size(); i++)
+        {
+            assertEquals(cycle + QualityGovernor.MAX_UP_WINDOWS, rises.get(i) - rises.get(i - 1));
+        }
+        assertEquals(rises.size() * 2, mChangeCount + (mGovernor.getLevel() == 0 ? 1 : 0));
+    }
+
+    @Test
+    public void heldRiseEndsTheBackOff()
+    {
+        mGovernor.setLevel(1);
+        assertFalse(window(BUDGET, LIGHT_WORK));
+        for (int i = 0; i < QualityGovernor.UP_WINDOWS; i++)
+        {
+            window(BUDGET, LIGHT_WORK);
+        }
+        assertEquals(0, mGovernor.getLevel());
+
+        // Level 0 cannot be held the first time.
+        window(SLOW, SLOW);
+        for (int i = 0; i < QualityGovernor.DOWN_WINDOWS; i++)
+        {
+            window(SLOW, SLOW);
+        }
+        assertEquals(1, mGovernor.getLevel());
+        assertEquals(QualityGovernor.UP_WINDOWS * 2, mGovernor.getUpWindowsRequired());
+
+        // Staying down a long time does not end the back-off...
+        for (int i = 0; i < QualityGovernor.MAX_UP_WINDOWS; i++)
+        {
+            window(BUDGET, BUSY_WORK);
+        }
+        assertEquals(QualityGovernor.UP_WINDOWS * 2, mGovernor.getUpWindowsRequired());
+
+        // ...but holding the higher level does.
+        for (int i = 0; i <= QualityGovernor.UP_WINDOWS * 2; i++)
+        {
+            window(BUDGET, LIGHT_WORK);
+        }
+        assertEquals(0, mGovernor.getLevel());
+        for (int i = 0; i <= QualityGovernor.MAX_UP_WINDOWS + 1; i++)
+        {
+            window(BUDGET, BUSY_WORK);
+        }
+        assertEquals(0, mGovernor.getLevel());
+        assertEquals(QualityGovernor.UP_WINDOWS, mGovernor.getUpWindowsRequired());
+    }
+
+    /**
+     * Feeds one window of identical frames.
+     *
+     * @return True if the level changed at the end of the window.
+     */
+    private boolean window(final long intervalNanos, final long workNanos)
+    {
+        boolean changed = false;
+        for (int i = 0; i < QualityGovernor.WINDOW_FRAMES; i++)
+        {
+            changed |= mGovernor.onFrame(intervalNanos, workNanos);
+        }
+        return changed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the per-entry-point, per-frame and total counts of {@link RecordingGL}, and replays a
+ * frame built like IntroToLightingRenderer's through a {@link StateCacheGL} to bound its calls.
+ */
+public class RecordingGLTest
+{
+    /** The budget the lighting frame is held to, as in the RecordingGL example. */
+    private static final int FRAME_CALL_BUDGET = 60;
+
+    private static final int CUBE_COUNT = 5;
+
+    /** Uniform locations of the two programs. */
+    private static final int MV_MATRIX = 1;
+    private static final int MVP_MATRIX = 2;
+    private static final int LIGHT_POS = 3;
+    private static final int POINT_MVP_MATRIX = 1;
+
+    private RecordingGL mGL;
+
+    @Before
+    public void setUp()
+    {
+        mGL = new RecordingGL();
+    }
+
+    @Test
+    public void countsEachEntryPointPerFrameAndInTotal()
+    {
+        mGL.beginFrame();
+        mGL.glUseProgram(1);
+        mGL.glUseProgram(2);
+        mGL.glUseProgram(2);
+        mGL.glDrawArrays(GL.GL_TRIANGLES, 0, 12);
+        mGL.glDrawArrays(GL.GL_POINTS, 3, 1);
+        mGL.glDrawElements(GL.GL_TRIANGLES, 36, GL.GL_UNSIGNED_BYTE, 0);
+        mGL.glClear(GL.GL_COLOR_BUFFER_BIT);
+
+        assertEquals(1, mGL.getFrameNumber());
+        assertEquals(3, mGL.getFrameCount(RecordingGL.CALL_USE_PROGRAM));
+        assertEquals(2, mGL.getFrameCount(RecordingGL.CALL_DRAW_ARRAYS));
+        assertEquals(1, mGL.getFrameCount(RecordingGL.CALL_DRAW_ELEMENTS));
+        assertEquals(0, mGL.getFrameCount(RecordingGL.CALL_BIND_BUFFER));
+        assertEquals(7, mGL.getFrameCallCount());
+        assertEquals(3, mGL.getFrameDrawCallCount());
+        assertEquals(49, mGL.getFrameVertexCount());
+        assertEquals(7L, mGL.getTotalCallCount());
+
+        // A new frame starts every per-frame count from zero but keeps the totals.
+        mGL.beginFrame();
+        assertEquals(2, mGL.getFrameNumber());
+        assertEquals(0, mGL.getFrameCount(RecordingGL.CALL_USE_PROGRAM));
+        assertEquals(0, mGL.getFrameCallCount());
+        assertEquals(0, mGL.getFrameDrawCallCount());
+        assertEquals(0, mGL.getFrameVertexCount());
+        assertEquals(3L, mGL.getTotalCount(RecordingGL.CALL_USE_PROGRAM));
+        assertEquals(7L, mGL.getTotalCallCount());
+
+        mGL.glUseProgram(3);
+        assertEquals(1, mGL.getFrameCount(RecordingGL.CALL_USE_PROGRAM));
+        assertEquals(4L, mGL.getTotalCount(RecordingGL.CALL_USE_PROGRAM));
+
+        mGL.reset();
+        assertEquals(0, mGL.getFrameNumber());
+        assertEquals(0, mGL.getFrameCallCount());
+        assertEquals(0L, mGL.getTotalCount(RecordingGL.CALL_USE_PROGRAM));
+        assertEquals(0L, mGL.getTotalCallCount());
+    }
+
+    @Test
+    public void everyEntryPointIsCountedUnderItsOwnName()
+    {
+        final Set<String> names = new HashSet<String>();
+        for (int call = 0; call < RecordingGL.CALL_COUNT; call++)
+        {
+            final String name = RecordingGL.getCallName(call);
+            assertTrue(name, name.startsWith("gl"));
+            assertTrue(name, names.add(name));
+        }
+        assertEquals("glDrawElements", RecordingGL.getCallName(RecordingGL.CALL_DRAW_ELEMENTS));
+        assertEquals("glGetError", RecordingGL.getCallName(RecordingGL.CALL_GET_ERROR));
+
+        mGL.glGetError();
+        mGL.glGetString(GL.GL_VERSION);
+        assertEquals(1, mGL.getFrameCount(RecordingGL.CALL_GET_ERROR));
+        assertEquals(1, mGL.getFrameCount(RecordingGL.CALL_GET_STRING));
+        assertEquals(2, mGL.getFrameCallCount());
+    }
+
+    @Test
+    public void forwardsEveryCall()
+    {
+        // Counted once by the outer recorder and again by the one it forwards to.
+        final RecordingGL outer = new RecordingGL(mGL);
+        final int program = outer.glCreateProgram();
+        outer.glUseProgram(program);
+        outer.glDrawArrays(GL.GL_POINTS, 0, 1);
+        assertEquals(NoOpGL.VERSION, outer.glGetString(GL.GL_VERSION));
+
+        assertEquals(4, outer.getFrameCallCount());
+        assertEquals(4, mGL.getFrameCallCount());
+        assertEquals(1, mGL.getFrameCount(RecordingGL.CALL_CREATE_PROGRAM));
+        assertEquals(1, mGL.getFrameVertexCount());
+    }
+
+    @Test
+    public void reportListsOnlyCalledEntryPoints()
+    {
+        mGL.beginFrame();
+        mGL.glUseProgram(1);
+        mGL.glDrawArrays(GL.GL_TRIANGLES, 0, 6);
+        mGL.glDrawArrays(GL.GL_TRIANGLES, 6, 6);
+
+        final String report = mGL.report();
+        assertEquals("glUseProgram: 1\nglDrawArrays: 2\ntotal: 3 calls, 2 draws, 12 vertices\n", report);
+        assertFalse(report.contains("glDrawElements"));
+    }
+
+    @Test
+    public void lightingFrameStaysWithinBudget()
+    {
+        // The renderer's setup: both programs linked and the welded cube uploaded.
+        final StateCacheGL gl = new StateCacheGL(mGL);
+        final int cubeProgram = gl.glCreateProgram();
+        final int pointProgram = gl.glCreateProgram();
+        final Mesh cube = createCube(gl);
+
+        final CommandBuffer commands = new CommandBuffer();
+        final float[] matrices = new float[(CUBE_COUNT * 2 + 1) * 16];
+        int lastFrameCalls = -1;
+        for (int frame = 1; frame <= 5; frame++)
+        {
+            // The cubes spin, so every matrix changes every frame; the light moves with them.
+            for (int i = 0; i < matrices.length; i++)
+            {
+                matrices[i] = frame * 100 + i;
+            }
+            commands.begin();
+            commands.clear(GL.GL_COLOR_BUFFER_BIT | GL.GL_DEPTH_BUFFER_BIT);
+            for (int i = 0; i < CUBE_COUNT; i++)
+            {
+                commands.useProgram(cubeProgram);
+                commands.uniformMatrix4fv(MV_MATRIX, matrices, i * 32);
+                commands.uniformMatrix4fv(MVP_MATRIX, matrices, i * 32 + 16);
+                commands.uniform3f(LIGHT_POS, frame, 0.0f, -5.0f);
+                commands.drawMesh(cube, GL.GL_TRIANGLES);
+            }
+            commands.useProgram(pointProgram);
+            commands.vertexAttrib3f(0, 0.0f, 0.0f, 0.0f);
+            commands.disableVertexAttribArray(0);
+            commands.uniformMatrix4fv(POINT_MVP_MATRIX, matrices, CUBE_COUNT * 32);
+            commands.drawArrays(GL.GL_POINTS, 0, 1);
+
+            mGL.beginFrame();
+            commands.replay(gl);
+
+            assertEquals(frame, mGL.getFrameNumber());
+            assertEquals(1, mGL.getFrameCount(RecordingGL.CALL_CLEAR));
+            assertEquals(CUBE_COUNT, mGL.getFrameCount(RecordingGL.CALL_DRAW_ELEMENTS));
+            assertEquals(1, mGL.getFrameCount(RecordingGL.CALL_DRAW_ARRAYS));
+            assertEquals(CUBE_COUNT * CubeData.VERTEX_COUNT + 1, mGL.getFrameVertexCount());
+
+            // The state cache drops the repeated program and light position.
+            assertEquals(2, mGL.getFrameCount(RecordingGL.CALL_USE_PROGRAM));
+            assertEquals(1, mGL.getFrameCount(RecordingGL.CALL_UNIFORM_3F));
+            assertEquals(CUBE_COUNT * 2 + 1, mGL.getFrameCount(RecordingGL.CALL_UNIFORM_MATRIX_4FV));
+
+            final int calls = mGL.getFrameCallCount();
+            assertTrue(mGL.report(), calls <= FRAME_CALL_BUDGET);
+            if (frame > 2)
+            {
+                // The first frame also binds the buffers and attributes; the rest cost the same.
+                assertEquals(mGL.report(), lastFrameCalls, calls);
+            }
+            lastFrameCalls = calls;
+        }
+        assertEquals(5L * CUBE_COUNT, mGL.getTotalCount(RecordingGL.CALL_DRAW_ELEMENTS));
+    }
+
+    /**
+     * Builds and uploads the cube the way IntroToLightingRenderer does.
+     */
+    private static Mesh createCube(final GL gl)
+    {
+        final VertexLayout layout = new VertexLayout()
+                .add(0, CubeData.POSITION_DATA_SIZE, VertexLayout.TYPE_FLOAT)
+                .add(1, CubeData.COLOR_DATA_SIZE, VertexLayout.TYPE_UNORM8)
+                .add(2, CubeData.NORMAL_DATA_SIZE, VertexLayout.TYPE_SNORM8);
+        final ByteBuffer vertices = new MeshBuilder(layout, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .setAttribute(1, CubeData.COLORS)
+                .setAttribute(2, CubeData.NORMALS)
+                .build();
+        final MeshWelder welder = new MeshWelder();
+        welder.weld(vertices, layout, CubeData.VERTEX_COUNT);
+        welder.optimize();
+
+        final Mesh mesh = new Mesh(layout, welder.getVertices(), welder.getVertexCount(), welder.getIndices(),
+                welder.getIndexCount(), welder.getIndexType(), Mesh.USAGE_STATIC);
+        mesh.upload(gl);
+        return mesh;
+    }
+}
\ No newline at end of file
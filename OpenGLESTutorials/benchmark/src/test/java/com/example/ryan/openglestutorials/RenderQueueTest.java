@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks that {@link RenderQueue} sorts by unsigned key and keeps the order of equal keys, and
+ * the draw order its opaque and transparent keys produce.
+ */
+public class RenderQueueTest
+{
+    @Test
+    public void sortsByAscendingUnsignedKey()
+    {
+        final Random random = new Random(15);
+        final RenderQueue queue = new RenderQueue(4);
+        final ArrayList<long[]> expected = new ArrayList<long[]>();
+
+        // Far more draws than the initial capacity, with the top bit set in about half the keys and
+        // a few bytes that are the same in every key, so the skipped passes are exercised too.
+        for (int i = 0; i < 5000; i++)
+        {
+            final long key = (random.nextLong() & 0xff00ffff00ffff00L) | 0x0000000000000042L;
+            queue.add(key, i);
+            expected.add(new long[] {key, i});
+        }
+        queue.sort();
+
+        // Collections.sort is stable, so it is the reference for equal keys as well.
+        Collections.sort(expected, new Comparator<long[]>()
+        {
+            @Override
+            public int compare(final long[] a, final long[] b)
+            {
+                return compareUnsigned(a[0], b[0]);
+            }
+        });
+        assertEquals(expected.size(), queue.size());
+        for (int i = 0; i < queue.size(); i++)
+        {
+            assertEquals(expected.get(i)[0], queue.getKey(i));
+            assertEquals(expected.get(i)[1], queue.getItem(i));
+        }
+    }
+
+    @Test
+    public void equalKeysKeepTheirOrder()
+    {
+        final RenderQueue queue = new RenderQueue(16);
+        final long[] keys = {7L, -1L, 7L, 3L, -1L, 7L, 3L, 7L};
+        for (int i = 0; i < keys.length; i++)
+        {
+            queue.add(keys[i], i);
+        }
+        queue.sort();
+
+        assertItems(queue, 3, 6, 0, 2, 5, 7, 1, 4);
+
+        // A second sort of sorted data changes nothing.
+        queue.sort();
+        assertItems(queue, 3, 6, 0, 2, 5, 7, 1, 4);
+    }
+
+    @Test
+    public void opaqueDrawsAreGroupedThenFrontToBack()
+    {
+        final RenderQueue queue = new RenderQueue(16);
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 2, 1, 3.0f), 0);
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 1, 1, 9.0f), 1);
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 1, 1, 0.5f), 2);
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 1, 2, 0.1f), 3);
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 1, 1, 4.0f), 4);
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 1, 1, -2.0f), 5);
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 1, 1, 1000000.0f), 6);
+        queue.sort();
+
+        // Program 1 mesh 1 nearest first (behind the camera counts as 0), then mesh 2, then program 2.
+        assertItems(queue, 5, 2, 4, 1, 6, 3, 0);
+    }
+
+    @Test
+    public void transparentDrawsAreBackToFront()
+    {
+        final RenderQueue queue = new RenderQueue(16);
+        queue.add(RenderQueue.transparentKey(RenderQueue.PASS_TRANSPARENT, 1, 1, 2.0f), 0);
+        queue.add(RenderQueue.transparentKey(RenderQueue.PASS_TRANSPARENT, 3, 1, 8.0f), 1);
+        queue.add(RenderQueue.transparentKey(RenderQueue.PASS_TRANSPARENT, 1, 2, 5.0f), 2);
+        queue.add(RenderQueue.transparentKey(RenderQueue.PASS_TRANSPARENT, 2, 1, 5.0f), 3);
+        queue.add(RenderQueue.transparentKey(RenderQueue.PASS_TRANSPARENT, 1, 1, 0.25f), 4);
+        queue.sort();
+
+        // Farthest first, whatever the program; equal depths are grouped by program.
+        assertItems(queue, 1, 2, 3, 0, 4);
+    }
+
+    @Test
+    public void passesAreDrawnInOrder()
+    {
+        final RenderQueue queue = new RenderQueue(16);
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OVERLAY, 0, 0, 1.0f), 0);
+        queue.add(RenderQueue.transparentKey(RenderQueue.PASS_TRANSPARENT, 0, 0, 100.0f), 1);
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, RenderQueue.MAX_PROGRAM_ID,
+                RenderQueue.MAX_MESH_ID, Float.MAX_VALUE), 2);
+        queue.add(RenderQueue.transparentKey(RenderQueue.PASS_TRANSPARENT, 0, 0, 0.0f), 3);
+        queue.sort();
+
+        assertItems(queue, 2, 1, 3, 0);
+        assertEquals(RenderQueue.PASS_OPAQUE, RenderQueue.getPass(queue.getKey(0)));
+        assertEquals(RenderQueue.PASS_TRANSPARENT, RenderQueue.getPass(queue.getKey(1)));
+        assertEquals(RenderQueue.PASS_OVERLAY, RenderQueue.getPass(queue.getKey(3)));
+        assertEquals(15, RenderQueue.getPass(RenderQueue.opaqueKey(15, 0, 0, 0.0f)));
+
+        queue.clear();
+        assertEquals(0, queue.size());
+    }
+
+    private static void assertItems(final RenderQueue queue, final int... items)
+    {
+        assertEquals(items.length, queue.size());
+        for (int i = 0; i < items.length; i++)
+        {
+            assertEquals("position " + i, items[i], queue.getItem(i));
+        }
+        for (int i = 1; i < items.length; i++)
+        {
+            assertTrue(compareUnsigned(queue.getKey(i - 1), queue.getKey(i)) <= 0);
+        }
+    }
+
+    /**
+     * Long.compareUnsigned, which the Java 7 target does not have.
+     */
+    private static int compareUnsigned(final long a, final long b)
+    {
+        final long x = a ^ Long.MIN_VALUE;
+        final long y = b ^ Long.MIN_VALUE;
+        return x < y ? -1 : (x == y ? 0 : 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Checks the {@link SceneGraph} dirty flags against the per-update counters.
+ */
+public class SceneGraphTest
+{
+    @Test
+    public void onlyUpdatesWhatChanged()
+    {
+        final SceneGraph graph = new SceneGraph();
+        final SceneNode parent = graph.getRoot().addChild(new SceneNode());
+        final SceneNode child = parent.addChild(new SceneNode());
+        final SceneNode sibling = graph.getRoot().addChild(new SceneNode());
+        parent.setTranslation(1.0f, 0.0f, 0.0f);
+        child.setTranslation(0.0f, 2.0f, 0.0f);
+
+        graph.update();
+        assertCounts(graph, 4, 4, 4);
+        assertEquals(1.0f, child.getWorldMatrix()[12], 0.0f);
+        assertEquals(2.0f, child.getWorldMatrix()[13], 0.0f);
+
+        // Nothing changed: only the root is looked at.
+        graph.update();
+        assertCounts(graph, 1, 0, 0);
+
+        // Setting the same value again does not mark the node dirty.
+        child.setTranslation(0.0f, 2.0f, 0.0f);
+        graph.update();
+        assertCounts(graph, 1, 0, 0);
+
+        // A leaf change walks down to the leaf only.
+        child.setTranslation(0.0f, 3.0f, 0.0f);
+        graph.update();
+        assertCounts(graph, 3, 1, 1);
+        assertEquals(3.0f, child.getWorldMatrix()[13], 0.0f);
+
+        // An inner change recomputes the whole subtree below it.
+        parent.setTranslation(5.0f, 0.0f, 0.0f);
+        graph.update();
+        assertCounts(graph, 3, 2, 2);
+        assertEquals(5.0f, child.getWorldMatrix()[12], 0.0f);
+
+        // A camera change needs every MV and MVP but no world matrix.
+        final float[] view = new float[16];
+        MatrixMath.setTranslate(view, 0, 0.0f, 0.0f, -5.0f);
+        graph.setViewMatrix(view);
+        graph.update();
+        assertCounts(graph, 4, 0, 4);
+        assertEquals(-5.0f, sibling.getMVMatrix()[14], 0.0f);
+
+        // The same camera again changes nothing.
+        graph.setViewMatrix(view);
+        graph.update();
+        assertCounts(graph, 1, 0, 0);
+    }
+
+    private static void assertCounts(final SceneGraph graph, final int visited, final int worldUpdates,
+                                     final int viewUpdates)
+    {
+        assertEquals("visited", visited, graph.getVisitedCount());
+        assertEquals("world updates", worldUpdates, graph.getWorldUpdateCount());
+        assertEquals("view updates", viewUpdates, graph.getViewUpdateCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,270 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Runs sources through {@link ShaderPreprocessor} and compares the normalized output: nesting,
+ * #if expressions, macro expansion, the built-in macros and malformed input, and that define
+ * sets selecting the same code give one {@link ProgramCache} key.
+ */
+public class ShaderPreprocessorTest
+{
+    @Test
+    public void nestedBlocksInsideInactiveBranches()
+    {
+        final String source = "#ifdef A\n"
+                + "  #ifdef B\n"
+                + "    ab;\n"
+                + "  #elif NEVER\n"
+                + "    never;\n"
+                + "  #else\n"
+                + "    a;\n"
+                + "  #endif\n"
+                + "#elif defined(B)\n"
+                + "  #ifndef C\n"
+                + "    b;\n"
+                + "  #else\n"
+                + "    bc;\n"
+                + "  #endif\n"
+                + "#else\n"
+                + "  #if 0\n"
+                + "    #if malformed ((\n"
+                + "      #error not reached\n"
+                + "    #elif 1 / 0\n"
+                + "    #else\n"
+                + "      zero;\n"
+                + "    #endif\n"
+                + "  #endif\n"
+                + "  none;\n"
+                + "#endif\n";
+        assertEquals("ab;\n", run(source, "A", "B"));
+        assertEquals("a;\n", run(source, "A"));
+        assertEquals("b;\n", run(source, "B"));
+        assertEquals("bc;\n", run(source, "B", "C"));
+        assertEquals("none;\n", run(source));
+    }
+
+    @Test
+    public void elifAfterATakenBranchIsNotEvaluated()
+    {
+        final String source = "#if 1\nfirst;\n#elif 1\nsecond;\n#elif 1 / 0\nthird;\n#else\nlast;\n#endif\n";
+        assertEquals("first;\n", run(source));
+    }
+
+    @Test
+    public void definedWithAndWithoutParentheses()
+    {
+        assertTrue(condition("defined(A)", "A"));
+        assertTrue(condition("defined A", "A"));
+        assertTrue(condition("defined ( A )", "A"));
+        assertFalse(condition("defined(A)", "B"));
+        assertFalse(condition("defined A", "B"));
+        assertTrue(condition("defined A && !defined B", "A"));
+        assertTrue(condition("!defined(A) || defined B", "B"));
+        // Defined as 0 is still defined.
+        assertTrue(condition("defined A", "A=0"));
+    }
+
+    @Test
+    public void operatorPrecedence()
+    {
+        assertTrue(condition("1 + 2 * 3 == 7"));
+        assertTrue(condition("(1 + 2) * 3 == 9"));
+        assertTrue(condition("10 - 4 - 3 == 3"));
+        assertTrue(condition("12 / 3 / 2 == 2"));
+        assertTrue(condition("1 || 0 && 0"));
+        assertFalse(condition("(1 || 0) && 0"));
+        assertTrue(condition("1 < 2 == 1"));
+        assertTrue(condition("2 + 1 > 2"));
+        assertTrue(condition("-2 * -3 == 6"));
+        assertTrue(condition("3 >= 3 && 3 <= 3 && !(3 < 3) && !(3 > 3)"));
+        assertTrue(condition("0x10 == 16"));
+    }
+
+    @Test
+    public void notEqualsIsNotNot()
+    {
+        assertTrue(condition("1 != 2"));
+        assertFalse(condition("2 != 2"));
+        assertTrue(condition("!0"));
+        assertFalse(condition("!1"));
+        assertTrue(condition("!0 != !1"));
+        assertTrue(condition("!!2"));
+        assertTrue(condition("1!=2"));
+    }
+
+    @Test
+    public void macroValuesInConditions()
+    {
+        assertTrue(condition("LIGHTS == 4", "LIGHTS=4"));
+        assertTrue(condition("LIGHTS > 2 && LIGHTS < 8", "LIGHTS=4"));
+        assertFalse(condition("LIGHTS", "LIGHTS=0"));
+        // Undefined names and empty values are 0.
+        assertFalse(condition("MISSING"));
+        assertFalse(condition("EMPTY", "EMPTY="));
+        // Values are expressions and may use other macros.
+        assertTrue(condition("TOTAL == 6", "TOTAL=(BASE * 2)", "BASE=3"));
+        assertTrue(condition("LIGHTS == 4", "COUNT=4", "LIGHTS=COUNT"));
+        assertEquals("two;\n", run("#define N 2\n#if N == 2\ntwo;\n#endif\n"));
+        assertEquals("", run("#define N 2\n#undef N\n#if N == 2\ntwo;\n#endif\n"));
+    }
+
+    @Test
+    public void macrosExpandInCode()
+    {
+        assertEquals("const int n = 4;\nvec3 c[4];\n", run("const int n = LIGHTS;\nvec3 c[LIGHTS];\n", "LIGHTS=4"));
+        assertEquals("float x = 2.0 * 3;\n", run("#define SCALE 2.0 * FACTOR\n#define FACTOR 3\nfloat x = SCALE;\n"));
+        // Names inside longer names, numbers and exponents are left alone.
+        assertEquals("float E2 = 1.0e5 + LIGHTS_X;\n", run("float E2 = 1.0e5 + LIGHTS_X;\n", "LIGHTS=4", "e5=1"));
+    }
+
+    @Test
+    public void selfReferenceIsNotExpandedAgain()
+    {
+        assertEquals("X + 1;\n", run("#define X X + 1\nX;\n"));
+        assertEquals("int X = 1;\n", run("int X = 1;\n", "X=X"));
+        // Mutually recursive macros stop where the cycle closes.
+        assertEquals("A;\n", run("#define A B\n#define B A\nA;\n"));
+        assertEquals("B;\n", run("#define A B\n#define B A\nB;\n"));
+        assertEquals("f(A) + A;\n", run("#define A B + A\n#define B f(A)\nA;\n"));
+        // In a condition the leftover name is 0.
+        assertTrue(condition("X == 1", "X=X + 1"));
+        assertFalse(condition("A", "A=B", "B=A"));
+    }
+
+    @Test
+    public void builtInMacros()
+    {
+        final String source = "#ifdef GL_ES\n"
+                + "#ifdef GL_FRAGMENT_PRECISION_HIGH\n"
+                + "precision highp float;\n"
+                + "#else\n"
+                + "precision mediump float;\n"
+                + "#endif\n"
+                + "#endif\n"
+                + "#if __VERSION__ >= 300\n"
+                + "out vec4 color;\n"
+                + "#endif\n";
+        assertEquals("precision highp float;\n", run(source));
+        assertEquals("precision mediump float;\n", run("#undef GL_FRAGMENT_PRECISION_HIGH\n" + source));
+        assertEquals("#version 300 es\nprecision highp float;\nout vec4 color;\n", run("#version 300 es\n" + source));
+    }
+
+    @Test
+    public void otherDirectivesPassThrough()
+    {
+        assertEquals("#version 100\n#extension GL_OES_standard_derivatives : enable\n#pragma debug(on)\n",
+                run("#version 100\n#extension   GL_OES_standard_derivatives : enable\n#pragma debug(on)\n"));
+        assertEquals("", run("#if 0\n#extension GL_OES_standard_derivatives : enable\n#endif\n"));
+    }
+
+    @Test
+    public void normalizesCommentsAndWhitespace()
+    {
+        assertEquals("uniform mat4 u_M;\nvoid main() { gl_Position = u_M * a_P; }\n",
+                run("// header\n\nuniform   mat4 u_M; /* the\nmatrix */\n\tvoid main() {  gl_Position = u_M * a_P; }  // end\n"));
+    }
+
+    @Test
+    public void errorsAreReported()
+    {
+        assertThrows("#error unsupported\n");
+        assertThrows("#ifdef A\n#error only with A\n#endif\n", "A");
+        assertThrows("#endif\n");
+        assertThrows("#else\n");
+        assertThrows("#elif 1\n");
+        assertThrows("#if 1\nx;\n");
+        assertThrows("#if 1 / 0\n#endif\n");
+        assertThrows("#if 4 / (2 - 2)\n#endif\n");
+        assertThrows("#if (1\n#endif\n");
+        assertThrows("#if 1 +\n#endif\n");
+        assertThrows("#if 1 2\n#endif\n");
+        assertThrows("#if 9x\n#endif\n");
+        assertThrows("#define F(x) x\n");
+        assertThrows("#define\n");
+
+        // An #error in a skipped block is ignored.
+        assertEquals("", run("#ifdef A\n#error only with A\n#endif\n"));
+    }
+
+    @Test
+    public void sameCodeSharesAProgramKey()
+    {
+        final String vertex = "attribute vec4 a_Position;\n"
+                + "#if defined(LIGHTING) && LIGHTS > 0\n"
+                + "varying vec3 v_Light;\n"
+                + "#endif\n"
+                + "void main() { gl_Position = a_Position; }\n";
+        final String fragment = "precision mediump float;\n"
+                + "#ifdef FOG\n"
+                + "uniform vec3 u_FogColor; // fog\n"
+                + "#endif\n"
+                + "void main() { gl_FragColor = vec4(1.0); }\n";
+        final String[] attributes = {"a_Position"};
+
+        // LIGHTING without lights, and an unused define, select the same code as no defines at all.
+        final String[][] sameCode = {{}, {"LIGHTING", "LIGHTS=0"}, {"UNUSED"}, {"LIGHTS=3"}};
+        final long key = ProgramCache.hashSources(run(vertex), run(fragment), attributes);
+        for (String[] defines : sameCode)
+        {
+            assertEquals(run(vertex), run(vertex, defines));
+            assertEquals(run(fragment), run(fragment, defines));
+            assertEquals(key, ProgramCache.hashSources(run(vertex, defines), run(fragment, defines), attributes));
+        }
+        assertFalse(key == ProgramCache.hashSources(run(vertex, "LIGHTING", "LIGHTS=2"), run(fragment),
+                attributes));
+
+        final ShaderTemplate template = new ShaderTemplate("test", null, vertex, fragment, attributes);
+        final ShaderVariant plain = template.getVariant();
+        assertSame(plain, template.getVariant("LIGHTING", "LIGHTS=0"));
+        assertSame(plain, template.getVariant("UNUSED"));
+        assertEquals(key, plain.getKey());
+        assertNotSame(plain, template.getVariant("FOG"));
+        assertEquals(2, template.getVariantCount());
+    }
+
+    private static String run(final String source, final String... defines)
+    {
+        return ShaderPreprocessor.preprocess(source, defines);
+    }
+
+    private static boolean condition(final String expression, final String... defines)
+    {
+        final String result = run("#if " + expression + "\nyes;\n#else\nno;\n#endif\n", defines);
+        if (result.equals("yes;\n"))
+        {
+            return true;
+        }
+        assertEquals("no;\n", result);
+        return false;
+    }
+
+    private static void assertThrows(final String source, final String... defines)
+    {
+        try
+        {
+            run(source, defines);
+            fail("Preprocessed " + source);
+        }
+        catch (IllegalArgumentException expected)
+        {
+            // Refused.
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Drives {@link SimulationLoop} with a clock advanced by hand and checks the steps taken, the
+ * catch-up limit, the interpolation factor, and that the simulated speed does not depend on how
+ * often frames are drawn.
+ */
+public class SimulationLoopTest
+{
+    private static final int STEPS_PER_SECOND = 50;
+    private static final long STEP_NANOS = 1000000000L / STEPS_PER_SECOND;
+
+    /** A point moving at one unit per second; the second float counts the steps. */
+    private static final SimulationLoop.Simulation<float[]> MOVING_POINT = new SimulationLoop.Simulation<float[]>()
+    {
+        @Override
+        public float[] createState()
+        {
+            return new float[2];
+        }
+
+        @Override
+        public void step(final float[] from, final float[] to, final float seconds)
+        {
+            to[0] = from[0] + seconds;
+            to[1] = from[1] + 1.0f;
+        }
+
+        @Override
+        public void copy(final float[] from, final float[] to)
+        {
+            System.arraycopy(from, 0, to, 0, 2);
+        }
+    };
+
+    /**
+     * A clock that only moves when told to.
+     */
+    private static final class ManualClock implements Clock
+    {
+        private long mNanos = 1000L;
+
+        @Override
+        public long nanoTime()
+        {
+            return mNanos;
+        }
+
+        void advance(final long nanos)
+        {
+            mNanos += nanos;
+        }
+    }
+
+    private ManualClock mClock;
+    private SimulationLoop<float[]> mLoop;
+
+    @Before
+    public void setUp()
+    {
+        mClock = new ManualClock();
+        mLoop = new SimulationLoop<float[]>(MOVING_POINT, new float[2], STEPS_PER_SECOND, mClock);
+    }
+
+    @Test
+    public void stepsFollowTheClock()
+    {
+        // The first update only starts counting.
+        assertEquals(0, update());
+
+        mClock.advance(STEP_NANOS - 1);
+        assertEquals(0, update());
+        mClock.advance(1);
+        assertEquals(1, update());
+
+        mClock.advance(STEP_NANOS * 5 / 2);
+        assertEquals(2, update());
+        mClock.advance(STEP_NANOS / 2);
+        assertEquals(1, update());
+
+        final SimulationLoop.Snapshot<float[]> snapshot = mLoop.acquire();
+        assertEquals(4L, snapshot.getTick());
+        assertEquals(4.0f, snapshot.getCurrent()[1], 0.0f);
+        assertEquals(3.0f, snapshot.getPrevious()[1], 0.0f);
+        assertEquals(4.0f / STEPS_PER_SECOND, snapshot.getCurrent()[0], 1e-6f);
+        assertEquals(0L, mLoop.getSkippedStepCount());
+    }
+
+    @Test
+    public void fallingBehindSkipsTheRest()
+    {
+        update();
+
+        // Twenty steps are due at once: eight are caught up on, the other twelve are dropped.
+        mClock.advance(STEP_NANOS * 20);
+        assertEquals(8, update());
+        assertEquals(12L, mLoop.getSkippedStepCount());
+
+        // Nothing is owed afterwards, and the loop continues at its normal rate.
+        assertEquals(0, update());
+        mClock.advance(STEP_NANOS);
+        assertEquals(1, update());
+        assertEquals(9L, mLoop.acquire().getTick());
+
+        // A stall only partly into the next step is still dropped whole.
+        mClock.advance(STEP_NANOS * 30 + STEP_NANOS / 2);
+        assertEquals(8, update());
+        assertEquals(12L + 22L, mLoop.getSkippedStepCount());
+        mClock.advance(STEP_NANOS / 2);
+        assertEquals(1, update());
+    }
+
+    @Test
+    public void alphaInterpolatesWithinAStep()
+    {
+        update();
+        mClock.advance(STEP_NANOS);
+        update();
+        final SimulationLoop.Snapshot<float[]> snapshot = mLoop.acquire();
+        final long tickNanos = snapshot.getTickNanos();
+        assertEquals(mClock.nanoTime(), tickNanos);
+
+        assertEquals(0.0f, mLoop.getAlpha(snapshot, tickNanos), 0.0f);
+        assertEquals(0.25f, mLoop.getAlpha(snapshot, tickNanos + STEP_NANOS / 4), 1e-6f);
+        assertEquals(0.5f, mLoop.getAlpha(snapshot, tickNanos + STEP_NANOS / 2), 1e-6f);
+
+        // Clamped on both sides, e.g. for a frame drawn late or with an older timestamp.
+        assertEquals(0.0f, mLoop.getAlpha(snapshot, tickNanos - STEP_NANOS), 0.0f);
+        assertEquals(1.0f, mLoop.getAlpha(snapshot, tickNanos + STEP_NANOS * 3), 0.0f);
+    }
+
+    @Test
+    public void snapshotStaysUntilTheNextAcquire()
+    {
+        update();
+        mClock.advance(STEP_NANOS);
+        update();
+        final SimulationLoop.Snapshot<float[]> held = mLoop.acquire();
+
+        // Two more updates publish into the other buffers, never into the one held.
+        for (int i = 0; i < 2; i++)
+        {
+            mClock.advance(STEP_NANOS);
+            update();
+        }
+        assertEquals(1L, held.getTick());
+        assertEquals(1.0f, held.getCurrent()[1], 0.0f);
+        assertEquals(3L, mLoop.acquire().getTick());
+
+        // Without a new publish, acquiring again keeps the latest snapshot.
+        final SimulationLoop.Snapshot<float[]> latest = mLoop.acquire();
+        assertSame(latest, mLoop.acquire());
+    }
+
+    @Test
+    public void speedDoesNotDependOnTheFrameRate()
+    {
+        // Thirty, sixty and a hundred and forty-four frames per second over the same two seconds.
+        final float slow = drawFrames(1000000000L / 30);
+        final float normal = drawFrames(1000000000L / 60);
+        final float fast = drawFrames(1000000000L / 144);
+
+        assertEquals(2.0f, slow, 1e-4f);
+        assertEquals(slow, normal, 0.0f);
+        assertEquals(slow, fast, 0.0f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroStepsPerSecondThrows()
+    {
+        new SimulationLoop<float[]>(MOVING_POINT, new float[2], 0, mClock);
+    }
+
+    private int update()
+    {
+        return mLoop.update(mClock.nanoTime());
+    }
+
+    /**
+     * Runs a fresh loop for two seconds, updating and drawing once per frame, and checks the
+     * interpolated position of every frame against the time that passed.
+     *
+     * @return The simulated position after two seconds.
+     */
+    private static float drawFrames(final long frameNanos)
+    {
+        final ManualClock clock = new ManualClock();
+        final SimulationLoop<float[]> loop =
+                new SimulationLoop<float[]>(MOVING_POINT, new float[2], STEPS_PER_SECOND, clock);
+        final long start = clock.nanoTime();
+        final long end = start + 2000000000L;
+        loop.update(start);
+
+        while (clock.nanoTime() < end)
+        {
+            clock.advance(Math.min(frameNanos, end - clock.nanoTime()));
+            final long now = clock.nanoTime();
+            loop.update(now);
+
+            // Drawn one step in the past, but moving smoothly with the clock.
+            final SimulationLoop.Snapshot<float[]> snapshot = loop.acquire();
+            if (snapshot.getTick() > 0)
+            {
+                final float alpha = loop.getAlpha(snapshot, now);
+                final float previous = snapshot.getPrevious()[0];
+                final float drawn = previous + (snapshot.getCurrent()[0] - previous) * alpha;
+                final float expected = (now - start - STEP_NANOS) / 1e9f;
+                assertEquals(expected, drawn, 1e-4f);
+            }
+        }
+        return loop.acquire().getCurrent()[0];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Replays the five-cube frame of the lighting tutorial through a {@link StateCacheGL} in front of
+ * a {@link RecordingGL}, and checks which calls reach the driver and what the cache counts.
+ */
+public class StateCacheGLTest
+{
+    private static final VertexLayout CUBE_LAYOUT = new VertexLayout()
+            .add(0, CubeData.POSITION_DATA_SIZE, VertexLayout.TYPE_FLOAT)
+            .add(1, CubeData.COLOR_DATA_SIZE, VertexLayout.TYPE_UNORM8)
+            .add(2, CubeData.NORMAL_DATA_SIZE, VertexLayout.TYPE_SNORM8);
+
+    private static final int CUBE_COUNT = 5;
+
+    /** GL calls recordCube makes: two matrices, the light, a bind, three attributes and a draw. */
+    private static final int CALLS_PER_CUBE = 1 + 2 + 1 + 1 + 2 * 3 + 1;
+
+    private RecordingGL mRecording;
+    private StateCacheGL mGL;
+    private Mesh mCube;
+    private int mProgram;
+    private int mMVMatrixHandle;
+    private int mMVPMatrixHandle;
+    private int mLightPosHandle;
+    private final CommandBuffer mCommands = new CommandBuffer();
+
+    @Before
+    public void setUp()
+    {
+        mRecording = new RecordingGL();
+        mGL = new StateCacheGL(mRecording);
+
+        mProgram = mGL.glCreateProgram();
+        mGL.glLinkProgram(mProgram);
+        mMVMatrixHandle = mGL.glGetUniformLocation(mProgram, "u_MVMatrix");
+        mMVPMatrixHandle = mGL.glGetUniformLocation(mProgram, "u_MVPMatrix");
+        mLightPosHandle = mGL.glGetUniformLocation(mProgram, "u_LightPos");
+
+        mCube = new Mesh(CUBE_LAYOUT, new MeshBuilder(CUBE_LAYOUT, CubeData.VERTEX_COUNT)
+                .setAttribute(0, CubeData.POSITIONS)
+                .setAttribute(1, CubeData.COLORS)
+                .setAttribute(2, CubeData.NORMALS)
+                .build(), CubeData.VERTEX_COUNT, Mesh.USAGE_STATIC);
+        mCube.upload(mGL);
+    }
+
+    @Test
+    public void lightPositionIsUploadedOncePerFrame()
+    {
+        drawFrame(1.0f);
+        assertEquals(1, mRecording.getFrameCount(RecordingGL.CALL_USE_PROGRAM));
+        assertEquals(1, mRecording.getFrameCount(RecordingGL.CALL_UNIFORM_3F));
+        assertEquals(2 * CUBE_COUNT, mRecording.getFrameCount(RecordingGL.CALL_UNIFORM_MATRIX_4FV));
+        assertEquals(3, mRecording.getFrameCount(RecordingGL.CALL_VERTEX_ATTRIB_POINTER));
+        assertEquals(3, mRecording.getFrameCount(RecordingGL.CALL_ENABLE_VERTEX_ATTRIB_ARRAY));
+        assertEquals(CUBE_COUNT, mRecording.getFrameDrawCallCount());
+        assertCountsAddUp();
+
+        // The light did not move: the program, the light and the mesh state all carry over.
+        drawFrame(1.0f);
+        assertEquals(0, mRecording.getFrameCount(RecordingGL.CALL_USE_PROGRAM));
+        assertEquals(0, mRecording.getFrameCount(RecordingGL.CALL_UNIFORM_3F));
+        assertEquals(0, mRecording.getFrameCount(RecordingGL.CALL_BIND_BUFFER));
+        assertEquals(0, mRecording.getFrameCount(RecordingGL.CALL_VERTEX_ATTRIB_POINTER));
+        assertEquals(2 * CUBE_COUNT, mRecording.getFrameCount(RecordingGL.CALL_UNIFORM_MATRIX_4FV));
+        assertEquals(2 * CUBE_COUNT + CUBE_COUNT, mGL.getFrameIssuedCount());
+        assertCountsAddUp();
+
+        // The light moved: it is uploaded once again, not once per cube.
+        drawFrame(2.0f);
+        assertEquals(1, mRecording.getFrameCount(RecordingGL.CALL_UNIFORM_3F));
+        assertCountsAddUp();
+    }
+
+    @Test
+    public void vectorUploadsShareTheShadow()
+    {
+        mGL.glUseProgram(mProgram);
+        mGL.glUniform3f(mLightPosHandle, 1.0f, 2.0f, 3.0f);
+        mGL.glUniform3fv(mLightPosHandle, 1, new float[] {0.0f, 1.0f, 2.0f, 3.0f}, 1);
+        assertEquals(1L, mRecording.getTotalCount(RecordingGL.CALL_UNIFORM_3F));
+
+        // Arrays are not shadowed, and make the locations they cover unknown.
+        mGL.glUniform3fv(mLightPosHandle, 2, new float[6], 0);
+        assertEquals(1L, mRecording.getTotalCount(RecordingGL.CALL_UNIFORM_3FV));
+        mGL.glUniform3f(mLightPosHandle, 1.0f, 2.0f, 3.0f);
+        assertEquals(2L, mRecording.getTotalCount(RecordingGL.CALL_UNIFORM_3F));
+    }
+
+    @Test
+    public void sparseLocationsAreTrackedWithoutGrowingByValue()
+    {
+        // Some drivers hand out large, scattered locations. A table indexed by location would need
+        // gigabytes here; the shadow must still filter all of them.
+        final int[] locations = {0x7ffffff0, 1 << 30, 12345678, 3, 1 << 20};
+        final float[] matrix = new float[16];
+        MatrixMath.setIdentity(matrix, 0);
+
+        mGL.glUseProgram(mProgram);
+        for (int pass = 0; pass < 2; pass++)
+        {
+            for (int i = 0; i < locations.length; i++)
+            {
+                mGL.glUniform3f(locations[i], i, 0.0f, 0.0f);
+                mGL.glUniformMatrix4fv(locations[i] - 1, 1, false, matrix, 0);
+            }
+        }
+        assertEquals(locations.length, mRecording.getTotalCount(RecordingGL.CALL_UNIFORM_3F));
+        assertEquals(locations.length, mRecording.getTotalCount(RecordingGL.CALL_UNIFORM_MATRIX_4FV));
+
+        // Enough distinct locations to grow the table several times keeps every value.
+        for (int pass = 0; pass < 2; pass++)
+        {
+            for (int location = 0; location < 1000; location++)
+            {
+                mGL.glUniform3f(location * 7919, location, 1.0f, 2.0f);
+            }
+        }
+        assertEquals(locations.length + 1000L, mRecording.getTotalCount(RecordingGL.CALL_UNIFORM_3F));
+    }
+
+    @Test
+    public void sparseProgramsAreTrackedWithoutGrowingByHandle()
+    {
+        // Scattered program names up to 2^31 - 1; a table indexed by handle would be gigabytes.
+        final int count = 300;
+        final int[] programs = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            programs[i] = (int) (((i + 1) * 2654435761L) & 0x7fffffffL);
+        }
+        programs[count - 1] = Integer.MAX_VALUE;
+
+        for (int pass = 0; pass < 2; pass++)
+        {
+            setEveryProgram(programs);
+        }
+        assertEquals(count, mRecording.getTotalCount(RecordingGL.CALL_UNIFORM_3F));
+
+        // Deleting half forgets only their values, wherever they sit in the table.
+        for (int i = 0; i < count; i += 2)
+        {
+            mGL.glDeleteProgram(programs[i]);
+        }
+        setEveryProgram(programs);
+        assertEquals(count + count / 2, mRecording.getTotalCount(RecordingGL.CALL_UNIFORM_3F));
+        setEveryProgram(programs);
+        assertEquals(count + count / 2, mRecording.getTotalCount(RecordingGL.CALL_UNIFORM_3F));
+    }
+
+    @Test
+    public void linkingAndNewContextsForgetTheUniforms()
+    {
+        drawFrame(1.0f);
+
+        // Relinking resets the program's uniforms, so the same light must be sent again.
+        mGL.glLinkProgram(mProgram);
+        drawFrame(1.0f);
+        assertEquals(1, mRecording.getFrameCount(RecordingGL.CALL_UNIFORM_3F));
+
+        // A new context starts from the defaults: everything is issued once more.
+        mGL.invalidate();
+        drawFrame(1.0f);
+        assertEquals(1, mRecording.getFrameCount(RecordingGL.CALL_USE_PROGRAM));
+        assertEquals(1, mRecording.getFrameCount(RecordingGL.CALL_UNIFORM_3F));
+        assertEquals(1, mRecording.getFrameCount(RecordingGL.CALL_BIND_BUFFER));
+        assertEquals(3, mRecording.getFrameCount(RecordingGL.CALL_VERTEX_ATTRIB_POINTER));
+        assertCountsAddUp();
+    }
+
+    /**
+     * Records and replays the cubes the way IntroToLightingRenderer does, each with its own
+     * matrices but all lit by the same light.
+     */
+    private void setEveryProgram(final int[] programs)
+    {
+        for (int i = 0; i < programs.length; i++)
+        {
+            mGL.glUseProgram(programs[i]);
+            mGL.glUniform3f(mLightPosHandle, i, 0.0f, 0.0f);
+        }
+    }
+
+    private void drawFrame(final float lightX)
+    {
+        mRecording.beginFrame();
+        mGL.beginFrame();
+
+        final float[] mv = new float[16];
+        final float[] mvp = new float[16];
+        mCommands.begin();
+        for (int cube = 0; cube < CUBE_COUNT; cube++)
+        {
+            MatrixMath.setTranslate(mv, 0, cube, 0.0f, -5.0f);
+            MatrixMath.setTranslate(mvp, 0, cube, 1.0f, -5.0f);
+            mCommands.useProgram(mProgram);
+            mCommands.uniformMatrix4fv(mMVMatrixHandle, mv, 0);
+            mCommands.uniformMatrix4fv(mMVPMatrixHandle, mvp, 0);
+            mCommands.uniform3f(mLightPosHandle, lightX, 2.0f, 3.0f);
+            mCommands.drawMesh(mCube, GL.GL_TRIANGLES);
+        }
+        mCommands.replay(mGL);
+    }
+
+    /**
+     * Every call made is either forwarded, and seen by the recording, or filtered.
+     */
+    private void assertCountsAddUp()
+    {
+        assertEquals(mRecording.getFrameCallCount(), mGL.getFrameIssuedCount());
+        assertEquals(CUBE_COUNT * CALLS_PER_CUBE, mGL.getFrameIssuedCount() + mGL.getFrameFilteredCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks the numbers {@link TextTokenizer} parses against Float.parseFloat and Integer.parseInt,
+ * and how it moves through tokens and lines.
+ */
+public class TextTokenizerTest
+{
+    private final TextTokenizer mTokenizer = new TextTokenizer();
+
+    @Test
+    public void floatsMatchParseFloat()
+    {
+        final String[] numbers = {
+                "0", "-0", "1", "-1", "+1.5", ".5", "-.5", "+.25", "5.", "0.1", "0.3", "123456.789", "00001.50000",
+                "1e5", "1E5", "1e+5", "1e-5", "6.02e23", "-2.5E-3",
+                // Subnormal, smallest, and just too small for a float.
+                "1e-40", "1.4e-45", "1e-45", "7e-46", "1.17549435E-38",
+                // The largest float, and past it.
+                "3.4028235e38", "3.4028236e38", "1e39",
+                // More than 18 significant digits, in the integer part, the fraction or both.
+                "1234567890123456789012", "0.1234567890123456789012", "0.000000000000000000001234",
+                "9999999999999999999999e-22", "3.14159265358979323846264338327950288",
+                // Integers a float cannot hold exactly, rounded to even.
+                "16777217", "33554433"};
+        for (String number : numbers)
+        {
+            assertSameFloat(number, Float.parseFloat(number), parse(number).nextFloat());
+        }
+    }
+
+    @Test
+    public void randomFloatsMatchParseFloat()
+    {
+        final Random random = new Random(23);
+        for (int i = 0; i < 200000; i++)
+        {
+            final float value = Float.intBitsToFloat(random.nextInt() & 0x7fffffff);
+            if (Float.isNaN(value) || Float.isInfinite(value))
+            {
+                continue;
+            }
+
+            // The shortest representation, then the exact expansion with up to hundreds of digits.
+            final String shortest = Float.toString(value);
+            assertSameFloat(shortest, value, parse(shortest).nextFloat());
+
+            final String exact = new BigDecimal(value).toString();
+            final float parsed = parse(exact).nextFloat();
+            assertTrue(exact, Math.abs(Float.floatToIntBits(parsed) - Float.floatToIntBits(value)) <= 1);
+        }
+    }
+
+    @Test
+    public void malformedNumbersThrow()
+    {
+        final String[] floats = {"", " ", "x", ".", "-", "+", "-.", "1e", "1e+", "e5"};
+        for (String number : floats)
+        {
+            final TextTokenizer tokenizer = parse(number);
+            try
+            {
+                tokenizer.nextFloat();
+                fail("Parsed \"" + number + "\"");
+            }
+            catch (NumberFormatException expected)
+            {
+                // Refused.
+            }
+        }
+
+        final String[] ints = {"", "x", "-", "99999999999", "-99999999999"};
+        for (String number : ints)
+        {
+            try
+            {
+                parse(number).nextInt();
+                fail("Parsed \"" + number + "\"");
+            }
+            catch (NumberFormatException expected)
+            {
+                // Refused.
+            }
+        }
+    }
+
+    @Test
+    public void intsMatchParseInt()
+    {
+        final String[] numbers = {"0", "7", "-7", "+7", "2147483647", "-2147483648", "007"};
+        for (String number : numbers)
+        {
+            assertEquals(number, Integer.parseInt(number), parse(number).nextInt());
+        }
+    }
+
+    @Test
+    public void tokensAndLines()
+    {
+        final TextTokenizer tokenizer = parse("v 1 2 3\r\n\tvn  .5 -1e1 +2 # comment\nf 1/2/3 4//5\n");
+        assertTrue(tokenizer.acceptKeyword(new byte[] {'v'}));
+        assertEquals(1.0f, tokenizer.nextFloat(), 0.0f);
+        assertEquals(2.0f, tokenizer.nextFloat(), 0.0f);
+        assertEquals(3.0f, tokenizer.nextFloat(), 0.0f);
+        assertTrue(tokenizer.isAtLineEnd());
+        tokenizer.nextLine();
+
+        // "v" is not a prefix match for "vn".
+        assertFalse(tokenizer.acceptKeyword(new byte[] {'v'}));
+        assertTrue(tokenizer.acceptKeyword(new byte[] {'v', 'n'}));
+        assertEquals(0.5f, tokenizer.nextFloat(), 0.0f);
+        assertEquals(-10.0f, tokenizer.nextFloat(), 0.0f);
+        assertEquals(2.0f, tokenizer.nextFloat(), 0.0f);
+        assertFalse(tokenizer.isAtLineEnd());
+        tokenizer.skipToken();
+        tokenizer.skipSpaces();
+        assertEquals('c', tokenizer.peek());
+        tokenizer.nextLine();
+
+        assertTrue(tokenizer.acceptKeyword(new byte[] {'f'}));
+        assertEquals(1, tokenizer.nextInt());
+        assertTrue(tokenizer.accept('/'));
+        assertEquals(2, tokenizer.nextInt());
+        assertTrue(tokenizer.accept('/'));
+        assertEquals(3, tokenizer.nextInt());
+        assertEquals(4, tokenizer.nextInt());
+        assertTrue(tokenizer.accept('/'));
+        assertFalse(tokenizer.accept('x'));
+        assertTrue(tokenizer.accept('/'));
+        assertEquals(5, tokenizer.nextInt());
+        assertTrue(tokenizer.isAtLineEnd());
+        tokenizer.nextLine();
+        assertFalse(tokenizer.hasRemaining());
+        assertEquals(-1, tokenizer.peek());
+    }
+
+    @Test
+    public void readsOnlyItsRange()
+    {
+        final ByteBuffer buffer = ByteBuffer.wrap("12345 678".getBytes());
+        mTokenizer.reset(buffer, 1, 3);
+        assertEquals(23, mTokenizer.nextInt());
+        assertFalse(mTokenizer.hasRemaining());
+        assertEquals(3, mTokenizer.getPosition());
+
+        mTokenizer.reset(buffer, 5, buffer.capacity());
+        assertEquals(678.0f, mTokenizer.nextFloat(), 0.0f);
+    }
+
+    private TextTokenizer parse(final String text)
+    {
+        final ByteBuffer buffer = ByteBuffer.wrap(text.getBytes());
+        mTokenizer.reset(buffer, 0, buffer.capacity());
+        return mTokenizer;
+    }
+
+    private static void assertSameFloat(final String text, final float expected, final float actual)
+    {
+        assertEquals(text, Float.floatToIntBits(expected), Float.floatToIntBits(actual));
+    }
+}
\ No newline at end of file
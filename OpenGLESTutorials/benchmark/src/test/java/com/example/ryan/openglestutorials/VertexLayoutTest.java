@@ -0,0 +1,214 @@
+/**
+ * Copyright (C) 2015 Ryan Ballinger.
+ *
+ * Application: OpenGL Tutorials
+ * Author: Ryan Ballinger
+ * Date: 10/17/2026
+ * Modified: 10/17/2026
+ */
+
+package com.example.ryan.openglestutorials;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks the half-float conversions and the normalized encodings of {@link VertexLayout} against
+ * exact values and against the precision each packed type can hold.
+ */
+public class VertexLayoutTest
+{
+    private final ByteBuffer mBuffer = ByteBuffer.allocate(4).order(ByteOrder.nativeOrder());
+
+    @Test
+    public void halfConvertsExactValues()
+    {
+        assertHalf(0x0000, 0.0f);
+        assertHalf(0x8000, -0.0f);
+        assertHalf(0x3c00, 1.0f);
+        assertHalf(0xc000, -2.0f);
+        assertHalf(0x3555, 1.0f / 3.0f);
+        assertHalf(0x7bff, 65504.0f);
+
+        // Smallest normal and smallest subnormal.
+        assertHalf(0x0400, (float) Math.pow(2, -14));
+        assertHalf(0x0001, (float) Math.pow(2, -24));
+        assertHalf(0x03ff, (float) (Math.pow(2, -14) - Math.pow(2, -24)));
+    }
+
+    @Test
+    public void halfOverflowsAndUnderflows()
+    {
+        assertHalf(0x7c00, 1.0e6f);
+        assertHalf(0xfc00, -1.0e6f);
+        assertHalf(0x7c00, Float.POSITIVE_INFINITY);
+
+        // Halfway between the largest half and the next power of two rounds up to infinity.
+        assertHalf(0x7c00, 65520.0f);
+        assertHalf(0x7bff, 65519.0f);
+
+        // Below half the smallest subnormal flushes to a signed zero.
+        assertHalf(0x0000, (float) Math.pow(2, -26));
+        assertHalf(0x8000, (float) -Math.pow(2, -26));
+
+        final float nan = VertexLayout.halfToFloat(VertexLayout.floatToHalf(Float.NaN));
+        assertTrue(Float.isNaN(nan));
+    }
+
+    @Test
+    public void halfRoundsTiesToEven()
+    {
+        final double ulp = Math.pow(2, -10);
+
+        // 1 + ulp / 2 lies halfway between 0x3c00 and 0x3c01 and goes to the even one.
+        assertHalf(0x3c00, (float) (1.0 + ulp / 2));
+        assertHalf(0x3c01, (float) (1.0 + ulp / 2 + ulp / 64));
+
+        // 1 + 3 ulp / 2 lies halfway between 0x3c01 and 0x3c02.
+        assertHalf(0x3c02, (float) (1.0 + 3 * ulp / 2));
+
+        // The same in the subnormal range: half the smallest subnormal ties to 0, 1.5 of it to 2.
+        final double subnormal = Math.pow(2, -24);
+        assertHalf(0x0000, (float) (subnormal / 2));
+        assertHalf(0x0002, (float) (subnormal * 1.5));
+
+        // Rounding up out of the mantissa carries into the exponent.
+        assertHalf(0x4000, (float) (2.0 - ulp / 4));
+    }
+
+    @Test
+    public void everyHalfRoundTrips()
+    {
+        for (int bits = 0; bits < 0x10000; bits++)
+        {
+            final boolean nan = (bits & 0x7c00) == 0x7c00 && (bits & 0x3ff) != 0;
+            if (!nan)
+            {
+                assertEquals(bits, VertexLayout.floatToHalf(VertexLayout.halfToFloat((short) bits)) & 0xffff);
+            }
+        }
+    }
+
+    @Test
+    public void halfStaysWithinHalfAnUlp()
+    {
+        final Random random = new Random(5);
+        for (int i = 0; i < 100000; i++)
+        {
+            final float value = (random.nextFloat() * 2.0f - 1.0f) * (float) Math.pow(2, random.nextInt(30) - 14);
+            final float decoded = VertexLayout.halfToFloat(VertexLayout.floatToHalf(value));
+            // Half an ulp: relative for normal halves, fixed at 2^-25 for subnormal ones.
+            final float tolerance = Math.max(Math.abs(value) * (float) Math.pow(2, -11), (float) Math.pow(2, -25));
+            assertEquals(value, decoded, tolerance);
+        }
+    }
+
+    @Test
+    public void snormFollowsTheFixedPointRule()
+    {
+        // The end codes are exactly -1 and 1, and there is no code for 0.
+        assertEquals(-1.0f, decode(VertexLayout.TYPE_SNORM8, -128), 0.0f);
+        assertEquals(1.0f, decode(VertexLayout.TYPE_SNORM8, 127), 0.0f);
+        assertEquals(1.0f / 255.0f, decode(VertexLayout.TYPE_SNORM8, 0), 0.0f);
+        assertEquals(-1.0f, decode(VertexLayout.TYPE_SNORM16, -32768), 0.0f);
+        assertEquals(1.0f, decode(VertexLayout.TYPE_SNORM16, 32767), 0.0f);
+
+        assertEquals(127, encode(VertexLayout.TYPE_SNORM8, 1.0f));
+        assertEquals(-128, encode(VertexLayout.TYPE_SNORM8, -1.0f));
+        assertEquals(127, encode(VertexLayout.TYPE_SNORM8, 5.0f));
+        assertEquals(-128, encode(VertexLayout.TYPE_SNORM8, -5.0f));
+        assertEquals(32767, encode(VertexLayout.TYPE_SNORM16, 1.0f));
+        assertEquals(-32768, encode(VertexLayout.TYPE_SNORM16, -1.0f));
+
+        for (int code = -128; code < 128; code++)
+        {
+            assertEquals(code, encode(VertexLayout.TYPE_SNORM8, decode(VertexLayout.TYPE_SNORM8, code)));
+        }
+        for (int code = -32768; code < 32768; code++)
+        {
+            assertEquals(code, encode(VertexLayout.TYPE_SNORM16, decode(VertexLayout.TYPE_SNORM16, code)));
+        }
+    }
+
+    @Test
+    public void normalizedValuesStayWithinHalfAStep()
+    {
+        for (int i = 0; i <= 20000; i++)
+        {
+            final float signed = i / 10000.0f - 1.0f;
+            assertRoundTrip(VertexLayout.TYPE_SNORM8, signed, 1.0f / 255.0f);
+            assertRoundTrip(VertexLayout.TYPE_SNORM16, signed, 1.0f / 65535.0f);
+
+            final float unsigned = i / 20000.0f;
+            assertRoundTrip(VertexLayout.TYPE_UNORM8, unsigned, 0.5f / 255.0f);
+        }
+
+        assertEquals(0.0f, decode(VertexLayout.TYPE_UNORM8, encode(VertexLayout.TYPE_UNORM8, -1.0f)), 0.0f);
+        assertEquals(1.0f, decode(VertexLayout.TYPE_UNORM8, encode(VertexLayout.TYPE_UNORM8, 2.0f)), 0.0f);
+    }
+
+    @Test
+    public void attributesAreFourByteAligned()
+    {
+        final VertexLayout layout = new VertexLayout()
+                .add(0, 3, VertexLayout.TYPE_SNORM16)
+                .add(1, 4, VertexLayout.TYPE_UNORM8)
+                .add(2, 3, VertexLayout.TYPE_SNORM8)
+                .add(3, 2, VertexLayout.TYPE_HALF_FLOAT);
+        assertEquals(0, layout.getOffset(0));
+        assertEquals(8, layout.getOffset(1));
+        assertEquals(12, layout.getOffset(2));
+        assertEquals(16, layout.getOffset(3));
+        assertEquals(20, layout.getStride());
+        assertEquals(GL.GL_SHORT, layout.getGLType(0));
+        assertTrue(layout.isNormalized(2));
+        assertEquals(3, layout.indexOfLocation(3));
+        assertEquals(-1, layout.indexOfLocation(7));
+    }
+
+    private static void assertHalf(final int expected, final float value)
+    {
+        assertEquals("floatToHalf(" + value + ")", expected, VertexLayout.floatToHalf(value) & 0xffff);
+    }
+
+    private void assertRoundTrip(final int type, final float value, final float tolerance)
+    {
+        VertexLayout.encode(mBuffer, 0, type, value);
+        final float decoded = VertexLayout.decode(mBuffer, 0, type);
+
+        // A little slack for the float rounding of the division.
+        assertEquals(value, decoded, tolerance * 1.001f);
+    }
+
+    private int encode(final int type, final float value)
+    {
+        VertexLayout.encode(mBuffer, 0, type, value);
+        switch (type)
+        {
+            case VertexLayout.TYPE_SNORM16:
+                return mBuffer.getShort(0);
+            case VertexLayout.TYPE_SNORM8:
+                return mBuffer.get(0);
+            default:
+                return mBuffer.get(0) & 0xff;
+        }
+    }
+
+    private float decode(final int type, final int code)
+    {
+        if (type == VertexLayout.TYPE_SNORM16)
+        {
+            mBuffer.putShort(0, (short) code);
+        }
+        else
+        {
+            mBuffer.put(0, (byte) code);
+        }
+        return VertexLayout.decode(mBuffer, 0, type);
+    }
+}
\ No newline at end of file